@@ -49,14 +49,16 @@
 // ZAP: 2022/09/07 Remove unnecessary comments and address SonarLint issues
 // ZAP: 2022/09/08 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/01/10 Tidy up logger.
+// ZAP: 2026/10/15 Share the analysed responses between scans and allow concurrent lookups.
 package org.parosproxy.paros.core.scanner;
 
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.httpclient.URI;
@@ -65,6 +67,8 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.db.DatabaseException;
+import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.network.HttpHeader;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
@@ -91,7 +95,7 @@ public class Analyser {
     };
 
     private HttpSender httpSender = null;
-    private TreeMap<String, SampleResponse> mapVisited = new TreeMap<>();
+    private Map<String, SampleResponse> mapVisited = new ConcurrentHashMap<>();
     private boolean isStop = false;
 
     private StopWatch stopWatch;
@@ -142,7 +146,11 @@ public class Analyser {
 
     private void addAnalysedHost(URI uri, HttpMessage msg, int errorIndicator) {
         try {
-            mapVisited.put(uri.toString(), new SampleResponse(msg, errorIndicator));
+            SampleResponse sample = new SampleResponse(msg, errorIndicator);
+            mapVisited.put(uri.toString(), sample);
+            if (getSharedCacheTtlInMs() > 0) {
+                AnalyserCache.getInstance().put(getSession(), uri.toString(), sample);
+            }
 
         } catch (HttpMalformedHeaderException | DatabaseException e) {
             LOGGER.error("Failed to persist the message: {}", e.getMessage(), e);
@@ -180,6 +188,15 @@ public class Analyser {
             return;
         }
 
+        SampleResponse cachedSample =
+                AnalyserCache.getInstance()
+                        .get(getSession(), baseUri.toString(), getSharedCacheTtlInMs());
+        if (cachedSample != null) {
+            mapVisited.put(baseUri.toString(), cachedSample);
+            LOGGER.debug("Skipping: This node was analysed by a previous scan");
+            return;
+        }
+
         String path = getRandomPathSuffix(node, baseUri);
         HttpMessage msg = baseMsg.cloneRequest();
 
@@ -516,6 +533,17 @@ public class Analyser {
         return true;
     }
 
+    private long getSharedCacheTtlInMs() {
+        if (parent == null || parent.getScannerParam() == null) {
+            return 0;
+        }
+        return parent.getScannerParam().getAnalyserCacheTtlInSecs() * 1000L;
+    }
+
+    private static Session getSession() {
+        return Model.getSingleton().getSession();
+    }
+
     private void sendAndReceive(HttpMessage msg) throws IOException {
         if (this.getDelayInMs() > 0) {
             try {
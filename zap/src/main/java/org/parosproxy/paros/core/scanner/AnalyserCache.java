@@ -0,0 +1,131 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.core.scanner;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.parosproxy.paros.model.Session;
+
+/**
+ * A cache of the responses analysed by the {@link Analyser}, shared by all the scans of the same
+ * session.
+ *
+ * <p>The responses are kept per URI (without query) and are valid only for a given time, after that
+ * the {@code Analyser} probes the URI again. The cache is cleared when used with a different
+ * session, the sample responses are backed by temporary history records of the session.
+ *
+ * @since 2.17.0
+ */
+class AnalyserCache {
+
+    private static final AnalyserCache INSTANCE = new AnalyserCache(System::currentTimeMillis);
+
+    private final LongSupplier clock;
+    private final Map<String, CachedResponse> responses;
+    private Session session;
+
+    AnalyserCache(LongSupplier clock) {
+        this.clock = clock;
+        this.responses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the cache shared by all the scans.
+     *
+     * @return the cache, never {@code null}.
+     */
+    static AnalyserCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the response analysed for the given URI, if not yet expired.
+     *
+     * @param session the current session.
+     * @param uri the URI, without query.
+     * @param ttlInMs the time, in milliseconds, that the responses are valid.
+     * @return the response, or {@code null} if none or expired.
+     */
+    SampleResponse get(Session session, String uri, long ttlInMs) {
+        if (ttlInMs <= 0 || !isSameSession(session)) {
+            return null;
+        }
+
+        CachedResponse cached = responses.get(uri);
+        if (cached == null) {
+            return null;
+        }
+        if (clock.getAsLong() - cached.timestamp >= ttlInMs) {
+            responses.remove(uri, cached);
+            return null;
+        }
+        return cached.response;
+    }
+
+    /**
+     * Puts the response analysed for the given URI.
+     *
+     * @param session the current session.
+     * @param uri the URI, without query.
+     * @param response the response analysed.
+     */
+    void put(Session session, String uri, SampleResponse response) {
+        if (isSameSession(session)) {
+            responses.put(uri, new CachedResponse(response, clock.getAsLong()));
+        }
+    }
+
+    /** Clears the cache. */
+    void clear() {
+        responses.clear();
+    }
+
+    /**
+     * Gets the number of responses in the cache, including the ones expired.
+     *
+     * @return the number of responses.
+     */
+    int size() {
+        return responses.size();
+    }
+
+    private synchronized boolean isSameSession(Session session) {
+        if (session == null) {
+            return false;
+        }
+        if (this.session != session) {
+            responses.clear();
+            this.session = session;
+        }
+        return true;
+    }
+
+    private static class CachedResponse {
+
+        private final SampleResponse response;
+        private final long timestamp;
+
+        CachedResponse(SampleResponse response, long timestamp) {
+            this.response = response;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -106,6 +106,9 @@
 // ZAP: 2022/09/21 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2023/05/17 Skip rules that reach the maximum number of alerts.
+// ZAP: 2026/10/15 Run the scan rules in the scheduler shared by all hosts of the scan.
+// ZAP: 2026/10/15 Create the knowledge base eagerly, it's shared by all threads.
+// ZAP: 2026/10/15 Release the threads reserved for the host once it completes.
 package org.parosproxy.paros.core.scanner;
 
 import java.io.IOException;
@@ -122,7 +125,6 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
-import org.parosproxy.paros.common.ThreadPool;
 import org.parosproxy.paros.control.Control;
 import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.model.HistoryReference;
@@ -155,11 +157,18 @@ public class HostProcess implements Runnable {
     private PluginFactory pluginFactory;
     private ScannerParam scannerParam = null;
     private HttpSender httpSender = null;
-    private ThreadPool threadPool = null;
+    private ScannerTaskScheduler.HostTasks hostTasks;
+
+    /**
+     * The scheduler created by this {@code HostProcess}, if the parent scanner does not provide
+     * one.
+     */
+    private ScannerTaskScheduler ownTaskScheduler;
+
     private Scanner parentScanner = null;
     private String hostAndPort = "";
     private Analyser analyser = null;
-    private Kb kb = null;
+    private final Kb kb = new Kb();
     private User user = null;
     private TechSet techSet;
     private RuleConfigParam ruleConfigParam;
@@ -302,7 +311,13 @@ public class HostProcess implements Runnable {
         httpSender.setUser(this.user);
         httpSender.setRemoveUserDefinedAuthHeaders(true);
 
-        threadPool = new ThreadPool(scannerParam.getThreadPerHost(), "ZAP-ActiveScanner-");
+        ScannerTaskScheduler taskScheduler = parentScanner.getTaskScheduler();
+        if (taskScheduler == null) {
+            ownTaskScheduler =
+                    new ScannerTaskScheduler(scannerParam.getThreadPerHost(), "ZAP-ActiveScanner-");
+            taskScheduler = ownTaskScheduler;
+        }
+        hostTasks = taskScheduler.createHostTasks(scannerParam.getThreadPerHost());
         this.techSet = TechSet.getAllTech();
     }
 
@@ -401,11 +416,15 @@ public class HostProcess implements Runnable {
                     Util.sleep(1000);
                 }
             }
-            threadPool.waitAllThreadComplete(300000);
+            hostTasks.waitAllTasksComplete(300000);
         } catch (Exception e) {
             LOGGER.error("An error occurred while active scanning:", e);
             stop();
         } finally {
+            hostTasks.close();
+            if (ownTaskScheduler != null) {
+                ownTaskScheduler.shutdown();
+            }
             notifyHostProgress(null);
             notifyHostComplete();
         }
@@ -496,7 +515,7 @@ public class HostProcess implements Runnable {
 
                     scanMessage(plugin, messageId);
                 }
-                threadPool.waitAllThreadComplete(600000);
+                hostTasks.waitAllTasksComplete(600000);
             } finally {
                 pluginCompleted(plugin);
             }
@@ -646,17 +665,9 @@ public class HostProcess implements Runnable {
             return false;
         }
 
-        Thread thread;
-        do {
-            if (this.isStop()) {
-                return false;
-            }
-            thread = threadPool.getFreeThreadAndRun(test);
-            if (thread == null) {
-                Util.sleep(200);
-            }
-
-        } while (thread == null);
+        if (!hostTasks.submit(test, this::isStop)) {
+            return false;
+        }
 
         mapPluginStats.get(plugin.getId()).incProgress();
         return true;
@@ -1152,10 +1163,6 @@ public class HostProcess implements Runnable {
      * @return the knowledge base of the current scan, never {@code null}.
      */
     Kb getKb() {
-        if (kb == null) {
-            kb = new Kb();
-        }
-
         return kb;
     }
 
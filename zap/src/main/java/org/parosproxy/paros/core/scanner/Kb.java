@@ -29,14 +29,15 @@
 // ZAP: 2020/11/26 Use Log4j 2 classes for logging.
 // ZAP: 2022/02/08 Use isEmpty where applicable.
 // ZAP: 2023/01/10 Tidy up logger.
+// ZAP: 2026/10/15 Use concurrent maps, add typed getters and optional bound of URIs.
 package org.parosproxy.paros.core.scanner;
 
-import java.util.TreeMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.commons.httpclient.URI;
-import org.apache.commons.httpclient.URIException;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 /**
  * Knowledge base records the properties or result found during a scan. It is mainly used to share
@@ -45,17 +46,34 @@ import org.apache.logging.log4j.Logger;
  * <p>There are 2 types of Kb: 1. key = name. result = value. This represents kb applicable over the
  * entire host. 2. key = url (path without query) and name. result = value. This represents kb
  * applicable for specific path only.
+ *
+ * <p>The knowledge base is thread-safe, the values are read without locking.
  */
 public class Kb {
 
-    // ZAP: Added logger.
-    private static final Logger LOGGER = LogManager.getLogger(Kb.class);
+    // ZAP: Use concurrent maps instead of synchronized methods.
+    private final Map<String, Values> mapKb = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Values>> mapURI = new ConcurrentHashMap<>();
+
+    private final int maxUris;
+    private final Queue<String> uriKeys;
+
+    /** Constructs a {@code Kb} without limit of URIs. */
+    public Kb() {
+        this(0);
+    }
 
-    // KB related
-    // ZAP: Added the type arguments.
-    private TreeMap<String, Object> mapKb = new TreeMap<>();
-    // ZAP: Added the type arguments.
-    private TreeMap<String, TreeMap<String, Object>> mapURI = new TreeMap<>();
+    /**
+     * Constructs a {@code Kb} that keeps the entries of at most the given number of URIs, the
+     * entries of the URIs added first are removed when the limit is reached.
+     *
+     * @param maxUris the maximum number of URIs, zero or negative for no limit.
+     * @since 2.17.0
+     */
+    public Kb(int maxUris) {
+        this.maxUris = Math.max(0, maxUris);
+        this.uriKeys = this.maxUris == 0 ? null : new ConcurrentLinkedQueue<>();
+    }
 
     /**
      * Get a list of the values matching the key.
@@ -64,7 +82,7 @@ public class Kb {
      * @return null if there is no previous values.
      */
     // ZAP: Added the type argument.
-    public synchronized Vector<Object> getList(String key) {
+    public Vector<Object> getList(String key) {
         return getList(mapKb, key);
     }
 
@@ -74,18 +92,25 @@ public class Kb {
      * @param key the key for the knowledge base entry
      * @param value the value of the new entry
      */
-    public synchronized void add(String key, Object value) {
+    public void add(String key, Object value) {
         add(mapKb, key, value);
     }
 
-    public synchronized Object get(String key) {
-        // ZAP: Added the type argument.
-        Vector<Object> v = getList(key);
-        if (v == null || v.isEmpty()) {
-            return null;
-        }
+    public Object get(String key) {
+        return get(mapKb, key);
+    }
 
-        return v.get(0);
+    /**
+     * Gets the first item in KB matching the key, if of the given type.
+     *
+     * @param <T> the type of the value.
+     * @param key the key for the knowledge base entry
+     * @param type the type of the value.
+     * @return the entry, or {@code null} if not of the given type or does not exist
+     * @since 2.17.0
+     */
+    public <T> T get(String key, Class<T> type) {
+        return cast(get(key), type);
     }
 
     /**
@@ -95,101 +120,102 @@ public class Kb {
      * @return the entry, or {@code null} if not a {@code String} or does not exist
      */
     public String getString(String key) {
-        Object obj = get(key);
-        if (obj != null && obj instanceof String) {
-            return (String) obj;
-        }
-        return null;
+        return get(key, String.class);
     }
 
     public boolean getBoolean(String key) {
-        Object obj = get(key);
-        if (obj != null && obj instanceof Boolean) {
-            return (Boolean) obj;
-        }
-        return false;
+        return Boolean.TRUE.equals(get(key, Boolean.class));
     }
 
-    public synchronized void add(URI uri, String key, Object value) {
-        // ZAP: catch CloneNotSupportedException as introduced with version 3.1 of HttpClient
-        try {
-            uri = (URI) uri.clone();
-        } catch (CloneNotSupportedException e1) {
-            return;
-        }
-
-        // ZAP: Removed variable (TreeMap map).
-        try {
-            uri.setQuery(null);
-        } catch (URIException e) {
-            // ZAP: Added logging.
-            LOGGER.error(e.getMessage(), e);
-            return;
-        }
-        // ZAP: Moved to after the try catch block.
-        String uriKey = uri.toString();
-        // ZAP: Added the type arguments.
-        TreeMap<String, Object> map = mapURI.get(uriKey);
+    public void add(URI uri, String key, Object value) {
+        String uriKey = createUriKey(uri);
+        Map<String, Values> map = mapURI.get(uriKey);
         if (map == null) {
-            // ZAP: Added the type argument.
-            map = new TreeMap<>();
-            mapURI.put(uriKey, map);
-        } // ZAP: Removed else branch.
+            map = new ConcurrentHashMap<>();
+            Map<String, Values> previous = mapURI.putIfAbsent(uriKey, map);
+            if (previous != null) {
+                map = previous;
+            } else if (uriKeys != null) {
+                uriKeys.add(uriKey);
+                evictUris();
+            }
+        }
 
         add(map, key, value);
     }
 
-    public synchronized Vector<Object> getList(URI uri, String key) {
-        // ZAP: catch CloneNotSupportedException as introduced with version 3.1 of HttpClient
-        try {
-            uri = (URI) uri.clone();
-        } catch (CloneNotSupportedException e1) {
-            return null;
+    private void evictUris() {
+        while (mapURI.size() > maxUris) {
+            String uriKey = uriKeys.poll();
+            if (uriKey == null) {
+                return;
+            }
+            mapURI.remove(uriKey);
         }
+    }
 
-        // ZAP: Removed variable (TreeMap map).
-        try {
-            uri.setQuery(null);
-        } catch (URIException e) {
-            // ZAP: Added logging.
-            LOGGER.error(e.getMessage(), e);
-            return null;
-        }
-        // ZAP: Moved to after the try catch block.
-        String uriKey = uri.toString();
-        // ZAP: Added the type argument and removed the instanceof.
-        TreeMap<String, Object> map = mapURI.get(uriKey);
+    public Vector<Object> getList(URI uri, String key) {
+        Map<String, Values> map = mapURI.get(createUriKey(uri));
         if (map == null) {
             return null;
-        } // ZAP: Removed else branch.
+        }
 
         return getList(map, key);
     }
 
-    public synchronized Object get(URI uri, String key) {
-        // ZAP: Added the type argument.
-        Vector<Object> v = getList(uri, key);
-        if (v == null || v.isEmpty()) {
+    public Object get(URI uri, String key) {
+        Map<String, Values> map = mapURI.get(createUriKey(uri));
+        if (map == null) {
             return null;
         }
 
-        return v.get(0);
+        return get(map, key);
+    }
+
+    /**
+     * Gets the first item in KB matching the URI and key, if of the given type.
+     *
+     * @param <T> the type of the value.
+     * @param uri the URI of the knowledge base entry, the query is ignored.
+     * @param key the key for the knowledge base entry
+     * @param type the type of the value.
+     * @return the entry, or {@code null} if not of the given type or does not exist
+     * @since 2.17.0
+     */
+    public <T> T get(URI uri, String key, Class<T> type) {
+        return cast(get(uri, key), type);
     }
 
     public String getString(URI uri, String key) {
-        Object obj = get(uri, key);
-        if (obj != null && obj instanceof String) {
-            return (String) obj;
-        }
-        return null;
+        return get(uri, key, String.class);
     }
 
     public boolean getBoolean(URI uri, String key) {
-        Object obj = get(uri, key);
-        if (obj != null && obj instanceof Boolean) {
-            return (Boolean) obj;
+        return Boolean.TRUE.equals(get(uri, key, Boolean.class));
+    }
+
+    /**
+     * Creates the key of the given URI, that is, the URI without the query.
+     *
+     * @param uri the URI.
+     * @return the key of the URI.
+     */
+    // ZAP: Strip the query from the string instead of cloning and changing the URI.
+    static String createUriKey(URI uri) {
+        // The string does not include the fragment.
+        String uriString = uri.toString();
+        int queryIdx = uriString.indexOf('?');
+        if (queryIdx == -1) {
+            return uriString;
+        }
+        return uriString.substring(0, queryIdx);
+    }
+
+    private static <T> T cast(Object obj, Class<T> type) {
+        if (type.isInstance(obj)) {
+            return type.cast(obj);
         }
-        return false;
+        return null;
     }
 
     /**
@@ -199,20 +225,8 @@ public class Kb {
      * @param key the key for the knowledge base entry
      * @param value the value of the entry
      */
-    // ZAP: Added the type arguments.
-    private void add(TreeMap<String, Object> map, String key, Object value) {
-        // ZAP: Added the type argument.
-        Vector<Object> v = getList(map, key);
-        if (v == null) {
-            // ZAP: Added the type argument.
-            v = new Vector<>();
-            synchronized (map) {
-                map.put(key, v);
-            }
-        }
-        if (!v.contains(value)) {
-            v.add(value);
-        }
+    private static void add(Map<String, Values> map, String key, Object value) {
+        map.computeIfAbsent(key, k -> new Values()).add(value);
     }
 
     /**
@@ -222,18 +236,38 @@ public class Kb {
      * @param key the key for the knowledge base entry
      * @return the values of the entry, might be {@code null}
      */
-    // ZAP: Added the type arguments and @SuppressWarnings annotation.
-    @SuppressWarnings("unchecked")
-    private Vector<Object> getList(TreeMap<String, Object> map, String key) {
-        Object obj = null;
-        synchronized (map) {
-            obj = map.get(key);
+    private static Vector<Object> getList(Map<String, Values> map, String key) {
+        Values values = map.get(key);
+        if (values == null) {
+            return null;
         }
+        return values.list;
+    }
 
-        if (obj != null && obj instanceof Vector) {
-            // ZAP: Added the type argument.
-            return (Vector<Object>) obj;
+    private static Object get(Map<String, Values> map, String key) {
+        Values values = map.get(key);
+        if (values == null) {
+            return null;
+        }
+        return values.first;
+    }
+
+    /** The values of an entry, with the first value available without locking. */
+    private static class Values {
+
+        private final Vector<Object> list = new Vector<>(1);
+        private volatile Object first;
+
+        void add(Object value) {
+            synchronized (list) {
+                if (list.contains(value)) {
+                    return;
+                }
+                list.add(value);
+                if (first == null) {
+                    first = value;
+                }
+            }
         }
-        return null;
     }
 }
@@ -59,6 +59,7 @@
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2023/05/30 Stop HostProcess to stop the Analyser.
 // ZAP: 2024/11/20 Include ID of the scan in relevant log messages.
+// ZAP: 2026/10/15 Add scheduler for the scan rules shared by all hosts.
 package org.parosproxy.paros.core.scanner;
 
 import java.security.InvalidParameterException;
@@ -121,6 +122,7 @@ public class Scanner implements Runnable {
     private RuleConfigParam ruleConfigParam;
     private boolean isStop = false;
     private ThreadPool pool = null;
+    private ScannerTaskScheduler taskScheduler;
     private Target target = null;
     private long startTimeMillis = 0;
     private List<Pattern> excludeUrls = null;
@@ -187,6 +189,7 @@ public class Scanner implements Runnable {
         this.scanPolicy = scanPolicy;
         this.ruleConfigParam = ruleConfigParam;
         pool = new ThreadPool(scannerParam.getHostPerScan(), "ZAP-Scanner-");
+        taskScheduler = createTaskScheduler(scannerParam);
 
         // ZAP: Load all scanner hooks from extensionloader.
         Control.getSingleton().getExtensionLoader().hookScannerHook(this);
@@ -257,6 +260,7 @@ public class Scanner implements Runnable {
         } catch (Exception e) {
             LOGGER.error("An error occurred while active scanning:", e);
         } finally {
+            taskScheduler.shutdown();
             notifyScannerComplete();
         }
     }
@@ -338,6 +342,37 @@ public class Scanner implements Runnable {
         }
     }
 
+    /**
+     * Creates the scheduler of the scan rules, shared by all the hosts being scanned.
+     *
+     * <p>Each host is limited to the number of threads per host, the threads not needed by the
+     * other hosts are lent to a host only if the maximum number of threads of the scan was set
+     * above the threads per host times the hosts per scan.
+     *
+     * @param scannerParam the scanner parameters.
+     * @return the scheduler.
+     * @see ScannerParam#getMaxScanThreads()
+     */
+    static ScannerTaskScheduler createTaskScheduler(ScannerParam scannerParam) {
+        int hostsThreads = scannerParam.getThreadPerHost() * scannerParam.getHostPerScan();
+        int maxScanThreads = scannerParam.getMaxScanThreads();
+        boolean lendIdleThreads = maxScanThreads > hostsThreads;
+        return new ScannerTaskScheduler(
+                maxScanThreads > 0 ? maxScanThreads : hostsThreads,
+                "ZAP-ActiveScanner-",
+                scannerParam.isUseVirtualThreads(),
+                lendIdleThreads);
+    }
+
+    /**
+     * Gets the scheduler of the scan rules, shared by all the hosts being scanned.
+     *
+     * @return the scheduler.
+     */
+    ScannerTaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
     private HostProcess createHostProcess(String hostAndPort, StructuralNode node) {
         HostProcess hostProcess =
                 new HostProcess(hostAndPort, this, scannerParam, scanPolicy, ruleConfigParam);
@@ -59,6 +59,9 @@
 // ZAP: 2023/05/17 Add option for the maximum number of alerts per rule.
 // ZAP: 2023/07/06 Deprecate delayInMs.
 // ZAP: 2023/11/21 Add option to encode cookie values.
+// ZAP: 2026/10/15 Add option for the maximum number of threads of the scan.
+// ZAP: 2026/10/15 Add options to keep the scan messages in memory instead of persisting them.
+// ZAP: 2026/10/15 Add option for the time the analysed responses are shared between scans.
 package org.parosproxy.paros.core.scanner;
 
 import java.util.ArrayList;
@@ -78,8 +81,13 @@ public class ScannerParam extends AbstractParam {
     // Base path for the Scanner Param tree
     private static final String ACTIVE_SCAN_BASE_KEY = "scanner";
 
+    private static final int DEFAULT_MAX_MESSAGES_IN_MEMORY = 500;
+
     private static final String HOST_PER_SCAN = ACTIVE_SCAN_BASE_KEY + ".hostPerScan";
     private static final String THREAD_PER_HOST = ACTIVE_SCAN_BASE_KEY + ".threadPerHost";
+    private static final String MAX_SCAN_THREADS = ACTIVE_SCAN_BASE_KEY + ".maxScanThreads";
+    private static final String USE_VIRTUAL_THREADS = ACTIVE_SCAN_BASE_KEY + ".useVirtualThreads";
+    private static final String ANALYSER_CACHE_TTL = ACTIVE_SCAN_BASE_KEY + ".analyserCacheTtl";
     // ZAP: Added support for delayInMs
     private static final String DELAY_IN_MS = ACTIVE_SCAN_BASE_KEY + ".delayInMs";
     private static final String INJECT_PLUGIN_ID_IN_HEADER = ACTIVE_SCAN_BASE_KEY + ".pluginHeader";
@@ -88,6 +96,9 @@ public class ScannerParam extends AbstractParam {
     private static final String RESCAN_IN_ATTACK_MODE = ACTIVE_SCAN_BASE_KEY + ".attackRescan";
     private static final String PROMPT_TO_CLEAR_FINISHED = ACTIVE_SCAN_BASE_KEY + ".clearFinished";
     private static final String MAX_RESULTS_LIST = ACTIVE_SCAN_BASE_KEY + ".maxResults";
+    private static final String PERSIST_MESSAGES = ACTIVE_SCAN_BASE_KEY + ".persistMessages";
+    private static final String MAX_MESSAGES_IN_MEMORY =
+            ACTIVE_SCAN_BASE_KEY + ".maxMessagesInMemory";
     private static final String MAX_SCANS_IN_UI = ACTIVE_SCAN_BASE_KEY + ".maxScansInUI";
     private static final String SHOW_ADV_DIALOG = ACTIVE_SCAN_BASE_KEY + ".advDialog";
     private static final String DEFAULT_POLICY = ACTIVE_SCAN_BASE_KEY + ".defaultPolicy";
@@ -168,8 +179,47 @@ public class ScannerParam extends AbstractParam {
     // Internal variables
     private int hostPerScan = 2;
     private int threadPerHost;
+
+    /**
+     * The maximum number of threads of the scan, shared by all the hosts.
+     *
+     * <p>Default value is {@code 0}, the number of threads per host times the number of hosts.
+     */
+    private int maxScanThreads;
+
+    /**
+     * Flag that indicates whether or not the scan tasks should run in virtual threads, if supported
+     * by the Java runtime.
+     *
+     * <p>Default value is {@code false}.
+     */
+    private boolean useVirtualThreads;
+
+    /**
+     * The time, in seconds, that the responses analysed to detect the custom "not found" pages are
+     * shared between the scans of the same session.
+     *
+     * <p>Default value is {@code 0}, that is, not shared.
+     */
+    private int analyserCacheTtlInSecs;
+
     private int delayInMs = 0;
     private int maxResultsToList = 1000;
+
+    /**
+     * Flag that indicates whether or not the messages sent during the scan should be persisted.
+     *
+     * <p>Default value is {@code true}.
+     */
+    private boolean persistMessages = true;
+
+    /**
+     * The maximum number of messages kept in memory, when not persisting the messages.
+     *
+     * <p>Default value is {@value #DEFAULT_MAX_MESSAGES_IN_MEMORY}.
+     */
+    private int maxMessagesInMemory = DEFAULT_MAX_MESSAGES_IN_MEMORY;
+
     private int maxScansInUI = 5;
     private boolean injectPluginIdInHeader = false;
     private boolean handleAntiCSRFTokens = true;
@@ -244,10 +294,21 @@ public class ScannerParam extends AbstractParam {
 
         this.hostPerScan = Math.max(1, getInt(HOST_PER_SCAN, 2));
 
+        this.maxScanThreads = Math.max(0, getInt(MAX_SCAN_THREADS, 0));
+
+        this.useVirtualThreads = getBoolean(USE_VIRTUAL_THREADS, false);
+
+        this.analyserCacheTtlInSecs = Math.max(0, getInt(ANALYSER_CACHE_TTL, 0));
+
         this.delayInMs = getInt(DELAY_IN_MS, 0);
 
         this.maxResultsToList = getInt(MAX_RESULTS_LIST, 1000);
 
+        this.persistMessages = getBoolean(PERSIST_MESSAGES, true);
+
+        this.maxMessagesInMemory =
+                Math.max(0, getInt(MAX_MESSAGES_IN_MEMORY, DEFAULT_MAX_MESSAGES_IN_MEMORY));
+
         this.maxRuleDurationInMins = getInt(MAX_RULE_DURATION_IN_MINS, 0);
 
         this.maxScanDurationInMins = getInt(MAX_SCAN_DURATION_IN_MINS, 0);
@@ -410,6 +471,90 @@ public class ScannerParam extends AbstractParam {
         getConfig().setProperty(THREAD_PER_HOST, Integer.toString(this.threadPerHost));
     }
 
+    /**
+     * Gets the maximum number of threads of the scan, shared by all the hosts being scanned.
+     *
+     * <p>Each host is limited to the {@link #getThreadPerHost() number of threads per host}. Only
+     * if the maximum number of threads is above the number of threads per host times the {@link
+     * #getHostPerScan() number of hosts per scan} the threads not needed by the other hosts (e.g.
+     * finished) are used by the hosts that still have scan rules to run, above their limit.
+     *
+     * @return the maximum number of threads, or {@code 0} if the number of threads per host times
+     *     the number of hosts per scan.
+     * @since 2.17.0
+     */
+    public int getMaxScanThreads() {
+        return maxScanThreads;
+    }
+
+    /**
+     * Sets the maximum number of threads of the scan, shared by all the hosts being scanned.
+     *
+     * @param maxScanThreads the maximum number of threads, {@code 0} to use the number of threads
+     *     per host times the number of hosts per scan.
+     * @since 2.17.0
+     */
+    public void setMaxScanThreads(int maxScanThreads) {
+        this.maxScanThreads = Math.max(0, maxScanThreads);
+
+        getConfig().setProperty(MAX_SCAN_THREADS, this.maxScanThreads);
+    }
+
+    /**
+     * Tells whether or not the scan tasks should run in virtual threads.
+     *
+     * <p>The virtual threads are used only if supported by the Java runtime, the number of tasks
+     * running concurrently is still limited by the number of threads of the scan and per host.
+     *
+     * @return {@code true} if the scan tasks should run in virtual threads, {@code false}
+     *     otherwise.
+     * @since 2.17.0
+     * @see #getMaxScanThreads()
+     */
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * Sets whether or not the scan tasks should run in virtual threads.
+     *
+     * @param useVirtualThreads {@code true} if the scan tasks should run in virtual threads, {@code
+     *     false} otherwise.
+     * @since 2.17.0
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+
+        getConfig().setProperty(USE_VIRTUAL_THREADS, useVirtualThreads);
+    }
+
+    /**
+     * Gets the time, in seconds, that the responses analysed to detect the custom "not found" pages
+     * are shared between the scans of the same session.
+     *
+     * <p>While shared the scans of the same sites do not need to probe the sites again.
+     *
+     * @return the time in seconds, {@code 0} if not shared.
+     * @since 2.17.0
+     */
+    public int getAnalyserCacheTtlInSecs() {
+        return analyserCacheTtlInSecs;
+    }
+
+    /**
+     * Sets the time, in seconds, that the responses analysed to detect the custom "not found" pages
+     * are shared between the scans of the same session.
+     *
+     * @param analyserCacheTtlInSecs the time in seconds, {@code 0} to not share. Negative values
+     *     are handled as {@code 0}.
+     * @since 2.17.0
+     */
+    public void setAnalyserCacheTtlInSecs(int analyserCacheTtlInSecs) {
+        this.analyserCacheTtlInSecs = Math.max(0, analyserCacheTtlInSecs);
+
+        getConfig().setProperty(ANALYSER_CACHE_TTL, this.analyserCacheTtlInSecs);
+    }
+
     /**
      * @return Returns the thread.
      */
@@ -440,6 +585,58 @@ public class ScannerParam extends AbstractParam {
         getConfig().setProperty(MAX_RESULTS_LIST, Integer.toString(this.maxResultsToList));
     }
 
+    /**
+     * Tells whether or not the messages sent during the scan should be persisted.
+     *
+     * <p>When not persisted only the most recent messages are kept in memory, the messages that
+     * raise alerts are still persisted along with the alerts.
+     *
+     * @return {@code true} if the messages should be persisted, {@code false} otherwise.
+     * @since 2.17.0
+     * @see #getMaxMessagesInMemory()
+     */
+    public boolean isPersistMessages() {
+        return persistMessages;
+    }
+
+    /**
+     * Sets whether or not the messages sent during the scan should be persisted.
+     *
+     * @param persistMessages {@code true} if the messages should be persisted, {@code false}
+     *     otherwise.
+     * @since 2.17.0
+     */
+    public void setPersistMessages(boolean persistMessages) {
+        this.persistMessages = persistMessages;
+
+        getConfig().setProperty(PERSIST_MESSAGES, persistMessages);
+    }
+
+    /**
+     * Gets the maximum number of messages kept in memory, per scan, when the messages are not
+     * persisted.
+     *
+     * @return the maximum number of messages.
+     * @since 2.17.0
+     * @see #isPersistMessages()
+     */
+    public int getMaxMessagesInMemory() {
+        return maxMessagesInMemory;
+    }
+
+    /**
+     * Sets the maximum number of messages kept in memory, per scan, when the messages are not
+     * persisted.
+     *
+     * @param maxMessagesInMemory the maximum number of messages, zero or negative to not keep any.
+     * @since 2.17.0
+     */
+    public void setMaxMessagesInMemory(int maxMessagesInMemory) {
+        this.maxMessagesInMemory = Math.max(0, maxMessagesInMemory);
+
+        getConfig().setProperty(MAX_MESSAGES_IN_MEMORY, this.maxMessagesInMemory);
+    }
+
     public int getMaxRuleDurationInMins() {
         return maxRuleDurationInMins;
     }
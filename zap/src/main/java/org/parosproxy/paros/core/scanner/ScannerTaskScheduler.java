@@ -0,0 +1,302 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.core.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import org.zaproxy.zap.utils.VirtualThreads;
+
+/**
+ * Runs the tasks of the active scan, that is, the scan rules against the messages, of all the hosts
+ * of a scan in a shared pool of threads.
+ *
+ * <p>The pool limits the number of tasks running concurrently in the whole scan while the {@link
+ * HostTasks} limit the number of tasks running concurrently for each host. Optionally, the threads
+ * of the pool not reserved by the other hosts, that is, not needed to reach their own limit, can be
+ * lent to a host above its limit, which allows the hosts that still have tasks to run (e.g. a slow
+ * host) to use all the threads of the pool. By default the limit of each host is never exceeded.
+ *
+ * <p>The tasks can optionally be run in virtual threads, if supported by the Java runtime.
+ */
+class ScannerTaskScheduler {
+
+    private static final long POLL_STOP_INTERVAL_MS = 200;
+
+    private final int maxThreads;
+    private final boolean lendIdleThreads;
+    private final ExecutorService executor;
+
+    private final ReentrantLock lock;
+    private final Condition taskCompleted;
+    private final List<HostTasks> hosts;
+    private int runningTasks;
+
+    /**
+     * Constructs a {@code ScannerTaskScheduler} with the given maximum number of threads.
+     *
+     * @param maxThreads the maximum number of tasks running concurrently, at least one is used.
+     * @param threadsBaseName the base name of the threads.
+     */
+    ScannerTaskScheduler(int maxThreads, String threadsBaseName) {
+        this(maxThreads, threadsBaseName, false);
+    }
+
+    /**
+     * Constructs a {@code ScannerTaskScheduler} with the given maximum number of threads and
+     * whether or not virtual threads should be used.
+     *
+     * @param maxThreads the maximum number of tasks running concurrently, at least one is used.
+     * @param threadsBaseName the base name of the threads.
+     * @param useVirtualThreads {@code true} if the tasks should run in virtual threads, {@code
+     *     false} otherwise. Ignored if not supported.
+     */
+    ScannerTaskScheduler(int maxThreads, String threadsBaseName, boolean useVirtualThreads) {
+        this(maxThreads, threadsBaseName, useVirtualThreads, false);
+    }
+
+    /**
+     * Constructs a {@code ScannerTaskScheduler} with the given maximum number of threads, whether
+     * or not virtual threads should be used, and whether or not the threads not needed by the
+     * other hosts can be lent to a host above its limit.
+     *
+     * @param maxThreads the maximum number of tasks running concurrently, at least one is used.
+     * @param threadsBaseName the base name of the threads.
+     * @param useVirtualThreads {@code true} if the tasks should run in virtual threads, {@code
+     *     false} otherwise. Ignored if not supported.
+     * @param lendIdleThreads {@code true} if a host can run more tasks than its limit when the
+     *     threads are not needed by the other hosts, {@code false} if the limit is never exceeded.
+     */
+    ScannerTaskScheduler(
+            int maxThreads,
+            String threadsBaseName,
+            boolean useVirtualThreads,
+            boolean lendIdleThreads) {
+        this.maxThreads = Math.max(1, maxThreads);
+        this.lendIdleThreads = lendIdleThreads;
+        this.lock = new ReentrantLock();
+        this.taskCompleted = lock.newCondition();
+        this.hosts = new ArrayList<>();
+        if (useVirtualThreads && VirtualThreads.isSupported()) {
+            executor = VirtualThreads.newBoundedExecutor(threadsBaseName, this.maxThreads);
+        } else {
+            ThreadPoolExecutor threadPool =
+                    new ThreadPoolExecutor(
+                            this.maxThreads,
+                            this.maxThreads,
+                            60,
+                            TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(),
+                            new ScannerThreadFactory(threadsBaseName));
+            threadPool.allowCoreThreadTimeOut(true);
+            executor = threadPool;
+        }
+    }
+
+    /**
+     * Creates the tasks of a host, which are limited to the given number of concurrent tasks (or
+     * while other hosts need the threads, if lending the idle threads).
+     *
+     * <p>The tasks should be {@link HostTasks#close() closed} once the host no longer has tasks to
+     * run, to not reserve threads of the pool.
+     *
+     * @param maxTasks the maximum number of tasks of the host running concurrently.
+     * @return the tasks of the host.
+     */
+    HostTasks createHostTasks(int maxTasks) {
+        HostTasks hostTasks = new HostTasks(Math.max(1, maxTasks));
+        lock.lock();
+        try {
+            hosts.add(hostTasks);
+        } finally {
+            lock.unlock();
+        }
+        return hostTasks;
+    }
+
+    /**
+     * Shuts down the scheduler, the tasks already submitted are still run but no new tasks are
+     * accepted.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Tells whether or not the given host can run one more task.
+     *
+     * <p>Must be called while holding the lock.
+     *
+     * @param host the host that wants to run the task.
+     * @return {@code true} if the task can be run, {@code false} otherwise.
+     */
+    private boolean canRun(HostTasks host) {
+        if (runningTasks >= maxThreads) {
+            return false;
+        }
+        if (host.runningTasks < host.maxTasks) {
+            return true;
+        }
+        if (!lendIdleThreads) {
+            return false;
+        }
+        int reserved = 0;
+        for (HostTasks other : hosts) {
+            if (other != host) {
+                reserved += Math.max(0, other.maxTasks - other.runningTasks);
+            }
+        }
+        return runningTasks + reserved < maxThreads;
+    }
+
+    private void taskCompleted(HostTasks host) {
+        lock.lock();
+        try {
+            runningTasks--;
+            host.runningTasks--;
+            taskCompleted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The tasks of a host, limited to a maximum number of tasks running concurrently unless lending
+     * the idle threads and the other hosts do not need them.
+     */
+    class HostTasks {
+
+        private final int maxTasks;
+        private int runningTasks;
+
+        private HostTasks(int maxTasks) {
+            this.maxTasks = maxTasks;
+        }
+
+        /**
+         * Submits the given task, waiting until the host can run one more task.
+         *
+         * @param task the task to run.
+         * @param stop tells whether or not the wait should stop.
+         * @return {@code true} if the task was submitted, {@code false} otherwise.
+         */
+        boolean submit(Runnable task, BooleanSupplier stop) {
+            lock.lock();
+            try {
+                while (!canRun(this)) {
+                    if (stop.getAsBoolean()) {
+                        return false;
+                    }
+                    taskCompleted.await(POLL_STOP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                }
+                ScannerTaskScheduler.this.runningTasks++;
+                runningTasks++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                executor.execute(
+                        () -> {
+                            try {
+                                task.run();
+                            } finally {
+                                taskCompleted(this);
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                taskCompleted(this);
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Waits until all the tasks submitted complete, at most the given time.
+         *
+         * @param waitInMillis the number of milliseconds to wait.
+         * @return {@code true} if all the tasks completed, {@code false} otherwise.
+         */
+        boolean waitAllTasksComplete(long waitInMillis) {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(waitInMillis);
+            lock.lock();
+            try {
+                while (runningTasks > 0) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = taskCompleted.awaitNanos(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Closes the tasks of the host, the threads are no longer reserved for the host.
+         *
+         * <p>Should be called once no more tasks are submitted, the tasks already running are not
+         * affected.
+         */
+        void close() {
+            lock.lock();
+            try {
+                hosts.remove(this);
+                taskCompleted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static class ScannerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber;
+        private final String namePrefix;
+
+        ScannerThreadFactory(String namePrefix) {
+            this.threadNumber = new AtomicInteger();
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, namePrefix + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
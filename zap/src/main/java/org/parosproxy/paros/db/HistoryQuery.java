@@ -0,0 +1,246 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db;
+
+import java.util.Arrays;
+
+/**
+ * A query of history records, which allows to filter the records by URI prefix, history type and ID
+ * range, and to paginate the results.
+ *
+ * <p>The records are always ordered by history ID, ascending.
+ *
+ * @since 2.17.0
+ * @see TableHistory#getHistorySummaries(HistoryQuery)
+ */
+public class HistoryQuery {
+
+    /** Constant that indicates that no limit of records was set. */
+    public static final int NO_LIMIT = -1;
+
+    private final long sessionId;
+    private final String uriPrefix;
+    private final int[] historyTypes;
+    private final int startAtHistoryId;
+    private final int endAtHistoryId;
+    private final int offset;
+    private final int limit;
+
+    private HistoryQuery(Builder builder) {
+        this.sessionId = builder.sessionId;
+        this.uriPrefix = builder.uriPrefix;
+        this.historyTypes = builder.historyTypes;
+        this.startAtHistoryId = builder.startAtHistoryId;
+        this.endAtHistoryId = builder.endAtHistoryId;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * Gets the ID of the session of the history records.
+     *
+     * @return the ID of the session.
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the prefix that the URI of the history records must start with.
+     *
+     * @return the URI prefix, or {@code null} if the records should not be filtered by URI.
+     */
+    public String getUriPrefix() {
+        return uriPrefix;
+    }
+
+    /**
+     * Gets the types of the history records.
+     *
+     * @return the history types, never {@code null}. Empty if the records should not be filtered by
+     *     type.
+     */
+    public int[] getHistoryTypes() {
+        return historyTypes.clone();
+    }
+
+    /**
+     * Gets the ID of the first history record (inclusive).
+     *
+     * @return the ID of the first history record, or zero if not bounded.
+     */
+    public int getStartAtHistoryId() {
+        return startAtHistoryId;
+    }
+
+    /**
+     * Gets the ID of the last history record (inclusive).
+     *
+     * @return the ID of the last history record, or zero if not bounded.
+     */
+    public int getEndAtHistoryId() {
+        return endAtHistoryId;
+    }
+
+    /**
+     * Gets the number of matching history records to skip.
+     *
+     * @return the number of records to skip, zero or positive.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the maximum number of history records to return.
+     *
+     * @return the maximum number of records, or {@link #NO_LIMIT} if not limited.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Tells whether or not the given history record matches this query, ignoring the session,
+     * offset and limit.
+     *
+     * @param historyId the ID of the history record.
+     * @param historyType the type of the history record.
+     * @param uri the URI of the history record.
+     * @return {@code true} if the record matches, {@code false} otherwise.
+     */
+    public boolean matches(int historyId, int historyType, String uri) {
+        if (startAtHistoryId > 0 && historyId < startAtHistoryId) {
+            return false;
+        }
+        if (endAtHistoryId > 0 && historyId > endAtHistoryId) {
+            return false;
+        }
+        if (historyTypes.length != 0
+                && Arrays.stream(historyTypes).noneMatch(e -> e == historyType)) {
+            return false;
+        }
+        return uriPrefix == null || (uri != null && uri.startsWith(uriPrefix));
+    }
+
+    /**
+     * Creates a new builder for a query of the history records of the given session.
+     *
+     * @param sessionId the ID of the session of the history records.
+     * @return a new builder.
+     */
+    public static Builder builder(long sessionId) {
+        return new Builder(sessionId);
+    }
+
+    /** A builder of {@link HistoryQuery}. */
+    public static class Builder {
+
+        private final long sessionId;
+        private String uriPrefix;
+        private int[] historyTypes;
+        private int startAtHistoryId;
+        private int endAtHistoryId;
+        private int offset;
+        private int limit;
+
+        private Builder(long sessionId) {
+            this.sessionId = sessionId;
+            this.historyTypes = new int[0];
+            this.limit = NO_LIMIT;
+        }
+
+        /**
+         * Sets the prefix that the URI of the history records must start with.
+         *
+         * @param uriPrefix the URI prefix, {@code null} or empty to not filter by URI.
+         * @return the builder.
+         */
+        public Builder setUriPrefix(String uriPrefix) {
+            this.uriPrefix = uriPrefix == null || uriPrefix.isEmpty() ? null : uriPrefix;
+            return this;
+        }
+
+        /**
+         * Sets the types of the history records.
+         *
+         * @param historyTypes the history types, {@code null} or empty to not filter by type.
+         * @return the builder.
+         */
+        public Builder setHistoryTypes(int... historyTypes) {
+            this.historyTypes = historyTypes == null ? new int[0] : historyTypes.clone();
+            return this;
+        }
+
+        /**
+         * Sets the ID of the first history record (inclusive).
+         *
+         * @param startAtHistoryId the ID of the first history record, zero or negative to not
+         *     bound.
+         * @return the builder.
+         */
+        public Builder setStartAtHistoryId(int startAtHistoryId) {
+            this.startAtHistoryId = Math.max(0, startAtHistoryId);
+            return this;
+        }
+
+        /**
+         * Sets the ID of the last history record (inclusive).
+         *
+         * @param endAtHistoryId the ID of the last history record, zero or negative to not bound.
+         * @return the builder.
+         */
+        public Builder setEndAtHistoryId(int endAtHistoryId) {
+            this.endAtHistoryId = Math.max(0, endAtHistoryId);
+            return this;
+        }
+
+        /**
+         * Sets the number of matching history records to skip.
+         *
+         * @param offset the number of records to skip, negative values are treated as zero.
+         * @return the builder.
+         */
+        public Builder setOffset(int offset) {
+            this.offset = Math.max(0, offset);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of history records to return.
+         *
+         * @param limit the maximum number of records, zero or negative to not limit.
+         * @return the builder.
+         */
+        public Builder setLimit(int limit) {
+            this.limit = limit > 0 ? limit : NO_LIMIT;
+            return this;
+        }
+
+        /**
+         * Builds the query.
+         *
+         * @return the query.
+         */
+        public HistoryQuery build() {
+            return new HistoryQuery(this);
+        }
+    }
+}
@@ -26,6 +26,7 @@
 // ZAP: 2016/01/26 Fixed findbugs warning (tag field no longer used in history table)
 // ZAP: 2019/06/01 Normalise line endings.
 // ZAP: 2019/06/05 Normalise format/style.
+// ZAP: 2026/10/15 Add constructor with the HttpMessage.
 package org.parosproxy.paros.db;
 
 import org.parosproxy.paros.model.HistoryReference;
@@ -68,6 +69,22 @@ public class RecordHistory {
         httpMessage.setResponseFromTargetHost(responseFromTargetHost);
     }
 
+    /**
+     * Constructs a {@code RecordHistory} with the given IDs, type, and message.
+     *
+     * @param historyId the ID of the history record.
+     * @param historyType the type of the history record.
+     * @param sessionId the ID of the session.
+     * @param httpMessage the message, must not be {@code null}.
+     * @since 2.17.0
+     */
+    public RecordHistory(int historyId, int historyType, long sessionId, HttpMessage httpMessage) {
+        setHistoryId(historyId);
+        setHistoryType(historyType);
+        setSessionId(sessionId);
+        this.httpMessage = httpMessage;
+    }
+
     /**
      * @return Returns the id.
      */
@@ -0,0 +1,102 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db;
+
+/**
+ * A lightweight history record, with the request and response headers but not the bodies.
+ *
+ * <p>Allows to filter and paginate the history records without reading the whole messages, which
+ * can be read afterwards with {@link TableHistory#read(int)}.
+ *
+ * @since 2.17.0
+ * @see TableHistory#getHistorySummaries(HistoryQuery)
+ */
+public class RecordHistorySummary {
+
+    private final int historyId;
+    private final int historyType;
+    private final long sessionId;
+    private final String method;
+    private final String uri;
+    private final int statusCode;
+    private final String requestHeader;
+    private final String responseHeader;
+
+    public RecordHistorySummary(
+            int historyId,
+            int historyType,
+            long sessionId,
+            String method,
+            String uri,
+            int statusCode,
+            String requestHeader,
+            String responseHeader) {
+        this.historyId = historyId;
+        this.historyType = historyType;
+        this.sessionId = sessionId;
+        this.method = method;
+        this.uri = uri;
+        this.statusCode = statusCode;
+        this.requestHeader = requestHeader;
+        this.responseHeader = responseHeader;
+    }
+
+    public int getHistoryId() {
+        return historyId;
+    }
+
+    public int getHistoryType() {
+        return historyType;
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * Gets the status code of the response.
+     *
+     * @return the status code, or zero if not available.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getRequestHeader() {
+        return requestHeader;
+    }
+
+    /**
+     * Gets the response header.
+     *
+     * @return the response header, might be {@code null} or empty if the message has no response.
+     */
+    public String getResponseHeader() {
+        return responseHeader;
+    }
+}
@@ -25,6 +25,7 @@ package org.parosproxy.paros.db;
  *
  * @author psiinon
  */
+import java.util.ArrayList;
 import java.util.List;
 import org.parosproxy.paros.extension.option.DatabaseParam;
 import org.parosproxy.paros.model.HistoryReference;
@@ -135,6 +136,68 @@ public interface TableHistory extends DatabaseListener {
     List<Integer> getHistoryList(long sessionId, int histType, String filter, boolean isRequest)
             throws DatabaseException;
 
+    /**
+     * Gets the summaries of the history records that match the given query, ordered by history ID.
+     *
+     * <p>The summaries do not include the bodies of the messages, the whole message can be read
+     * afterwards with {@link #read(int)}.
+     *
+     * <p>The default implementation reads all the history records of the session and filters them
+     * in memory, implementations should override this method to filter and paginate the records in
+     * the database.
+     *
+     * @param query the query of the history records.
+     * @return a {@code List} with the summaries of the history records, never {@code null}.
+     * @throws DatabaseException if an error occurred while getting the history records.
+     * @since 2.17.0
+     */
+    default List<RecordHistorySummary> getHistorySummaries(HistoryQuery query)
+            throws DatabaseException {
+        List<RecordHistorySummary> summaries = new ArrayList<>();
+        int skip = query.getOffset();
+        int limit = query.getLimit();
+        for (Integer id :
+                getHistoryIdsOfHistTypeStartingAt(
+                        query.getSessionId(),
+                        query.getStartAtHistoryId(),
+                        query.getHistoryTypes())) {
+            if (limit != HistoryQuery.NO_LIMIT && summaries.size() >= limit) {
+                break;
+            }
+            RecordHistory record;
+            try {
+                record = read(id);
+            } catch (HttpMalformedHeaderException e) {
+                throw new DatabaseException(e);
+            }
+            if (record == null) {
+                continue;
+            }
+            HttpMessage msg = record.getHttpMessage();
+            String uri = msg.getRequestHeader().getURI().toString();
+            if (!query.matches(record.getHistoryId(), record.getHistoryType(), uri)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            summaries.add(
+                    new RecordHistorySummary(
+                            record.getHistoryId(),
+                            record.getHistoryType(),
+                            record.getSessionId(),
+                            msg.getRequestHeader().getMethod(),
+                            uri,
+                            msg.getResponseHeader().getStatusCode(),
+                            msg.getRequestHeader().toString(),
+                            msg.getResponseHeader().isEmpty()
+                                    ? ""
+                                    : msg.getResponseHeader().toString()));
+        }
+        return summaries;
+    }
+
     void deleteHistorySession(long sessionId) throws DatabaseException;
 
     void deleteHistoryType(long sessionId, int historyType) throws DatabaseException;
@@ -184,4 +247,16 @@ public interface TableHistory extends DatabaseListener {
     void updateNote(int historyId, String note) throws DatabaseException;
 
     int lastIndex();
+
+    /**
+     * Waits until all the history records written are persisted in the database.
+     *
+     * <p>Implementations that write the history records asynchronously should override this method,
+     * callers that need the records in the database (for example, to reference them in other
+     * tables) should call this method before.
+     *
+     * @throws DatabaseException if an error occurred while waiting for the history records.
+     * @since 2.17.0
+     */
+    default void flush() throws DatabaseException {}
 }
@@ -25,6 +25,7 @@
 // implementations
 // ZAP: 2019/06/01 Normalise line endings.
 // ZAP: 2019/06/05 Normalise format/style.
+// ZAP: 2026/10/15 Added getNewConnection().
 package org.parosproxy.paros.db.paros;
 
 import java.sql.Connection;
@@ -63,5 +64,22 @@ public abstract class ParosAbstractTable implements DatabaseListener {
         }
     }
 
+    /**
+     * Gets a new connection to the database, not shared with the other tables.
+     *
+     * <p>The caller is responsible for closing the connection.
+     *
+     * @return the new connection.
+     * @throws DatabaseException if an error occurred while creating the connection.
+     * @since 2.17.0
+     */
+    protected Connection getNewConnection() throws DatabaseException {
+        try {
+            return server.getNewConnection();
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
     protected abstract void reconnect(Connection connection) throws DatabaseException;
 }
@@ -45,6 +45,7 @@
 // ZAP: 2021/09/27 Added support for Alert Tags.
 // ZAP: 2022/09/21 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/09/12 Implement setDatabaseOptions(DatabaseParam).
+// ZAP: 2026/10/15 Flush the history records before closing.
 package org.parosproxy.paros.db.paros;
 
 import java.io.File;
@@ -201,6 +202,9 @@ public class ParosDatabase extends AbstractDatabase {
         super.close(compact, cleanup);
 
         try {
+            // ZAP: Wait for the history records written asynchronously.
+            getTableHistory().flush();
+
             // ZAP: Added if block.
             if (cleanup) {
                 // perform clean up
@@ -0,0 +1,405 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db.paros;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.function.IOSupplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.db.DbUtils;
+
+/**
+ * The store of the response bodies of the history records, kept once per content.
+ *
+ * <p>The bodies are identified by the SHA-256 of their content, the history records reference them
+ * through the hash instead of having the body inline. The bodies can be compressed (Deflate), they
+ * are stored uncompressed if the compression does not reduce their size.
+ *
+ * <p>The bodies are referenced by the column {@code RESBODYHASH} of the {@code HISTORY} table, the
+ * ones no longer referenced are removed with {@link #deleteUnreferenced()} or {@link
+ * #deleteIfUnreferenced(String)}.
+ *
+ * @since 2.17.0
+ */
+class ParosHistoryBodyStore {
+
+    static final String TABLE_NAME = "HISTORY_BODY";
+
+    /**
+     * The minimum size of the bodies that are deduplicated, smaller bodies are kept inline as the
+     * gains would not compensate the extra work.
+     */
+    static final int MIN_BODY_SIZE = 1024;
+
+    private static final String BODYHASH = "BODYHASH";
+    private static final String BODYSIZE = "BODYSIZE";
+    private static final String COMPRESSED = "COMPRESSED";
+    private static final String BODY = "BODY";
+
+    private static final Logger LOGGER = LogManager.getLogger(ParosHistoryBodyStore.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final PreparedStatement psMerge;
+    private final PreparedStatement psRead;
+    private final PreparedStatement psDeleteUnreferenced;
+    private final PreparedStatement psDeleteIfUnreferenced;
+
+    /**
+     * Constructs a {@code ParosHistoryBodyStore} using the given connection.
+     *
+     * @param conn the connection to the database.
+     * @param bodySize the maximum size of the bodies.
+     * @throws SQLException if an error occurred while preparing the statements.
+     */
+    ParosHistoryBodyStore(Connection conn, int bodySize) throws SQLException {
+        psMerge =
+                conn.prepareStatement(
+                        "MERGE INTO "
+                                + TABLE_NAME
+                                + " USING (VALUES(CAST(? AS VARCHAR(64)), CAST(? AS INTEGER),"
+                                + " CAST(? AS BOOLEAN), CAST(? AS VARBINARY("
+                                + bodySize
+                                + ")))) AS V(H, S, C, B) ON "
+                                + BODYHASH
+                                + " = V.H WHEN NOT MATCHED THEN INSERT VALUES V.H, V.S, V.C, V.B");
+        psRead =
+                conn.prepareStatement(
+                        "SELECT "
+                                + BODYSIZE
+                                + ", "
+                                + COMPRESSED
+                                + ", "
+                                + BODY
+                                + " FROM "
+                                + TABLE_NAME
+                                + " WHERE "
+                                + BODYHASH
+                                + " = ?");
+        psDeleteUnreferenced =
+                conn.prepareStatement(
+                        "DELETE FROM "
+                                + TABLE_NAME
+                                + " B WHERE NOT EXISTS (SELECT 1 FROM HISTORY H WHERE H.RESBODYHASH = B."
+                                + BODYHASH
+                                + ")");
+        psDeleteIfUnreferenced =
+                conn.prepareStatement(
+                        "DELETE FROM "
+                                + TABLE_NAME
+                                + " WHERE "
+                                + BODYHASH
+                                + " = ? AND NOT EXISTS (SELECT 1 FROM HISTORY WHERE RESBODYHASH = ?)");
+    }
+
+    /**
+     * Creates or updates the table of the bodies.
+     *
+     * @param conn the connection to the database.
+     * @param bodySize the maximum size of the bodies.
+     * @throws SQLException if an error occurred while creating or updating the table.
+     */
+    static void updateTable(Connection conn, int bodySize) throws SQLException {
+        if (!DbUtils.hasTable(conn, TABLE_NAME)) {
+            DbUtils.execute(
+                    conn,
+                    "CREATE CACHED TABLE "
+                            + TABLE_NAME
+                            + " ("
+                            + BODYHASH
+                            + " VARCHAR(64) NOT NULL PRIMARY KEY, "
+                            + BODYSIZE
+                            + " INTEGER NOT NULL, "
+                            + COMPRESSED
+                            + " BOOLEAN NOT NULL, "
+                            + BODY
+                            + " VARBINARY("
+                            + bodySize
+                            + ") NOT NULL)");
+            return;
+        }
+
+        if (DbUtils.getColumnSize(conn, TABLE_NAME, BODY) != bodySize) {
+            LOGGER.debug("Changing table {} body length to {}", TABLE_NAME, bodySize);
+            DbUtils.execute(
+                    conn,
+                    "ALTER TABLE "
+                            + TABLE_NAME
+                            + " ALTER COLUMN "
+                            + BODY
+                            + " VARBINARY("
+                            + bodySize
+                            + ")");
+        }
+    }
+
+    /**
+     * Gets the hash of the given body, used to identify it in the store.
+     *
+     * @param body the body.
+     * @return the hash, in hexadecimal.
+     */
+    static String hash(byte[] body) {
+        return Hex.encodeHexString(createDigest().digest(body));
+    }
+
+    /**
+     * Gets the hash of the body read from the given stream, used to identify it in the store.
+     *
+     * <p>The stream is read until the end but not closed.
+     *
+     * @param body the stream with the body.
+     * @return the hash, in hexadecimal.
+     * @throws IOException if an error occurred while reading the body.
+     * @see #hash(byte[])
+     */
+    static String hash(InputStream body) throws IOException {
+        MessageDigest digest = createDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available.", e);
+        }
+    }
+
+    /**
+     * Stores the given body, if not already stored.
+     *
+     * @param hash the hash of the body.
+     * @param body the body.
+     * @param compress {@code true} if the body should be compressed, {@code false} otherwise.
+     * @return {@code true} if the body was stored, {@code false} if already present.
+     * @throws SQLException if an error occurred while storing the body.
+     * @see #hash(byte[])
+     */
+    boolean store(String hash, byte[] body, boolean compress) throws SQLException {
+        byte[] data = body;
+        boolean compressed = false;
+        if (compress) {
+            byte[] deflated = compress(body);
+            if (deflated.length < body.length) {
+                data = deflated;
+                compressed = true;
+            }
+        }
+
+        lock.lock();
+        try {
+            psMerge.setString(1, hash);
+            psMerge.setInt(2, body.length);
+            psMerge.setBoolean(3, compressed);
+            psMerge.setBytes(4, data);
+            return psMerge.executeUpdate() != 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the body read from the given streams, if not already stored.
+     *
+     * <p>The body is read as it is stored, without reading the whole body into memory unless
+     * compressed.
+     *
+     * @param hash the hash of the body.
+     * @param body the supplier of the streams with the body, called at most twice.
+     * @param length the length of the body.
+     * @param compress {@code true} if the body should be compressed, {@code false} otherwise.
+     * @return {@code true} if the body was stored, {@code false} if already present.
+     * @throws SQLException if an error occurred while reading or storing the body.
+     * @see #hash(InputStream)
+     */
+    boolean store(String hash, IOSupplier<InputStream> body, int length, boolean compress)
+            throws SQLException {
+        try {
+            byte[] deflated = null;
+            if (compress) {
+                try (InputStream is = body.get()) {
+                    deflated = compress(is, length);
+                }
+                if (deflated.length >= length) {
+                    deflated = null;
+                }
+            }
+
+            lock.lock();
+            try (InputStream is = deflated == null ? body.get() : null) {
+                psMerge.setString(1, hash);
+                psMerge.setInt(2, length);
+                psMerge.setBoolean(3, deflated != null);
+                if (deflated != null) {
+                    psMerge.setBytes(4, deflated);
+                } else {
+                    psMerge.setBinaryStream(4, is, length);
+                }
+                return psMerge.executeUpdate() != 0;
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read the body: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the body with the given hash.
+     *
+     * @param hash the hash of the body.
+     * @return the body, or {@code null} if not present.
+     * @throws SQLException if an error occurred while reading the body.
+     */
+    byte[] read(String hash) throws SQLException {
+        int size;
+        boolean compressed;
+        byte[] data;
+        lock.lock();
+        try {
+            psRead.setString(1, hash);
+            try (ResultSet rs = psRead.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                size = rs.getInt(BODYSIZE);
+                compressed = rs.getBoolean(COMPRESSED);
+                data = rs.getBytes(BODY);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!compressed) {
+            return data;
+        }
+        return decompress(data, size);
+    }
+
+    /**
+     * Deletes all the bodies no longer referenced by history records.
+     *
+     * @return the number of bodies deleted.
+     * @throws SQLException if an error occurred while deleting the bodies.
+     */
+    int deleteUnreferenced() throws SQLException {
+        lock.lock();
+        try {
+            return psDeleteUnreferenced.executeUpdate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the body with the given hash, if no longer referenced by history records.
+     *
+     * @param hash the hash of the body.
+     * @return {@code true} if the body was deleted, {@code false} otherwise.
+     * @throws SQLException if an error occurred while deleting the body.
+     */
+    boolean deleteIfUnreferenced(String hash) throws SQLException {
+        lock.lock();
+        try {
+            psDeleteIfUnreferenced.setString(1, hash);
+            psDeleteIfUnreferenced.setString(2, hash);
+            return psDeleteIfUnreferenced.executeUpdate() != 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] compress(InputStream data, int length) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+            try (DeflaterOutputStream dos = new DeflaterOutputStream(out, deflater, 8192)) {
+                data.transferTo(dos);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] data, int size) throws SQLException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] body = new byte[size];
+            int length = 0;
+            while (length < size && !inflater.finished()) {
+                int read = inflater.inflate(body, length, size - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != size) {
+                throw new SQLException(
+                        "Failed to decompress the body, expected "
+                                + size
+                                + " bytes but got "
+                                + length);
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new SQLException("Failed to decompress the body: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
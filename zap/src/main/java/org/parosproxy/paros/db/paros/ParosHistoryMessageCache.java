@@ -0,0 +1,262 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db.paros;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * A cache of the history records read, with their messages already parsed.
+ *
+ * <p>The cache is bounded by the (estimated) size of the messages, the least recently used records
+ * are removed when the size is exceeded. The records returned are copies, the callers can change
+ * the messages without affecting the cache.
+ *
+ * @since 2.17.0
+ */
+class ParosHistoryMessageCache {
+
+    /** The estimated size of a message, in bytes, excluding the contents of headers and bodies. */
+    private static final int MESSAGE_OVERHEAD_SIZE = 512;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Integer, CachedRecord> records;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private long maxSize;
+    private long size;
+
+    /**
+     * Constructs a {@code ParosHistoryMessageCache} with the given maximum size.
+     *
+     * @param maxSize the maximum size, in bytes, of the messages cached, zero or less to not cache.
+     */
+    ParosHistoryMessageCache(long maxSize) {
+        this.records = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * Sets the maximum size of the messages cached, removing the records that exceed it.
+     *
+     * @param maxSize the maximum size, in bytes, zero or less to not cache.
+     */
+    void setMaxSize(long maxSize) {
+        lock.lock();
+        try {
+            this.maxSize = Math.max(0, maxSize);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells whether or not the cache is enabled, that is, it has a maximum size greater than zero.
+     *
+     * @return {@code true} if the cache is enabled, {@code false} otherwise.
+     */
+    boolean isEnabled() {
+        lock.lock();
+        try {
+            return maxSize > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a copy of the record with the given ID.
+     *
+     * @param historyId the ID of the record.
+     * @return the copy of the record, or {@code null} if not cached.
+     */
+    RecordHistory get(int historyId) {
+        CachedRecord cached;
+        lock.lock();
+        try {
+            if (maxSize == 0) {
+                return null;
+            }
+            cached = records.get(historyId);
+        } finally {
+            lock.unlock();
+        }
+
+        if (cached == null) {
+            misses.incrementAndGet();
+            Stats.incCounter("stats.history.cache.miss");
+            return null;
+        }
+        hits.incrementAndGet();
+        Stats.incCounter("stats.history.cache.hit");
+        return cached.copy();
+    }
+
+    /**
+     * Puts a copy of the given record into the cache.
+     *
+     * <p>The record is not cached if bigger than the maximum size.
+     *
+     * @param record the record to cache.
+     */
+    void put(RecordHistory record) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        CachedRecord cached = new CachedRecord(record);
+        lock.lock();
+        try {
+            if (cached.size > maxSize) {
+                return;
+            }
+            CachedRecord old = records.put(record.getHistoryId(), cached);
+            if (old != null) {
+                size -= old.size;
+            }
+            size += cached.size;
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the record with the given ID.
+     *
+     * @param historyId the ID of the record.
+     */
+    void remove(int historyId) {
+        lock.lock();
+        try {
+            CachedRecord old = records.remove(historyId);
+            if (old != null) {
+                size -= old.size;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes all the records. */
+    void clear() {
+        lock.lock();
+        try {
+            records.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of records cached.
+     *
+     * @return the number of records.
+     */
+    int getCount() {
+        lock.lock();
+        try {
+            return records.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the (estimated) size of the messages cached.
+     *
+     * @return the size, in bytes.
+     */
+    long getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of times a record was obtained from the cache.
+     *
+     * @return the number of hits.
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of times a record was not in the cache.
+     *
+     * @return the number of misses.
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    private void evict() {
+        Iterator<CachedRecord> it = records.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            size -= it.next().size;
+            it.remove();
+        }
+    }
+
+    static long estimateSize(HttpMessage msg) {
+        return MESSAGE_OVERHEAD_SIZE
+                + 2L * msg.getRequestHeader().toString().length()
+                + msg.getRequestBody().length()
+                + 2L * msg.getResponseHeader().toString().length()
+                + msg.getResponseBody().length();
+    }
+
+    private static class CachedRecord {
+
+        private final int historyId;
+        private final long sessionId;
+        private final int historyType;
+        private final HttpMessage httpMessage;
+        private final long size;
+
+        CachedRecord(RecordHistory record) {
+            this.historyId = record.getHistoryId();
+            this.sessionId = record.getSessionId();
+            this.historyType = record.getHistoryType();
+            this.httpMessage = new HttpMessage(record.getHttpMessage());
+            this.httpMessage.setHistoryRef(null);
+            this.size = estimateSize(httpMessage);
+        }
+
+        RecordHistory copy() {
+            return new RecordHistory(
+                    historyId, historyType, sessionId, new HttpMessage(httpMessage));
+        }
+    }
+}
@@ -49,8 +49,19 @@
 // ZAP: 2022/09/21 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2023/09/12 Implement setDatabaseOptions(DatabaseParam) and use those options.
+// ZAP: 2026/10/15 Use a lock instead of synchronized methods, to not pin virtual threads.
+// ZAP: 2026/10/15 Allow to write the history records asynchronously, in batches.
+// ZAP: 2026/10/15 Implement getHistorySummaries(HistoryQuery) and add index on URI.
+// ZAP: 2026/10/15 Allow to store the response bodies once per content.
+// ZAP: 2026/10/15 Allow to cache the history records read.
+// ZAP: 2026/10/15 Keep writing the history records after unexpected errors.
+// ZAP: 2026/10/15 Read the bodies spilled to files as streams.
+// ZAP: 2026/10/15 Retry and keep readable the history records that failed to be written.
 package org.parosproxy.paros.db.paros;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.CallableStatement;
@@ -60,25 +71,44 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hsqldb.types.Types;
 import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.db.DbUtils;
+import org.parosproxy.paros.db.HistoryQuery;
 import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.RecordHistorySummary;
 import org.parosproxy.paros.db.TableHistory;
 import org.parosproxy.paros.extension.option.DatabaseParam;
 import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpBody;
 import org.parosproxy.paros.network.HttpMalformedHeaderException;
 import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpStatusCode;
+import org.zaproxy.zap.utils.Stats;
 
 public class ParosTableHistory extends ParosAbstractTable implements TableHistory {
 
@@ -100,6 +130,21 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
     // ZAP: Added NOTE field to history table
     private static final String NOTE = "NOTE";
     private static final String RESPONSE_FROM_TARGET_HOST = "RESPONSEFROMTARGETHOST";
+    private static final String RESBODYHASH = "RESBODYHASH";
+
+    private static final String URI_INDEX = "HISTORY_URI_INDEX";
+    private static final String RESBODYHASH_INDEX = "HISTORY_RESBODYHASH_INDEX";
+
+    /**
+     * The maximum number of hashes of the bodies known to be stored, after that the hashes are
+     * forgotten and checked again in the database.
+     */
+    private static final int MAX_KNOWN_BODY_HASHES = 100_000;
+
+    private static final byte[] EMPTY_BODY = {};
+
+    /** The lock to access the statements, which are shared by all callers. */
+    private final ReentrantLock statementsLock = new ReentrantLock();
 
     private PreparedStatement psRead = null;
     private PreparedStatement psInsert = null;
@@ -110,8 +155,30 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
     // private PreparedStatement psAlterTable = null;
     //    private PreparedStatement psUpdateTag = null;
     private PreparedStatement psUpdateNote = null;
+    private PreparedStatement psReadBodyHash = null;
+
+    /** The store of the response bodies, used by the statements' connection. */
+    private ParosHistoryBodyStore bodyStore;
+
+    /** The hashes of the response bodies known to be in the store. */
+    private final Set<String> knownBodyHashes = ConcurrentHashMap.newKeySet();
 
-    private int lastInsertedIndex;
+    /**
+     * The lock to store the response bodies and write the history records (read lock) and to delete
+     * the bodies no longer referenced (write lock).
+     */
+    private final ReentrantReadWriteLock bodiesLock = new ReentrantReadWriteLock();
+
+    private final AtomicInteger lastInsertedIndex = new AtomicInteger();
+
+    /** The cache of the history records read, disabled by default. */
+    private final ParosHistoryMessageCache messageCache = new ParosHistoryMessageCache(0);
+
+    /**
+     * The writer of the history records, if the records are written asynchronously, {@code null}
+     * otherwise.
+     */
+    private volatile HistoryWriter historyWriter;
 
     private static boolean isExistStatusCode = false;
 
@@ -133,6 +200,7 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
 
     @Override
     protected void reconnect(Connection conn) throws DatabaseException {
+        stopHistoryWriter();
         try {
             configuredrequestbodysize = getBodySizeOption(DatabaseParam::getRequestBodySize);
             configuredresponsebodysize = getBodySizeOption(DatabaseParam::getResponseBodySize);
@@ -158,69 +226,7 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                             "SELECT TOP 1 HISTORYID FROM HISTORY WHERE URI = ? AND  METHOD = ? AND REQBODY = ? AND SESSIONID = ? AND HISTTYPE = ?");
 
             // ZAP: Added support for the tag when creating a history record
-            if (isExistStatusCode) {
-                psInsert =
-                        conn.prepareStatement(
-                                "INSERT INTO HISTORY ("
-                                        + SESSIONID
-                                        + ","
-                                        + HISTTYPE
-                                        + ","
-                                        + TIMESENTMILLIS
-                                        + ","
-                                        + TIMEELAPSEDMILLIS
-                                        + ","
-                                        + METHOD
-                                        + ","
-                                        + URI
-                                        + ","
-                                        + REQHEADER
-                                        + ","
-                                        + REQBODY
-                                        + ","
-                                        + RESHEADER
-                                        + ","
-                                        + RESBODY
-                                        + ","
-                                        + TAG
-                                        + ", "
-                                        + STATUSCODE
-                                        + ","
-                                        + NOTE
-                                        + ", "
-                                        + RESPONSE_FROM_TARGET_HOST
-                                        + ") VALUES (?, ? ,?, ?, ?, ?, ?, ? ,? , ?, ?, ?, ?, ?)");
-            } else {
-                psInsert =
-                        conn.prepareStatement(
-                                "INSERT INTO HISTORY ("
-                                        + SESSIONID
-                                        + ","
-                                        + HISTTYPE
-                                        + ","
-                                        + TIMESENTMILLIS
-                                        + ","
-                                        + TIMEELAPSEDMILLIS
-                                        + ","
-                                        + METHOD
-                                        + ","
-                                        + URI
-                                        + ","
-                                        + REQHEADER
-                                        + ","
-                                        + REQBODY
-                                        + ","
-                                        + RESHEADER
-                                        + ","
-                                        + RESBODY
-                                        + ","
-                                        + TAG
-                                        + ","
-                                        + NOTE
-                                        + ", "
-                                        + RESPONSE_FROM_TARGET_HOST
-                                        + ") VALUES (?, ? ,?, ?, ?, ?, ?, ? ,? , ? , ?, ?, ?)");
-            }
+            psInsert = conn.prepareStatement(createInsertStatement(false));
             psGetIdLastInsert = conn.prepareCall("CALL IDENTITY();");
 
             //        psUpdateTag = conn.prepareStatement("UPDATE HISTORY SET TAG = ? WHERE
@@ -228,6 +234,15 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
 
             psUpdateNote = conn.prepareStatement("UPDATE HISTORY SET NOTE = ? WHERE HISTORYID = ?");
 
+            psReadBodyHash =
+                    conn.prepareStatement(
+                            "SELECT " + RESBODYHASH + " FROM HISTORY WHERE " + HISTORYID + " = ?");
+            bodyStore = new ParosHistoryBodyStore(conn, getBodyStoreSize());
+            knownBodyHashes.clear();
+
+            messageCache.clear();
+            messageCache.setMaxSize(options != null ? options.getMessageCacheSize() : 0);
+
             int currentIndex = 0;
             PreparedStatement stmt = null;
             try {
@@ -248,16 +263,82 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                     }
                 }
             }
-            lastInsertedIndex = currentIndex;
+            lastInsertedIndex.set(currentIndex);
+
+            if (options != null && options.isAsyncHistoryWrites()) {
+                historyWriter = new HistoryWriter(getNewConnection());
+            }
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
     }
 
+    private String createInsertStatement(boolean withHistoryId) {
+        StringBuilder columns = new StringBuilder(150);
+        int count = 0;
+        if (withHistoryId) {
+            columns.append(HISTORYID).append(',');
+            count++;
+        }
+        columns.append(SESSIONID).append(',');
+        columns.append(HISTTYPE).append(',');
+        columns.append(TIMESENTMILLIS).append(',');
+        columns.append(TIMEELAPSEDMILLIS).append(',');
+        columns.append(METHOD).append(',');
+        columns.append(URI).append(',');
+        columns.append(REQHEADER).append(',');
+        columns.append(REQBODY).append(',');
+        columns.append(RESHEADER).append(',');
+        columns.append(RESBODY).append(',');
+        columns.append(TAG).append(',');
+        count += 11;
+        if (isExistStatusCode) {
+            columns.append(STATUSCODE).append(',');
+            count++;
+        }
+        columns.append(NOTE).append(',');
+        columns.append(RESPONSE_FROM_TARGET_HOST).append(',');
+        columns.append(RESBODYHASH);
+        count += 3;
+
+        StringBuilder values = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append('?');
+        }
+        return "INSERT INTO HISTORY (" + columns + ") VALUES (" + values + ")";
+    }
+
+    private void stopHistoryWriter() {
+        HistoryWriter writer = historyWriter;
+        if (writer == null) {
+            return;
+        }
+        historyWriter = null;
+        writer.flush();
+        writer.close();
+    }
+
     private int getBodySizeOption(ToIntFunction<DatabaseParam> function) {
         return options != null ? function.applyAsInt(options) : DatabaseParam.DEFAULT_BODY_SIZE;
     }
 
+    private int getBodyStoreSize() {
+        return configuredresponsebodysize > 0
+                ? configuredresponsebodysize
+                : DatabaseParam.DEFAULT_BODY_SIZE;
+    }
+
+    private boolean isDeduplicateResponseBodies() {
+        return options != null && options.isDeduplicateResponseBodies();
+    }
+
+    private boolean isCompressResponseBodies() {
+        return options != null && options.isCompressResponseBodies();
+    }
+
     // ZAP: Added the method.
     private void updateTable(Connection connection) throws DatabaseException {
         try {
@@ -364,14 +445,57 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                 LOGGER.error("The SQL Exception was:", e);
                 throw e;
             }
+
+            if (!DbUtils.hasColumn(connection, TABLE_NAME, RESBODYHASH)) {
+                DbUtils.execute(
+                        connection,
+                        "ALTER TABLE "
+                                + TABLE_NAME
+                                + " ADD COLUMN "
+                                + RESBODYHASH
+                                + " VARCHAR(64) DEFAULT NULL");
+            }
+            if (!DbUtils.hasIndex(connection, TABLE_NAME, RESBODYHASH_INDEX)) {
+                DbUtils.execute(
+                        connection,
+                        "CREATE INDEX "
+                                + RESBODYHASH_INDEX
+                                + " ON "
+                                + TABLE_NAME
+                                + " ("
+                                + RESBODYHASH
+                                + ")");
+            }
+            ParosHistoryBodyStore.updateTable(connection, getBodyStoreSize());
+
+            if (!DbUtils.hasIndex(connection, TABLE_NAME, URI_INDEX)) {
+                // this speeds up the queries by URI prefix
+                DbUtils.execute(
+                        connection,
+                        "CREATE INDEX " + URI_INDEX + " ON " + TABLE_NAME + " (" + URI + ")");
+            }
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
     }
 
     @Override
-    public synchronized RecordHistory read(int historyId)
+    public RecordHistory read(int historyId)
             throws HttpMalformedHeaderException, DatabaseException {
+        HistoryWriter writer = historyWriter;
+        if (writer != null) {
+            HistoryValues values = writer.getPending(historyId);
+            if (values != null) {
+                return values.toRecordHistory();
+            }
+        }
+
+        RecordHistory cached = messageCache.get(historyId);
+        if (cached != null) {
+            return cached;
+        }
+
+        statementsLock.lock();
         try {
             psRead.setInt(1, historyId);
             psRead.execute();
@@ -380,138 +504,180 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                 result = build(rs);
             }
 
+            if (result != null) {
+                messageCache.put(result);
+            }
             return result;
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            statementsLock.unlock();
         }
     }
 
     @Override
-    public synchronized RecordHistory write(long sessionId, int histType, HttpMessage msg)
+    public RecordHistory write(long sessionId, int histType, HttpMessage msg)
             throws HttpMalformedHeaderException, DatabaseException {
 
+        HistoryWriter writer = historyWriter;
+        String reqHeader = "";
+        BodyValue reqBody = BodyValue.EMPTY;
+        String resHeader = "";
+        BodyValue resBody = BodyValue.EMPTY;
+        String method = "";
+        String uri = "";
+        int statusCode = 0;
+        String note = msg.getNote();
+
+        if (!msg.getRequestHeader().isEmpty()) {
+            reqHeader = msg.getRequestHeader().toString();
+            reqBody = BodyValue.of(msg.getRequestBody(), writer != null);
+            method = msg.getRequestHeader().getMethod();
+            uri = msg.getRequestHeader().getURI().toString();
+        }
+
+        if (!msg.getResponseHeader().isEmpty()) {
+            resHeader = msg.getResponseHeader().toString();
+            resBody = BodyValue.of(msg.getResponseBody(), writer != null);
+            statusCode = msg.getResponseHeader().getStatusCode();
+        }
+
+        HistoryValues values =
+                new HistoryValues(
+                        sessionId,
+                        histType,
+                        msg.getTimeSentMillis(),
+                        msg.getTimeElapsedMillis(),
+                        method,
+                        uri,
+                        statusCode,
+                        reqHeader,
+                        reqBody,
+                        resHeader,
+                        resBody,
+                        null,
+                        note,
+                        msg.isResponseFromTargetHost());
+
         try {
-            String reqHeader = "";
-            byte[] reqBody = new byte[0];
-            String resHeader = "";
-            byte[] resBody = reqBody;
-            String method = "";
-            String uri = "";
-            int statusCode = 0;
-            String note = msg.getNote();
-
-            if (!msg.getRequestHeader().isEmpty()) {
-                reqHeader = msg.getRequestHeader().toString();
-                reqBody = msg.getRequestBody().getBytes();
-                method = msg.getRequestHeader().getMethod();
-                uri = msg.getRequestHeader().getURI().toString();
+            validateBodySizes(values);
+
+            if (isDeduplicateResponseBodies()
+                    && resBody.length() >= ParosHistoryBodyStore.MIN_BODY_SIZE) {
+                try (InputStream is = resBody.newInputStream()) {
+                    values.resBodyHash = ParosHistoryBodyStore.hash(is);
+                }
             }
 
-            if (!msg.getResponseHeader().isEmpty()) {
-                resHeader = msg.getResponseHeader().toString();
-                resBody = msg.getResponseBody().getBytes();
-                statusCode = msg.getResponseHeader().getStatusCode();
+            if (writer != null) {
+                values.historyId = lastInsertedIndex.incrementAndGet();
+                RecordHistory record = values.toRecordHistory();
+                writer.write(values);
+                return record;
             }
 
-            // return write(sessionId, histType, msg.getTimeSentMillis(),
-            // msg.getTimeElapsedMillis(), method, uri, statusCode, reqHeader, reqBody, resHeader,
-            // resBody, msg.getTag());
-            return write(
-                    sessionId,
-                    histType,
-                    msg.getTimeSentMillis(),
-                    msg.getTimeElapsedMillis(),
-                    method,
-                    uri,
-                    statusCode,
-                    reqHeader,
-                    reqBody,
-                    resHeader,
-                    resBody,
-                    null,
-                    note,
-                    msg.isResponseFromTargetHost());
-        } catch (SQLException e) {
+            bodiesLock.readLock().lock();
+            statementsLock.lock();
+            try {
+                boolean bodyStored = storeBody(bodyStore, values);
+                RecordHistory record = write(values);
+                if (bodyStored) {
+                    addKnownBodyHash(values.resBodyHash);
+                }
+                return record;
+            } finally {
+                reqBody.closeInsertStream();
+                resBody.closeInsertStream();
+                statementsLock.unlock();
+                bodiesLock.readLock().unlock();
+            }
+        } catch (SQLException | IOException e) {
             throw new DatabaseException(e);
         }
     }
 
-    private synchronized RecordHistory write(
-            long sessionId,
-            int histType,
-            long timeSentMillis,
-            int timeElapsedMillis,
-            String method,
-            String uri,
-            int statusCode,
-            String reqHeader,
-            byte[] reqBody,
-            String resHeader,
-            byte[] resBody,
-            String tag,
-            String note,
-            boolean responseFromTargetHost)
-            throws HttpMalformedHeaderException, SQLException, DatabaseException {
-
+    private void validateBodySizes(HistoryValues values) throws SQLException {
         // ZAP: Allow the request and response body sizes to be user-specifiable as far as possible
-        if (reqBody.length > this.configuredrequestbodysize) {
+        if (values.reqBody.length() > this.configuredrequestbodysize) {
             throw new SQLException(
                     "The actual Request Body length "
-                            + reqBody.length
+                            + values.reqBody.length()
                             + " is greater than the configured request body length "
                             + this.configuredrequestbodysize
                             + " for "
-                            + method
+                            + values.method
                             + " "
-                            + uri);
+                            + values.uri);
         }
-        if (resBody.length > this.configuredresponsebodysize) {
+        if (values.resBody.length() > this.configuredresponsebodysize) {
             throw new SQLException(
                     "The actual Response Body length "
-                            + resBody.length
+                            + values.resBody.length()
                             + " is greater than the configured response body length "
                             + this.configuredresponsebodysize
                             + " for "
-                            + method
+                            + values.method
                             + " "
-                            + uri);
+                            + values.uri);
         }
+    }
 
-        psInsert.setLong(1, sessionId);
-        psInsert.setInt(2, histType);
-        psInsert.setLong(3, timeSentMillis);
-        psInsert.setInt(4, timeElapsedMillis);
-        psInsert.setString(5, method);
-        psInsert.setString(6, uri);
-        psInsert.setString(7, reqHeader);
-        if (bodiesAsBytes) {
-            psInsert.setBytes(8, reqBody);
-        } else {
-            psInsert.setString(8, new String(reqBody, StandardCharsets.US_ASCII));
+    /**
+     * Stores the response body of the given values, if to be deduplicated.
+     *
+     * <p>Should be called with the read lock of {@link #bodiesLock} held, until the history record
+     * is written.
+     *
+     * @param store the store of the bodies.
+     * @param values the values of the history record.
+     * @return {@code true} if the body is to be deduplicated, {@code false} otherwise.
+     * @throws SQLException if an error occurred while storing the body.
+     */
+    private boolean storeBody(ParosHistoryBodyStore store, HistoryValues values)
+            throws SQLException {
+        if (values.resBodyHash == null) {
+            return false;
         }
-        psInsert.setString(9, resHeader);
-        if (bodiesAsBytes) {
-            psInsert.setBytes(10, resBody);
+
+        if (knownBodyHashes.contains(values.resBodyHash)
+                || !values.resBody.store(store, values.resBodyHash, isCompressResponseBodies())) {
+            Stats.incCounter("stats.history.body.reused");
         } else {
-            psInsert.setString(10, new String(resBody, StandardCharsets.US_ASCII));
+            Stats.incCounter("stats.history.body.stored");
         }
-        psInsert.setString(11, tag);
-
-        // ZAP: Added the statement.
-        int currentIdx = 12;
+        return true;
+    }
 
-        if (isExistStatusCode) {
-            psInsert.setInt(currentIdx, statusCode);
-            // ZAP: Added the statement.
-            ++currentIdx;
+    private void addKnownBodyHash(String hash) {
+        if (knownBodyHashes.size() >= MAX_KNOWN_BODY_HASHES) {
+            knownBodyHashes.clear();
         }
+        knownBodyHashes.add(hash);
+    }
 
-        // ZAP: Added the statement.
-        psInsert.setString(currentIdx, note);
-        ++currentIdx;
+    private void deleteUnreferencedBodies() throws SQLException {
+        bodiesLock.writeLock().lock();
+        try {
+            int count = bodyStore.deleteUnreferenced();
+            knownBodyHashes.clear();
+            LOGGER.debug("Deleted {} response bodies no longer referenced.", count);
+        } finally {
+            bodiesLock.writeLock().unlock();
+        }
+    }
 
-        psInsert.setBoolean(currentIdx, responseFromTargetHost);
+    private byte[] readBody(String hash) throws SQLException {
+        byte[] body = bodyStore.read(hash);
+        if (body == null) {
+            LOGGER.warn("The response body {} was not found.", hash);
+            return EMPTY_BODY;
+        }
+        return body;
+    }
 
+    private RecordHistory write(HistoryValues values)
+            throws HttpMalformedHeaderException, SQLException, DatabaseException {
+        setInsertValues(psInsert, 1, values);
         psInsert.executeUpdate();
 
         /*
@@ -526,11 +692,53 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
         try (ResultSet rs = psGetIdLastInsert.executeQuery()) {
             rs.next();
             int id = rs.getInt(1);
-            lastInsertedIndex = id;
+            lastInsertedIndex.set(id);
             return read(id);
         }
     }
 
+    private void setInsertValues(PreparedStatement ps, int startIndex, HistoryValues values)
+            throws SQLException {
+        int currentIdx = startIndex;
+        ps.setLong(currentIdx++, values.sessionId);
+        ps.setInt(currentIdx++, values.histType);
+        ps.setLong(currentIdx++, values.timeSentMillis);
+        ps.setInt(currentIdx++, values.timeElapsedMillis);
+        ps.setString(currentIdx++, values.method);
+        ps.setString(currentIdx++, values.uri);
+        ps.setString(currentIdx++, values.reqHeader);
+        setBodyValue(ps, currentIdx++, values.reqBody);
+        ps.setString(currentIdx++, values.resHeader);
+        setBodyValue(
+                ps, currentIdx++, values.resBodyHash != null ? BodyValue.EMPTY : values.resBody);
+        ps.setString(currentIdx++, values.tag);
+
+        if (isExistStatusCode) {
+            ps.setInt(currentIdx++, values.statusCode);
+        }
+
+        ps.setString(currentIdx++, values.note);
+        ps.setBoolean(currentIdx++, values.responseFromTargetHost);
+        ps.setString(currentIdx, values.resBodyHash);
+    }
+
+    private void setBodyValue(PreparedStatement ps, int index, BodyValue body)
+            throws SQLException {
+        if (!bodiesAsBytes) {
+            ps.setString(index, new String(body.getBytes(), StandardCharsets.US_ASCII));
+            return;
+        }
+        if (body.bytes != null) {
+            ps.setBytes(index, body.bytes);
+            return;
+        }
+        try {
+            ps.setBinaryStream(index, body.openInsertStream(), body.length());
+        } catch (IOException e) {
+            throw new SQLException("Failed to read the body: " + e.getMessage(), e);
+        }
+    }
+
     private RecordHistory build(ResultSet rs) throws HttpMalformedHeaderException, SQLException {
         RecordHistory history = null;
         try {
@@ -545,6 +753,10 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                     reqBody = rs.getString(REQBODY).getBytes();
                     resBody = rs.getString(RESBODY).getBytes();
                 }
+                String resBodyHash = rs.getString(RESBODYHASH);
+                if (resBodyHash != null) {
+                    resBody = readBody(resBodyHash);
+                }
 
                 history =
                         new RecordHistory(
@@ -614,6 +826,7 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
     private List<Integer> getHistoryIdsByParams(
             long sessionId, int startAtHistoryId, boolean includeHistTypes, int... histTypes)
             throws DatabaseException {
+        flush();
         try {
             boolean hasHistTypes = histTypes != null && histTypes.length > 0;
             final int strLength = 121;
@@ -693,10 +906,130 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
         return getHistoryIdsByParams(sessionId, startAtHistoryId, false, histTypes);
     }
 
+    @Override
+    public List<RecordHistorySummary> getHistorySummaries(HistoryQuery query)
+            throws DatabaseException {
+        flush();
+        try {
+            int[] histTypes = query.getHistoryTypes();
+            String uriPrefix = query.getUriPrefix();
+            String uriUpperBound = uriPrefix != null ? getUpperBound(uriPrefix) : null;
+
+            StringBuilder strBuilder = new StringBuilder(300);
+            strBuilder.append("SELECT ");
+            strBuilder.append(HISTORYID).append(", ");
+            strBuilder.append(HISTTYPE).append(", ");
+            strBuilder.append(SESSIONID).append(", ");
+            strBuilder.append(METHOD).append(", ");
+            strBuilder.append(URI).append(", ");
+            if (isExistStatusCode) {
+                strBuilder.append(STATUSCODE).append(", ");
+            }
+            strBuilder.append(REQHEADER).append(", ");
+            strBuilder.append(RESHEADER);
+            strBuilder.append(" FROM ").append(TABLE_NAME);
+            strBuilder.append(" WHERE ").append(SESSIONID).append(" = ?");
+            if (histTypes.length > 0) {
+                strBuilder.append(" AND ").append(HISTTYPE).append(" IN ( UNNEST(?) )");
+            }
+            if (query.getStartAtHistoryId() > 0) {
+                strBuilder.append(" AND ").append(HISTORYID).append(" >= ?");
+            }
+            if (query.getEndAtHistoryId() > 0) {
+                strBuilder.append(" AND ").append(HISTORYID).append(" <= ?");
+            }
+            if (uriPrefix != null) {
+                // The range allows to use the index, the LIKE ensures the exact match.
+                strBuilder.append(" AND ").append(URI).append(" >= ?");
+                if (uriUpperBound != null) {
+                    strBuilder.append(" AND ").append(URI).append(" < ?");
+                }
+                strBuilder.append(" AND ").append(URI).append(" LIKE ? ESCAPE '!'");
+            }
+            strBuilder.append(" ORDER BY ").append(HISTORYID);
+            if (query.getOffset() > 0) {
+                strBuilder.append(" OFFSET ? ROWS");
+            }
+            if (query.getLimit() != HistoryQuery.NO_LIMIT) {
+                strBuilder.append(" FETCH FIRST ? ROWS ONLY");
+            }
+
+            try (PreparedStatement psQuery =
+                    getConnection().prepareStatement(strBuilder.toString())) {
+                int parameterIndex = 1;
+                psQuery.setLong(parameterIndex++, query.getSessionId());
+                if (histTypes.length > 0) {
+                    Array arrayHistTypes =
+                            getConnection()
+                                    .createArrayOf("INTEGER", ArrayUtils.toObject(histTypes));
+                    psQuery.setArray(parameterIndex++, arrayHistTypes);
+                }
+                if (query.getStartAtHistoryId() > 0) {
+                    psQuery.setInt(parameterIndex++, query.getStartAtHistoryId());
+                }
+                if (query.getEndAtHistoryId() > 0) {
+                    psQuery.setInt(parameterIndex++, query.getEndAtHistoryId());
+                }
+                if (uriPrefix != null) {
+                    psQuery.setString(parameterIndex++, uriPrefix);
+                    if (uriUpperBound != null) {
+                        psQuery.setString(parameterIndex++, uriUpperBound);
+                    }
+                    psQuery.setString(parameterIndex++, escapeLikePattern(uriPrefix) + "%");
+                }
+                if (query.getOffset() > 0) {
+                    psQuery.setInt(parameterIndex++, query.getOffset());
+                }
+                if (query.getLimit() != HistoryQuery.NO_LIMIT) {
+                    psQuery.setInt(parameterIndex++, query.getLimit());
+                }
+
+                try (ResultSet rs = psQuery.executeQuery()) {
+                    List<RecordHistorySummary> summaries = new ArrayList<>();
+                    while (rs.next()) {
+                        summaries.add(
+                                new RecordHistorySummary(
+                                        rs.getInt(HISTORYID),
+                                        rs.getInt(HISTTYPE),
+                                        rs.getLong(SESSIONID),
+                                        rs.getString(METHOD),
+                                        rs.getString(URI),
+                                        isExistStatusCode ? rs.getInt(STATUSCODE) : 0,
+                                        rs.getString(REQHEADER),
+                                        rs.getString(RESHEADER)));
+                    }
+                    return summaries;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Gets the (exclusive) upper bound of the strings starting with the given prefix, that is, the
+     * prefix with the last character incremented.
+     *
+     * @param prefix the prefix.
+     * @return the upper bound, or {@code null} if there's none.
+     */
+    private static String getUpperBound(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        if (last == Character.MAX_VALUE) {
+            return null;
+        }
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     @Override
     public List<Integer> getHistoryList(
             long sessionId, int histType, String filter, boolean isRequest)
             throws DatabaseException {
+        flush();
         try {
             PreparedStatement psReadSearch =
                     getConnection()
@@ -739,7 +1072,12 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                             v.add(rs.getInt(HISTORYID));
                             continue;
                         }
-                        matcher = pattern.matcher(rs.getString(RESBODY));
+                        String resBodyHash = rs.getString(RESBODYHASH);
+                        matcher =
+                                pattern.matcher(
+                                        resBodyHash != null
+                                                ? Hex.encodeHexString(readBody(resBodyHash))
+                                                : rs.getString(RESBODY));
                         if (matcher.find()) {
                             // ZAP: Changed to use the method Integer.valueOf.
                             v.add(rs.getInt(HISTORYID));
@@ -766,10 +1104,14 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
 
     @Override
     public void deleteHistorySession(long sessionId) throws DatabaseException {
+        flush();
+        removeFailedRecords(values -> values.sessionId == sessionId);
         try {
             try (Statement stmt = getConnection().createStatement()) {
                 stmt.executeUpdate("DELETE FROM HISTORY WHERE " + SESSIONID + " = " + sessionId);
             }
+            messageCache.clear();
+            deleteUnreferencedBodies();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
@@ -777,6 +1119,9 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
 
     @Override
     public void deleteHistoryType(long sessionId, int historyType) throws DatabaseException {
+        flush();
+        removeFailedRecords(
+                values -> values.sessionId == sessionId && values.histType == historyType);
         try {
             try (Statement stmt = getConnection().createStatement()) {
                 stmt.executeUpdate(
@@ -789,18 +1134,40 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                                 + " = "
                                 + historyType);
             }
+            messageCache.clear();
+            deleteUnreferencedBodies();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
     }
 
     @Override
-    public synchronized void delete(int historyId) throws DatabaseException {
+    public void delete(int historyId) throws DatabaseException {
+        flush();
+        removeFailedRecords(values -> values.historyId == historyId);
+        bodiesLock.writeLock().lock();
+        statementsLock.lock();
         try {
+            String resBodyHash = null;
+            psReadBodyHash.setInt(1, historyId);
+            try (ResultSet rs = psReadBodyHash.executeQuery()) {
+                if (rs.next()) {
+                    resBodyHash = rs.getString(1);
+                }
+            }
+
             psDelete.setInt(1, historyId);
             psDelete.executeUpdate();
+            messageCache.remove(historyId);
+
+            if (resBodyHash != null && bodyStore.deleteIfUnreferenced(resBodyHash)) {
+                knownBodyHashes.remove(resBodyHash);
+            }
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            statementsLock.unlock();
+            bodiesLock.writeLock().unlock();
         }
     }
 
@@ -832,7 +1199,13 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
      * @since 2.3.0
      */
     @Override
-    public synchronized void delete(List<Integer> ids, int batchSize) throws DatabaseException {
+    public void delete(List<Integer> ids, int batchSize) throws DatabaseException {
+        flush();
+        if (ids != null) {
+            Set<Integer> idsSet = new HashSet<>(ids);
+            removeFailedRecords(values -> idsSet.contains(values.historyId));
+        }
+        statementsLock.lock();
         try {
             if (ids == null) {
                 throw new IllegalArgumentException("Parameter ids must not be null.");
@@ -844,6 +1217,7 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
 
             int count = 0;
             for (Integer id : ids) {
+                messageCache.remove(id);
                 psDelete.setInt(1, id);
                 psDelete.addBatch();
                 count++;
@@ -858,6 +1232,14 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
             }
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            statementsLock.unlock();
+        }
+
+        try {
+            deleteUnreferencedBodies();
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
         }
     }
 
@@ -873,6 +1255,9 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
      */
     @Override
     public void deleteTemporary() throws DatabaseException {
+        flush();
+        removeFailedRecords(
+                values -> HistoryReference.getTemporaryTypes().contains(values.histType));
         try {
             for (Integer type : HistoryReference.getTemporaryTypes()) {
                 while (true) {
@@ -883,15 +1268,19 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
                     }
                 }
             }
+            messageCache.clear();
+            deleteUnreferencedBodies();
         } catch (SQLException e) {
             throw new DatabaseException(e);
         }
     }
 
     @Override
-    public synchronized boolean containsURI(
+    public boolean containsURI(
             long sessionId, int historyType, String method, String uri, byte[] body)
             throws DatabaseException {
+        flush();
+        statementsLock.lock();
         try {
             psContainsURI.setString(1, uri);
             psContainsURI.setString(2, method);
@@ -912,12 +1301,15 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
             return false;
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            statementsLock.unlock();
         }
     }
 
     @Override
     public RecordHistory getHistoryCache(HistoryReference ref, HttpMessage reqMsg)
             throws DatabaseException, HttpMalformedHeaderException {
+        flush();
         try {
             //  get the cache from provided reference.
             //  naturally, the obtained cache should be AFTER AND NEARBY to the given reference.
@@ -1064,18 +1456,451 @@ public class ParosTableHistory extends ParosAbstractTable implements TableHistor
     }
 
     @Override
-    public synchronized void updateNote(int historyId, String note) throws DatabaseException {
+    public void updateNote(int historyId, String note) throws DatabaseException {
+        flush();
+        statementsLock.lock();
         try {
             psUpdateNote.setString(1, note);
             psUpdateNote.setInt(2, historyId);
             psUpdateNote.execute();
+            messageCache.remove(historyId);
         } catch (SQLException e) {
             throw new DatabaseException(e);
+        } finally {
+            statementsLock.unlock();
         }
     }
 
     @Override
     public int lastIndex() {
-        return lastInsertedIndex;
+        return lastInsertedIndex.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Waits until the history records written asynchronously, if any, are in the database.
+     */
+    @Override
+    public void flush() {
+        HistoryWriter writer = historyWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private void removeFailedRecords(Predicate<HistoryValues> filter) {
+        HistoryWriter writer = historyWriter;
+        if (writer != null) {
+            writer.removeFailed(filter);
+        }
+    }
+
+    /** The values of a history record. */
+    private static class HistoryValues {
+
+        private int historyId;
+        private final long sessionId;
+        private final int histType;
+        private final long timeSentMillis;
+        private final int timeElapsedMillis;
+        private final String method;
+        private final String uri;
+        private final int statusCode;
+        private final String reqHeader;
+        private final BodyValue reqBody;
+        private final String resHeader;
+        private final BodyValue resBody;
+        private final String tag;
+        private final String note;
+        private final boolean responseFromTargetHost;
+
+        /** The hash of the response body, if deduplicated, {@code null} otherwise. */
+        private String resBodyHash;
+
+        /** The number of failed attempts to write the record, when written asynchronously. */
+        private int failedWrites;
+
+        HistoryValues(
+                long sessionId,
+                int histType,
+                long timeSentMillis,
+                int timeElapsedMillis,
+                String method,
+                String uri,
+                int statusCode,
+                String reqHeader,
+                BodyValue reqBody,
+                String resHeader,
+                BodyValue resBody,
+                String tag,
+                String note,
+                boolean responseFromTargetHost) {
+            this.sessionId = sessionId;
+            this.histType = histType;
+            this.timeSentMillis = timeSentMillis;
+            this.timeElapsedMillis = timeElapsedMillis;
+            this.method = method;
+            this.uri = uri;
+            this.statusCode = statusCode;
+            this.reqHeader = reqHeader;
+            this.reqBody = reqBody;
+            this.resHeader = resHeader;
+            this.resBody = resBody;
+            this.tag = tag;
+            this.note = note;
+            this.responseFromTargetHost = responseFromTargetHost;
+        }
+
+        RecordHistory toRecordHistory() throws HttpMalformedHeaderException {
+            return new RecordHistory(
+                    historyId,
+                    histType,
+                    sessionId,
+                    timeSentMillis,
+                    timeElapsedMillis,
+                    reqHeader,
+                    reqBody.getBytes(),
+                    resHeader,
+                    resBody.getBytes(),
+                    tag,
+                    note,
+                    responseFromTargetHost);
+        }
+    }
+
+    /**
+     * The body of a history record, either in memory or read as a stream from the body of the
+     * message, if {@link HttpBody#isSpilled() spilled} to a file.
+     */
+    private static class BodyValue {
+
+        static final BodyValue EMPTY = new BodyValue(EMPTY_BODY, null);
+
+        private final byte[] bytes;
+        private final HttpBody body;
+        private InputStream insertStream;
+
+        private BodyValue(byte[] bytes, HttpBody body) {
+            this.bytes = bytes;
+            this.body = body;
+        }
+
+        /**
+         * Creates the value of the given body.
+         *
+         * <p>The body is read as a stream only if spilled and written synchronously, the records
+         * written asynchronously need the contents not affected by later changes to the message.
+         *
+         * @param body the body of the message.
+         * @param async {@code true} if the record is written asynchronously, {@code false}
+         *     otherwise.
+         * @return the value of the body.
+         */
+        static BodyValue of(HttpBody body, boolean async) {
+            if (body.isSpilled() && !async) {
+                return new BodyValue(null, body);
+            }
+            return new BodyValue(body.getBytes(), null);
+        }
+
+        int length() {
+            return bytes != null ? bytes.length : body.length();
+        }
+
+        byte[] getBytes() {
+            return bytes != null ? bytes : body.getBytes();
+        }
+
+        InputStream newInputStream() throws IOException {
+            return bytes != null ? new ByteArrayInputStream(bytes) : body.getInputStream();
+        }
+
+        /**
+         * Opens the stream read when inserting the record, kept to be {@link #closeInsertStream()
+         * closed} once inserted.
+         */
+        InputStream openInsertStream() throws IOException {
+            closeInsertStream();
+            insertStream = newInputStream();
+            return insertStream;
+        }
+
+        void closeInsertStream() {
+            if (insertStream == null) {
+                return;
+            }
+            try {
+                insertStream.close();
+            } catch (IOException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+            insertStream = null;
+        }
+
+        boolean store(ParosHistoryBodyStore store, String hash, boolean compress)
+                throws SQLException {
+            if (bytes != null) {
+                return store.store(hash, bytes, compress);
+            }
+            return store.store(hash, this::newInputStream, length(), compress);
+        }
+    }
+
+    /**
+     * Writes the history records in a dedicated thread, in batches, committing each batch at once.
+     *
+     * <p>The IDs of the records are allocated when queued, the records pending are still read
+     * through {@link ParosTableHistory#read(int)}, while other queries {@link #flush() flush} the
+     * pending records first.
+     *
+     * <p>Unlike synchronous writes, the callers are not notified of the errors that occur while
+     * writing the records, the records that fail to be written are retried in later batches and,
+     * if still failing, kept in memory so that they can still be read through {@link
+     * ParosTableHistory#read(int)}, until deleted or the database closed.
+     */
+    private class HistoryWriter implements Runnable {
+
+        private static final int MAX_WRITE_ATTEMPTS = 3;
+        private static final int MAX_QUEUED_RECORDS = 10_000;
+        private static final int MAX_BATCH_SIZE = 500;
+        private static final int IDLE_TIMEOUT_MS = 1000;
+        private static final long MAX_FLUSH_WAIT_MS = 30_000;
+
+        private final Connection connection;
+        private final PreparedStatement psInsertWithId;
+        private final ParosHistoryBodyStore writerBodyStore;
+        private final BlockingQueue<HistoryValues> queue;
+        private final Map<Integer, HistoryValues> pending;
+        private final AtomicBoolean running;
+
+        private final AtomicLong queuedCount;
+        private final ReentrantLock writtenLock;
+        private final Condition writtenCondition;
+        private long writtenCount;
+
+        HistoryWriter(Connection connection) throws SQLException {
+            this.connection = connection;
+            connection.setAutoCommit(false);
+            psInsertWithId = connection.prepareStatement(createInsertStatement(true));
+            writerBodyStore = new ParosHistoryBodyStore(connection, getBodyStoreSize());
+            queue = new LinkedBlockingQueue<>(MAX_QUEUED_RECORDS);
+            pending = new ConcurrentHashMap<>();
+            running = new AtomicBoolean();
+            queuedCount = new AtomicLong();
+            writtenLock = new ReentrantLock();
+            writtenCondition = writtenLock.newCondition();
+        }
+
+        HistoryValues getPending(int historyId) {
+            return pending.get(historyId);
+        }
+
+        /**
+         * Removes the records that failed to be written and match the given filter, which are no
+         * longer kept in memory.
+         *
+         * <p>Should be called after {@link #flush() flushing} the records, when deleting them.
+         *
+         * @param filter the filter of the records to remove.
+         */
+        void removeFailed(Predicate<HistoryValues> filter) {
+            pending.values()
+                    .removeIf(
+                            values ->
+                                    values.failedWrites >= MAX_WRITE_ATTEMPTS
+                                            && filter.test(values));
+        }
+
+        void write(HistoryValues values) throws DatabaseException {
+            pending.put(values.historyId, values);
+            try {
+                queue.put(values);
+            } catch (InterruptedException e) {
+                pending.remove(values.historyId);
+                Thread.currentThread().interrupt();
+                throw new DatabaseException("Interrupted while queuing the history record.", e);
+            }
+            queuedCount.incrementAndGet();
+
+            if (running.compareAndSet(false, true)) {
+                Thread thread = new Thread(this, "ZAP-HistoryWriter");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+
+        void flush() {
+            long target = queuedCount.get();
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(MAX_FLUSH_WAIT_MS);
+            writtenLock.lock();
+            try {
+                while (writtenCount < target) {
+                    if (remainingNanos <= 0) {
+                        LOGGER.warn(
+                                "Timed out waiting for the history records to be written, {} still pending.",
+                                target - writtenCount);
+                        return;
+                    }
+                    remainingNanos = writtenCondition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                writtenLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<HistoryValues> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            while (true) {
+                HistoryValues values;
+                try {
+                    values = queue.poll(IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    values = queue.poll();
+                }
+
+                if (values == null) {
+                    running.set(false);
+                    if (queue.isEmpty() || !running.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                batch.add(values);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                List<HistoryValues> failed = batch;
+                try {
+                    failed = writeBatch(batch);
+                } catch (RuntimeException e) {
+                    LOGGER.error(
+                            "Failed to write {} history records: {}",
+                            batch.size(),
+                            e.getMessage(),
+                            e);
+                    rollback();
+                } finally {
+                    batchProcessed(batch, failed);
+                }
+            }
+        }
+
+        private void batchProcessed(List<HistoryValues> batch, List<HistoryValues> failed) {
+            int retried = 0;
+            for (HistoryValues values : batch) {
+                if (!failed.contains(values)) {
+                    pending.remove(values.historyId);
+                } else if (retry(values)) {
+                    retried++;
+                }
+            }
+            writtenLock.lock();
+            try {
+                writtenCount += batch.size() - retried;
+                writtenCondition.signalAll();
+            } finally {
+                writtenLock.unlock();
+            }
+            batch.clear();
+        }
+
+        /**
+         * Queues the given record again, if not yet written too many times, otherwise it's kept
+         * only in memory.
+         *
+         * @param values the record that failed to be written.
+         * @return {@code true} if queued again, {@code false} otherwise.
+         */
+        private boolean retry(HistoryValues values) {
+            values.failedWrites++;
+            if (values.failedWrites < MAX_WRITE_ATTEMPTS && queue.offer(values)) {
+                return true;
+            }
+            values.failedWrites = MAX_WRITE_ATTEMPTS;
+            LOGGER.error(
+                    "Failed to write the history record {}, keeping it only in memory.",
+                    values.historyId);
+            return false;
+        }
+
+        private List<HistoryValues> writeBatch(List<HistoryValues> batch) {
+            bodiesLock.readLock().lock();
+            try {
+                return writeBatchImpl(batch);
+            } finally {
+                bodiesLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Writes the given records, in a single transaction or, if that fails, one by one.
+         *
+         * @param batch the records to write.
+         * @return the records that failed to be written, never {@code null}.
+         */
+        private List<HistoryValues> writeBatchImpl(List<HistoryValues> batch) {
+            try {
+                List<String> bodyHashes = new ArrayList<>();
+                for (HistoryValues values : batch) {
+                    if (storeBody(writerBodyStore, values)) {
+                        bodyHashes.add(values.resBodyHash);
+                    }
+                    psInsertWithId.setInt(1, values.historyId);
+                    setInsertValues(psInsertWithId, 2, values);
+                    psInsertWithId.addBatch();
+                }
+                psInsertWithId.executeBatch();
+                connection.commit();
+                bodyHashes.forEach(ParosTableHistory.this::addKnownBodyHash);
+                return List.of();
+            } catch (SQLException e) {
+                LOGGER.debug("Failed to write the batch, writing each record: {}", e.getMessage());
+                rollback();
+            }
+
+            List<HistoryValues> failed = new ArrayList<>();
+            for (HistoryValues values : batch) {
+                try {
+                    psInsertWithId.clearBatch();
+                    boolean bodyStored = storeBody(writerBodyStore, values);
+                    psInsertWithId.setInt(1, values.historyId);
+                    setInsertValues(psInsertWithId, 2, values);
+                    psInsertWithId.executeUpdate();
+                    connection.commit();
+                    if (bodyStored) {
+                        addKnownBodyHash(values.resBodyHash);
+                    }
+                } catch (SQLException e) {
+                    LOGGER.error(
+                            "Failed to write the history record {}: {}",
+                            values.historyId,
+                            e.getMessage(),
+                            e);
+                    rollback();
+                    failed.add(values);
+                }
+            }
+            return failed;
+        }
+
+        private void rollback() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.extension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.zaproxy.zap.control.AddOn;
+
+/**
+ * Runs a task for each extension, in parallel, respecting the dependencies between the extensions.
+ *
+ * <p>The extensions are grouped by add-on, the extensions of the same add-on run sequentially (in
+ * the order given), the core extensions run first and the extensions of an add-on run after the
+ * extensions of the add-ons it depends on, either declared by the add-on or by its extensions.
+ *
+ * @since 2.17.0
+ */
+class ExtensionInitScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger(ExtensionInitScheduler.class);
+
+    private final Map<AddOn, List<Extension>> groups;
+    private final Function<Class<? extends Extension>, Extension> extensionProvider;
+
+    /**
+     * Constructs an {@code ExtensionInitScheduler} for the given extensions.
+     *
+     * @param extensions the extensions, in the order they should run.
+     * @param extensionProvider the provider of extensions, to obtain the extensions' dependencies.
+     */
+    ExtensionInitScheduler(
+            List<Extension> extensions,
+            Function<Class<? extends Extension>, Extension> extensionProvider) {
+        this.groups = new LinkedHashMap<>();
+        this.extensionProvider = extensionProvider;
+        extensions.forEach(
+                ext -> groups.computeIfAbsent(ext.getAddOn(), k -> new ArrayList<>()).add(ext));
+    }
+
+    /**
+     * Runs the given task for each extension, waiting for all of them to complete.
+     *
+     * <p>The task should handle any exceptions, the ones thrown are just logged.
+     *
+     * @param task the task to run.
+     * @param maxThreads the maximum number of threads used, at least one is used.
+     */
+    void run(Consumer<Extension> task, int maxThreads) {
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, maxThreads), new InitThreadFactory());
+        try {
+            Map<AddOn, CompletableFuture<Void>> futures = new HashMap<>();
+            for (AddOn addOn : groups.keySet()) {
+                schedule(addOn, task, executor, futures, new HashSet<>());
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> schedule(
+            AddOn addOn,
+            Consumer<Extension> task,
+            ExecutorService executor,
+            Map<AddOn, CompletableFuture<Void>> futures,
+            Set<AddOn> visiting) {
+        CompletableFuture<Void> future = futures.get(addOn);
+        if (future != null) {
+            return future;
+        }
+        if (!visiting.add(addOn)) {
+            LOGGER.warn("Ignoring cyclic dependency on add-on {}", addOn);
+            return null;
+        }
+
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (AddOn dependency : getDependencies(addOn)) {
+            CompletableFuture<Void> dependencyFuture =
+                    schedule(dependency, task, executor, futures, visiting);
+            if (dependencyFuture != null) {
+                dependencies.add(dependencyFuture);
+            }
+        }
+        visiting.remove(addOn);
+
+        List<Extension> extensions = groups.get(addOn);
+        future =
+                CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                        .thenRunAsync(() -> runAll(extensions, task), executor);
+        futures.put(addOn, future);
+        return future;
+    }
+
+    private static void runAll(List<Extension> extensions, Consumer<Extension> task) {
+        for (Extension extension : extensions) {
+            try {
+                task.accept(extension);
+            } catch (Throwable e) {
+                LOGGER.error(
+                        "Error while running task for {}:",
+                        extension.getClass().getCanonicalName(),
+                        e);
+            }
+        }
+    }
+
+    private Set<AddOn> getDependencies(AddOn addOn) {
+        Set<AddOn> dependencies = new LinkedHashSet<>();
+        if (addOn == null) {
+            // The core extensions do not depend on add-ons.
+            return dependencies;
+        }
+
+        if (groups.containsKey(null)) {
+            dependencies.add(null);
+        }
+
+        List<String> addOnIds = addOn.getIdsAddOnDependencies();
+        for (AddOn other : groups.keySet()) {
+            if (other != null && addOnIds.contains(other.getId())) {
+                dependencies.add(other);
+            }
+        }
+
+        for (Extension extension : groups.get(addOn)) {
+            List<Class<? extends Extension>> extDependencies = extension.getDependencies();
+            if (extDependencies == null) {
+                continue;
+            }
+            for (Class<? extends Extension> extDependency : extDependencies) {
+                Extension dependency = extensionProvider.apply(extDependency);
+                if (dependency != null
+                        && dependency.getAddOn() != addOn
+                        && groups.containsKey(dependency.getAddOn())) {
+                    dependencies.add(dependency.getAddOn());
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private static class InitThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "ZAP-ExtensionInit-" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -102,6 +102,7 @@
 // ZAP: 2023/04/28 Deprecate Proxy and ProxyServer related methods.
 // ZAP: 2023/08/25 Set view to ExtensionAdaptor.
 // ZAP: 2023/11/14 Hook AbstractParamPanel with parents.
+// ZAP: 2026/10/15 Allow to initialise the extensions in parallel and log the startup times.
 package org.parosproxy.paros.extension;
 
 import java.awt.Component;
@@ -135,6 +136,7 @@ import org.parosproxy.paros.core.scanner.Variant;
 import org.parosproxy.paros.db.Database;
 import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.db.DatabaseUnsupportedException;
+import org.parosproxy.paros.extension.ExtensionStartupTimes.Step;
 import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.model.OptionsParam;
 import org.parosproxy.paros.model.Session;
@@ -164,6 +166,7 @@ public class ExtensionLoader {
     private final List<Extension> extensionList = new ArrayList<>();
     private final Map<Class<? extends Extension>, Extension> extensionsMap = new HashMap<>();
     private final Map<Extension, ExtensionHook> extensionHooks = new HashMap<>();
+    private final ExtensionStartupTimes startupTimes = new ExtensionStartupTimes();
     private Model model = null;
 
     private View view = null;
@@ -802,7 +805,7 @@ public class ExtensionLoader {
         for (int i = 0; i < getExtensionCount(); i++) {
             Extension extension = getExtension(i);
             try {
-                extension.start();
+                runStep(extension, Step.START, extension::start);
                 if (hasView()) {
                     view.addSplashScreenLoadingCompletion(factorPerc);
                 }
@@ -818,6 +821,8 @@ public class ExtensionLoader {
      * launching each specific initialization element (model, xml, view, hook, etc.)
      */
     public void startLifeCycle() {
+        long startTime = System.currentTimeMillis();
+        startupTimes.clear();
 
         // Percentages are passed into the calls as doubles
         if (hasView()) {
@@ -837,10 +842,36 @@ public class ExtensionLoader {
         // Step 8: start all extensions(quick)
         startAllExtension(10.0);
 
+        startupTimes.log(System.currentTimeMillis() - startTime);
+        // Clear to not keep references to the extensions, which might be removed later
+        startupTimes.clear();
+
         // Clear so that manually updated add-ons dont get called with cmdline args again
         this.cmdLine = null;
     }
 
+    /**
+     * Runs the given step of the startup of the extension, recording the time it took.
+     *
+     * @param extension the extension.
+     * @param step the step.
+     * @param action the action of the step.
+     * @throws Exception if an error occurred while running the step.
+     */
+    private void runStep(Extension extension, Step step, StepAction action) throws Exception {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            startupTimes.add(extension, step, System.nanoTime() - start);
+        }
+    }
+
+    private interface StepAction {
+
+        void run() throws Exception;
+    }
+
     /**
      * Initialize a specific Extension
      *
@@ -965,29 +996,7 @@ public class ExtensionLoader {
             final Extension ext = getExtension(i);
             try {
                 LOGGER.info("Initializing {} - {}", ext.getUIName(), ext.getDescription());
-                final ExtensionHook extHook = new ExtensionHook(model, view);
-                extensionHooks.put(ext, extHook);
-                ext.hook(extHook);
-
-                hookContextDataFactories(ext, extHook);
-                hookApiImplementors(ext, extHook);
-                hookHttpSenderListeners(ext, extHook);
-                hookVariant(ext, extHook);
-                hookHrefTypeInfo(ext, extHook);
-
-                if (hasView()) {
-                    EventQueue.invokeAndWait(
-                            () -> {
-                                // no need to hook view if no GUI
-                                hookView(ext, view, extHook);
-                                hookMenu(view, extHook);
-                                view.addSplashScreenLoadingCompletion(factorPerc);
-                            });
-                }
-
-                hookOptions(extHook);
-                hookProxies(extHook);
-                ext.optionsLoaded();
+                runStep(ext, Step.HOOK, () -> hookExtension(ext, factorPerc));
 
             } catch (Throwable e) {
                 // Catch Errors thrown by out of date extensions as well as Exceptions
@@ -998,7 +1007,7 @@ public class ExtensionLoader {
         for (int i = 0; i < getExtensionCount(); i++) {
             Extension extension = getExtension(i);
             try {
-                extension.postInit();
+                runStep(extension, Step.POST_INIT, extension::postInit);
             } catch (Throwable e) {
                 // Catch Errors thrown by out of date extensions as well as Exceptions
                 logExtensionInitError(extension, e);
@@ -1018,6 +1027,32 @@ public class ExtensionLoader {
         }
     }
 
+    private void hookExtension(Extension ext, double factorPerc) throws Exception {
+        final ExtensionHook extHook = new ExtensionHook(model, view);
+        extensionHooks.put(ext, extHook);
+        ext.hook(extHook);
+
+        hookContextDataFactories(ext, extHook);
+        hookApiImplementors(ext, extHook);
+        hookHttpSenderListeners(ext, extHook);
+        hookVariant(ext, extHook);
+        hookHrefTypeInfo(ext, extHook);
+
+        if (hasView()) {
+            EventQueue.invokeAndWait(
+                    () -> {
+                        // no need to hook view if no GUI
+                        hookView(ext, view, extHook);
+                        hookMenu(view, extHook);
+                        view.addSplashScreenLoadingCompletion(factorPerc);
+                    });
+        }
+
+        hookOptions(extHook);
+        hookProxies(extHook);
+        ext.optionsLoaded();
+    }
+
     private static void logExtensionInitError(Extension extension, Throwable e) {
         StringBuilder strBuilder = new StringBuilder(150);
         strBuilder.append("Failed to initialise extension ");
@@ -1467,24 +1502,53 @@ public class ExtensionLoader {
         view.getMainFrame().getMainMenuBar().getMenuReport().remove(menuItem);
     }
 
-    /** Init all extensions */
+    /**
+     * Init all extensions.
+     *
+     * <p>The extensions are initialised in parallel if enabled in the options.
+     *
+     * @see org.zaproxy.zap.extension.ext.ExtensionParam#isParallelInit()
+     */
     private void initAllExtension(double progressFactor) {
+        if (isParallelInit()) {
+            new ExtensionInitScheduler(extensionList, this::getExtension)
+                    .run(this::initExtension, Runtime.getRuntime().availableProcessors());
+            if (hasView()) {
+                view.addSplashScreenLoadingCompletion(progressFactor);
+            }
+            return;
+        }
+
         double factorPerc = progressFactor / getExtensionCount();
 
         for (int i = 0; i < getExtensionCount(); i++) {
-            Extension extension = getExtension(i);
-            try {
-                setExtensionAdaptorView(extension);
+            initExtension(getExtension(i));
+            if (hasView()) {
+                view.addSplashScreenLoadingCompletion(factorPerc);
+            }
+        }
+    }
 
-                extension.init();
-                extension.databaseOpen(Model.getSingleton().getDb());
-                if (hasView()) {
-                    view.addSplashScreenLoadingCompletion(factorPerc);
-                }
+    private boolean isParallelInit() {
+        OptionsParam options = model.getOptionsParam();
+        return options != null
+                && options.getExtensionParam() != null
+                && options.getExtensionParam().isParallelInit();
+    }
 
-            } catch (Throwable e) {
-                logExtensionInitError(extension, e);
-            }
+    private void initExtension(Extension extension) {
+        try {
+            setExtensionAdaptorView(extension);
+
+            runStep(
+                    extension,
+                    Step.INIT,
+                    () -> {
+                        extension.init();
+                        extension.databaseOpen(Model.getSingleton().getDb());
+                    });
+        } catch (Throwable e) {
+            logExtensionInitError(extension, e);
         }
     }
 
@@ -1499,7 +1563,7 @@ public class ExtensionLoader {
         for (int i = 0; i < getExtensionCount(); i++) {
             Extension extension = getExtension(i);
             try {
-                extension.initModel(model);
+                runStep(extension, Step.INIT_MODEL, () -> extension.initModel(model));
                 if (hasView()) {
                     view.addSplashScreenLoadingCompletion(factorPerc);
                 }
@@ -1525,11 +1589,15 @@ public class ExtensionLoader {
         for (int i = 0; i < getExtensionCount(); i++) {
             final Extension extension = getExtension(i);
             try {
-                EventQueue.invokeAndWait(
-                        () -> {
-                            extension.initView(view);
-                            view.addSplashScreenLoadingCompletion(factorPerc);
-                        });
+                runStep(
+                        extension,
+                        Step.INIT_VIEW,
+                        () ->
+                                EventQueue.invokeAndWait(
+                                        () -> {
+                                            extension.initView(view);
+                                            view.addSplashScreenLoadingCompletion(factorPerc);
+                                        }));
 
             } catch (Exception e) {
                 logExtensionInitError(extension, e);
@@ -1543,7 +1611,7 @@ public class ExtensionLoader {
         for (int i = 0; i < getExtensionCount(); i++) {
             Extension extension = getExtension(i);
             try {
-                extension.initXML(session, options);
+                runStep(extension, Step.INIT_XML, () -> extension.initXML(session, options));
                 if (hasView()) {
                     view.addSplashScreenLoadingCompletion(factorPerc);
                 }
@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.extension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The time spent by the extensions in each step of the startup.
+ *
+ * @since 2.17.0
+ */
+class ExtensionStartupTimes {
+
+    private static final Logger LOGGER = LogManager.getLogger(ExtensionStartupTimes.class);
+
+    /** The steps of the startup of the extensions. */
+    enum Step {
+        INIT("init"),
+        INIT_MODEL("initModel"),
+        INIT_XML("initXML"),
+        INIT_VIEW("initView"),
+        HOOK("hook"),
+        POST_INIT("postInit"),
+        START("start");
+
+        private final String name;
+
+        Step(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final Step[] STEPS = Step.values();
+
+    private final Map<Extension, AtomicLongArray> times;
+
+    ExtensionStartupTimes() {
+        times = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adds the given time to the step of the extension.
+     *
+     * @param extension the extension.
+     * @param step the step.
+     * @param nanos the time, in nanoseconds.
+     */
+    void add(Extension extension, Step step, long nanos) {
+        times.computeIfAbsent(extension, k -> new AtomicLongArray(STEPS.length))
+                .addAndGet(step.ordinal(), nanos);
+    }
+
+    /**
+     * Gets the time spent by the extension in the given step.
+     *
+     * @param extension the extension.
+     * @param step the step.
+     * @return the time, in milliseconds.
+     */
+    long getTime(Extension extension, Step step) {
+        AtomicLongArray extensionTimes = times.get(extension);
+        if (extensionTimes == null) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(extensionTimes.get(step.ordinal()));
+    }
+
+    /**
+     * Gets the total time spent by the extension in all steps.
+     *
+     * @param extension the extension.
+     * @return the time, in milliseconds.
+     */
+    long getTotalTime(Extension extension) {
+        AtomicLongArray extensionTimes = times.get(extension);
+        if (extensionTimes == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < extensionTimes.length(); i++) {
+            total += extensionTimes.get(i);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(total);
+    }
+
+    /**
+     * Logs the times of the extensions, slowest first, at debug level.
+     *
+     * @param totalTimeMillis the total time of the startup, in milliseconds.
+     */
+    void log(long totalTimeMillis) {
+        LOGGER.info("Extensions started in {} ms", totalTimeMillis);
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+
+        List<Extension> extensions = new ArrayList<>(times.keySet());
+        extensions.sort((a, b) -> Long.compare(getTotalTime(b), getTotalTime(a)));
+        for (Extension extension : extensions) {
+            StringBuilder strBuilder = new StringBuilder(150);
+            strBuilder.append(extension.getName()).append(": ");
+            strBuilder.append(getTotalTime(extension)).append(" ms (");
+            for (Step step : STEPS) {
+                if (step.ordinal() != 0) {
+                    strBuilder.append(", ");
+                }
+                strBuilder.append(step.name).append('=').append(getTime(extension, step));
+            }
+            strBuilder.append(')');
+            LOGGER.debug(strBuilder);
+        }
+    }
+
+    /** Clears the times. */
+    void clear() {
+        times.clear();
+    }
+}
@@ -106,6 +106,7 @@
 // ZAP: 2023/01/22 Add utility getHistoryIds() method.
 // ZAP: 2023/02/22 Correct delete consistency fix.
 // ZAP: 2024/02/23 Added support for menu weights.
+// ZAP: 2026/10/15 Keep the recently used history references in a size-bounded cache.
 package org.parosproxy.paros.extension.history;
 
 import java.awt.EventQueue;
@@ -151,6 +152,7 @@ import org.zaproxy.zap.extension.history.PopupMenuJumpTo;
 import org.zaproxy.zap.extension.history.PopupMenuNote;
 import org.zaproxy.zap.extension.history.PopupMenuPurgeHistory;
 import org.zaproxy.zap.extension.history.PopupMenuTag;
+import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.view.popup.MenuWeights;
 import org.zaproxy.zap.view.table.HistoryReferencesTable;
 
@@ -187,6 +189,12 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
     private Map<Integer, HistoryReference> historyIdToRef =
             Collections.synchronizedMap(new ReferenceMap());
 
+    /**
+     * The most recently used hrefs of {@link #historyIdToRef}, strongly referenced so that they
+     * are not cleared under GC pressure.
+     */
+    private final HistoryReferenceCache recentHistoryReferences = new HistoryReferenceCache(0);
+
     /**
      * Flag that indicates whether or not the session is changing. To prevent updating the table
      * more than once when opening a session.
@@ -255,6 +263,11 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
                         HistoryReferenceEventPublisher.getPublisher().getPublisherName());
     }
 
+    @Override
+    public void optionsLoaded() {
+        updateRecentHistoryReferencesSize();
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public void hook(ExtensionHook extensionHook) {
@@ -317,6 +330,7 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
                 logPanel.setDisplaySelectedMessage(true);
             }
             historyIdToRef.remove(href.getHistoryId());
+            recentHistoryReferences.remove(href.getHistoryId());
         } else {
             EventQueue.invokeLater(
                     new Runnable() {
@@ -366,6 +380,7 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
     public void delete(HistoryReference href) {
         if (href != null) {
             this.historyIdToRef.remove(href.getHistoryId());
+            recentHistoryReferences.remove(href.getHistoryId());
             href.delete();
         }
     }
@@ -375,8 +390,17 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
         if (href != null) {
             return href;
         }
-        href = historyIdToRef.get(historyId);
+        href = recentHistoryReferences.get(historyId);
         if (href == null) {
+            href = historyIdToRef.get(historyId);
+            if (href != null) {
+                recentHistoryReferences.put(href);
+            }
+        }
+        if (href != null) {
+            Stats.incCounter("stats.history.href.cache.hit");
+        } else {
+            Stats.incCounter("stats.history.href.cache.miss");
             try {
                 href = new HistoryReference(historyId);
                 if (href.getHistoryType() != HistoryReference.TYPE_SCANNER_TEMPORARY) {
@@ -403,6 +427,12 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
 
     private void addToMap(HistoryReference historyRef) {
         historyIdToRef.put(historyRef.getHistoryId(), historyRef);
+        recentHistoryReferences.put(historyRef);
+    }
+
+    private void updateRecentHistoryReferencesSize() {
+        recentHistoryReferences.setMaxSize(
+                getModel().getOptionsParam().getDatabaseParam().getHistoryReferenceCacheSize());
     }
 
     public void addHistory(HistoryReference historyRef) {
@@ -744,6 +774,8 @@ public class ExtensionHistory extends ExtensionAdaptor implements SessionChanged
         if (!hasView() || EventQueue.isDispatchThread()) {
             historyTableModel.clear();
             historyIdToRef.clear();
+            recentHistoryReferences.clear();
+            updateRecentHistoryReferencesSize();
 
             if (hasView()) {
                 getView().displayMessage(null);
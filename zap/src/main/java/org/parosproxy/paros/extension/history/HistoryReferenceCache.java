@@ -0,0 +1,232 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.extension.history;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.parosproxy.paros.model.HistoryReference;
+
+/**
+ * A cache of the most recently used history references, bounded by their (estimated) size.
+ *
+ * <p>The references are strongly referenced, so that they are not cleared under GC pressure. Reads
+ * do not lock, the references are evicted in the order they were added, giving a second chance to
+ * the ones used since (CLOCK).
+ *
+ * @since 2.17.0
+ */
+class HistoryReferenceCache {
+
+    /** The estimated size of a reference, in bytes, excluding the contents of its URI. */
+    private static final int REFERENCE_OVERHEAD_SIZE = 512;
+
+    private final Map<Integer, CachedReference> references;
+    private final Queue<CachedReference> evictionQueue;
+    private final AtomicInteger queuedCount;
+    private final AtomicLong size;
+    private final ReentrantLock evictionLock;
+    private volatile long maxSize;
+
+    /**
+     * Constructs a {@code HistoryReferenceCache} with the given maximum size.
+     *
+     * @param maxSize the maximum size, in bytes, of the references cached, zero or less to not
+     *     cache.
+     */
+    HistoryReferenceCache(long maxSize) {
+        this.references = new ConcurrentHashMap<>();
+        this.evictionQueue = new ConcurrentLinkedQueue<>();
+        this.queuedCount = new AtomicInteger();
+        this.size = new AtomicLong();
+        this.evictionLock = new ReentrantLock();
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * Sets the maximum size of the references cached, removing the references that exceed it.
+     *
+     * @param maxSize the maximum size, in bytes, zero or less to not cache.
+     */
+    void setMaxSize(long maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        evict();
+    }
+
+    /**
+     * Gets the reference with the given ID.
+     *
+     * @param historyId the ID of the reference.
+     * @return the reference, or {@code null} if not cached.
+     */
+    HistoryReference get(int historyId) {
+        CachedReference cached = references.get(historyId);
+        if (cached == null) {
+            return null;
+        }
+        cached.used = true;
+        return cached.reference;
+    }
+
+    /**
+     * Puts the given reference into the cache.
+     *
+     * <p>The reference is not cached if bigger than the maximum size.
+     *
+     * @param reference the reference to cache.
+     */
+    void put(HistoryReference reference) {
+        long currentMaxSize = maxSize;
+        if (currentMaxSize == 0) {
+            return;
+        }
+
+        CachedReference cached = new CachedReference(reference);
+        if (cached.size > currentMaxSize) {
+            return;
+        }
+        CachedReference old = references.put(reference.getHistoryId(), cached);
+        if (old != null) {
+            size.addAndGet(-old.size);
+        }
+        size.addAndGet(cached.size);
+        evictionQueue.add(cached);
+        if (queuedCount.incrementAndGet() > 2 * references.size() + 16) {
+            removeStaleQueued();
+        }
+        evict();
+    }
+
+    /**
+     * Removes the reference with the given ID.
+     *
+     * @param historyId the ID of the reference.
+     */
+    void remove(int historyId) {
+        CachedReference old = references.remove(historyId);
+        if (old != null) {
+            size.addAndGet(-old.size);
+        }
+    }
+
+    /** Removes all the references. */
+    void clear() {
+        evictionLock.lock();
+        try {
+            references.clear();
+            evictionQueue.clear();
+            queuedCount.set(0);
+            size.set(0);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of references cached.
+     *
+     * @return the number of references.
+     */
+    int getCount() {
+        return references.size();
+    }
+
+    /**
+     * Gets the (estimated) size of the references cached.
+     *
+     * @return the size, in bytes.
+     */
+    long getSize() {
+        return size.get();
+    }
+
+    private void evict() {
+        if (size.get() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            CachedReference cached;
+            while (size.get() > maxSize && (cached = evictionQueue.poll()) != null) {
+                queuedCount.decrementAndGet();
+                if (isStale(cached)) {
+                    // Already removed or replaced.
+                    continue;
+                }
+                if (cached.used && maxSize != 0) {
+                    cached.used = false;
+                    evictionQueue.add(cached);
+                    queuedCount.incrementAndGet();
+                    continue;
+                }
+                if (references.remove(cached.reference.getHistoryId(), cached)) {
+                    size.addAndGet(-cached.size);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes from the eviction queue the references no longer cached, removed or replaced, so
+     * that they are not kept in memory.
+     */
+    private void removeStaleQueued() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            evictionQueue.removeIf(
+                    cached -> {
+                        if (isStale(cached)) {
+                            queuedCount.decrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    });
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isStale(CachedReference cached) {
+        return references.get(cached.reference.getHistoryId()) != cached;
+    }
+
+    static long estimateSize(HistoryReference reference) {
+        return REFERENCE_OVERHEAD_SIZE + 2L * reference.getURI().toString().length();
+    }
+
+    private static class CachedReference {
+
+        private final HistoryReference reference;
+        private final long size;
+        private volatile boolean used;
+
+        CachedReference(HistoryReference reference) {
+            this.reference = reference;
+            this.size = estimateSize(reference);
+        }
+    }
+}
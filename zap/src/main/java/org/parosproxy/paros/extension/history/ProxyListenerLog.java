@@ -39,9 +39,11 @@
 // ZAP: 2020/11/26 Use Log4j 2 classes for logging.
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2023/08/22 Do not modify the requests being proxied (Issue 7353).
+// ZAP: 2026/10/15 Add the messages to the Sites tree in batches.
 package org.parosproxy.paros.extension.history;
 
 import java.awt.EventQueue;
+import java.util.concurrent.ExecutionException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.Constant;
@@ -156,6 +158,22 @@ public class ProxyListenerLog implements ProxyListener, ConnectRequestProxyListe
 
     private void addToSiteMap(final HistoryReference ref, final HttpMessage msg) {
         if (hasView() && !EventQueue.isDispatchThread()) {
+            if (!Constant.isLowMemoryOptionSet()) {
+                // Wait for the message to be added, in a batch, before notifying it was added.
+                try {
+                    model.getSession().getSiteTree().addPathLater(ref, msg).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    LOGGER.warn(e.getMessage(), e);
+                }
+                if (isFirstAccess) {
+                    EventQueue.invokeLater(this::expandRootOnFirstAccess);
+                }
+                return;
+            }
+
             try {
                 EventQueue.invokeAndWait(
                         new Runnable() {
@@ -172,6 +190,10 @@ public class ProxyListenerLog implements ProxyListener, ConnectRequestProxyListe
         }
 
         SessionStructure.addPath(model, ref, msg);
+        expandRootOnFirstAccess();
+    }
+
+    private void expandRootOnFirstAccess() {
         if (isFirstAccess && !Constant.isLowMemoryOptionSet()) {
             isFirstAccess = false;
             if (hasView()) {
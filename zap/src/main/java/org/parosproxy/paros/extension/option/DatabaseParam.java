@@ -20,6 +20,7 @@
 package org.parosproxy.paros.extension.option;
 
 import org.parosproxy.paros.common.AbstractParam;
+import org.parosproxy.paros.network.HttpBody;
 
 /**
  * Manages the database configurations saved in the configuration file.
@@ -31,6 +32,18 @@ import org.parosproxy.paros.common.AbstractParam;
  *   <li>Request Body Size - the size of the request body in the 'History' database table.
  *   <li>Response Body Size - the size of the response body in the 'History' database table.
  *   <li>Recovery Log - if the recovery log should be enabled (HSQLDB option only).
+ *   <li>Async History Writes - if the history records should be written asynchronously (HSQLDB
+ *       option only).
+ *   <li>Deduplicate Response Bodies - if the response bodies should be stored once per content
+ *       (HSQLDB option only).
+ *   <li>Compress Response Bodies - if the deduplicated response bodies should be compressed (HSQLDB
+ *       option only).
+ *   <li>Message Cache Size - the size of the cache of the history messages read (HSQLDB option
+ *       only).
+ *   <li>History Reference Cache Size - the size of the cache of the history references most
+ *       recently used.
+ *   <li>Body Spill Threshold - the size above which the HTTP message bodies are kept in temporary
+ *       files.
  * </ul>
  */
 public class DatabaseParam extends AbstractParam {
@@ -68,10 +81,37 @@ public class DatabaseParam extends AbstractParam {
     /** The configuration key for database's recovery log option. */
     private static final String PARAM_RECOVERY_LOG_ENABLED = PARAM_BASE_KEY + ".recoverylog";
 
+    /** The configuration key for the async history writes option. */
+    private static final String PARAM_ASYNC_HISTORY_WRITES = PARAM_BASE_KEY + ".asynchistorywrites";
+
+    /** The configuration key for the deduplicate response bodies option. */
+    private static final String PARAM_DEDUPLICATE_RESPONSE_BODIES =
+            PARAM_BASE_KEY + ".deduplicateresponsebodies";
+
+    /** The configuration key for the compress response bodies option. */
+    private static final String PARAM_COMPRESS_RESPONSE_BODIES =
+            PARAM_BASE_KEY + ".compressresponsebodies";
+
+    /** The configuration key for the message cache size option. */
+    private static final String PARAM_MESSAGE_CACHE_SIZE = PARAM_BASE_KEY + ".messagecachesize";
+
+    /** The configuration key for the history reference cache size option. */
+    private static final String PARAM_HISTORY_REFERENCE_CACHE_SIZE =
+            PARAM_BASE_KEY + ".hrefcachesize";
+
+    /** The configuration key for the body spill threshold option. */
+    private static final String PARAM_BODY_SPILL_THRESHOLD = PARAM_BASE_KEY + ".bodyspillthreshold";
+
     private static final boolean DEFAULT_COMPACT_DATABASE = false;
     private static final int DEFAULT_NEW_SESSION_OPTION = NEW_SESSION_NOT_SPECIFIED;
     private static final boolean DEFAULT_NEW_SESSION_PROMPT = true;
     private static final boolean DEFAULT_RECOVERY_LOG_ENABLED = true;
+    private static final boolean DEFAULT_ASYNC_HISTORY_WRITES = false;
+    private static final boolean DEFAULT_DEDUPLICATE_RESPONSE_BODIES = false;
+    private static final boolean DEFAULT_COMPRESS_RESPONSE_BODIES = true;
+    private static final int DEFAULT_MESSAGE_CACHE_SIZE = 0;
+    private static final int DEFAULT_HISTORY_REFERENCE_CACHE_SIZE = 0;
+    private static final int DEFAULT_BODY_SPILL_THRESHOLD = 0;
 
     /**
      * The compact option, whether the database should be compacted on exit. Default is {@code
@@ -104,6 +144,60 @@ public class DatabaseParam extends AbstractParam {
      */
     private boolean recoveryLogEnabled;
 
+    /**
+     * Flag used to indicate whether or not the history records are written asynchronously.
+     *
+     * <p>Default is {@code false}.
+     *
+     * @see #isAsyncHistoryWrites()
+     */
+    private boolean asyncHistoryWrites;
+
+    /**
+     * Flag used to indicate whether or not the response bodies are stored once per content.
+     *
+     * <p>Default is {@code false}.
+     *
+     * @see #isDeduplicateResponseBodies()
+     */
+    private boolean deduplicateResponseBodies;
+
+    /**
+     * Flag used to indicate whether or not the deduplicated response bodies are compressed.
+     *
+     * <p>Default is {@code true}.
+     *
+     * @see #isCompressResponseBodies()
+     */
+    private boolean compressResponseBodies;
+
+    /**
+     * The size, in bytes, of the cache of the history messages read.
+     *
+     * <p>Default is {@value #DEFAULT_MESSAGE_CACHE_SIZE}, not cached.
+     *
+     * @see #getMessageCacheSize()
+     */
+    private int messageCacheSize;
+
+    /**
+     * The size, in bytes, of the cache of the history references most recently used.
+     *
+     * <p>Default is {@value #DEFAULT_HISTORY_REFERENCE_CACHE_SIZE}, not cached.
+     *
+     * @see #getHistoryReferenceCacheSize()
+     */
+    private int historyReferenceCacheSize;
+
+    /**
+     * The size, in bytes, above which the HTTP message bodies are kept in temporary files.
+     *
+     * <p>Default is {@value #DEFAULT_BODY_SPILL_THRESHOLD}, always kept in memory.
+     *
+     * @see #getBodySpillThreshold()
+     */
+    private int bodySpillThreshold;
+
     public DatabaseParam() {
         super();
 
@@ -113,6 +207,12 @@ public class DatabaseParam extends AbstractParam {
         newSessionOption = DEFAULT_NEW_SESSION_OPTION;
         newSessionPrompt = DEFAULT_NEW_SESSION_PROMPT;
         recoveryLogEnabled = DEFAULT_RECOVERY_LOG_ENABLED;
+        asyncHistoryWrites = DEFAULT_ASYNC_HISTORY_WRITES;
+        deduplicateResponseBodies = DEFAULT_DEDUPLICATE_RESPONSE_BODIES;
+        compressResponseBodies = DEFAULT_COMPRESS_RESPONSE_BODIES;
+        messageCacheSize = DEFAULT_MESSAGE_CACHE_SIZE;
+        historyReferenceCacheSize = DEFAULT_HISTORY_REFERENCE_CACHE_SIZE;
+        bodySpillThreshold = DEFAULT_BODY_SPILL_THRESHOLD;
     }
 
     /**
@@ -125,6 +225,18 @@ public class DatabaseParam extends AbstractParam {
      *   <li>Request Body Size - the size of the request body in the 'History' database table.
      *   <li>Response Body Size - the size of the response body in the 'History' database table.
      *   <li>Recovery Log - if the recovery log should be enabled (HSQLDB option only).
+     *   <li>Async History Writes - if the history records should be written asynchronously (HSQLDB
+     *       option only).
+     *   <li>Deduplicate Response Bodies - if the response bodies should be stored once per content
+     *       (HSQLDB option only).
+     *   <li>Compress Response Bodies - if the deduplicated response bodies should be compressed
+     *       (HSQLDB option only).
+     *   <li>Message Cache Size - the size of the cache of the history messages read (HSQLDB option
+     *       only).
+     *   <li>History Reference Cache Size - the size of the cache of the history references most
+     *       recently used.
+     *   <li>Body Spill Threshold - the size above which the HTTP message bodies are kept in
+     *       temporary files.
      * </ul>
      */
     @Override
@@ -135,6 +247,22 @@ public class DatabaseParam extends AbstractParam {
         newSessionOption = getInt(PARAM_NEW_SESSION_OPTION, DEFAULT_NEW_SESSION_OPTION);
         newSessionPrompt = getBoolean(PARAM_NEW_SESSION_PROMPT, DEFAULT_NEW_SESSION_PROMPT);
         recoveryLogEnabled = getBoolean(PARAM_RECOVERY_LOG_ENABLED, DEFAULT_RECOVERY_LOG_ENABLED);
+        asyncHistoryWrites = getBoolean(PARAM_ASYNC_HISTORY_WRITES, DEFAULT_ASYNC_HISTORY_WRITES);
+        deduplicateResponseBodies =
+                getBoolean(PARAM_DEDUPLICATE_RESPONSE_BODIES, DEFAULT_DEDUPLICATE_RESPONSE_BODIES);
+        compressResponseBodies =
+                getBoolean(PARAM_COMPRESS_RESPONSE_BODIES, DEFAULT_COMPRESS_RESPONSE_BODIES);
+        messageCacheSize =
+                Math.max(0, getInt(PARAM_MESSAGE_CACHE_SIZE, DEFAULT_MESSAGE_CACHE_SIZE));
+        historyReferenceCacheSize =
+                Math.max(
+                        0,
+                        getInt(
+                                PARAM_HISTORY_REFERENCE_CACHE_SIZE,
+                                DEFAULT_HISTORY_REFERENCE_CACHE_SIZE));
+        bodySpillThreshold =
+                Math.max(0, getInt(PARAM_BODY_SPILL_THRESHOLD, DEFAULT_BODY_SPILL_THRESHOLD));
+        HttpBody.setSpillThreshold(bodySpillThreshold);
     }
 
     /**
@@ -255,4 +383,198 @@ public class DatabaseParam extends AbstractParam {
         this.recoveryLogEnabled = enabled;
         getConfig().setProperty(PARAM_RECOVERY_LOG_ENABLED, recoveryLogEnabled);
     }
+
+    /**
+     * Tells whether or not the history records are written asynchronously.
+     *
+     * <p>When enabled the history records are queued and written in batches by a dedicated thread,
+     * the callers no longer wait for the records to be inserted into the database. Takes effect
+     * when the database is (re)opened.
+     *
+     * <p><strong>Note:</strong> The errors that occur while inserting the records are no longer
+     * reported to the callers, the records that fail to be inserted are retried and, if still
+     * failing, kept only in memory (still readable by their ID) until deleted or the database
+     * closed.
+     *
+     * @return {@code true} if the history records are written asynchronously, {@code false}
+     *     otherwise
+     * @see #setAsyncHistoryWrites(boolean)
+     * @see org.parosproxy.paros.db.TableHistory#flush()
+     * @since 2.17.0
+     */
+    public boolean isAsyncHistoryWrites() {
+        return asyncHistoryWrites;
+    }
+
+    /**
+     * Sets whether or not the history records are written asynchronously.
+     *
+     * @param asyncHistoryWrites {@code true} if the history records should be written
+     *     asynchronously, {@code false} otherwise
+     * @see #isAsyncHistoryWrites()
+     * @since 2.17.0
+     */
+    public void setAsyncHistoryWrites(boolean asyncHistoryWrites) {
+        this.asyncHistoryWrites = asyncHistoryWrites;
+        getConfig().setProperty(PARAM_ASYNC_HISTORY_WRITES, asyncHistoryWrites);
+    }
+
+    /**
+     * Tells whether or not the response bodies are stored once per content.
+     *
+     * <p>When enabled the response bodies are stored in a separate table, identified by the hash of
+     * their content, and the history records just reference them. Identical bodies (for example,
+     * the same script or style sheet obtained several times) are stored just once. Applies to the
+     * history records written afterwards, the bodies are read as needed regardless of this option.
+     *
+     * <p><strong>Note:</strong> The sessions with deduplicated response bodies can not be fully
+     * read by previous versions.
+     *
+     * @return {@code true} if the response bodies are deduplicated, {@code false} otherwise
+     * @see #setDeduplicateResponseBodies(boolean)
+     * @see #isCompressResponseBodies()
+     * @since 2.17.0
+     */
+    public boolean isDeduplicateResponseBodies() {
+        return deduplicateResponseBodies;
+    }
+
+    /**
+     * Sets whether or not the response bodies are stored once per content.
+     *
+     * @param deduplicateResponseBodies {@code true} if the response bodies should be deduplicated,
+     *     {@code false} otherwise
+     * @see #isDeduplicateResponseBodies()
+     * @since 2.17.0
+     */
+    public void setDeduplicateResponseBodies(boolean deduplicateResponseBodies) {
+        this.deduplicateResponseBodies = deduplicateResponseBodies;
+        getConfig().setProperty(PARAM_DEDUPLICATE_RESPONSE_BODIES, deduplicateResponseBodies);
+    }
+
+    /**
+     * Tells whether or not the deduplicated response bodies are compressed.
+     *
+     * @return {@code true} if the deduplicated response bodies are compressed, {@code false}
+     *     otherwise
+     * @see #setCompressResponseBodies(boolean)
+     * @see #isDeduplicateResponseBodies()
+     * @since 2.17.0
+     */
+    public boolean isCompressResponseBodies() {
+        return compressResponseBodies;
+    }
+
+    /**
+     * Sets whether or not the deduplicated response bodies are compressed.
+     *
+     * @param compressResponseBodies {@code true} if the deduplicated response bodies should be
+     *     compressed, {@code false} otherwise
+     * @see #isCompressResponseBodies()
+     * @since 2.17.0
+     */
+    public void setCompressResponseBodies(boolean compressResponseBodies) {
+        this.compressResponseBodies = compressResponseBodies;
+        getConfig().setProperty(PARAM_COMPRESS_RESPONSE_BODIES, compressResponseBodies);
+    }
+
+    /**
+     * Gets the size of the cache of the history messages read.
+     *
+     * <p>The messages read from the history are kept already parsed, up to the given size, and
+     * shared by all the callers (for example, passive scanner, search, alerts, and API) instead of
+     * each reading them from the database. Takes effect when the database is (re)opened.
+     *
+     * @return the size, in bytes, zero if the messages are not cached.
+     * @see #setMessageCacheSize(int)
+     * @since 2.17.0
+     */
+    public int getMessageCacheSize() {
+        return messageCacheSize;
+    }
+
+    /**
+     * Sets the size of the cache of the history messages read.
+     *
+     * @param messageCacheSize the size, in bytes, zero to not cache the messages.
+     * @throws IllegalArgumentException if the given size is negative.
+     * @see #getMessageCacheSize()
+     * @since 2.17.0
+     */
+    public void setMessageCacheSize(int messageCacheSize) {
+        if (messageCacheSize < 0) {
+            throw new IllegalArgumentException("Parameter messageCacheSize must not be negative.");
+        }
+        this.messageCacheSize = messageCacheSize;
+        getConfig().setProperty(PARAM_MESSAGE_CACHE_SIZE, messageCacheSize);
+    }
+
+    /**
+     * Gets the size of the cache of the history references most recently used.
+     *
+     * <p>The history references are always kept while in use (for example, by the Sites tree or
+     * alerts), this cache also keeps the most recently used, up to the given size, so that they are
+     * not read again from the database once no longer in use. Takes effect when the session
+     * changes.
+     *
+     * @return the size, in bytes, zero if the history references are not cached.
+     * @see #setHistoryReferenceCacheSize(int)
+     * @since 2.17.0
+     */
+    public int getHistoryReferenceCacheSize() {
+        return historyReferenceCacheSize;
+    }
+
+    /**
+     * Sets the size of the cache of the history references most recently used.
+     *
+     * @param historyReferenceCacheSize the size, in bytes, zero to not cache the history
+     *     references.
+     * @throws IllegalArgumentException if the given size is negative.
+     * @see #getHistoryReferenceCacheSize()
+     * @since 2.17.0
+     */
+    public void setHistoryReferenceCacheSize(int historyReferenceCacheSize) {
+        if (historyReferenceCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter historyReferenceCacheSize must not be negative.");
+        }
+        this.historyReferenceCacheSize = historyReferenceCacheSize;
+        getConfig().setProperty(PARAM_HISTORY_REFERENCE_CACHE_SIZE, historyReferenceCacheSize);
+    }
+
+    /**
+     * Gets the size above which the HTTP message bodies are kept in temporary files instead of in
+     * memory.
+     *
+     * <p>Applies to the bodies set or read (for example, big downloads), which are read from the
+     * files when their bytes or string are needed.
+     *
+     * @return the size, in bytes, zero if the bodies are always kept in memory.
+     * @see #setBodySpillThreshold(int)
+     * @see HttpBody#isSpilled()
+     * @since 2.17.0
+     */
+    public int getBodySpillThreshold() {
+        return bodySpillThreshold;
+    }
+
+    /**
+     * Sets the size above which the HTTP message bodies are kept in temporary files instead of in
+     * memory.
+     *
+     * @param bodySpillThreshold the size, in bytes, zero to always keep the bodies in memory.
+     * @throws IllegalArgumentException if the given size is negative.
+     * @see #getBodySpillThreshold()
+     * @since 2.17.0
+     */
+    public void setBodySpillThreshold(int bodySpillThreshold) {
+        if (bodySpillThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Parameter bodySpillThreshold must not be negative.");
+        }
+        this.bodySpillThreshold = bodySpillThreshold;
+        getConfig().setProperty(PARAM_BODY_SPILL_THRESHOLD, bodySpillThreshold);
+        HttpBody.setSpillThreshold(bodySpillThreshold);
+    }
 }
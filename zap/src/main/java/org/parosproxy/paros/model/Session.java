@@ -95,6 +95,7 @@
 // ZAP: 2023/05/21 Allow context import functionality to accept an XML config as input (Issue 7421).
 // ZAP: 2023/06/02 Allow to set the global exclude URLs.
 // ZAP: 2024/01/19 Use the non-regex hierarchic name of a node to check if it is in scope.
+// ZAP: 2026/10/15 Match the scope with the URL patterns of all contexts merged.
 package org.parosproxy.paros.model;
 
 import java.awt.EventQueue;
@@ -137,6 +138,7 @@ import org.zaproxy.zap.model.StandardParameterParser;
 import org.zaproxy.zap.model.StructuralNodeModifier;
 import org.zaproxy.zap.model.Tech;
 import org.zaproxy.zap.model.TechSet;
+import org.zaproxy.zap.model.UrlRegexMatcher;
 import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.utils.ZapXmlConfiguration;
 
@@ -164,6 +166,9 @@ public class Session {
     private List<Context> contexts = new ArrayList<>();
     private int nextContextId = 1;
 
+    /** The scope of the session, rebuilt when the contexts in scope change. */
+    private volatile Scope scope = Scope.EMPTY;
+
     // parameters in XML
     private long sessionId = 0;
     private String sessionName = "";
@@ -852,12 +857,7 @@ public class Session {
             // Strip off any parameters
             url = url.substring(0, url.indexOf("?"));
         }
-        for (Context context : contexts) {
-            if (context.isInScope() && context.isIncluded(url)) {
-                return true;
-            }
-        }
-        return false;
+        return getScope().include.matches(url);
     }
 
     protected boolean isExcludedFromScope(SiteNode sn) {
@@ -875,12 +875,16 @@ public class Session {
             // Strip off any parameters
             url = url.substring(0, url.indexOf("?"));
         }
-        for (Context context : contexts) {
-            if (context.isInScope() && context.isExcluded(url)) {
-                return true;
-            }
+        return getScope().exclude.matches(url);
+    }
+
+    private Scope getScope() {
+        Scope current = scope;
+        if (!current.isUpToDate(contexts)) {
+            current = new Scope(contexts);
+            scope = current;
         }
-        return false;
+        return current;
     }
 
     public boolean isInScope(HistoryReference href) {
@@ -1835,4 +1839,62 @@ public class Session {
         /** Called whenever the whole contexts list was changed. */
         public void contextsChanged();
     }
+
+    /**
+     * The URL patterns of all the contexts in scope, merged to be matched at once.
+     *
+     * <p>It's up to date while the contexts, whether or not they are in scope, and their patterns
+     * do not change.
+     */
+    private static class Scope {
+
+        private static final Scope EMPTY = new Scope(List.of());
+
+        private final List<Context> contexts;
+        private final boolean[] contextsInScope;
+        private final UrlRegexMatcher[] includeMatchers;
+        private final UrlRegexMatcher[] excludeMatchers;
+
+        private final UrlRegexMatcher include;
+        private final UrlRegexMatcher exclude;
+
+        Scope(List<Context> contexts) {
+            this.contexts = new ArrayList<>(contexts);
+            int size = this.contexts.size();
+            contextsInScope = new boolean[size];
+            includeMatchers = new UrlRegexMatcher[size];
+            excludeMatchers = new UrlRegexMatcher[size];
+
+            List<Pattern> includePatterns = new ArrayList<>();
+            List<Pattern> excludePatterns = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Context context = this.contexts.get(i);
+                contextsInScope[i] = context.isInScope();
+                includeMatchers[i] = context.getIncludeInContextMatcher();
+                excludeMatchers[i] = context.getExcludeFromContextMatcher();
+                if (contextsInScope[i]) {
+                    includePatterns.addAll(includeMatchers[i].getPatterns());
+                    excludePatterns.addAll(excludeMatchers[i].getPatterns());
+                }
+            }
+            include = new UrlRegexMatcher(includePatterns);
+            exclude = new UrlRegexMatcher(excludePatterns);
+        }
+
+        boolean isUpToDate(List<Context> currentContexts) {
+            if (currentContexts.size() != contexts.size()) {
+                return false;
+            }
+            for (int i = 0; i < contextsInScope.length; i++) {
+                Context context = currentContexts.get(i);
+                if (context != contexts.get(i)
+                        || context.isInScope() != contextsInScope[i]
+                        || context.getIncludeInContextMatcher() != includeMatchers[i]
+                        || context.getExcludeFromContextMatcher() != excludeMatchers[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -79,14 +79,20 @@
 // ZAP: 2022/09/21 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2024/01/19 Store clean node name when adding leaf node.
+// ZAP: 2026/10/15 Find nodes without locking the whole tree and allow to add paths in batches.
 package org.parosproxy.paros.model;
 
 import java.awt.EventQueue;
 import java.security.InvalidParameterException;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
@@ -118,8 +124,24 @@ public class SiteMap extends SortedTreeModel {
         REMOVE
     }
 
+    /** The maximum number of paths added to the tree in a single batch in the EDT. */
+    private static final int MAX_PENDING_PATHS_PER_BATCH = 500;
+
     private final Map<Integer, SiteNode> hrefMap;
 
+    /**
+     * The lock to add paths, the nodes are found without locking as the child nodes are indexed
+     * with a concurrent map.
+     *
+     * @see SiteNode#findChild(String)
+     */
+    private final ReentrantLock addPathLock = new ReentrantLock();
+
+    /** The paths pending to be added to the tree in the EDT. */
+    private final Queue<PendingPath> pendingPaths = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean pendingPathsScheduled = new AtomicBoolean();
+
     private Model model = null;
 
     private SiteTreeFilter filter = null;
@@ -137,7 +159,7 @@ public class SiteMap extends SortedTreeModel {
     public SiteMap(SiteNode root, Model model) {
         super(root);
         this.model = model;
-        this.hrefMap = new HashMap<>();
+        this.hrefMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -146,7 +168,7 @@ public class SiteMap extends SortedTreeModel {
      * @param msg
      * @return null = not found
      */
-    public synchronized HttpMessage pollPath(HttpMessage msg) {
+    public HttpMessage pollPath(HttpMessage msg) {
         SiteNode resultNode = null;
         URI uri = msg.getRequestHeader().getURI();
 
@@ -203,7 +225,7 @@ public class SiteMap extends SortedTreeModel {
         return this.findNode(msg, false);
     }
 
-    public synchronized SiteNode findNode(HttpMessage msg, boolean matchStructural) {
+    public SiteNode findNode(HttpMessage msg, boolean matchStructural) {
         if (Constant.isLowMemoryOptionSet()) {
             throw new InvalidParameterException(
                     "SiteMap should not be accessed when the low memory option is set");
@@ -256,7 +278,7 @@ public class SiteMap extends SortedTreeModel {
         return resultNode;
     }
 
-    public synchronized SiteNode findNode(URI uri) {
+    public SiteNode findNode(URI uri) {
         // Look for 'structural' nodes first
         SiteNode node = this.findNode(uri, null, null);
         if (node != null) {
@@ -265,7 +287,7 @@ public class SiteMap extends SortedTreeModel {
         return this.findNode(uri, "GET", null);
     }
 
-    public synchronized SiteNode findNode(URI uri, String method, String postData) {
+    public SiteNode findNode(URI uri, String method, String postData) {
         if (Constant.isLowMemoryOptionSet()) {
             throw new InvalidParameterException(
                     "SiteMap should not be accessed when the low memory option is set");
@@ -309,7 +331,7 @@ public class SiteMap extends SortedTreeModel {
     /*
      * Find the closest parent for the message - no new nodes will be created
      */
-    public synchronized SiteNode findClosestParent(HttpMessage msg) {
+    public SiteNode findClosestParent(HttpMessage msg) {
         if (msg == null) {
             return null;
         }
@@ -319,7 +341,7 @@ public class SiteMap extends SortedTreeModel {
     /*
      * Find the closest parent for the uri - no new nodes will be created
      */
-    public synchronized SiteNode findClosestParent(URI uri) {
+    public SiteNode findClosestParent(URI uri) {
         if (uri == null) {
             return null;
         }
@@ -365,7 +387,7 @@ public class SiteMap extends SortedTreeModel {
      *
      * @param ref
      */
-    public synchronized SiteNode addPath(HistoryReference ref) {
+    public SiteNode addPath(HistoryReference ref) {
         if (Constant.isLowMemoryOptionSet()) {
             throw new InvalidParameterException(
                     "SiteMap should not be accessed when the low memory option is set");
@@ -425,6 +447,62 @@ public class SiteMap extends SortedTreeModel {
                     new Exception());
         }
 
+        addPathLock.lock();
+        try {
+            return addPathImpl(ref, msg, newOnly);
+        } finally {
+            addPathLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the given message to the tree, later in the EDT, along with other pending messages.
+     *
+     * <p>The messages are added in batches, which reduces the number of tasks run in the EDT when
+     * adding many messages. If the view is not initialised or if called in the EDT the message is
+     * added immediately.
+     *
+     * @param ref the history reference of the message.
+     * @param msg the message.
+     * @return a {@code CompletableFuture} completed with the {@code SiteNode} that corresponds to
+     *     the message, once added.
+     * @since 2.17.0
+     * @see #addPath(HistoryReference, HttpMessage)
+     */
+    public CompletableFuture<SiteNode> addPathLater(HistoryReference ref, HttpMessage msg) {
+        if (!View.isInitialised() || EventQueue.isDispatchThread()) {
+            return CompletableFuture.completedFuture(addPath(ref, msg));
+        }
+
+        PendingPath pendingPath = new PendingPath(ref, msg);
+        pendingPaths.add(pendingPath);
+        if (pendingPathsScheduled.compareAndSet(false, true)) {
+            EventQueue.invokeLater(this::addPendingPaths);
+        }
+        return pendingPath.node;
+    }
+
+    private void addPendingPaths() {
+        pendingPathsScheduled.set(false);
+
+        for (int i = 0; i < MAX_PENDING_PATHS_PER_BATCH; i++) {
+            PendingPath pendingPath = pendingPaths.poll();
+            if (pendingPath == null) {
+                break;
+            }
+            try {
+                pendingPath.node.complete(addPath(pendingPath.ref, pendingPath.msg));
+            } catch (Exception e) {
+                pendingPath.node.completeExceptionally(e);
+            }
+        }
+
+        if (!pendingPaths.isEmpty() && pendingPathsScheduled.compareAndSet(false, true)) {
+            EventQueue.invokeLater(this::addPendingPaths);
+        }
+    }
+
+    private SiteNode addPathImpl(HistoryReference ref, HttpMessage msg, boolean newOnly) {
         if (isReferenceCached(ref)) {
             return hrefMap.get(ref.getHistoryId());
         }
@@ -474,7 +552,9 @@ public class SiteMap extends SortedTreeModel {
             LOGGER.error("Exception adding {} {}", uri, e.getMessage(), e);
         }
 
-        hrefMap.putIfAbsent(ref.getHistoryId(), leaf);
+        if (leaf != null) {
+            hrefMap.putIfAbsent(ref.getHistoryId(), leaf);
+        }
 
         if (!newOnly || isNew) {
             return leaf;
@@ -551,13 +631,7 @@ public class SiteMap extends SortedTreeModel {
         // ZAP: Added debug
         LOGGER.debug("findChild {} / {}", parent.getNodeName(), nodeName);
 
-        for (int i = 0; i < parent.getChildCount(); i++) {
-            SiteNode child = (SiteNode) parent.getChildAt(i);
-            if (child.getNodeName().equals(nodeName)) {
-                return child;
-            }
-        }
-        return null;
+        return parent.findChild(nodeName);
     }
 
     private SiteNode findAndAddLeaf(
@@ -808,6 +882,19 @@ public class SiteMap extends SortedTreeModel {
     public SiteNode getRoot() {
         return (SiteNode) this.root;
     }
+
+    private static class PendingPath {
+
+        private final HistoryReference ref;
+        private final HttpMessage msg;
+        private final CompletableFuture<SiteNode> node;
+
+        PendingPath(HistoryReference ref, HttpMessage msg) {
+            this.ref = ref;
+            this.msg = msg;
+            this.node = new CompletableFuture<>();
+        }
+    }
 }
 
 /**
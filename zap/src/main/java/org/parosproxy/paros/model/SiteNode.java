@@ -65,6 +65,7 @@
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2024/01/19 Accept cleanName via constructor and cache non-regex hierarchic node name.
 // ZAP: 2024/02/23 Correct name of hosts without children.
+// ZAP: 2026/10/15 Index the child nodes by name, to find them without locking the tree.
 package org.parosproxy.paros.model;
 
 import java.awt.EventQueue;
@@ -74,8 +75,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.ImageIcon;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.MutableTreeNode;
@@ -112,6 +115,15 @@ public class SiteNode extends DefaultMutableTreeNode {
     private boolean filtered = false;
     private boolean dataDriven = false;
 
+    /**
+     * The child nodes indexed by node name, created when the first child is added.
+     *
+     * <p>Allows to find the child nodes while the tree is being changed.
+     *
+     * @see #findChild(String)
+     */
+    private volatile Map<String, SiteNode> childrenByName;
+
     /**
      * Flag that indicates whether or not the {@link #calculateHighestAlert() highest alert needs to
      * be calculated}, when {@link #toString() building the string representation}.
@@ -682,6 +694,53 @@ public class SiteNode extends DefaultMutableTreeNode {
         }
     }
 
+    @Override
+    public void insert(MutableTreeNode newChild, int childIndex) {
+        super.insert(newChild, childIndex);
+
+        Map<String, SiteNode> index = childrenByName;
+        if (index == null) {
+            index = new ConcurrentHashMap<>();
+            childrenByName = index;
+        }
+        SiteNode child = (SiteNode) newChild;
+        index.putIfAbsent(child.getNodeName(), child);
+    }
+
+    @Override
+    public void remove(int childIndex) {
+        SiteNode child = (SiteNode) getChildAt(childIndex);
+        super.remove(childIndex);
+
+        Map<String, SiteNode> index = childrenByName;
+        if (index != null && index.remove(child.getNodeName(), child)) {
+            for (int i = 0; i < getChildCount(); i++) {
+                SiteNode otherChild = (SiteNode) getChildAt(i);
+                if (otherChild.getNodeName().equals(child.getNodeName())) {
+                    index.putIfAbsent(otherChild.getNodeName(), otherChild);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the child node with the given node name.
+     *
+     * <p>The child nodes are indexed by name, the lookup does not require to lock the tree.
+     *
+     * @param nodeName the name of the child node.
+     * @return the child node, or {@code null} if not found.
+     * @see #getNodeName()
+     */
+    SiteNode findChild(String nodeName) {
+        Map<String, SiteNode> index = childrenByName;
+        if (index == null || nodeName == null) {
+            return null;
+        }
+        return index.get(nodeName);
+    }
+
     @Override
     public void setParent(MutableTreeNode newParent) {
         if (newParent == this) {
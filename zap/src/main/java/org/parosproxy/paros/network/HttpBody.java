@@ -31,16 +31,32 @@
 // ZAP: 2022/09/21 Use format specifiers instead of concatenation when logging.
 // ZAP: 2023/01/10 Tidy up logger.
 // ZAP: 2023/10/25 JavaDoc fixes and use of List.
+// ZAP: 2026/10/15 Grow the body geometrically when appending, allow to spill big bodies to a
+// temporary file, and add streaming views of the body.
+// ZAP: 2026/10/15 Read the spilled bodies without dropping the file and spill when set.
 package org.parosproxy.paros.network;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.ref.Cleaner;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -70,8 +86,32 @@ public abstract class HttpBody {
      */
     public static final int LIMIT_INITIAL_CAPACITY = 128000;
 
+    private static final byte[] EMPTY_BODY = {};
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static volatile int spillThreshold;
+
+    /**
+     * The contents of the body, might be bigger than the {@link #length} when appending or empty if
+     * the contents were spilled to a file.
+     */
     private byte[] body;
+
+    private int length;
     private int pos;
+
+    /** The file with the contents of the body, if spilled. */
+    private SpillFile spillFile;
+
+    private Cleaner.Cleanable spillFileCleanable;
+
+    /**
+     * The contents read from the {@link #spillFile}, softly referenced to not read the file on
+     * each call to {@link #getBytes()} while memory is available.
+     */
+    private SoftReference<byte[]> spilledBytes;
+
     private byte[] bodyDecoded;
     private String cachedString;
     private Charset charset;
@@ -95,6 +135,7 @@ public abstract class HttpBody {
      */
     public HttpBody(int capacity) {
         body = new byte[Math.max(Math.min(capacity, LIMIT_INITIAL_CAPACITY), 0)];
+        length = body.length;
     }
 
     /**
@@ -109,7 +150,7 @@ public abstract class HttpBody {
         if (contents != null) {
             setBody(contents);
         } else {
-            body = new byte[0];
+            body = EMPTY_BODY;
         }
     }
 
@@ -130,7 +171,7 @@ public abstract class HttpBody {
         if (contents != null) {
             setBody(contents);
         } else {
-            body = new byte[0];
+            body = EMPTY_BODY;
         }
     }
 
@@ -146,11 +187,13 @@ public abstract class HttpBody {
             return;
         }
         resetCachedValues();
+        if (!setSpilledBody(contents)) {
+            body = new byte[contents.length];
+            System.arraycopy(contents, 0, body, 0, contents.length);
+        }
 
-        body = new byte[contents.length];
-        System.arraycopy(contents, 0, body, 0, contents.length);
-
-        pos = body.length;
+        pos = contents.length;
+        length = pos;
     }
 
     /**
@@ -179,9 +222,15 @@ public abstract class HttpBody {
         }
 
         bodyDecoded = contents.getBytes(getCharsetImpl());
-        body = encode(bodyDecoded);
+        byte[] encoded = encode(bodyDecoded);
+        if (setSpilledBody(encoded)) {
+            bodyDecoded = null;
+        } else {
+            body = encoded;
+        }
 
-        pos = body.length;
+        pos = encoded.length;
+        length = pos;
     }
 
     protected byte[] encode(byte[] data) {
@@ -289,20 +338,194 @@ public abstract class HttpBody {
         }
 
         int len = Math.min(contents.length, length);
-        if (pos + len > body.length) {
-            byte[] newBody = new byte[pos + len];
-            System.arraycopy(body, 0, newBody, 0, pos);
-            body = newBody;
+        int threshold = spillThreshold;
+        if (spillFile == null && threshold > 0 && pos + len > threshold) {
+            spill();
+        }
+
+        if (spillFile != null) {
+            try {
+                spillFile.write(contents, len);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to append to the body file, keeping it in memory:", e);
+                materialize();
+            }
+        }
+
+        if (spillFile == null) {
+            if (pos + len > body.length) {
+                // Grow geometrically to not copy the whole contents on each append.
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, body.length * 2L);
+                byte[] newBody = new byte[Math.max(pos + len, capacity)];
+                System.arraycopy(body, 0, newBody, 0, pos);
+                body = newBody;
+            }
+            System.arraycopy(contents, 0, body, pos, len);
         }
-        System.arraycopy(contents, 0, body, pos, len);
         pos += len;
+        this.length = Math.max(this.length, pos);
 
         resetCachedValues();
     }
 
+    /**
+     * Moves the contents of the body to a temporary file, further appends are written to the file.
+     */
+    private void spill() {
+        try {
+            SpillFile file = new SpillFile(Files.createTempFile("zap-body-", ".tmp"));
+            spillFileCleanable = CLEANER.register(this, file);
+            spillFile = file;
+            file.write(body, pos);
+            body = EMPTY_BODY;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to spill the body to a file, keeping it in memory:", e);
+            discardSpillFile();
+        }
+    }
+
+    /**
+     * Sets the given contents to a temporary file, if above the threshold, otherwise discards the
+     * temporary file, if any.
+     *
+     * @param contents the new contents of the body.
+     * @return {@code true} if the contents were set to the file, {@code false} otherwise.
+     */
+    private boolean setSpilledBody(byte[] contents) {
+        discardSpillFile();
+        int threshold = spillThreshold;
+        if (threshold <= 0 || contents.length <= threshold) {
+            return false;
+        }
+
+        body = contents;
+        pos = contents.length;
+        spill();
+        return spillFile != null;
+    }
+
+    /**
+     * Reads the contents of the body from the temporary file, if spilled, into a new array with
+     * the current length. The file is kept, further reads read it again.
+     *
+     * @param len the number of bytes to read, at most the number of bytes set so far.
+     * @return the contents read.
+     * @see #isSpilled()
+     */
+    private byte[] readSpillFile(int len) {
+        byte[] data = new byte[len];
+        try (InputStream is = spillFile.newInputStream(Math.min(len, pos))) {
+            int read = is.readNBytes(data, 0, Math.min(len, pos));
+            if (read != Math.min(len, pos)) {
+                LOGGER.error("Failed to read all the contents of the body file.");
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to read the body file:", e);
+        }
+        return data;
+    }
+
+    /**
+     * Reads the contents of the body from the temporary file back to memory, if spilled, no longer
+     * using the file.
+     *
+     * <p>Used only if the file can no longer be written.
+     */
+    private void materialize() {
+        if (spillFile == null) {
+            return;
+        }
+
+        byte[] data = readSpillFile(length);
+        discardSpillFile();
+        body = data;
+    }
+
+    private void discardSpillFile() {
+        if (spillFileCleanable != null) {
+            spillFileCleanable.clean();
+            spillFileCleanable = null;
+        }
+        spillFile = null;
+        spilledBytes = null;
+    }
+
+    /**
+     * Tells whether or not the contents of the body are in a temporary file, instead of in memory.
+     *
+     * <p>The contents are kept in a file when set or appended beyond the threshold, defined in the
+     * {@link org.parosproxy.paros.extension.option.DatabaseParam#getBodySpillThreshold() database
+     * options}. Reading the contents as {@code byte[]} or {@code String} reads the file, the
+     * contents read are kept only while memory is available, the file is kept until the contents
+     * are replaced or the body garbage collected. Prefer {@link #getInputStream()} to not read the
+     * whole contents into memory.
+     *
+     * @return {@code true} if the contents are in a file, {@code false} otherwise.
+     * @since 2.17.0
+     * @see #getInputStream()
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Gets a stream with the contents of the body, without reading them into memory if {@link
+     * #isSpilled() spilled} to a file.
+     *
+     * <p>The stream has the same contents as {@link #getBytes()}, with the {@link #length()
+     * length} of the body. The stream should be read before changing the body, the changes might
+     * or might not be visible in the stream.
+     *
+     * @return the stream with the contents.
+     * @throws IOException if an error occurred while opening the file with the contents.
+     * @since 2.17.0
+     */
+    public InputStream getInputStream() throws IOException {
+        if (spillFile != null) {
+            InputStream is = spillFile.newInputStream(pos);
+            if (length > pos) {
+                return new SequenceInputStream(is, new NullInputStream(length - pos));
+            }
+            return is;
+        }
+        return new ByteArrayInputStream(body, 0, length);
+    }
+
+    /**
+     * Gets a read-only buffer with the contents of the body set so far, memory mapped if {@link
+     * #isSpilled() spilled} to a file.
+     *
+     * @return the buffer with the contents.
+     * @throws IOException if an error occurred while mapping the file with the contents.
+     * @since 2.17.0
+     */
+    public ByteBuffer getByteBuffer() throws IOException {
+        if (spillFile != null) {
+            return spillFile.map(pos);
+        }
+        return ByteBuffer.wrap(body, 0, pos).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Sets the size, in bytes, above which the bodies are kept in a temporary file instead of in
+     * memory.
+     *
+     * <p>Set from the {@link
+     * org.parosproxy.paros.extension.option.DatabaseParam#getBodySpillThreshold() database
+     * options}.
+     *
+     * @param threshold the threshold in bytes, {@code 0} (or negative) to always keep the bodies in
+     *     memory.
+     * @since 2.17.0
+     */
+    public static void setSpillThreshold(int threshold) {
+        spillThreshold = Math.max(0, threshold);
+    }
+
     private void resetCachedValues() {
         cachedString = null;
         bodyDecoded = null;
+        spilledBytes = null;
         contentEncodingErrors = false;
     }
 
@@ -396,12 +619,21 @@ public abstract class HttpBody {
             return bodyDecoded;
         }
 
-        bodyDecoded = decodeImpl();
-        return bodyDecoded;
+        byte[] decoded = decodeImpl();
+        if (spillFile == null) {
+            // Not kept if spilled, to not hold the contents in memory.
+            bodyDecoded = decoded;
+        }
+        return decoded;
     }
 
     private byte[] decodeImpl() {
-        byte[] value = pos != body.length ? Arrays.copyOf(body, pos) : body;
+        byte[] value;
+        if (spillFile != null) {
+            value = pos != length ? readSpillFile(pos) : getBytes();
+        } else {
+            value = pos != length ? Arrays.copyOf(body, pos) : getBytes();
+        }
         try {
             byte[] decoded = value;
             for (HttpEncoding encoding : encodings) {
@@ -434,12 +666,25 @@ public abstract class HttpBody {
      * Gets the contents of the body as an array of bytes.
      *
      * <p>The returned array of bytes mustn't be modified. Is returned a reference instead of a copy
-     * to avoid more memory allocations.
+     * to avoid more memory allocations. If the body is {@link #isSpilled() spilled} the contents
+     * are read from the file, and kept only while memory is available.
      *
      * @return a reference to the content of this body as {@code byte[]}.
      * @since 1.4.0
+     * @see #getInputStream()
      */
     public byte[] getBytes() {
+        if (spillFile != null) {
+            byte[] data = spilledBytes != null ? spilledBytes.get() : null;
+            if (data == null) {
+                data = readSpillFile(length);
+                spilledBytes = new SoftReference<>(data);
+            }
+            return data;
+        }
+        if (body.length != length) {
+            body = Arrays.copyOf(body, length);
+        }
         return body;
     }
 
@@ -457,7 +702,7 @@ public abstract class HttpBody {
      */
     public byte[] getContent() {
         if (encodings.isEmpty()) {
-            return body;
+            return getBytes();
         }
         return decode();
     }
@@ -487,8 +732,14 @@ public abstract class HttpBody {
             return;
         }
         bodyDecoded = content;
-        body = encode(bodyDecoded);
-        pos = body.length;
+        byte[] encoded = encode(bodyDecoded);
+        if (setSpilledBody(encoded)) {
+            bodyDecoded = null;
+        } else {
+            body = encoded;
+        }
+        pos = encoded.length;
+        length = pos;
         cachedString = null;
     }
 
@@ -498,7 +749,7 @@ public abstract class HttpBody {
      * @return the current length of the body.
      */
     public int length() {
-        return body.length;
+        return length;
     }
 
     /**
@@ -508,16 +759,34 @@ public abstract class HttpBody {
      * @param length the new length to set.
      */
     public void setLength(int length) {
-        if (length < 0 || body.length == length) {
+        if (length < 0 || this.length == length) {
             return;
         }
 
         int oldPos = pos;
         pos = Math.min(pos, length);
 
+        if (spillFile != null) {
+            try {
+                spillFile.truncate(pos);
+                this.length = length;
+                spilledBytes = null;
+                if (oldPos > pos) {
+                    resetCachedValues();
+                }
+                return;
+            } catch (IOException e) {
+                LOGGER.warn("Failed to truncate the body file, keeping it in memory:", e);
+                pos = oldPos;
+                materialize();
+                pos = Math.min(pos, length);
+            }
+        }
+
         byte[] newBody = new byte[length];
         System.arraycopy(body, 0, newBody, 0, pos);
         body = newBody;
+        this.length = length;
 
         if (oldPos > pos) {
             resetCachedValues();
@@ -613,7 +882,7 @@ public abstract class HttpBody {
     @Override
     public int hashCode() {
         final int prime = 31;
-        int result = prime + Arrays.hashCode(body);
+        int result = prime + Arrays.hashCode(getBytes());
         result = prime * result + Objects.hash(encodings);
         return result;
     }
@@ -630,9 +899,69 @@ public abstract class HttpBody {
             return false;
         }
         HttpBody otherBody = (HttpBody) object;
-        if (!Arrays.equals(body, otherBody.body)) {
+        if (length != otherBody.length) {
+            return false;
+        }
+        if (!Arrays.equals(getBytes(), otherBody.getBytes())) {
             return false;
         }
         return Objects.equals(encodings, otherBody.encodings);
     }
+
+    /**
+     * A temporary file with the contents of a body, deleted when no longer needed (or the body is
+     * garbage collected).
+     */
+    private static class SpillFile implements Runnable {
+
+        private final Path path;
+        private final FileChannel channel;
+
+        SpillFile(Path path) throws IOException {
+            this.path = path;
+            try {
+                this.channel =
+                        FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        }
+
+        void write(byte[] data, int len) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(data, 0, len);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, channel.size());
+            }
+        }
+
+        InputStream newInputStream(int len) throws IOException {
+            return BoundedInputStream.builder()
+                    .setInputStream(Channels.newInputStream(FileChannel.open(path)))
+                    .setMaxCount(len)
+                    .get();
+        }
+
+        void truncate(int len) throws IOException {
+            channel.truncate(len);
+        }
+
+        ByteBuffer map(int len) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, len);
+        }
+
+        @Override
+        public void run() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close the body file: {}", e.getMessage());
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete the body file {}: {}", path, e.getMessage());
+            }
+        }
+    }
 }
@@ -48,17 +48,18 @@
 // ZAP: 2022/11/17 Add HTTP/2 constant.
 // ZAP: 2022/11/22 Lower case the HTTP field names for compatibility with HTTP/2.
 // ZAP: 2023/08/15 Add FORM_MULTIPART_CONTENT_TYPE.
+// ZAP: 2026/10/15 Keep the header fields in a list and build the headers string lazily.
 package org.parosproxy.paros.network;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Vector;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 public abstract class HttpHeader implements java.io.Serializable {
 
@@ -129,7 +130,20 @@ public abstract class HttpHeader implements java.io.Serializable {
     protected static final String p_STATUS_CODE = "(\\d{3})";
     protected static final String p_REASON_PHRASE = "(" + p_TEXT + ")";
     protected String mStartLine;
-    protected String mMsgHeader;
+
+    /**
+     * The header fields as string, built lazily from the header fields.
+     *
+     * @deprecated (2.17.0) Use {@link #getHeadersAsString()} instead, the field is {@code null}
+     *     while not yet built.
+     */
+    @Deprecated protected String mMsgHeader;
+
+    /**
+     * The header fields, in order, the source of {@link #mMsgHeader} and {@link #mHeaderFields}.
+     */
+    private List<HeaderField> fields;
+
     protected boolean mMalformedHeader;
     protected Hashtable<String, Vector<String>> mHeaderFields;
     protected int mContentLength;
@@ -169,6 +183,7 @@ public abstract class HttpHeader implements java.io.Serializable {
     /** Inititialization. */
     private void init() {
         mHeaderFields = new Hashtable<>();
+        fields = new ArrayList<>();
         mStartLine = "";
         mMsgHeader = "";
         mMalformedHeader = false;
@@ -243,8 +258,25 @@ public abstract class HttpHeader implements java.io.Serializable {
     }
 
     public List<HttpHeaderField> getHeaders() {
+        List<HttpHeaderField> headerFields = new ArrayList<>(fields.size());
+        for (HeaderField field : fields) {
+            if (!field.isSingleLine()) {
+                return getHeadersFromString();
+            }
+            headerFields.add(new HttpHeaderField(field.name.trim(), field.value.trim()));
+        }
+        return headerFields;
+    }
+
+    /**
+     * Gets the header fields from the headers string, for the fields that were added with line
+     * breaks or colons in the name.
+     *
+     * @return the header fields.
+     */
+    private List<HttpHeaderField> getHeadersFromString() {
         List<HttpHeaderField> headerFields = new ArrayList<>();
-        String[] headers = mMsgHeader.split(Pattern.quote(mLineDelimiter));
+        String[] headers = getHeadersAsString().split(Pattern.quote(mLineDelimiter));
 
         for (int i = 0; i < headers.length; ++i) {
             String[] headerField = headers[i].split(":", 2);
@@ -262,7 +294,8 @@ public abstract class HttpHeader implements java.io.Serializable {
      * @param val
      */
     public void addHeader(String name, String val) {
-        mMsgHeader = mMsgHeader + name + ": " + val + mLineDelimiter;
+        fields.add(new HeaderField(String.valueOf(name), String.valueOf(val)));
+        mMsgHeader = null;
         addInternalHeaderFields(name, val);
     }
 
@@ -274,37 +307,27 @@ public abstract class HttpHeader implements java.io.Serializable {
      * @param value
      */
     public void setHeader(String name, String value) {
-        //		int pos = 0;
-        //		int crlfpos = 0;
-        Pattern pattern = null;
-
         if (getHeaderValues(name).isEmpty() && value != null) {
             // header value not found, append to end
             addHeader(name, value);
         } else {
-            pattern = getHeaderRegex(name);
-            Matcher matcher = pattern.matcher(mMsgHeader);
-            if (value == null) {
-                // delete header
-                mMsgHeader = matcher.replaceAll("");
-            } else {
-                // replace header
-                String newString = name + ": " + value + mLineDelimiter;
-                mMsgHeader = matcher.replaceAll(Matcher.quoteReplacement(newString));
+            HeaderField newField = value != null ? new HeaderField(name, value) : null;
+            for (ListIterator<HeaderField> it = fields.listIterator(); it.hasNext(); ) {
+                if (it.next().hasName(name)) {
+                    if (newField == null) {
+                        it.remove();
+                    } else {
+                        it.set(newField);
+                    }
+                }
             }
+            mMsgHeader = null;
 
             // set into hashtable
             replaceInternalHeaderFields(name, value);
         }
     }
 
-    private Pattern getHeaderRegex(String name) throws PatternSyntaxException {
-        // Added character quoting to avoid troubles with "-" char or similar
-        return Pattern.compile(
-                "^ *\\Q" + name + "\\E *: *[^\\r\\n]*" + mLineDelimiter,
-                Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-    }
-
     /**
      * Return the HTTP version (e.g. HTTP/1.0, HTTP/1.1)
      *
@@ -441,7 +464,6 @@ public abstract class HttpHeader implements java.io.Serializable {
         String token = null, name = null, value = null;
         int pos = 0;
 
-        StringBuilder sb = new StringBuilder(2048);
         for (int i = 1; i < split.length; i++) {
             token = split[i];
             if (token.equals("")) {
@@ -469,13 +491,13 @@ public abstract class HttpHeader implements java.io.Serializable {
             sb.append(name + ": " + _CLOSE + mLineDelimiter);
             } else {
             */
-            sb.append(name + ": " + value + mLineDelimiter);
+            fields.add(new HeaderField(name, value));
             // }
 
             addInternalHeaderFields(name, value);
         }
 
-        mMsgHeader = sb.toString();
+        mMsgHeader = null;
         return true;
     }
 
@@ -546,7 +568,7 @@ public abstract class HttpHeader implements java.io.Serializable {
     /** Get a string representation of this header. */
     @Override
     public String toString() {
-        return getPrimeHeader() + mLineDelimiter + mMsgHeader + mLineDelimiter;
+        return getPrimeHeader() + mLineDelimiter + getHeadersAsString() + mLineDelimiter;
     }
 
     /**
@@ -635,7 +657,20 @@ public abstract class HttpHeader implements java.io.Serializable {
      * @return Eg "Host: www.example.com\r\nUser-agent: some agent\r\n"
      */
     public String getHeadersAsString() {
-        return mMsgHeader;
+        String headers = mMsgHeader;
+        if (headers == null) {
+            int length = 0;
+            for (HeaderField field : fields) {
+                length += field.name.length() + field.value.length() + 4;
+            }
+            StringBuilder sb = new StringBuilder(length);
+            for (HeaderField field : fields) {
+                sb.append(field.name).append(": ").append(field.value).append(mLineDelimiter);
+            }
+            headers = sb.toString();
+            mMsgHeader = headers;
+        }
+        return headers;
     }
 
     /**
@@ -669,4 +704,42 @@ public abstract class HttpHeader implements java.io.Serializable {
         }
         return null;
     }
+
+    /** A header field, as added or parsed. */
+    private static final class HeaderField implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final String value;
+
+        HeaderField(String name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        /**
+         * Tells whether or not the field has the given name, ignoring the case and the spaces
+         * around the name.
+         *
+         * @param otherName the name to check.
+         * @return {@code true} if the field has the name, {@code false} otherwise.
+         */
+        boolean hasName(String otherName) {
+            return name.trim().equalsIgnoreCase(otherName);
+        }
+
+        /**
+         * Tells whether or not the field is written in a single line and its name has no colons.
+         *
+         * @return {@code true} if the field is written in a single line, {@code false} otherwise.
+         */
+        boolean isSingleLine() {
+            return name.indexOf(':') == -1 && !hasLineBreak(name) && !hasLineBreak(value);
+        }
+
+        private static boolean hasLineBreak(String value) {
+            return value.indexOf('\r') != -1 || value.indexOf('\n') != -1;
+        }
+    }
 }
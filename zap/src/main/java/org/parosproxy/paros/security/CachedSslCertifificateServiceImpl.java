@@ -28,27 +28,57 @@ import java.security.NoSuchProviderException;
 import java.security.SignatureException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This is an in-memory cache implementation using {@link SslCertificateServiceImpl}. It's not
  * persisting certificates on hard disk. This class is designed to be thread safe.
  *
+ * <p>The certificates of different hosts are created concurrently, while the certificate of the
+ * same host is created just once. The cache keeps at most {@value #DEFAULT_MAX_CERTIFICATES}
+ * certificates, the oldest ones are evicted first.
+ *
  * @author MaWoKi
  */
 @Deprecated
 public final class CachedSslCertifificateServiceImpl implements SslCertificateService {
 
+    static final int DEFAULT_MAX_CERTIFICATES = 5000;
+
+    private static final int LOCK_STRIPES = 64;
+
     private static final SslCertificateService singleton = new CachedSslCertifificateServiceImpl();
     private final SslCertificateService delegate;
+    private final int maxCertificates;
+
+    private final Map<CertData, KeyStore> cache = new ConcurrentHashMap<>();
+    private final Queue<CertData> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock[] locks;
+
+    /**
+     * The generation of the root CA, incremented when initialised, to not cache the certificates
+     * created with a previous root CA.
+     */
+    private final AtomicLong rootCaGeneration = new AtomicLong();
 
     private CachedSslCertifificateServiceImpl() {
         // avoid direct creating of instances
-        delegate = SslCertificateServiceImpl.getService();
+        this(SslCertificateServiceImpl.getService(), DEFAULT_MAX_CERTIFICATES);
     }
 
-    private Map<CertData, KeyStore> cache = new HashMap<>();
+    CachedSslCertifificateServiceImpl(SslCertificateService delegate, int maxCertificates) {
+        this.delegate = delegate;
+        this.maxCertificates = Math.max(1, maxCertificates);
+        this.locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
 
     @Override
     public KeyStore createCertForHost(String hostname)
@@ -64,7 +94,7 @@ public final class CachedSslCertifificateServiceImpl implements SslCertificateSe
     }
 
     @Override
-    public synchronized KeyStore createCertForHost(CertData certData)
+    public KeyStore createCertForHost(CertData certData)
             throws NoSuchAlgorithmException,
                     InvalidKeyException,
                     CertificateException,
@@ -74,12 +104,54 @@ public final class CachedSslCertifificateServiceImpl implements SslCertificateSe
                     IOException,
                     UnrecoverableKeyException {
 
-        if (this.cache.containsKey(certData)) {
-            return this.cache.get(certData);
+        KeyStore ks = this.cache.get(certData);
+        if (ks != null) {
+            return ks;
+        }
+
+        ReentrantLock lock = locks[(certData.hashCode() & 0x7fffffff) % locks.length];
+        lock.lock();
+        try {
+            ks = this.cache.get(certData);
+            if (ks != null) {
+                return ks;
+            }
+
+            long generation = rootCaGeneration.get();
+            ks = delegate.createCertForHost(certData);
+            if (ks != null && generation == rootCaGeneration.get()) {
+                put(certData, ks);
+                if (generation != rootCaGeneration.get()) {
+                    this.cache.remove(certData, ks);
+                }
+            }
+            return ks;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(CertData certData, KeyStore ks) {
+        if (this.cache.put(certData, ks) != null) {
+            return;
+        }
+        insertionOrder.offer(certData);
+        while (this.cache.size() > maxCertificates) {
+            CertData eldest = insertionOrder.poll();
+            if (eldest == null) {
+                break;
+            }
+            this.cache.remove(eldest);
         }
-        final KeyStore ks = delegate.createCertForHost(certData);
-        this.cache.put(certData, ks);
-        return ks;
+    }
+
+    /**
+     * Gets the number of certificates cached.
+     *
+     * @return the number of certificates.
+     */
+    int size() {
+        return this.cache.size();
     }
 
     /**
@@ -92,7 +164,10 @@ public final class CachedSslCertifificateServiceImpl implements SslCertificateSe
     @Override
     public synchronized void initializeRootCA(KeyStore keystore)
             throws KeyStoreException, UnrecoverableKeyException, NoSuchAlgorithmException {
-        this.cache.clear();
+        rootCaGeneration.incrementAndGet();
         this.delegate.initializeRootCA(keystore);
+        rootCaGeneration.incrementAndGet();
+        this.cache.clear();
+        this.insertionOrder.clear();
     }
 }
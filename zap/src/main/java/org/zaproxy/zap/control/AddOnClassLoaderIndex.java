@@ -0,0 +1,195 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.control;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * An index of the packages (and directories of the resources) contained in the files of the
+ * add-ons, which allows to find the class loaders that might have a class or resource without
+ * asking all of them.
+ *
+ * <p>The class loaders whose files can't be read (for example, not a ZIP file) are not indexed,
+ * they are always returned as candidates.
+ *
+ * @since 2.17.0
+ */
+class AddOnClassLoaderIndex {
+
+    static final String INDEX_TIME_STATS = "stats.addon.classloader.index.time";
+    static final String LOOKUPS_SKIPPED_STATS = "stats.addon.classloader.index.skipped";
+
+    private static final Logger LOGGER = LogManager.getLogger(AddOnClassLoaderIndex.class);
+
+    private static final String MULTI_RELEASE_PREFIX = "META-INF/versions/";
+
+    private final Map<String, List<AddOnClassLoader>> packages;
+    private final List<AddOnClassLoader> unindexedClassLoaders;
+    private final Set<AddOnClassLoader> classLoaders;
+
+    AddOnClassLoaderIndex() {
+        packages = new ConcurrentHashMap<>();
+        unindexedClassLoaders = new CopyOnWriteArrayList<>();
+        classLoaders = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Adds the given class loader to the index, reading the entries of all its files.
+     *
+     * @param classLoader the class loader to add.
+     */
+    void add(AddOnClassLoader classLoader) {
+        long start = System.currentTimeMillis();
+        Set<String> classLoaderPackages = new HashSet<>();
+        for (URL url : classLoader.getURLs()) {
+            if (!readPackages(url, classLoaderPackages)) {
+                unindexedClassLoaders.add(classLoader);
+                classLoaders.add(classLoader);
+                return;
+            }
+        }
+
+        classLoaderPackages.forEach(
+                pkg ->
+                        packages.computeIfAbsent(pkg, k -> new CopyOnWriteArrayList<>())
+                                .add(classLoader));
+        classLoaders.add(classLoader);
+        Stats.incCounter(INDEX_TIME_STATS, System.currentTimeMillis() - start);
+    }
+
+    private static boolean readPackages(URL url, Set<String> packages) {
+        Path file;
+        try {
+            file = Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            LOGGER.debug("Not indexing {}, not a file: {}", url, e.getMessage());
+            return false;
+        }
+
+        if (!Files.isRegularFile(file)) {
+            LOGGER.debug("Not indexing {}, not a regular file.", file);
+            return false;
+        }
+
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                packages.add(getDirectory(name));
+                if (name.startsWith(MULTI_RELEASE_PREFIX)) {
+                    // The versioned entries are also available with the unversioned name.
+                    int idx = name.indexOf('/', MULTI_RELEASE_PREFIX.length());
+                    if (idx != -1) {
+                        packages.add(getDirectory(name.substring(idx + 1)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to index {}: {}", file, e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the given class loader from the index.
+     *
+     * @param classLoader the class loader to remove.
+     */
+    void remove(AddOnClassLoader classLoader) {
+        if (!classLoaders.remove(classLoader)) {
+            return;
+        }
+        unindexedClassLoaders.remove(classLoader);
+        packages.values().forEach(loaders -> loaders.remove(classLoader));
+        packages.values().removeIf(List::isEmpty);
+    }
+
+    /**
+     * Gets the class loaders that might contain the class with the given name.
+     *
+     * @param className the binary name of the class.
+     * @return the class loaders, never {@code null}.
+     */
+    List<AddOnClassLoader> getClassLoadersForClass(String className) {
+        int idx = className.lastIndexOf('.');
+        String pkg = idx == -1 ? "" : className.substring(0, idx).replace('.', '/');
+        return getClassLoaders(pkg);
+    }
+
+    /**
+     * Gets the class loaders that might contain the resource with the given name.
+     *
+     * @param name the name of the resource.
+     * @return the class loaders, never {@code null}.
+     */
+    List<AddOnClassLoader> getClassLoadersForResource(String name) {
+        return getClassLoaders(getDirectory(name));
+    }
+
+    private List<AddOnClassLoader> getClassLoaders(String dir) {
+        List<AddOnClassLoader> loaders = packages.getOrDefault(dir, Collections.emptyList());
+        List<AddOnClassLoader> candidates;
+        if (unindexedClassLoaders.isEmpty()) {
+            candidates = loaders;
+        } else {
+            candidates = new ArrayList<>(loaders.size() + unindexedClassLoaders.size());
+            candidates.addAll(loaders);
+            candidates.addAll(unindexedClassLoaders);
+        }
+
+        int skipped = classLoaders.size() - candidates.size();
+        if (skipped > 0) {
+            Stats.incCounter(LOOKUPS_SKIPPED_STATS, skipped);
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the directory of the given entry, the entry itself if a directory (that is, ends with a
+     * slash).
+     *
+     * @param name the name of the entry.
+     * @return the directory, without the trailing slash.
+     */
+    private static String getDirectory(String name) {
+        int idx = name.lastIndexOf('/');
+        return idx == -1 ? "" : name.substring(0, idx);
+    }
+}
@@ -136,6 +136,9 @@ public class AddOnLoader extends URLClassLoader {
      */
     private Map<String, AddOnClassLoader> addOnLoaders = new HashMap<>();
 
+    /** The index of the packages of the add-ons, to find the class loaders of the classes. */
+    private final AddOnClassLoaderIndex addOnLoadersIndex = new AddOnClassLoaderIndex();
+
     /** File where the data of runnable state and blocked add-ons is saved. */
     private ZapXmlConfiguration addOnsStateConfig;
 
@@ -369,6 +372,7 @@ public class AddOnLoader extends URLClassLoader {
         }
         ao.setClassLoader(addOnClassLoader);
         addOnLoaders.put(ao.getId(), addOnClassLoader);
+        addOnLoadersIndex.add(addOnClassLoader);
     }
 
     Class<?> loadClassNoAddOns(String name, boolean resolve) throws ClassNotFoundException {
@@ -383,7 +387,7 @@ public class AddOnLoader extends URLClassLoader {
             } catch (ClassNotFoundException e) {
                 // Continue for now
             }
-            for (AddOnClassLoader loader : addOnLoaders.values()) {
+            for (AddOnClassLoader loader : addOnLoadersIndex.getClassLoadersForClass(name)) {
                 try {
                     return loader.loadClass(name);
                 } catch (ClassNotFoundException e) {
@@ -413,7 +417,7 @@ public class AddOnLoader extends URLClassLoader {
         if (url != null) {
             return url;
         }
-        for (AddOnClassLoader loader : addOnLoaders.values()) {
+        for (AddOnClassLoader loader : addOnLoadersIndex.getClassLoadersForResource(name)) {
             url = loader.findResourceInAddOn(name);
             if (url != null) {
                 return url;
@@ -806,6 +810,7 @@ public class AddOnLoader extends URLClassLoader {
     private void removeAddOnClassLoader(AddOn addOn) {
         if (this.addOnLoaders.containsKey(addOn.getId())) {
             try (AddOnClassLoader addOnClassLoader = this.addOnLoaders.remove(addOn.getId())) {
+                addOnLoadersIndex.remove(addOnClassLoader);
                 if (!addOn.getIdsAddOnDependencies().isEmpty()) {
                     addOnClassLoader.clearDependencies();
                 }
@@ -25,16 +25,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.security.InvalidParameterException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Deque;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -54,11 +54,11 @@ public class DbSQL implements DatabaseListener {
     private static String dbType = null;
 
     private static DbSQL singleton = null;
-    private static SqlDatabaseServer dbServer = null;
+    private static volatile SqlDatabaseServer dbServer = null;
 
     private static final Logger LOGGER = LogManager.getLogger(DbSQL.class);
 
-    private Map<String, StatementPool> stmtPool = new HashMap<>();
+    private Map<String, StatementPool> stmtPool = new ConcurrentHashMap<>();
 
     public static DbSQL getSingleton() {
         if (singleton == null) {
@@ -207,7 +207,7 @@ public class DbSQL implements DatabaseListener {
         Stats.clear("sqldb.");
     }
 
-    public synchronized SqlPreparedStatementWrapper getPreparedStatement(String key, int... params)
+    public SqlPreparedStatementWrapper getPreparedStatement(String key, int... params)
             throws SQLException {
         if (params == null || params.length == 0) {
             return getPreparedStatement(key);
@@ -217,8 +217,7 @@ public class DbSQL implements DatabaseListener {
                 .getPreparedStatement(internalKey, createSQL(key, params));
     }
 
-    public synchronized SqlPreparedStatementWrapper getPreparedStatement(String key)
-            throws SQLException {
+    public SqlPreparedStatementWrapper getPreparedStatement(String key) throws SQLException {
         return getStatementPool(key).getPreparedStatement(key, getSQL(key));
     }
 
@@ -227,14 +226,8 @@ public class DbSQL implements DatabaseListener {
 
         StatementPool sp = this.stmtPool.get(key);
         if (sp == null) {
-            synchronized (this) {
-                if (!this.stmtPool.containsKey(key)) {
-                    this.stmtPool.put(key, new StatementPool());
-                }
-            }
-            sp = this.stmtPool.get(key);
+            sp = this.stmtPool.computeIfAbsent(key, k -> new StatementPool());
         }
-
         return sp;
     }
 
@@ -255,8 +248,14 @@ public class DbSQL implements DatabaseListener {
                 throws SQLException {
             PreparedStatement ps = freePool.pollFirst();
             if (ps == null) {
-                ps = dbServer.getNewConnection().prepareStatement(sql);
-                Stats.incCounter("sqldb.conn.openned");
+                SqlDatabaseServer server = dbServer;
+                Connection conn = server.getPooledConnection();
+                try {
+                    ps = conn.prepareStatement(sql);
+                } catch (SQLException e) {
+                    server.releaseConnection(conn);
+                    throw e;
+                }
             }
             inUsePool.add(ps);
             Stats.setHighwaterMark("sqldb." + key + ".pool", inUsePool.size());
@@ -264,13 +263,15 @@ public class DbSQL implements DatabaseListener {
         }
 
         public void releasePreparedStatement(SqlPreparedStatementWrapper ps) {
+            ps.closeLastInsertedIdStatement();
             if (inUsePool.remove(ps.getPs())) {
                 if (freePool.size() < MAX_FREE_POOL_SIZE) {
                     freePool.add(ps.getPs());
                 } else {
                     try {
-                        ps.close();
-                        Stats.incCounter("sqldb.conn.closed");
+                        Connection conn = ps.getPs().getConnection();
+                        ps.getPs().close();
+                        dbServer.releaseConnection(conn);
                     } catch (SQLException e) {
                         LOGGER.error("Error closing prepared statement", e);
                     }
@@ -283,24 +284,23 @@ public class DbSQL implements DatabaseListener {
         }
 
         public void clear() {
-            Iterator<PreparedStatement> iter = inUsePool.iterator();
-            while (iter.hasNext()) {
-                try {
-                    iter.next().close();
-                } catch (SQLException e) {
-                    // Ignore
-                }
-            }
-            inUsePool.clear();
-            iter = freePool.iterator();
-            while (iter.hasNext()) {
+            close(inUsePool);
+            close(freePool);
+        }
+
+        private void close(Deque<PreparedStatement> pool) {
+            // The statements (and connections) might belong to a previous database server, close
+            // them instead of returning the connections to the current pool.
+            PreparedStatement ps;
+            while ((ps = pool.pollFirst()) != null) {
                 try {
-                    iter.next().close();
+                    Connection conn = ps.getConnection();
+                    ps.close();
+                    conn.close();
                 } catch (SQLException e) {
                     // Ignore
                 }
             }
-            freePool.clear();
         }
     }
 
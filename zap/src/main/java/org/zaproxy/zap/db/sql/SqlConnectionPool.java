@@ -0,0 +1,162 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.db.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.zaproxy.zap.utils.Stats;
+
+/**
+ * A pool of database connections, which allows to reuse the connections instead of creating a new
+ * one each time.
+ *
+ * <p>The connections are not validated against the database when acquired, only the ones already
+ * closed are discarded. The connections released with auto-commit disabled are closed instead of
+ * pooled, to not leak their state to other users.
+ *
+ * @since 2.17.0
+ */
+class SqlConnectionPool {
+
+    static final int DEFAULT_MAX_IDLE_CONNECTIONS = 20;
+
+    private static final Logger LOGGER = LogManager.getLogger(SqlConnectionPool.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final int maxIdleConnections;
+    private final Deque<Connection> idleConnections;
+    private final AtomicInteger idleCount;
+
+    /**
+     * Constructs a {@code SqlConnectionPool} with the given factory and maximum number of idle
+     * connections.
+     *
+     * @param connectionFactory the factory used to create new connections.
+     * @param maxIdleConnections the maximum number of idle connections kept in the pool.
+     */
+    SqlConnectionPool(ConnectionFactory connectionFactory, int maxIdleConnections) {
+        this.connectionFactory = connectionFactory;
+        this.maxIdleConnections = Math.max(0, maxIdleConnections);
+        this.idleConnections = new ConcurrentLinkedDeque<>();
+        this.idleCount = new AtomicInteger();
+    }
+
+    /**
+     * Acquires a connection, an idle one if available otherwise a new one.
+     *
+     * @return the connection, never {@code null}.
+     * @throws SQLException if an error occurred while creating a new connection.
+     */
+    Connection acquire() throws SQLException {
+        Connection conn;
+        while ((conn = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (!isClosed(conn)) {
+                Stats.incCounter("sqldb.conn.reused");
+                return conn;
+            }
+        }
+        conn = connectionFactory.create();
+        Stats.incCounter("sqldb.conn.openned");
+        return conn;
+    }
+
+    /**
+     * Releases the given connection, which is kept in the pool if not yet full otherwise closed.
+     *
+     * @param conn the connection to release, might be {@code null}.
+     */
+    void release(Connection conn) {
+        if (conn == null || isClosed(conn)) {
+            return;
+        }
+
+        if (isAutoCommit(conn)) {
+            if (idleCount.incrementAndGet() <= maxIdleConnections) {
+                idleConnections.offerFirst(conn);
+                return;
+            }
+            idleCount.decrementAndGet();
+        }
+        close(conn);
+    }
+
+    /** Closes all the idle connections. The pool can still be used afterwards. */
+    void clear() {
+        Connection conn;
+        while ((conn = idleConnections.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            close(conn);
+        }
+    }
+
+    /**
+     * Gets the number of idle connections in the pool.
+     *
+     * @return the number of idle connections.
+     */
+    int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    private static boolean isClosed(Connection conn) {
+        try {
+            return conn.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static boolean isAutoCommit(Connection conn) {
+        try {
+            return conn.getAutoCommit();
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to check the auto-commit of the connection:", e);
+            return false;
+        }
+    }
+
+    private static void close(Connection conn) {
+        try {
+            conn.close();
+            Stats.incCounter("sqldb.conn.closed");
+        } catch (SQLException e) {
+            LOGGER.debug("Failed to close the connection:", e);
+        }
+    }
+
+    /** A factory of database connections. */
+    @FunctionalInterface
+    interface ConnectionFactory {
+
+        /**
+         * Creates a new connection.
+         *
+         * @return the new connection.
+         * @throws SQLException if an error occurred while creating the connection.
+         */
+        Connection create() throws SQLException;
+    }
+}
@@ -38,6 +38,9 @@ public class SqlDatabaseServer implements DatabaseServer {
     private String dbPassword = null;
     private Server dbServer = null;
     private Connection dbConn = null;
+    private final SqlConnectionPool connectionPool =
+            new SqlConnectionPool(
+                    this::getNewConnection, SqlConnectionPool.DEFAULT_MAX_IDLE_CONNECTIONS);
 
     SqlDatabaseServer(String dbname) throws ClassNotFoundException, Exception {
         start(dbname);
@@ -50,6 +53,7 @@ public class SqlDatabaseServer implements DatabaseServer {
     }
 
     void shutdown(boolean compact) throws SQLException {
+        connectionPool.clear();
         if (dbConn != null) {
             dbConn.close();
             dbConn = null;
@@ -79,6 +83,31 @@ public class SqlDatabaseServer implements DatabaseServer {
         return conn;
     }
 
+    /**
+     * Gets a connection from the pool of connections, creating a new one if none available.
+     *
+     * <p>The connection should be released, with {@link #releaseConnection(Connection)}, once no
+     * longer needed.
+     *
+     * @return the connection.
+     * @throws SQLException if an error occurred while creating a new connection.
+     * @since 2.17.0
+     */
+    Connection getPooledConnection() throws SQLException {
+        return connectionPool.acquire();
+    }
+
+    /**
+     * Releases the given connection, obtained with {@link #getPooledConnection()}, back to the
+     * pool.
+     *
+     * @param conn the connection to release.
+     * @since 2.17.0
+     */
+    void releaseConnection(Connection conn) {
+        connectionPool.release(conn);
+    }
+
     public Connection getSingletonConnection() throws SQLException {
         if (dbConn == null) {
             dbConn = getNewConnection();
@@ -53,6 +53,22 @@ public class SqlPreparedStatementWrapper {
         return psLastInsert.executeQuery();
     }
 
+    /**
+     * Closes the statement used to obtain the last inserted ID, if any.
+     *
+     * <p>Called when the wrapper is released, the statement is not reused.
+     */
+    void closeLastInsertedIdStatement() {
+        if (psLastInsert != null) {
+            try {
+                psLastInsert.close();
+            } catch (SQLException e) {
+                // Ignore
+            }
+            psLastInsert = null;
+        }
+    }
+
     public void close() throws SQLException {
         ps.getConnection().close();
     }
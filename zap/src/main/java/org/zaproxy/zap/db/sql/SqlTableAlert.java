@@ -111,7 +111,7 @@ public class SqlTableAlert extends SqlAbstractTable implements TableAlert {
     }
 
     @Override
-    public synchronized RecordAlert read(int alertId) throws DatabaseException {
+    public RecordAlert read(int alertId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("alert.ps.read");
@@ -127,7 +127,7 @@ public class SqlTableAlert extends SqlAbstractTable implements TableAlert {
     }
 
     @Override
-    public synchronized RecordAlert write(
+    public RecordAlert write(
             int scanId,
             int pluginId,
             String alert,
@@ -251,7 +251,7 @@ public class SqlTableAlert extends SqlAbstractTable implements TableAlert {
     }
 
     @Override
-    public synchronized void update(
+    public void update(
             int alertId,
             String alert,
             int risk,
@@ -298,7 +298,7 @@ public class SqlTableAlert extends SqlAbstractTable implements TableAlert {
     }
 
     @Override
-    public synchronized void updateHistoryIds(int alertId, int historyId, int sourceHistoryId)
+    public void updateHistoryIds(int alertId, int historyId, int sourceHistoryId)
             throws DatabaseException {
 
         SqlPreparedStatementWrapper psUpdateHistoryIds = null;
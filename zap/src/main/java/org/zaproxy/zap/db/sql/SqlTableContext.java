@@ -52,7 +52,7 @@ public class SqlTableContext extends SqlAbstractTable implements TableContext {
     }
 
     @Override
-    public synchronized RecordContext read(long dataId) throws DatabaseException {
+    public RecordContext read(long dataId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("context.ps.read");
@@ -69,8 +69,7 @@ public class SqlTableContext extends SqlAbstractTable implements TableContext {
     }
 
     @Override
-    public synchronized RecordContext insert(int contextId, int type, String url)
-            throws DatabaseException {
+    public RecordContext insert(int contextId, int type, String url) throws DatabaseException {
         SqlPreparedStatementWrapper psInsert = null;
         try {
             psInsert = DbSQL.getSingleton().getPreparedStatement("context.ps.insert");
@@ -93,7 +92,7 @@ public class SqlTableContext extends SqlAbstractTable implements TableContext {
     }
 
     @Override
-    public synchronized void delete(int contextId, int type, String data) throws DatabaseException {
+    public void delete(int contextId, int type, String data) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteData = null;
         try {
             psDeleteData = DbSQL.getSingleton().getPreparedStatement("context.ps.delete");
@@ -109,8 +108,7 @@ public class SqlTableContext extends SqlAbstractTable implements TableContext {
     }
 
     @Override
-    public synchronized void deleteAllDataForContextAndType(int contextId, int type)
-            throws DatabaseException {
+    public void deleteAllDataForContextAndType(int contextId, int type) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteAllDataForContextAndType = null;
         try {
             psDeleteAllDataForContextAndType =
@@ -127,7 +125,7 @@ public class SqlTableContext extends SqlAbstractTable implements TableContext {
     }
 
     @Override
-    public synchronized void deleteAllDataForContext(int contextId) throws DatabaseException {
+    public void deleteAllDataForContext(int contextId) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteAllDataForContext = null;
         try {
             psDeleteAllDataForContext =
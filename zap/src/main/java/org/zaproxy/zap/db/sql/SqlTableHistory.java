@@ -36,7 +36,9 @@ import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.db.Database;
 import org.parosproxy.paros.db.DatabaseException;
 import org.parosproxy.paros.db.DbUtils;
+import org.parosproxy.paros.db.HistoryQuery;
 import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.RecordHistorySummary;
 import org.parosproxy.paros.db.TableHistory;
 import org.parosproxy.paros.extension.option.DatabaseParam;
 import org.parosproxy.paros.model.HistoryReference;
@@ -52,6 +54,9 @@ public class SqlTableHistory extends SqlAbstractTable implements TableHistory {
     private static final String SESSIONID = DbSQL.getSQL("history.field.sessionid");
     private static final String HISTTYPE = DbSQL.getSQL("history.field.histtype");
     private static final String STATUSCODE = DbSQL.getSQL("history.field.statuscode");
+    private static final String METHOD = DbSQL.getSQL("history.field.method");
+    private static final String URI = DbSQL.getSQL("history.field.uri");
+    private static final String URI_INDEX = DbSQL.getSQL("history.field.uri_index");
     private static final String TIMESENTMILLIS = DbSQL.getSQL("history.field.timesentmillis");
     private static final String TIMEELAPSEDMILLIS = DbSQL.getSQL("history.field.timeelapsedmillis");
     private static final String REQHEADER = DbSQL.getSQL("history.field.reqheader");
@@ -136,6 +141,11 @@ public class SqlTableHistory extends SqlAbstractTable implements TableHistory {
                 DbUtils.execute(connection, DbSQL.getSQL("history.ps.addnote"));
             }
 
+            if (URI_INDEX != null && !DbUtils.hasIndex(connection, TABLE_NAME, URI_INDEX)) {
+                // this speeds up the queries by URI prefix
+                DbUtils.execute(connection, DbSQL.getSQL("history.ps.adduriindex"));
+            }
+
             /* TODO how to handle HSQLDB dependency?? Need to parameterize somehow.. vvvvvvvvvvvv */
             if (DbUtils.getColumnType(connection, TABLE_NAME, REQBODY)
                     != 61 /*Types.SQL_VARBINARY*/) {
@@ -502,6 +512,68 @@ public class SqlTableHistory extends SqlAbstractTable implements TableHistory {
                 histTypes.length);
     }
 
+    @Override
+    public List<RecordHistorySummary> getHistorySummaries(HistoryQuery query)
+            throws DatabaseException {
+        int[] histTypes = query.getHistoryTypes();
+        boolean hasHistTypes = histTypes.length > 0;
+        SqlPreparedStatementWrapper psSummaries = null;
+        try {
+            if (hasHistTypes) {
+                psSummaries =
+                        DbSQL.getSingleton()
+                                .getPreparedStatement(
+                                        "history.ps.summariesinctypes", histTypes.length);
+            } else {
+                psSummaries = DbSQL.getSingleton().getPreparedStatement("history.ps.summaries");
+            }
+            PreparedStatement ps = psSummaries.getPs();
+            String uriPrefix = query.getUriPrefix();
+            ps.setLong(1, query.getSessionId());
+            ps.setInt(2, query.getStartAtHistoryId());
+            ps.setInt(
+                    3,
+                    query.getEndAtHistoryId() > 0 ? query.getEndAtHistoryId() : Integer.MAX_VALUE);
+            ps.setString(4, uriPrefix != null ? escapeLikePattern(uriPrefix) + "%" : "%");
+            int parameterIndex = 5;
+            if (hasHistTypes) {
+                DbSQL.setSetValues(ps, parameterIndex, histTypes);
+                parameterIndex += histTypes.length;
+            }
+            ps.setInt(
+                    parameterIndex++,
+                    query.getLimit() != HistoryQuery.NO_LIMIT
+                            ? query.getLimit()
+                            : Integer.MAX_VALUE);
+            ps.setInt(parameterIndex, query.getOffset());
+
+            List<RecordHistorySummary> summaries = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    summaries.add(
+                            new RecordHistorySummary(
+                                    rs.getInt(HISTORYID),
+                                    rs.getInt(HISTTYPE),
+                                    rs.getLong(SESSIONID),
+                                    rs.getString(METHOD),
+                                    rs.getString(URI),
+                                    rs.getInt(STATUSCODE),
+                                    rs.getString(REQHEADER),
+                                    rs.getString(RESHEADER)));
+                }
+            }
+            return summaries;
+        } catch (SQLException e) {
+            throw new DatabaseException(e);
+        } finally {
+            DbSQL.getSingleton().releasePreparedStatement(psSummaries);
+        }
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     @Override
     public List<Integer> getHistoryList(
             long sessionId, int histType, String filter, boolean isRequest)
@@ -56,7 +56,7 @@ public class SqlTableParam extends SqlAbstractTable implements TableParam {
     }
 
     @Override
-    public synchronized RecordParam read(long urlId) throws DatabaseException {
+    public RecordParam read(long urlId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("param.ps.read");
@@ -101,7 +101,7 @@ public class SqlTableParam extends SqlAbstractTable implements TableParam {
     }
 
     @Override
-    public synchronized RecordParam insert(
+    public RecordParam insert(
             String site, String type, String name, int used, String flags, String values)
             throws DatabaseException {
         SqlPreparedStatementWrapper psInsert = null;
@@ -129,7 +129,7 @@ public class SqlTableParam extends SqlAbstractTable implements TableParam {
     }
 
     @Override
-    public synchronized void update(long paramId, int used, String flags, String values)
+    public void update(long paramId, int used, String flags, String values)
             throws DatabaseException {
         SqlPreparedStatementWrapper psUpdate = null;
         try {
@@ -38,7 +38,7 @@ public class SqlTableScan extends SqlAbstractTable implements TableScan {
     protected void reconnect(Connection conn) throws DatabaseException {}
 
     @Override
-    public synchronized RecordScan getLatestScan() throws DatabaseException {
+    public RecordScan getLatestScan() throws DatabaseException {
         SqlPreparedStatementWrapper psGetLatestScan = null;
         try {
             psGetLatestScan = DbSQL.getSingleton().getPreparedStatement("scan.ps.getlatestscan");
@@ -53,7 +53,7 @@ public class SqlTableScan extends SqlAbstractTable implements TableScan {
     }
 
     @Override
-    public synchronized RecordScan read(int scanId) throws DatabaseException {
+    public RecordScan read(int scanId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("scan.ps.read");
@@ -70,8 +70,7 @@ public class SqlTableScan extends SqlAbstractTable implements TableScan {
     }
 
     @Override
-    public synchronized RecordScan insert(long sessionId, String scanName)
-            throws DatabaseException {
+    public RecordScan insert(long sessionId, String scanName) throws DatabaseException {
         SqlPreparedStatementWrapper psInsert = null;
         try {
             psInsert = DbSQL.getSingleton().getPreparedStatement("scan.ps.insert");
@@ -40,7 +40,7 @@ public class SqlTableSession extends SqlAbstractTable implements TableSession {
     protected void reconnect(Connection conn) throws DatabaseException {}
 
     @Override
-    public synchronized void insert(long sessionId, String sessionName) throws DatabaseException {
+    public void insert(long sessionId, String sessionName) throws DatabaseException {
         SqlPreparedStatementWrapper psInsert = null;
         try {
             psInsert = DbSQL.getSingleton().getPreparedStatement("session.ps.insert");
@@ -55,7 +55,7 @@ public class SqlTableSession extends SqlAbstractTable implements TableSession {
     }
 
     @Override
-    public synchronized void update(long sessionId, String sessionName) throws DatabaseException {
+    public void update(long sessionId, String sessionName) throws DatabaseException {
         SqlPreparedStatementWrapper psUpdate = null;
         try {
             psUpdate = DbSQL.getSingleton().getPreparedStatement("session.ps.update");
@@ -52,7 +52,7 @@ public class SqlTableSessionUrl extends SqlAbstractTable implements TableSession
     }
 
     @Override
-    public synchronized RecordSessionUrl read(long urlId) throws DatabaseException {
+    public RecordSessionUrl read(long urlId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("sessionurl.ps.read");
@@ -69,7 +69,7 @@ public class SqlTableSessionUrl extends SqlAbstractTable implements TableSession
     }
 
     @Override
-    public synchronized RecordSessionUrl insert(int type, String url) throws DatabaseException {
+    public RecordSessionUrl insert(int type, String url) throws DatabaseException {
         SqlPreparedStatementWrapper psInsert = null;
         try {
             psInsert = DbSQL.getSingleton().getPreparedStatement("sessionurl.ps.insert");
@@ -91,7 +91,7 @@ public class SqlTableSessionUrl extends SqlAbstractTable implements TableSession
     }
 
     @Override
-    public synchronized void delete(int type, String url) throws DatabaseException {
+    public void delete(int type, String url) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteUrls = null;
         try {
             psDeleteUrls = DbSQL.getSingleton().getPreparedStatement("sessionurl.ps.deleteurls");
@@ -106,7 +106,7 @@ public class SqlTableSessionUrl extends SqlAbstractTable implements TableSession
     }
 
     @Override
-    public synchronized void deleteAllUrlsForType(int type) throws DatabaseException {
+    public void deleteAllUrlsForType(int type) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteAllUrlsForType = null;
         try {
             psDeleteAllUrlsForType =
@@ -57,7 +57,7 @@ public class SqlTableStructure extends SqlAbstractTable implements TableStructur
     }
 
     @Override
-    public synchronized RecordStructure read(long sessionId, long urlId) throws DatabaseException {
+    public RecordStructure read(long sessionId, long urlId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("structure.ps.read");
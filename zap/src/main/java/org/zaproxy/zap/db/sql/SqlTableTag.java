@@ -52,7 +52,7 @@ public class SqlTableTag extends SqlAbstractTable implements TableTag {
     }
 
     @Override
-    public synchronized RecordTag read(long tagId) throws DatabaseException {
+    public RecordTag read(long tagId) throws DatabaseException {
         SqlPreparedStatementWrapper psRead = null;
         try {
             psRead = DbSQL.getSingleton().getPreparedStatement("tag.ps.read");
@@ -69,7 +69,7 @@ public class SqlTableTag extends SqlAbstractTable implements TableTag {
     }
 
     @Override
-    public synchronized RecordTag insert(long historyId, String tag) throws DatabaseException {
+    public RecordTag insert(long historyId, String tag) throws DatabaseException {
         SqlPreparedStatementWrapper psInsertTag = null;
         try {
             psInsertTag = DbSQL.getSingleton().getPreparedStatement("tag.ps.insert");
@@ -90,7 +90,7 @@ public class SqlTableTag extends SqlAbstractTable implements TableTag {
     }
 
     @Override
-    public synchronized void delete(long historyId, String tag) throws DatabaseException {
+    public void delete(long historyId, String tag) throws DatabaseException {
         SqlPreparedStatementWrapper psDeleteTag = null;
         try {
             psDeleteTag = DbSQL.getSingleton().getPreparedStatement("tag.ps.delete");
@@ -573,6 +573,13 @@ public class API {
                                 }
                                 validateMandatoryParams(params, other);
                             }
+                            if (other != null && other.isStreaming()) {
+                                if (handleApiOtherStreaming(
+                                        msg, httpIn, httpOut, impl, name, params)) {
+                                    return msg;
+                                }
+                                break;
+                            }
                             msg = impl.handleApiOther(msg, name, params);
                             break;
                         case pconn:
@@ -642,6 +649,44 @@ public class API {
         return msg;
     }
 
+    /**
+     * Handles the given streaming API other request.
+     *
+     * @return {@code true} if the response was streamed, {@code false} if the response should be
+     *     written from the {@code msg}, as usual.
+     * @throws ApiException if an error occurred before the response was started.
+     */
+    private static boolean handleApiOtherStreaming(
+            HttpMessage msg,
+            HttpInputStream httpIn,
+            HttpOutputStream httpOut,
+            ApiImplementor impl,
+            String name,
+            JSONObject params)
+            throws ApiException, IOException {
+        ApiStreamingResponse response =
+                new ApiStreamingResponse(
+                        msg, httpOut, m -> impl.addCustomHeaders(name, RequestType.other, m));
+        try {
+            impl.handleApiOtherStreaming(msg, name, params, response);
+            if (!response.isStarted()) {
+                return false;
+            }
+            response.finish();
+        } catch (ApiException | IOException | RuntimeException e) {
+            if (!response.isStarted()) {
+                throw e;
+            }
+            LOGGER.warn("Failed to stream the response of {}: {}", name, e.getMessage(), e);
+        } finally {
+            if (response.isStarted()) {
+                httpOut.close();
+                httpIn.close();
+            }
+        }
+        return true;
+    }
+
     private void incStatistic(
             String type, Format format, String component, RequestType reqType, String name) {
         Stats.incCounter(
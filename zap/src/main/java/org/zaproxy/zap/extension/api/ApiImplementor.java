@@ -398,6 +398,28 @@ public abstract class ApiImplementor {
         throw new ApiException(ApiException.Type.BAD_OTHER, name);
     }
 
+    /**
+     * Override if implementing one or more 'other' operations that stream their response, that is,
+     * the ones {@link ApiOther#isStreaming() marked as streaming}.
+     *
+     * <p>The response should be started, with {@link ApiStreamingResponse#start(String)}, after
+     * validating the request, the exceptions thrown before are reported as usual. If the response
+     * is not started the {@code msg} is used as response, as done for {@link
+     * #handleApiOther(HttpMessage, String, JSONObject)}.
+     *
+     * @param msg the HTTP message containing the API request
+     * @param name the name of the requested other endpoint
+     * @param params the API request parameters
+     * @param response the response, to write the response body incrementally
+     * @throws ApiException if an error occurred while handling the API other endpoint
+     * @since 2.17.0
+     */
+    public void handleApiOtherStreaming(
+            HttpMessage msg, String name, JSONObject params, ApiStreamingResponse response)
+            throws ApiException {
+        throw new ApiException(ApiException.Type.BAD_OTHER, name);
+    }
+
     /**
      * Override if implementing one or more 'persistent connection' operations. These are operations
      * that maintain long running connections, potentially staying alive as long as the client holds
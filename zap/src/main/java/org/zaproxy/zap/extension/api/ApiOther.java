@@ -25,6 +25,7 @@ import org.zaproxy.zap.extension.api.API.RequestType;
 public class ApiOther extends ApiElement {
 
     private boolean requiresApiKey = true;
+    private boolean streaming;
 
     public ApiOther(String name) {
         super(name);
@@ -96,6 +97,31 @@ public class ApiOther extends ApiElement {
         this.requiresApiKey = requiresApiKey;
     }
 
+    /**
+     * Tells whether or not the response is streamed, that is, handled with {@link
+     * ApiImplementor#handleApiOtherStreaming(org.parosproxy.paros.network.HttpMessage, String,
+     * net.sf.json.JSONObject, ApiStreamingResponse)}.
+     *
+     * @return {@code true} if the response is streamed, {@code false} otherwise.
+     * @since 2.17.0
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether or not the response is streamed.
+     *
+     * <p>Default value: {@code false}.
+     *
+     * @param streaming {@code true} if the response should be streamed, {@code false} otherwise.
+     * @since 2.17.0
+     * @see #isStreaming()
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     @Override
     public RequestType getType() {
         return RequestType.other;
@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.apache.commons.httpclient.ChunkedOutputStream;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMalformedHeaderException;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpOutputStream;
+
+/**
+ * The response of an API request that is written incrementally, with chunked transfer encoding,
+ * instead of built in memory.
+ *
+ * <p>The response header is written only when the response is {@link #start(String) started}, so
+ * the errors that happen before are still reported as usual. The errors that happen afterwards can
+ * no longer be reported, the connection is closed without completing the response.
+ *
+ * @since 2.17.0
+ * @see ApiOther#setStreaming(boolean)
+ * @see ApiImplementor#handleApiOtherStreaming(HttpMessage, String, net.sf.json.JSONObject,
+ *     ApiStreamingResponse)
+ */
+public class ApiStreamingResponse {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final HttpMessage msg;
+    private final HttpOutputStream httpOut;
+    private final HeadersCustomiser headersCustomiser;
+
+    private ChunkedOutputStream chunkedOut;
+
+    ApiStreamingResponse(
+            HttpMessage msg, HttpOutputStream httpOut, HeadersCustomiser headersCustomiser) {
+        this.msg = msg;
+        this.httpOut = httpOut;
+        this.headersCustomiser = headersCustomiser;
+    }
+
+    /**
+     * Starts the response, writing the response header with the given content type.
+     *
+     * @param contentType the content type of the response.
+     * @return the output stream to write the response body, never {@code null}. Closing the stream
+     *     does not complete the response, that is done once the request is handled.
+     * @throws IOException if an error occurred while writing the response header.
+     * @throws IllegalStateException if the response was already started.
+     */
+    public OutputStream start(String contentType) throws IOException {
+        if (chunkedOut != null) {
+            throw new IllegalStateException("Response already started.");
+        }
+
+        try {
+            msg.setResponseHeader(API.getDefaultResponseHeader(contentType));
+        } catch (HttpMalformedHeaderException e) {
+            throw new IOException(e);
+        }
+        msg.getResponseHeader().setHeader(HttpHeader.CONTENT_LENGTH, null);
+        msg.getResponseHeader().setHeader(HttpHeader.TRANSFER_ENCODING, "chunked");
+        headersCustomiser.addCustomHeaders(msg);
+
+        httpOut.write(msg.getResponseHeader());
+        chunkedOut = new ChunkedOutputStream(httpOut, CHUNK_SIZE);
+        return new BodyOutputStream(chunkedOut);
+    }
+
+    /**
+     * Tells whether or not the response was started.
+     *
+     * @return {@code true} if the response was started, {@code false} otherwise.
+     */
+    public boolean isStarted() {
+        return chunkedOut != null;
+    }
+
+    /**
+     * Completes the response, writing the last chunk.
+     *
+     * @throws IOException if an error occurred while writing the last chunk.
+     */
+    void finish() throws IOException {
+        if (chunkedOut != null) {
+            chunkedOut.finish();
+            httpOut.flush();
+        }
+    }
+
+    interface HeadersCustomiser {
+
+        void addCustomHeaders(HttpMessage msg);
+    }
+
+    private static class BodyOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        BodyOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import edu.umass.cs.benchlab.har.HarLog;
 import java.awt.EventQueue;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -59,7 +60,9 @@ import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
 import org.parosproxy.paros.control.Control.Mode;
 import org.parosproxy.paros.db.DatabaseException;
+import org.parosproxy.paros.db.HistoryQuery;
 import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.RecordHistorySummary;
 import org.parosproxy.paros.db.TableHistory;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
@@ -92,6 +95,9 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
 
     private static final Logger LOGGER = LogManager.getLogger(CoreAPI.class);
 
+    /** The number of history summaries read from the database at a time. */
+    private static final int HISTORY_SUMMARIES_CHUNK_SIZE = 500;
+
     private enum ScanReportType {
         HTML,
         JSON,
@@ -417,12 +423,13 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
         this.addApiOthers(depreciatedReportApi(new ApiOther(OTHER_MD_REPORT)));
         this.addApiOthers(
                 depreciatedEximApi(new ApiOther(OTHER_MESSAGE_HAR, new String[] {PARAM_ID})));
-        this.addApiOthers(
-                depreciatedEximApi(
-                        new ApiOther(
-                                OTHER_MESSAGES_HAR,
-                                null,
-                                new String[] {PARAM_BASE_URL, PARAM_START, PARAM_COUNT})));
+        ApiOther messagesHar =
+                new ApiOther(
+                        OTHER_MESSAGES_HAR,
+                        null,
+                        new String[] {PARAM_BASE_URL, PARAM_START, PARAM_COUNT});
+        messagesHar.setStreaming(true);
+        this.addApiOthers(depreciatedEximApi(messagesHar));
         this.addApiOthers(
                 depreciatedEximApi(
                         new ApiOther(OTHER_MESSAGES_HAR_BY_ID, new String[] {PARAM_IDS})));
@@ -1249,12 +1256,12 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
                     });
             result = resultList;
         } else if (VIEW_NUMBER_OF_MESSAGES.equals(name)) {
-            CounterProcessor<RecordHistory> counter = new CounterProcessor<>();
-            processHttpMessages(
+            CounterProcessor<RecordHistorySummary> counter = new CounterProcessor<>();
+            processHistorySummaries(
                     this.getParam(params, PARAM_BASE_URL, (String) null),
                     this.getParam(params, PARAM_START, -1),
                     this.getParam(params, PARAM_COUNT, -1),
-                    counter);
+                    counter::process);
 
             result = new ApiResponseElement(name, Integer.toString(counter.getCount()));
         } else if (VIEW_MESSAGES_BY_ID.equals(name)) {
@@ -1378,6 +1385,46 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
         return apiResponse;
     }
 
+    @Override
+    public void handleApiOtherStreaming(
+            HttpMessage msg, String name, JSONObject params, ApiStreamingResponse response)
+            throws ApiException {
+        if (!OTHER_MESSAGES_HAR.equals(name)) {
+            super.handleApiOtherStreaming(msg, name, params, response);
+            return;
+        }
+
+        String baseUrl = this.getParam(params, PARAM_BASE_URL, (String) null);
+        int start = this.getParam(params, PARAM_START, -1);
+        int count = this.getParam(params, PARAM_COUNT, -1);
+        try {
+            // Not closed on errors, to not complete the HAR log.
+            org.zaproxy.zap.utils.HarUtils.HarLogWriter writer =
+                    org.zaproxy.zap.utils.HarUtils.createHarLogWriter(
+                            org.zaproxy.zap.utils.HarUtils.createZapHarLog(),
+                            response.start("application/json; charset=UTF-8"));
+            processHttpMessages(
+                    baseUrl,
+                    start,
+                    count,
+                    rh -> {
+                        try {
+                            writer.writeEntry(
+                                    org.zaproxy.zap.utils.HarUtils.createHarEntry(
+                                            rh.getHistoryId(),
+                                            rh.getHistoryType(),
+                                            rh.getHttpMessage()));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+            writer.close();
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug(e.getMessage(), e);
+            throw new ApiException(ApiException.Type.INTERNAL_ERROR, e.getMessage());
+        }
+    }
+
     @Override
     public HttpMessage handleApiOther(HttpMessage msg, String name, JSONObject params) {
         try {
@@ -1448,22 +1495,14 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
             msg.setResponseBody(responseBody);
 
             return msg;
-        } else if (OTHER_MESSAGES_HAR_BY_ID.equals(name) || OTHER_MESSAGES_HAR.equals(name)) {
+        } else if (OTHER_MESSAGES_HAR_BY_ID.equals(name)) {
             byte[] responseBody;
             try {
                 final HarEntries entries = new HarEntries();
-                if (OTHER_MESSAGES_HAR_BY_ID.equals(name)) {
-                    TableHistory tableHistory = Model.getSingleton().getDb().getTableHistory();
-                    for (Integer id : getIds(params)) {
-                        RecordHistory recordHistory = getRecordHistory(tableHistory, id);
-                        addHarEntry(entries, recordHistory);
-                    }
-                } else {
-                    processHttpMessages(
-                            this.getParam(params, PARAM_BASE_URL, (String) null),
-                            this.getParam(params, PARAM_START, -1),
-                            this.getParam(params, PARAM_COUNT, -1),
-                            rh -> addHarEntry(entries, rh));
+                TableHistory tableHistory = Model.getSingleton().getDb().getTableHistory();
+                for (Integer id : getIds(params)) {
+                    RecordHistory recordHistory = getRecordHistory(tableHistory, id);
+                    addHarEntry(entries, recordHistory);
                 }
 
                 HarLog harLog = org.zaproxy.zap.utils.HarUtils.createZapHarLog();
@@ -1754,46 +1793,84 @@ public class CoreAPI extends ApiImplementor implements SessionListener {
     private void processHttpMessages(
             String baseUrl, int start, int count, Processor<RecordHistory> processor)
             throws ApiException {
+        TableHistory tableHistory = Model.getSingleton().getDb().getTableHistory();
+        processHistorySummaries(
+                baseUrl,
+                start,
+                count,
+                summary -> {
+                    RecordHistory recHistory = tableHistory.read(summary.getHistoryId());
+                    if (recHistory != null) {
+                        processor.process(recHistory);
+                    }
+                });
+    }
+
+    /**
+     * Processes the summaries of the history records of the session, excluding images, whose URI
+     * starts with the given base URL, if any.
+     *
+     * <p>The summaries are read from the database in chunks, filtered by URI prefix in the
+     * database, so that only the summaries of the requested page are processed.
+     */
+    private static void processHistorySummaries(
+            String baseUrl, int start, int count, SummaryProcessor processor) throws ApiException {
         try {
             TableHistory tableHistory = Model.getSingleton().getDb().getTableHistory();
-            List<Integer> historyIds =
-                    tableHistory.getHistoryIds(Model.getSingleton().getSession().getSessionId());
+            long sessionId = Model.getSingleton().getSession().getSessionId();
 
             PaginationConstraintsChecker pcc = new PaginationConstraintsChecker(start, count);
-            for (Integer id : historyIds) {
-                RecordHistory recHistory = tableHistory.read(id);
-                if (recHistory == null) {
-                    continue;
-                }
-
-                HttpMessage msg = recHistory.getHttpMessage();
-
-                if (msg.getRequestHeader().isImage() || msg.getResponseHeader().isImage()) {
-                    continue;
-                }
-
-                if (baseUrl != null
-                        && !msg.getRequestHeader().getURI().toString().startsWith(baseUrl)) {
-                    // Not subordinate to the specified URL
-                    continue;
-                }
+            int nextHistoryId = 0;
+            List<RecordHistorySummary> summaries;
+            do {
+                summaries =
+                        tableHistory.getHistorySummaries(
+                                HistoryQuery.builder(sessionId)
+                                        .setUriPrefix(baseUrl)
+                                        .setStartAtHistoryId(nextHistoryId)
+                                        .setLimit(HISTORY_SUMMARIES_CHUNK_SIZE)
+                                        .build());
+                for (RecordHistorySummary summary : summaries) {
+                    nextHistoryId = summary.getHistoryId() + 1;
+
+                    if (isImage(summary)) {
+                        continue;
+                    }
 
-                pcc.recordProcessed();
-                if (!pcc.hasPageStarted()) {
-                    continue;
-                }
+                    pcc.recordProcessed();
+                    if (!pcc.hasPageStarted()) {
+                        continue;
+                    }
 
-                processor.process(recHistory);
-                if (pcc.hasPageEnded()) {
-                    break;
+                    processor.process(summary);
+                    if (pcc.hasPageEnded()) {
+                        return;
+                    }
                 }
-            }
+            } while (summaries.size() == HISTORY_SUMMARIES_CHUNK_SIZE);
         } catch (HttpMalformedHeaderException | DatabaseException e) {
             LOGGER.error(e.getMessage(), e);
             throw new ApiException(ApiException.Type.INTERNAL_ERROR);
         }
     }
 
+    private static boolean isImage(RecordHistorySummary summary)
+            throws HttpMalformedHeaderException {
+        if (new HttpRequestHeader(summary.getRequestHeader()).isImage()) {
+            return true;
+        }
+        String responseHeader = summary.getResponseHeader();
+        return responseHeader != null
+                && !responseHeader.isEmpty()
+                && new HttpResponseHeader(responseHeader).isImage();
+    }
+
+    private interface SummaryProcessor {
+
+        void process(RecordHistorySummary summary)
+                throws HttpMalformedHeaderException, DatabaseException;
+    }
+
     private interface Processor<T> {
 
         void process(T object);
@@ -76,6 +76,12 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
     private final List<Integer> hRefs = Collections.synchronizedList(new ArrayList<>());
     private final List<Integer> alerts = Collections.synchronizedList(new ArrayList<>());
 
+    /** Flag that indicates whether or not the messages sent during the scan are persisted. */
+    private final boolean persistMessages;
+
+    /** The most recent messages sent during the scan, if not persisted. */
+    private final ScanMessagesBuffer messagesBuffer;
+
     private ScheduledExecutorService scheduler;
     private ScheduledFuture<?> schedHandle;
 
@@ -112,6 +118,9 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
         super(scannerParam, scanPolicy, ruleConfigParam);
         this.displayName = displayName;
         this.maxResultsToList = scannerParam.getMaxResultsToList();
+        this.persistMessages = scannerParam.isPersistMessages();
+        this.messagesBuffer =
+                new ScanMessagesBuffer(persistMessages ? 0 : scannerParam.getMaxMessagesInMemory());
         // Easiest way to get the messages and alerts ;)
         this.addScannerListener(this);
     }
@@ -278,6 +287,15 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
     @Override
     public void notifyNewMessage(final HttpMessage msg) {
         HistoryReference hRef = msg.getHistoryRef();
+        if (hRef == null && !persistMessages) {
+            // The messages that raise alerts are persisted with the alerts.
+            if (messagesBuffer.isKeepingMessages()) {
+                messagesBuffer.add(msg.cloneAll());
+            }
+            this.rcTotals.incResponseCodeCount(msg.getResponseHeader().getStatusCode());
+            return;
+        }
+
         if (hRef == null) {
             try {
                 hRef =
@@ -341,6 +359,7 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
     }
 
     public void reset() {
+        messagesBuffer.clear();
         if (!View.isInitialised() || EventQueue.isDispatchThread()) {
             this.messagesTableModel.clear();
         } else {
@@ -369,6 +388,9 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
      * <p><strong>Note:</strong> Iterations must be {@code synchronized} on returned object. Failing
      * to do so might result in {@code ConcurrentModificationException}.
      *
+     * <p>If the messages are not persisted only the IDs of the messages that were already persisted
+     * are returned, the other messages are available through {@link #getRecentMessages()}.
+     *
      * @return the IDs of all the messages sent/created during the scan
      * @see HistoryReference
      * @see ConcurrentModificationException
@@ -377,6 +399,20 @@ public class ActiveScan extends org.parosproxy.paros.core.scanner.Scanner
         return hRefs;
     }
 
+    /**
+     * Gets the most recent messages sent during the scan, when the messages are not persisted.
+     *
+     * <p>The number of messages kept is limited by {@link ScannerParam#getMaxMessagesInMemory()}.
+     *
+     * @return the most recent messages, from the oldest to the most recent, never {@code null}.
+     * @since 2.17.0
+     * @see ScannerParam#isPersistMessages()
+     * @see #getMessagesIds()
+     */
+    public List<HttpMessage> getRecentMessages() {
+        return messagesBuffer.getMessages();
+    }
+
     /**
      * Returns the IDs of all alerts raised during the scan.
      *
@@ -255,6 +255,7 @@ public class ActiveScanController implements ScanController<ActiveScan> {
                 return null;
             }
             ascan.stopScan();
+            ascan.reset();
             activeScanMap.remove(id);
             activeScanList.remove(ascan);
             return ascan;
@@ -311,6 +312,7 @@ public class ActiveScanController implements ScanController<ActiveScan> {
             for (Iterator<ActiveScan> it = activeScanMap.values().iterator(); it.hasNext(); ) {
                 ActiveScan ascan = it.next();
                 ascan.stopScan();
+                ascan.reset();
                 it.remove();
                 activeScanList.remove(ascan);
                 count++;
@@ -330,6 +332,7 @@ public class ActiveScanController implements ScanController<ActiveScan> {
                 ActiveScan ascan = it.next();
                 if (ascan.isStopped()) {
                     ascan.stopScan();
+                    ascan.reset();
                     it.remove();
                     activeScanList.remove(ascan);
                     count++;
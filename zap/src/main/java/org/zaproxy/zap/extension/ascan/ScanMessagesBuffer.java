@@ -0,0 +1,106 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.parosproxy.paros.network.HttpMessage;
+
+/**
+ * A bounded buffer of the most recent messages of a scan, the oldest messages are overwritten once
+ * full.
+ *
+ * <p>Adding messages does not lock, the messages are kept in a fixed array of slots claimed in
+ * order.
+ */
+class ScanMessagesBuffer {
+
+    private final AtomicReferenceArray<HttpMessage> messages;
+    private final AtomicLong count;
+
+    /**
+     * Constructs a {@code ScanMessagesBuffer} with the given capacity.
+     *
+     * @param capacity the maximum number of messages kept, zero or negative to not keep any.
+     */
+    ScanMessagesBuffer(int capacity) {
+        messages = new AtomicReferenceArray<>(Math.max(0, capacity));
+        count = new AtomicLong();
+    }
+
+    /**
+     * Tells whether or not the buffer keeps any message, that is, if it has capacity.
+     *
+     * @return {@code true} if the messages added are kept, {@code false} otherwise.
+     */
+    boolean isKeepingMessages() {
+        return messages.length() != 0;
+    }
+
+    /**
+     * Adds the given message, overwriting the oldest one if full.
+     *
+     * @param message the message to add.
+     */
+    void add(HttpMessage message) {
+        long index = count.getAndIncrement();
+        int capacity = messages.length();
+        if (capacity != 0) {
+            messages.set((int) (index % capacity), message);
+        }
+    }
+
+    /**
+     * Gets the number of messages added, including the ones no longer kept.
+     *
+     * @return the number of messages added.
+     */
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the messages kept, from the oldest to the most recent.
+     *
+     * @return the messages, never {@code null}.
+     */
+    List<HttpMessage> getMessages() {
+        int capacity = messages.length();
+        long end = count.get();
+        long start = Math.max(0, end - capacity);
+        List<HttpMessage> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            HttpMessage message = messages.get((int) (i % capacity));
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    /** Removes all the messages. */
+    void clear() {
+        for (int i = 0; i < messages.length(); i++) {
+            messages.set(i, null);
+        }
+    }
+}
@@ -124,6 +124,7 @@ public class DefaultCustomPage extends Enableable implements CustomPage {
     @Override
     public void setPageMatcher(String pageMatcher) {
         this.pageMatcher = pageMatcher;
+        this.pattern = null;
     }
 
     @Override
@@ -55,9 +55,17 @@ public class ExtensionParam extends AbstractParam {
     /** The configuration key used to save/load the enabled state of an extension. */
     private static final String EXTENSION_ENABLED_KEY = "enabled";
 
+    /**
+     * The configuration key used to save/load whether or not the extensions should be initialised
+     * in parallel.
+     */
+    private static final String PARALLEL_INIT_KEY = EXTENSION_BASE_KEY + ".parallelInit";
+
     /** The extensions' state, never {@code null}. */
     private Map<String, Boolean> extensionsState = Collections.emptyMap();
 
+    private boolean parallelInit;
+
     @Override
     protected void parse() {
         try {
@@ -74,6 +82,8 @@ public class ExtensionParam extends AbstractParam {
             LOGGER.error("Error while loading extensions' state: {}", e.getMessage(), e);
             extensionsState = Collections.emptyMap();
         }
+
+        parallelInit = getBoolean(PARALLEL_INIT_KEY, false);
     }
 
     /**
@@ -134,6 +144,38 @@ public class ExtensionParam extends AbstractParam {
         this.extensionsState = Collections.unmodifiableMap(extensionsState);
     }
 
+    /**
+     * Tells whether or not the extensions should be initialised in parallel.
+     *
+     * <p>The extensions of an add-on are initialised after the core extensions and the extensions
+     * of the add-ons it depends on, the extensions of the same add-on are initialised sequentially.
+     * Only the initialisation is done in parallel, the extensions are still hooked and started
+     * sequentially.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return {@code true} if the extensions should be initialised in parallel, {@code false}
+     *     otherwise.
+     * @since 2.17.0
+     * @see #setParallelInit(boolean)
+     */
+    public boolean isParallelInit() {
+        return parallelInit;
+    }
+
+    /**
+     * Sets whether or not the extensions should be initialised in parallel.
+     *
+     * @param parallelInit {@code true} if the extensions should be initialised in parallel, {@code
+     *     false} otherwise.
+     * @since 2.17.0
+     * @see #isParallelInit()
+     */
+    public void setParallelInit(boolean parallelInit) {
+        this.parallelInit = parallelInit;
+        getConfig().setProperty(PARALLEL_INIT_KEY, parallelInit);
+    }
+
     @Override
     public ExtensionParam clone() {
         return (ExtensionParam) super.clone();
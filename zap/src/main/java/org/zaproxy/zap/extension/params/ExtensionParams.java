@@ -23,12 +23,12 @@ import java.awt.EventQueue;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import javax.swing.tree.TreeNode;
 import org.apache.logging.log4j.LogManager;
@@ -57,7 +57,6 @@ import org.zaproxy.zap.extension.help.ExtensionHelp;
 import org.zaproxy.zap.extension.httpsessions.ExtensionHttpSessions;
 import org.zaproxy.zap.extension.pscan.ExtensionPassiveScan;
 import org.zaproxy.zap.extension.search.ExtensionSearch;
-import org.zaproxy.zap.utils.ThreadUtils;
 import org.zaproxy.zap.view.SiteMapListener;
 import org.zaproxy.zap.view.SiteMapTreeCellRenderer;
 
@@ -72,16 +71,18 @@ public class ExtensionParams extends ExtensionAdaptor
     private PopupMenuRemoveAntiCSRF popupMenuRemoveAntiCsrf = null;
     private PopupMenuAddSession popupMenuAddSession = null;
     private PopupMenuRemoveSession popupMenuRemoveSession = null;
-    private Map<String, SiteParameters> siteParamsMap = new HashMap<>();
+    private volatile Map<String, SiteParameters> siteParamsMap = new ConcurrentHashMap<>();
 
     private static final Logger LOGGER = LogManager.getLogger(ExtensionParams.class);
 
     private ExtensionHttpSessions extensionHttpSessions;
     private ParamScanner paramScanner;
+    private final ParamsPersister paramsPersister;
 
     public ExtensionParams() {
         super(NAME);
         this.setOrder(58);
+        paramsPersister = new ParamsPersister(this::write, ParamsPersister.DEFAULT_FLUSH_DELAY_MS);
     }
 
     @Override
@@ -143,10 +144,16 @@ public class ExtensionParams extends ExtensionAdaptor
         if (extensionPassiveScan != null) {
             extensionPassiveScan.removePassiveScanner(paramScanner);
         }
+        paramsPersister.shutdown();
 
         super.unload();
     }
 
+    @Override
+    public void destroy() {
+        paramsPersister.shutdown();
+    }
+
     private PopupMenuParamSearch getPopupMenuParamSearch() {
         if (popupMenuSearch == null) {
             popupMenuSearch = new PopupMenuParamSearch();
@@ -231,7 +238,8 @@ public class ExtensionParams extends ExtensionAdaptor
 
     private void sessionChangedEventHandler(Session session) {
         // Clear all scans
-        siteParamsMap = new HashMap<>();
+        paramsPersister.discard();
+        siteParamsMap = new ConcurrentHashMap<>();
         if (getView() != null) {
             this.getParamsPanel().reset();
         }
@@ -273,11 +281,7 @@ public class ExtensionParams extends ExtensionAdaptor
             this.getParamsPanel().addSite(site);
         }
 
-        SiteParameters sps = this.siteParamsMap.get(site);
-        if (sps == null) {
-            sps = new SiteParameters(this, site);
-            this.siteParamsMap.put(site, sps);
-        }
+        SiteParameters sps = this.getSiteParameters(site);
 
         // Cookie Parameters
         TreeSet<HtmlParameter> params;
@@ -354,6 +358,10 @@ public class ExtensionParams extends ExtensionAdaptor
     }
 
     private void persist(HtmlParameterStats param) {
+        paramsPersister.persist(param);
+    }
+
+    private void write(HtmlParameterStats param) {
         try {
             if (param.getId() < 0) {
                 // Its a new one
@@ -428,7 +436,7 @@ public class ExtensionParams extends ExtensionAdaptor
             HtmlParameter headerParam =
                     new HtmlParameter(
                             HtmlParameter.Type.header, hdrField.getName(), hdrField.getValue());
-            ThreadUtils.invokeLater(() -> persist(sps.addParam(site, headerParam, msg)));
+            persist(sps.addParam(site, headerParam, msg));
         }
 
         // TODO Only do if response URL different to request?
@@ -564,12 +572,7 @@ public class ExtensionParams extends ExtensionAdaptor
     }
 
     public SiteParameters getSiteParameters(String site) {
-        SiteParameters sps = this.siteParamsMap.get(site);
-        if (sps == null) {
-            sps = new SiteParameters(this, site);
-            siteParamsMap.put(site, sps);
-        }
-        return sps;
+        return siteParamsMap.computeIfAbsent(site, k -> new SiteParameters(this, k));
     }
 
     public Collection<SiteParameters> getAllSiteParameters() {
@@ -626,7 +629,9 @@ public class ExtensionParams extends ExtensionAdaptor
     }
 
     @Override
-    public void sessionAboutToChange(Session session) {}
+    public void sessionAboutToChange(Session session) {
+        paramsPersister.flush();
+    }
 
     @Override
     public void sessionScopeChanged(Session session) {}
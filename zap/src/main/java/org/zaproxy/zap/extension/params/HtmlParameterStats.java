@@ -25,6 +25,13 @@ import java.util.Set;
 import org.parosproxy.paros.network.HtmlParameter;
 
 public class HtmlParameterStats implements Comparable<HtmlParameterStats> {
+
+    /**
+     * The maximum number of distinct values kept for a parameter, the values are used just for
+     * display and to estimate how much the parameter changes.
+     */
+    static final int MAX_VALUES = 1000;
+
     private long id = -1;
     private String site;
     private String name;
@@ -100,10 +107,21 @@ public class HtmlParameterStats implements Comparable<HtmlParameterStats> {
         return values;
     }
 
+    /**
+     * Adds the given value to the values of the parameter.
+     *
+     * <p>The value is ignored if the parameter already has the maximum number of distinct values
+     * kept, to bound the memory used by parameters with unique values (for example, nonces).
+     *
+     * @param value the value to add, {@code null} is added as empty string.
+     */
     public void addValue(String value) {
         if (value == null) {
             value = "";
         }
+        if (values.size() >= MAX_VALUES) {
+            return;
+        }
         this.values.add(value);
     }
 
@@ -0,0 +1,145 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.params;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Persists the parameters asynchronously, off the threads that extract them.
+ *
+ * <p>The parameters changed are queued and written in a background thread after a short delay, a
+ * parameter changed several times before being written is written just once, with its latest state.
+ */
+class ParamsPersister {
+
+    static final int DEFAULT_FLUSH_DELAY_MS = 500;
+
+    private static final Logger LOGGER = LogManager.getLogger(ParamsPersister.class);
+
+    private final Consumer<HtmlParameterStats> writer;
+    private final int flushDelayMs;
+    private final Set<HtmlParameterStats> pending;
+    private final AtomicBoolean flushScheduled;
+    private final ReentrantLock flushLock;
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Constructs a {@code ParamsPersister} with the given writer and delay.
+     *
+     * @param writer the writer of the parameters, called in the background thread.
+     * @param flushDelayMs the delay, in milliseconds, before writing the parameters queued.
+     */
+    ParamsPersister(Consumer<HtmlParameterStats> writer, int flushDelayMs) {
+        this.writer = writer;
+        this.flushDelayMs = Math.max(0, flushDelayMs);
+        this.pending = ConcurrentHashMap.newKeySet();
+        this.flushScheduled = new AtomicBoolean();
+        this.flushLock = new ReentrantLock();
+        this.executor =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        r -> {
+                            Thread t = new Thread(r, "ZAP-ParamsPersister");
+                            t.setDaemon(true);
+                            return t;
+                        });
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Queues the given parameter to be written.
+     *
+     * @param param the parameter changed.
+     */
+    void persist(HtmlParameterStats param) {
+        pending.add(param);
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::scheduledFlush, flushDelayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+                LOGGER.debug("Not writing the parameter, already shutdown.");
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        flushScheduled.set(false);
+        flush();
+    }
+
+    /**
+     * Writes all the parameters queued, in the current thread.
+     *
+     * <p>The parameters that fail to be written are queued again, to be written in the next flush.
+     */
+    void flush() {
+        flushLock.lock();
+        try {
+            List<HtmlParameterStats> failed = new ArrayList<>();
+            Iterator<HtmlParameterStats> it = pending.iterator();
+            while (it.hasNext()) {
+                HtmlParameterStats param = it.next();
+                it.remove();
+                try {
+                    writer.accept(param);
+                } catch (Exception e) {
+                    LOGGER.error("Failed to write the parameter {}:", param.getName(), e);
+                    failed.add(param);
+                }
+            }
+            pending.addAll(failed);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Discards the parameters queued, for example, when they no longer belong to the session. */
+    void discard() {
+        pending.clear();
+    }
+
+    /**
+     * Gets the number of parameters queued.
+     *
+     * @return the number of parameters queued.
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /** Writes the parameters queued and stops the background thread. */
+    void shutdown() {
+        executor.shutdown();
+        flush();
+    }
+}
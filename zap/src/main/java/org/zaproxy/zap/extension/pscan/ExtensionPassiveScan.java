@@ -25,13 +25,16 @@ import java.util.List;
 import org.apache.commons.configuration.Configuration;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control.Mode;
+import org.parosproxy.paros.core.proxy.ProxyListener;
 import org.parosproxy.paros.core.scanner.Plugin;
 import org.parosproxy.paros.core.scanner.Plugin.AlertThreshold;
 import org.parosproxy.paros.extension.Extension;
 import org.parosproxy.paros.extension.ExtensionAdaptor;
+import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.extension.SessionChangedListener;
 import org.parosproxy.paros.extension.history.ProxyListenerLog;
 import org.parosproxy.paros.model.Session;
+import org.parosproxy.paros.network.HttpMessage;
 import org.zaproxy.zap.extension.alert.ExtensionAlert;
 import org.zaproxy.zap.view.ScanStatus;
 
@@ -109,6 +112,13 @@ public class ExtensionPassiveScan extends ExtensionAdaptor implements SessionCha
 
     private PassiveController controller = NOOP_PASSIVE_CONTROLLER;
 
+    /**
+     * The listener notified of the messages proxied, {@code null} if none.
+     *
+     * @see #setPassiveControllerProxyListener(ProxyListener)
+     */
+    private volatile ProxyListener controllerProxyListener;
+
     static {
         List<Class<? extends Extension>> dep = new ArrayList<>(1);
         dep.add(ExtensionAlert.class);
@@ -122,6 +132,13 @@ public class ExtensionPassiveScan extends ExtensionAdaptor implements SessionCha
         this.setName(NAME);
     }
 
+    @Override
+    public void hook(ExtensionHook extensionHook) {
+        super.hook(extensionHook);
+
+        extensionHook.addProxyListener(new PassiveControllerProxyListener());
+    }
+
     @Override
     public String getUIName() {
         return Constant.messages.getString("pscan.name");
@@ -350,6 +367,21 @@ public class ExtensionPassiveScan extends ExtensionAdaptor implements SessionCha
         }
     }
 
+    /**
+     * Sets the listener of the passive controller that should be notified of the messages proxied,
+     * after being persisted.
+     *
+     * <p>Only needed by controllers that do not register themselves as proxy listeners, for
+     * example, {@link PassiveScanController}.
+     *
+     * <p><strong>Note:</strong> Not part of the public API.
+     *
+     * @param listener the listener, {@code null} to not notify any.
+     */
+    public void setPassiveControllerProxyListener(ProxyListener listener) {
+        this.controllerProxyListener = listener;
+    }
+
     @Deprecated(forRemoval = true, since = "2.16.0")
     public int getRecordsToScan() {
         return controller.getRecordsToScan();
@@ -472,4 +504,32 @@ public class ExtensionPassiveScan extends ExtensionAdaptor implements SessionCha
     public boolean supportsDb(String type) {
         return true;
     }
+
+    /**
+     * A {@code ProxyListener} that notifies the listener of the passive controller of the messages
+     * proxied, if set.
+     *
+     * @see #setPassiveControllerProxyListener(ProxyListener)
+     */
+    private class PassiveControllerProxyListener implements ProxyListener {
+
+        @Override
+        public int getArrangeableListenerOrder() {
+            return PROXY_LISTENER_ORDER;
+        }
+
+        @Override
+        public boolean onHttpRequestSend(HttpMessage msg) {
+            return true;
+        }
+
+        @Override
+        public boolean onHttpResponseReceive(HttpMessage msg) {
+            ProxyListener listener = controllerProxyListener;
+            if (listener != null) {
+                return listener.onHttpResponseReceive(msg);
+            }
+            return true;
+        }
+    }
 }
@@ -19,7 +19,10 @@
  */
 package org.zaproxy.zap.extension.pscan;
 
+import java.lang.ref.SoftReference;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -44,17 +47,31 @@ import org.zaproxy.zap.view.ScanStatus;
  */
 @SuppressWarnings("removal")
 @Deprecated(forRemoval = true, since = "2.16.0")
-public class PassiveScanController extends Thread implements ProxyListener {
+public class PassiveScanController extends Thread implements ProxyListener, PassiveController {
 
     private static final Logger LOGGER = LogManager.getLogger(PassiveScanController.class);
 
+    /**
+     * The default maximum number of messages kept in memory waiting to be scanned, messages beyond
+     * this limit are read from the database when their turn comes.
+     */
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
     private ExtensionHistory extHist;
     private PassiveScanTaskHelper helper;
     private Session session;
 
     private ThreadPoolExecutor executor;
 
-    private int currentId = 1;
+    /**
+     * The messages pushed by the listeners, keyed by history ID, so that they can be scanned
+     * without reading them back from the database.
+     */
+    private final Map<Integer, QueuedMessage> queuedMessages = new ConcurrentHashMap<>();
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private volatile int currentId = 1;
     private int lastId = -1;
     private int mainSleep = 2000;
     private int postSleep = 200;
@@ -102,22 +119,39 @@ public class PassiveScanController extends Thread implements ProxyListener {
                     currentId++;
                 } else {
                     // Either just started or there are no new records
+                    discardStaleQueuedMessages();
                     try {
                         Thread.sleep(mainSleep);
                         if (shutDown) {
                             return;
                         }
                     } catch (InterruptedException e) {
-                        // New URL, but give it a chance to be processed first
-                        try {
-                            Thread.sleep(postSleep);
-                        } catch (InterruptedException e2) {
-                            // Ignore
+                        if (queuedMessages.isEmpty()) {
+                            // New URL, but give it a chance to be processed first
+                            try {
+                                Thread.sleep(postSleep);
+                            } catch (InterruptedException e2) {
+                                // Ignore
+                            }
                         }
                     }
                     lastId = this.getLastHistoryId();
                 }
-                href = getHistoryReference(currentId);
+
+                QueuedMessage queued = queuedMessages.remove(currentId);
+                HttpMessage msg = null;
+                long enqueuedTime = 0;
+                if (queued != null) {
+                    href = queued.getHistoryReference();
+                    msg = queued.getMessage();
+                    enqueuedTime = queued.getEnqueuedTime();
+                    if (msg == null) {
+                        // Reclaimed by the GC, the task will read it from the database
+                        Stats.incCounter("stats.pscan.queue.replayed");
+                    }
+                } else {
+                    href = getHistoryReference(currentId);
+                }
 
                 if (shutDown) {
                     return;
@@ -131,10 +165,11 @@ public class PassiveScanController extends Thread implements ProxyListener {
                             href.getURI(),
                             currentId,
                             href.getHistoryType());
-                    getExecutor().submit(new PassiveScanTask(href, helper));
+                    getExecutor().submit(new PassiveScanTask(href, msg, enqueuedTime, helper));
                 }
                 int recordsToScan = this.getRecordsToScan();
                 Stats.setHighwaterMark("stats.pscan.recordsToScan", recordsToScan);
+                Stats.setHighwaterMark("stats.pscan.queue.size", queuedMessages.size());
 
             } catch (Exception e) {
                 if (shutDown) {
@@ -150,6 +185,62 @@ public class PassiveScanController extends Thread implements ProxyListener {
         }
     }
 
+    /**
+     * Queues the given message to be scanned, if it was already persisted and the queue has not
+     * reached its capacity. Otherwise the message will be read from the database when it's scanned.
+     *
+     * @param msg the message to queue.
+     */
+    private void enqueue(HttpMessage msg) {
+        HistoryReference href = msg.getHistoryRef();
+        if (href == null) {
+            return;
+        }
+
+        int historyId = href.getHistoryId();
+        if (historyId < currentId) {
+            // Already read from the database
+            return;
+        }
+
+        if (queuedMessages.size() >= queueCapacity) {
+            Stats.incCounter("stats.pscan.queue.evicted");
+            return;
+        }
+
+        // Copy, the message might still be changed by other listeners
+        queuedMessages.put(historyId, new QueuedMessage(href, new HttpMessage(msg)));
+    }
+
+    /**
+     * Discards the queued messages that were already read from the database, which happens if the
+     * message was queued after the scan reached it.
+     */
+    private void discardStaleQueuedMessages() {
+        if (!queuedMessages.isEmpty()) {
+            int lastScannedId = currentId;
+            queuedMessages.keySet().removeIf(id -> id < lastScannedId);
+        }
+    }
+
+    /**
+     * Sets the maximum number of messages kept in memory waiting to be scanned.
+     *
+     * @param queueCapacity the capacity of the queue.
+     */
+    void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the number of messages kept in memory waiting to be scanned.
+     *
+     * @return the number of queued messages.
+     */
+    int getQueueSize() {
+        return queuedMessages.size();
+    }
+
     private PassiveScanParam getPassiveScanParam() {
         return extHist.getModel().getOptionsParam().getParamSet(PassiveScanParam.class);
     }
@@ -183,7 +274,8 @@ public class PassiveScanController extends Thread implements ProxyListener {
         return this.extHist.getLastHistoryId();
     }
 
-    protected int getRecordsToScan() {
+    @Override
+    public int getRecordsToScan() {
         return this.getLastHistoryId() - getLastScannedId() + helper.getRunningTasks().size();
     }
 
@@ -218,16 +310,18 @@ public class PassiveScanController extends Thread implements ProxyListener {
      *
      * @since 2.12.0
      */
+    @Override
     public void clearQueue() {
         currentId = this.getLastHistoryId();
         lastId = currentId;
+        queuedMessages.clear();
         this.helper.shutdownTasks();
     }
 
     @Override
     public int getArrangeableListenerOrder() {
-        // Not actually used as we never register this listener, its always called from the
-        // extension
+        // Not actually used, the extension registers its own listener which delegates to this one,
+        // if set as the listener of the passive controller
         return ExtensionPassiveScan.PROXY_LISTENER_ORDER;
     }
 
@@ -239,11 +333,41 @@ public class PassiveScanController extends Thread implements ProxyListener {
 
     @Override
     public boolean onHttpResponseReceive(HttpMessage msg) {
-        // Wakey wakey
-        this.interrupt();
+        if (msg != null) {
+            enqueue(msg);
+        }
         return true;
     }
 
+    /**
+     * A message waiting to be scanned, the message is softly referenced so that it can be reclaimed
+     * under memory pressure, in which case it's read from the database.
+     */
+    private static class QueuedMessage {
+
+        private final HistoryReference href;
+        private final SoftReference<HttpMessage> message;
+        private final long enqueuedTime;
+
+        QueuedMessage(HistoryReference href, HttpMessage message) {
+            this.href = href;
+            this.message = new SoftReference<>(message);
+            this.enqueuedTime = System.currentTimeMillis();
+        }
+
+        HistoryReference getHistoryReference() {
+            return href;
+        }
+
+        HttpMessage getMessage() {
+            return message.get();
+        }
+
+        long getEnqueuedTime() {
+            return enqueuedTime;
+        }
+    }
+
     private static class PassiveScanThreadFactory implements ThreadFactory {
 
         private final AtomicInteger threadNumber;
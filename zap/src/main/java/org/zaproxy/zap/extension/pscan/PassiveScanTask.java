@@ -44,6 +44,11 @@ public class PassiveScanTask implements Runnable {
     /** I think this should be a thread which runs just one scan rule against one history record */
     private HistoryReference href;
 
+    /** The message already in memory, if any, to avoid reading it from the database. */
+    private HttpMessage msg;
+
+    private long enqueuedTime;
+
     private PassiveScanTaskHelper helper;
 
     private PassiveScanThread psThread;
@@ -58,7 +63,23 @@ public class PassiveScanTask implements Runnable {
     private static final Logger LOGGER = LogManager.getLogger(PassiveScanTask.class);
 
     public PassiveScanTask(HistoryReference hr, PassiveScanTaskHelper helper) {
+        this(hr, null, 0, helper);
+    }
+
+    /**
+     * Constructs a {@code PassiveScanTask} for a message already in memory.
+     *
+     * @param hr the history reference of the message.
+     * @param msg the message, might be {@code null} in which case it's read from the database.
+     * @param enqueuedTime the time, in milliseconds, when the message was queued for scanning, or
+     *     zero if not known.
+     * @param helper the helper.
+     */
+    PassiveScanTask(
+            HistoryReference hr, HttpMessage msg, long enqueuedTime, PassiveScanTaskHelper helper) {
         this.href = hr;
+        this.msg = msg;
+        this.enqueuedTime = enqueuedTime;
         this.helper = helper;
         this.psThread = new PassiveScanThread(helper, href);
         this.maxBodySize = helper.getMaxBodySizeInBytesToScan();
@@ -100,9 +121,18 @@ public class PassiveScanTask implements Runnable {
 
         completed = false;
 
+        if (enqueuedTime > 0) {
+            long latency = startTime - enqueuedTime;
+            Stats.incCounter("stats.pscan.queue.scanned");
+            Stats.incCounter("stats.pscan.queue.latency", latency);
+            Stats.setHighwaterMark("stats.pscan.queue.latency.max", latency);
+        }
+
         try {
-            // Parse the record
-            HttpMessage msg = href.getHttpMessage();
+            if (msg == null) {
+                // Parse the record
+                msg = href.getHttpMessage();
+            }
             Source src = new Source(msg.getResponseBody().toString());
             PassiveScanData passiveScanData = new PassiveScanData(msg);
 
@@ -210,10 +240,9 @@ public class PassiveScanTask implements Runnable {
                 }
                 LOGGER.error(
                         "Parser failed on record {} from History table", href.getHistoryId(), e);
-                HttpMessage msg;
                 try {
-                    msg = href.getHttpMessage();
-                    LOGGER.error("Req Header {}", msg.getRequestHeader(), e);
+                    HttpMessage message = href.getHttpMessage();
+                    LOGGER.error("Req Header {}", message.getRequestHeader(), e);
                 } catch (Exception e1) {
                     // Ignore
                 }
@@ -221,6 +250,7 @@ public class PassiveScanTask implements Runnable {
         } finally {
             completed = true;
             stopTime = System.currentTimeMillis();
+            msg = null;
             helper.removeTaskFromList(this);
         }
     }
@@ -69,6 +69,7 @@ import org.parosproxy.paros.network.HttpMessage;
 import org.parosproxy.paros.network.HttpSender;
 import org.parosproxy.paros.view.View;
 import org.zaproxy.zap.control.ExtensionFactory;
+import org.zaproxy.zap.extension.script.ScriptInterfaceCache.CachedInterface;
 import org.zaproxy.zap.extension.script.ScriptsCache.Configuration;
 import org.zaproxy.zap.utils.Stats;
 import org.zaproxy.zap.utils.ThreadUtils;
@@ -129,6 +130,7 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
     private Map<String, ScriptType> typeMap = new HashMap<>();
     private ProxyListenerScript proxyListener = null;
     private HttpSenderScriptListener httpSenderScriptListener;
+    private final ScriptInterfaceCache interfaceCache = new ScriptInterfaceCache();
 
     private List<ScriptEventListener> listeners = new ArrayList<>();
     private MultipleWriters writers = new MultipleWriters();
@@ -441,6 +443,7 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
             }
 
             setScriptEngineWrapper(getTreeModel().getScriptsNode(), wrapper, null);
+            interfaceCache.removeEngine(wrapper);
             processTemplatesOfRemovedEngine(getTreeModel().getTemplatesNode(), wrapper);
         }
     }
@@ -756,6 +759,7 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
         this.getScriptParam().removeScript(script);
         this.getScriptParam().saveScripts();
         this.getTreeModel().removeScript(script);
+        interfaceCache.remove(script);
         for (ScriptEventListener listener : this.listeners) {
             try {
                 listener.scriptRemoved(script);
@@ -1736,6 +1740,9 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
      * <p>The context class loader of caller thread is replaced with the class loader {@code
      * AddOnLoader} to allow the script to access classes of add-ons.
      *
+     * <p>The script is evaluated only on the first invocation and when changed, the following
+     * invocations reuse the interface previously obtained.
+     *
      * @param script the script to invoke.
      * @param msg the HTTP message being proxied.
      * @param request {@code true} if processing the request, {@code false} otherwise.
@@ -1749,14 +1756,15 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
         Writer writer = getWriters(script);
         try {
             // Dont need to check if enabled as it can only be invoked manually
-            ProxyScript s = this.getInterface(script, ProxyScript.class);
+            CachedInterface<ProxyScript> s = getCachedInterface(script, ProxyScript.class);
 
             if (s != null) {
                 recordScriptCalledStats(script);
+                ProxyScript proxyScript = s.getInterface();
                 if (request) {
-                    return s.proxyRequest(msg);
+                    return s.execute(() -> proxyScript.proxyRequest(msg));
                 } else {
-                    return s.proxyResponse(msg);
+                    return s.execute(() -> proxyScript.proxyResponse(msg));
                 }
 
             } else {
@@ -1781,6 +1789,9 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
      * <p>The context class loader of caller thread is replaced with the class loader {@code
      * AddOnLoader} to allow the script to access classes of add-ons.
      *
+     * <p>The script is evaluated only on the first invocation and when changed, the following
+     * invocations reuse the interface previously obtained.
+     *
      * @param script the script to invoke.
      * @param msg the HTTP message being sent/received.
      * @param initiator the initiator of the request.
@@ -1799,16 +1810,22 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
 
         Writer writer = getWriters(script);
         try {
-            HttpSenderScript senderScript = this.getInterface(script, HttpSenderScript.class);
+            CachedInterface<HttpSenderScript> s =
+                    getCachedInterface(script, HttpSenderScript.class);
 
-            if (senderScript != null) {
+            if (s != null) {
                 recordScriptCalledStats(script);
-                if (request) {
-                    senderScript.sendingRequest(msg, initiator, new HttpSenderScriptHelper(sender));
-                } else {
-                    senderScript.responseReceived(
-                            msg, initiator, new HttpSenderScriptHelper(sender));
-                }
+                HttpSenderScript senderScript = s.getInterface();
+                HttpSenderScriptHelper helper = new HttpSenderScriptHelper(sender);
+                s.execute(
+                        () -> {
+                            if (request) {
+                                senderScript.sendingRequest(msg, initiator, helper);
+                            } else {
+                                senderScript.responseReceived(msg, initiator, helper);
+                            }
+                            return null;
+                        });
             } else {
                 handleUnspecifiedScriptError(
                         script,
@@ -2027,6 +2044,52 @@ public class ExtensionScript extends ExtensionAdaptor implements CommandLineList
         return null;
     }
 
+    /**
+     * Gets the interface {@code clazz} from the given {@code script}, reusing the interface
+     * obtained previously if the script did not change since then. Might return {@code null} if the
+     * {@code script} does not implement the interface.
+     *
+     * <p>Same behaviour as {@link #getInterface(ScriptWrapper, Class)} but the script is evaluated
+     * only when not yet cached or when changed, the interfaces provided directly by the {@code
+     * script} are not cached.
+     *
+     * @param script the script that will be invoked
+     * @param clazz the interface that will be obtained from the script
+     * @return the interface implemented by the script, or {@code null} if the {@code script} does
+     *     not implement the interface.
+     * @throws ScriptException if the engine of the given {@code script} was not found.
+     * @throws IOException if an error occurred while obtaining the interface directly from the
+     *     script.
+     */
+    private <T> CachedInterface<T> getCachedInterface(ScriptWrapper script, Class<T> clazz)
+            throws ScriptException, IOException {
+        T iface = withAddOnClassLoader(() -> script.getInterface(clazz));
+        if (iface != null) {
+            return new CachedInterface<>(script.getModCount(), script.getEngine(), clazz, iface);
+        }
+
+        if (script.isRunnableStandalone()) {
+            return null;
+        }
+
+        reloadIfChangedOnDisk(script);
+        CachedInterface<T> cachedInterface = interfaceCache.get(script, clazz);
+        if (cachedInterface != null) {
+            return cachedInterface;
+        }
+
+        int modCount = script.getModCount();
+        Invocable invocable = invokeScript(script);
+        if (invocable == null) {
+            return null;
+        }
+        iface = withAddOnClassLoader(() -> invocable.getInterface(clazz));
+        if (iface == null) {
+            return null;
+        }
+        return interfaceCache.put(script, modCount, clazz, iface);
+    }
+
     /**
      * Gets the interface {@code clazz} from the given {@code script}. Might return {@code null} if
      * the {@code script} does not implement the interface.
@@ -0,0 +1,150 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.script;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the interfaces obtained from the scripts invoked on demand, which allows to invoke the
+ * scripts without evaluating them (in a new engine) each time.
+ *
+ * <p>The interfaces are valid while the contents and the engine of the scripts do not change, that
+ * is, while the mod count and the engine are the same as when the interface was obtained.
+ *
+ * @since 2.17.0
+ * @see ScriptWrapper#getModCount()
+ */
+class ScriptInterfaceCache {
+
+    private final Map<ScriptWrapper, CachedInterface<?>> interfaces;
+
+    ScriptInterfaceCache() {
+        interfaces = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the cached interface of the given script, if still valid.
+     *
+     * @param script the script.
+     * @param clazz the class of the interface.
+     * @return the cached interface, or {@code null} if not cached or no longer valid.
+     */
+    <T> CachedInterface<T> get(ScriptWrapper script, Class<T> clazz) {
+        CachedInterface<?> cachedInterface = interfaces.get(script);
+        if (cachedInterface == null || !cachedInterface.isValid(script, clazz)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CachedInterface<T> validInterface = (CachedInterface<T>) cachedInterface;
+        return validInterface;
+    }
+
+    /**
+     * Caches the given interface of the script.
+     *
+     * @param script the script.
+     * @param modCount the mod count of the script when the interface was obtained.
+     * @param clazz the class of the interface.
+     * @param iface the interface.
+     * @return the cached interface.
+     */
+    <T> CachedInterface<T> put(ScriptWrapper script, int modCount, Class<T> clazz, T iface) {
+        CachedInterface<T> cachedInterface =
+                new CachedInterface<>(modCount, script.getEngine(), clazz, iface);
+        interfaces.put(script, cachedInterface);
+        return cachedInterface;
+    }
+
+    /**
+     * Removes the cached interface of the given script.
+     *
+     * @param script the script.
+     */
+    void remove(ScriptWrapper script) {
+        interfaces.remove(script);
+    }
+
+    /**
+     * Removes the cached interfaces obtained with the given engine.
+     *
+     * @param engine the engine.
+     */
+    void removeEngine(ScriptEngineWrapper engine) {
+        interfaces.values().removeIf(e -> e.engine == engine);
+    }
+
+    /** Removes all the cached interfaces. */
+    void clear() {
+        interfaces.clear();
+    }
+
+    /**
+     * Gets the number of cached interfaces.
+     *
+     * @return the number of cached interfaces.
+     */
+    int size() {
+        return interfaces.size();
+    }
+
+    /**
+     * An interface of a script.
+     *
+     * <p>The calls to the interface should be done with {@link #execute(Callable)}, which
+     * serialises the calls if the engine is single threaded.
+     *
+     * @param <T> the type of the interface.
+     */
+    static class CachedInterface<T> {
+
+        private final int modCount;
+        private final ScriptEngineWrapper engine;
+        private final Class<T> clazz;
+        private final T iface;
+
+        CachedInterface(int modCount, ScriptEngineWrapper engine, Class<T> clazz, T iface) {
+            this.modCount = modCount;
+            this.engine = engine;
+            this.clazz = clazz;
+            this.iface = iface;
+        }
+
+        T getInterface() {
+            return iface;
+        }
+
+        <R> R execute(Callable<R> action) throws Exception {
+            if (engine != null && engine.isSingleThreaded()) {
+                synchronized (this) {
+                    return action.call();
+                }
+            }
+            return action.call();
+        }
+
+        private boolean isValid(ScriptWrapper script, Class<?> clazz) {
+            return this.clazz == clazz
+                    && engine == script.getEngine()
+                    && modCount == script.getModCount();
+        }
+    }
+}
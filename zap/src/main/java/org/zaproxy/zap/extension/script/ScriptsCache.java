@@ -39,7 +39,7 @@ public class ScriptsCache<T> {
     private final InterfaceProvider<T> interfaceProvider;
     private final Map<ScriptWrapper, CachedScript<T>> cache;
 
-    private List<CachedScript<T>> cachedScripts;
+    private volatile List<CachedScript<T>> cachedScripts;
 
     ScriptsCache(ExtensionScript extensionScript, Configuration<T> config) {
         this.extensionScript = extensionScript;
@@ -19,8 +19,16 @@
  */
 package org.zaproxy.zap.extension.search;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
@@ -41,11 +49,23 @@ public class SearchThread extends Thread {
 
     private static final int NOTE_EXTRACT_INDEX_OFFSET = 30;
 
+    /** The number of messages searched by each task. */
+    private static final int CHUNK_SIZE = 100;
+
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The pool shared by all searches, the worker threads are created as needed and terminated when
+     * idle.
+     */
+    private static final ForkJoinPool SEARCH_POOL =
+            new ForkJoinPool(PARALLELISM, new SearchWorkerThreadFactory(), null, false);
+
     private String filter;
     private Pattern pattern;
     private Type reqType;
     private SearchListenner searchListenner;
-    private boolean stopSearch = false;
+    private volatile boolean stopSearch = false;
     private boolean inverse = false;
     private boolean searchJustInScope = false;
     private String baseUrl;
@@ -173,7 +193,6 @@ public class SearchThread extends Thread {
 
     private void search() {
         Session session = Model.getSingleton().getSession();
-        Matcher matcher = null;
 
         try {
 
@@ -195,11 +214,6 @@ public class SearchThread extends Thread {
                 return;
             }
 
-            ExtensionHistory extensionHistory =
-                    Control.getSingleton()
-                            .getExtensionLoader()
-                            .getExtension(ExtensionHistory.class);
-
             List<Integer> list =
                     Model.getSingleton()
                             .getDb()
@@ -212,252 +226,318 @@ public class SearchThread extends Thread {
                                     HistoryReference.TYPE_SPIDER_AJAX,
                                     HistoryReference.TYPE_AUTHENTICATION,
                                     HistoryReference.TYPE_CLIENT_SPIDER);
-            int last = list.size();
-            int currentRecordId = 0;
-            for (int index = 0; index < last; index++) {
-                if (stopSearch) {
-                    break;
+            searchHistory(session, list);
+        } catch (DatabaseException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Searches the messages with the given history IDs.
+     *
+     * <p>The IDs are partitioned in chunks which are read and searched in parallel, while the
+     * results are notified to the listener in the order of the IDs, as soon as each chunk is
+     * searched.
+     *
+     * @param session the current session.
+     * @param historyIds the IDs of the messages to search.
+     * @throws DatabaseException if an error occurred while reading the messages.
+     */
+    private void searchHistory(Session session, List<Integer> historyIds) throws DatabaseException {
+        ExtensionHistory extensionHistory =
+                Control.getSingleton().getExtensionLoader().getExtension(ExtensionHistory.class);
+
+        Deque<Future<List<RecordMatches>>> chunks = new ArrayDeque<>();
+        try {
+            int maxChunks = PARALLELISM * 2;
+            int nextIndex = 0;
+            int last = historyIds.size();
+            while (!stopSearch && (nextIndex < last || !chunks.isEmpty())) {
+                while (chunks.size() < maxChunks && nextIndex < last) {
+                    int end = Math.min(nextIndex + CHUNK_SIZE, last);
+                    int start = nextIndex;
+                    chunks.add(
+                            SEARCH_POOL.submit(
+                                    () ->
+                                            searchChunk(
+                                                    session,
+                                                    extensionHistory,
+                                                    historyIds,
+                                                    start,
+                                                    end)));
+                    nextIndex = end;
                 }
-                int historyId = list.get(index);
-                try {
-                    currentRecordId = index;
-                    // Create the href to ensure the msg is set up correctly
-                    HistoryReference href = null;
-                    if (extensionHistory != null) {
-                        href = extensionHistory.getHistoryReference(historyId);
+
+                for (RecordMatches recordMatches : getChunkResults(chunks.poll())) {
+                    if (stopSearch) {
+                        break;
                     }
-                    if (href == null) {
-                        href = new HistoryReference(historyId);
+                    for (PendingMatch match : recordMatches.getMatches()) {
+                        if (pcc.allMatchesProcessed()) {
+                            break;
+                        }
+                        notifyMatchFound(
+                                recordMatches.getIndex(),
+                                match.getStringFound(),
+                                recordMatches.getMessage(),
+                                match.getLocation(),
+                                match.getStart(),
+                                match.getEnd());
                     }
-                    HttpMessage message = href.getHttpMessage();
-                    if (searchJustInScope
-                            && !session.isInScope(message.getRequestHeader().getURI().toString())) {
-                        // Not in scope, so ignore
-                        continue;
+                    if (pcc.hasPageEnded()) {
+                        return;
                     }
-                    if (this.baseUrl != null
-                            && !message.getRequestHeader()
-                                    .getURI()
-                                    .toString()
-                                    .startsWith(baseUrl)) {
-                        // doesn't start with the specified baseurl
-                        continue;
+                }
+            }
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(false));
+        }
+    }
+
+    /**
+     * Gets the results of the given chunk, waiting for it to be searched.
+     *
+     * <p>The search is stopped if interrupted while waiting.
+     *
+     * @param chunk the chunk being searched.
+     * @return the results of the chunk, empty if the search was stopped.
+     * @throws DatabaseException if an error occurred while reading the messages of the chunk.
+     */
+    private List<RecordMatches> getChunkResults(Future<List<RecordMatches>> chunk)
+            throws DatabaseException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Interrupted while waiting for the search results, stopping the search.");
+            stopSearch();
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DatabaseException) {
+                throw (DatabaseException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private List<RecordMatches> searchChunk(
+            Session session,
+            ExtensionHistory extensionHistory,
+            List<Integer> historyIds,
+            int start,
+            int end)
+            throws DatabaseException {
+        List<RecordMatches> results = new ArrayList<>();
+        for (int index = start; index < end; index++) {
+            if (stopSearch) {
+                break;
+            }
+            int historyId = historyIds.get(index);
+            try {
+                // Create the href to ensure the msg is set up correctly
+                HistoryReference href = null;
+                if (extensionHistory != null) {
+                    href = extensionHistory.getHistoryReference(historyId);
+                }
+                if (href == null) {
+                    href = new HistoryReference(historyId);
+                }
+                HttpMessage message = href.getHttpMessage();
+                if (searchJustInScope
+                        && !session.isInScope(message.getRequestHeader().getURI().toString())) {
+                    // Not in scope, so ignore
+                    continue;
+                }
+                if (this.baseUrl != null
+                        && !message.getRequestHeader().getURI().toString().startsWith(baseUrl)) {
+                    // doesn't start with the specified baseurl
+                    continue;
+                }
+
+                List<PendingMatch> matches = searchMessage(message);
+                if (!matches.isEmpty()) {
+                    results.add(new RecordMatches(index, message, matches));
+                }
+            } catch (HttpMalformedHeaderException e1) {
+                LOGGER.error(e1.getMessage(), e1);
+            }
+        }
+        return results;
+    }
+
+    private List<PendingMatch> searchMessage(HttpMessage message) {
+        List<PendingMatch> matches = new ArrayList<>(1);
+        Matcher matcher;
+        if (Type.URL.equals(reqType)) {
+            // URL
+            String url = message.getRequestHeader().getURI().toString();
+            matcher = pattern.matcher(url);
+            if (inverse) {
+                if (!matcher.find()) {
+                    matches.add(PendingMatch.inverse(SearchMatch.Location.REQUEST_HEAD));
+                }
+            } else {
+                int urlStartPos = message.getRequestHeader().getPrimeHeader().indexOf(url);
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.REQUEST_HEAD,
+                                    urlStartPos + matcher.start(),
+                                    urlStartPos + matcher.end()));
+
+                    if (!searchAllOccurrences) {
+                        break;
                     }
+                }
+            }
+        }
+        if (Type.Tag.equals(reqType)) {
+            for (String tag : message.getHistoryRef().getTags()) {
+                matcher = pattern.matcher(tag);
+                if (matcher.find()) {
+                    matches.add(new PendingMatch(tag, null, 0, 0));
+                    break;
+                }
+            }
+        }
+        if (Type.Note.equals(reqType)) {
+            String note = message.getNote();
+            matcher = pattern.matcher(note);
 
-                    if (Type.URL.equals(reqType)) {
-                        // URL
-                        String url = message.getRequestHeader().getURI().toString();
-                        matcher = pattern.matcher(url);
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            if (!matcher.find()) {
-                                notifyInverseMatchFound(
-                                        currentRecordId,
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD);
-                            }
-                        } else {
-                            int urlStartPos =
-                                    message.getRequestHeader().getPrimeHeader().indexOf(url);
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD,
-                                        urlStartPos + matcher.start(),
-                                        urlStartPos + matcher.end());
-
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
+            if (inverse) {
+                if (!matcher.find()) {
+                    matches.add(new PendingMatch(note, null, 0, 0));
+                }
+            } else {
+                while (matcher.find()) {
+                    int noteExtractStart = Math.max(matcher.start() - NOTE_EXTRACT_INDEX_OFFSET, 0);
+                    int noteExtractEnd =
+                            Math.min(matcher.end() + NOTE_EXTRACT_INDEX_OFFSET, note.length());
+
+                    String noteExtract = note.substring(noteExtractStart, noteExtractEnd);
+
+                    matches.add(new PendingMatch(noteExtract, null, 0, 0));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-                    if (Type.Tag.equals(reqType) && !pcc.allMatchesProcessed()) {
-                        for (String tag : message.getHistoryRef().getTags()) {
-                            matcher = pattern.matcher(tag);
-                            if (matcher.find()) {
-                                notifyMatchFound(currentRecordId, tag, message, null, 0, 0);
-                                break;
-                            }
-                        }
+                }
+            }
+        }
+        if (Type.Header.equals(reqType)) {
+            // Header
+            // Request header
+            matcher = pattern.matcher(message.getRequestHeader().toString());
+            if (inverse) {
+                if (!matcher.find()) {
+                    matches.add(PendingMatch.inverse(SearchMatch.Location.REQUEST_HEAD));
+                }
+            } else {
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.REQUEST_HEAD,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-                    if (Type.Note.equals(reqType) && !pcc.allMatchesProcessed()) {
-                        String note = message.getNote();
-                        matcher = pattern.matcher(note);
-
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            if (!matcher.find()) {
-                                notifyMatchFound(currentRecordId, note, message, null, 0, 0);
-                            }
-                        } else {
-                            while (matcher.find()) {
-                                int noteExtractStart =
-                                        Math.max(matcher.start() - NOTE_EXTRACT_INDEX_OFFSET, 0);
-                                int noteExtractEnd =
-                                        Math.min(
-                                                matcher.end() + NOTE_EXTRACT_INDEX_OFFSET,
-                                                note.length());
-
-                                String noteExtract =
-                                        note.substring(noteExtractStart, noteExtractEnd);
-
-                                notifyMatchFound(currentRecordId, noteExtract, message, null, 0, 0);
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
+                }
+            }
+            // Response header
+            matcher = pattern.matcher(message.getResponseHeader().toString());
+            if (inverse) {
+                if (!matcher.find()) {
+                    matches.add(PendingMatch.inverse(SearchMatch.Location.RESPONSE_HEAD));
+                }
+            } else {
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.RESPONSE_HEAD,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-                    if (Type.Header.equals(reqType)) {
-                        // Header
-                        // Request header
-                        matcher = pattern.matcher(message.getRequestHeader().toString());
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            if (!matcher.find()) {
-                                notifyInverseMatchFound(
-                                        currentRecordId,
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD);
-                            }
-                        } else {
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
-                        // Response header
-                        matcher = pattern.matcher(message.getResponseHeader().toString());
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            if (!matcher.find()) {
-                                notifyInverseMatchFound(
-                                        currentRecordId,
-                                        message,
-                                        SearchMatch.Location.RESPONSE_HEAD);
-                            }
-                        } else {
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.RESPONSE_HEAD,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
+                }
+            }
+        }
+        if (Type.Request.equals(reqType) || Type.All.equals(reqType)) {
+            if (inverse) {
+                // Check for no matches in either Request Header or Body
+                if (!pattern.matcher(message.getRequestHeader().toString()).find()
+                        && !pattern.matcher(message.getRequestBody().toString()).find()) {
+                    matches.add(PendingMatch.inverse(SearchMatch.Location.REQUEST_HEAD));
+                }
+            } else {
+                // Request Header
+                matcher = pattern.matcher(message.getRequestHeader().toString());
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.REQUEST_HEAD,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-                    if (Type.Request.equals(reqType) || Type.All.equals(reqType)) {
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            // Check for no matches in either Request Header or Body
-                            if (!pattern.matcher(message.getRequestHeader().toString()).find()
-                                    && !pattern.matcher(message.getRequestBody().toString())
-                                            .find()) {
-                                notifyInverseMatchFound(
-                                        currentRecordId,
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD);
-                            }
-                        } else {
-                            // Request Header
-                            matcher = pattern.matcher(message.getRequestHeader().toString());
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.REQUEST_HEAD,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                            // Request Body
-                            matcher = pattern.matcher(message.getRequestBody().toString());
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.REQUEST_BODY,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
+                }
+                // Request Body
+                matcher = pattern.matcher(message.getRequestBody().toString());
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.REQUEST_BODY,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-                    if (Type.Response.equals(reqType) || Type.All.equals(reqType)) {
-                        if (inverse && !pcc.allMatchesProcessed()) {
-                            // Check for no matches in either Response Header or Body
-                            if (!pattern.matcher(message.getResponseHeader().toString()).find()
-                                    && !pattern.matcher(message.getResponseBody().toString())
-                                            .find()) {
-                                notifyInverseMatchFound(
-                                        currentRecordId,
-                                        message,
-                                        SearchMatch.Location.RESPONSE_HEAD);
-                            }
-                        } else {
-                            // Response header
-                            matcher = pattern.matcher(message.getResponseHeader().toString());
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.RESPONSE_HEAD,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                            // Response body
-                            matcher = pattern.matcher(message.getResponseBody().toString());
-                            while (matcher.find() && !pcc.allMatchesProcessed()) {
-                                notifyMatchFound(
-                                        currentRecordId,
-                                        matcher.group(),
-                                        message,
-                                        SearchMatch.Location.RESPONSE_BODY,
-                                        matcher.start(),
-                                        matcher.end());
-                                if (!searchAllOccurrences) {
-                                    break;
-                                }
-                            }
-                        }
+                }
+            }
+        }
+        if (Type.Response.equals(reqType) || Type.All.equals(reqType)) {
+            if (inverse) {
+                // Check for no matches in either Response Header or Body
+                if (!pattern.matcher(message.getResponseHeader().toString()).find()
+                        && !pattern.matcher(message.getResponseBody().toString()).find()) {
+                    matches.add(PendingMatch.inverse(SearchMatch.Location.RESPONSE_HEAD));
+                }
+            } else {
+                // Response header
+                matcher = pattern.matcher(message.getResponseHeader().toString());
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.RESPONSE_HEAD,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
                     }
-
-                } catch (HttpMalformedHeaderException e1) {
-                    LOGGER.error(e1.getMessage(), e1);
                 }
-                if (pcc.hasPageEnded()) {
-                    break;
+                // Response body
+                matcher = pattern.matcher(message.getResponseBody().toString());
+                while (matcher.find()) {
+                    matches.add(
+                            new PendingMatch(
+                                    matcher.group(),
+                                    SearchMatch.Location.RESPONSE_BODY,
+                                    matcher.start(),
+                                    matcher.end()));
+                    if (!searchAllOccurrences) {
+                        break;
+                    }
                 }
             }
-        } catch (DatabaseException e) {
-            LOGGER.error(e.getMessage(), e);
         }
-    }
-
-    private void notifyInverseMatchFound(
-            int currentRecordId, HttpMessage message, SearchMatch.Location location) {
-        notifyMatchFound(currentRecordId, "", message, location, 0, 0);
+        return matches;
     }
 
     private void notifyMatchFound(
@@ -482,6 +562,80 @@ public class SearchThread extends Thread {
                         new SearchMatch(message, location, start, end)));
     }
 
+    /** A match found in a message, not yet notified. */
+    private static class PendingMatch {
+
+        private final String stringFound;
+        private final SearchMatch.Location location;
+        private final int start;
+        private final int end;
+
+        PendingMatch(String stringFound, SearchMatch.Location location, int start, int end) {
+            this.stringFound = stringFound;
+            this.location = location;
+            this.start = start;
+            this.end = end;
+        }
+
+        static PendingMatch inverse(SearchMatch.Location location) {
+            return new PendingMatch("", location, 0, 0);
+        }
+
+        String getStringFound() {
+            return stringFound;
+        }
+
+        SearchMatch.Location getLocation() {
+            return location;
+        }
+
+        int getStart() {
+            return start;
+        }
+
+        int getEnd() {
+            return end;
+        }
+    }
+
+    /** The matches found in a message, along with its index in the list of messages searched. */
+    private static class RecordMatches {
+
+        private final int index;
+        private final HttpMessage message;
+        private final List<PendingMatch> matches;
+
+        RecordMatches(int index, HttpMessage message, List<PendingMatch> matches) {
+            this.index = index;
+            this.message = message;
+            this.matches = matches;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        HttpMessage getMessage() {
+            return message;
+        }
+
+        List<PendingMatch> getMatches() {
+            return matches;
+        }
+    }
+
+    private static class SearchWorkerThreadFactory
+            implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(THREAD_NAME + "-Worker-" + thread.getPoolIndex());
+            return thread;
+        }
+    }
+
     private static class PaginationConstraintsChecker {
 
         private boolean pageStarted;
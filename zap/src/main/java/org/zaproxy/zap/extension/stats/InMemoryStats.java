@@ -25,27 +25,25 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import org.zaproxy.zap.utils.Statistics;
 import org.zaproxy.zap.utils.StatsListener;
 
 public class InMemoryStats implements StatsListener {
 
-    private Statistics stats = new Statistics();
-    private Map<String, Statistics> siteStats = new HashMap<>();
+    private final Statistics stats = new Statistics();
+    private final Map<String, Statistics> siteStats = new ConcurrentHashMap<>();
 
     private Statistics getStatistics(String site) {
         if (site == null) {
             // Its a global stat
             return stats;
         }
-        if (!siteStats.containsKey(site)) {
-            synchronized (siteStats) {
-                if (!siteStats.containsKey(site)) {
-                    siteStats.put(site, new Statistics());
-                }
-            }
+        Statistics statistics = siteStats.get(site);
+        if (statistics == null) {
+            statistics = siteStats.computeIfAbsent(site, k -> new Statistics());
         }
-        return siteStats.get(site);
+        return statistics;
     }
 
     @Override
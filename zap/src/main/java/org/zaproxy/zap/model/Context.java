@@ -82,6 +82,8 @@ public class Context {
     private List<String> excludeFromRegexs = new ArrayList<>();
     private List<Pattern> includeInPatterns = new ArrayList<>();
     private List<Pattern> excludeFromPatterns = new ArrayList<>();
+    private volatile UrlRegexMatcher includeInMatcher = UrlRegexMatcher.EMPTY;
+    private volatile UrlRegexMatcher excludeFromMatcher = UrlRegexMatcher.EMPTY;
     private List<StructuralNodeModifier> dataDrivenNodes = new ArrayList<>();
 
     /** The authentication method. */
@@ -94,6 +96,7 @@ public class Context {
     private AuthorizationDetectionMethod authorizationDetectionMethod;
 
     private List<CustomPage> customPages = new ArrayList<>();
+    private volatile CustomPagesMatcher customPagesMatcher;
 
     private TechSet techSet = new TechSet(Tech.getAll());
     private boolean inScope = true;
@@ -145,12 +148,7 @@ public class Context {
             // Strip off any parameters
             url = url.substring(0, url.indexOf("?"));
         }
-        for (Pattern p : this.includeInPatterns) {
-            if (p.matcher(url).matches()) {
-                return true;
-            }
-        }
-        return false;
+        return includeInMatcher.matches(url);
     }
 
     public boolean isExcludedFromScope(SiteNode sn) {
@@ -175,12 +173,7 @@ public class Context {
             // Strip off any parameters
             url = url.substring(0, url.indexOf("?"));
         }
-        for (Pattern p : this.excludeFromPatterns) {
-            if (p.matcher(url).matches()) {
-                return true;
-            }
-        }
-        return false;
+        return excludeFromMatcher.matches(url);
     }
 
     public boolean isInContext(HistoryReference href) {
@@ -389,6 +382,7 @@ public class Context {
                 includeInPatterns.add(p);
             }
         }
+        includeInMatcher = new UrlRegexMatcher(includeInPatterns);
     }
 
     public void excludeFromContext(SiteNode sn, boolean recurse) throws Exception {
@@ -403,6 +397,18 @@ public class Context {
         validateRegex(includeRegex);
         includeInPatterns.add(Pattern.compile(includeRegex, Pattern.CASE_INSENSITIVE));
         includeInRegexs.add(includeRegex);
+        includeInMatcher = new UrlRegexMatcher(includeInPatterns);
+    }
+
+    /**
+     * Gets the matcher of the URLs included in the context.
+     *
+     * @return the matcher, never {@code null}.
+     * @since 2.17.0
+     * @see #getIncludeInContextRegexs()
+     */
+    public UrlRegexMatcher getIncludeInContextMatcher() {
+        return includeInMatcher;
     }
 
     public List<String> getExcludeFromContextRegexs() {
@@ -434,12 +440,25 @@ public class Context {
                 excludeFromRegexs.add(url);
             }
         }
+        excludeFromMatcher = new UrlRegexMatcher(excludeFromPatterns);
     }
 
     public void addExcludeFromContextRegex(String excludeRegex) {
         validateRegex(excludeRegex);
         excludeFromPatterns.add(Pattern.compile(excludeRegex, Pattern.CASE_INSENSITIVE));
         excludeFromRegexs.add(excludeRegex);
+        excludeFromMatcher = new UrlRegexMatcher(excludeFromPatterns);
+    }
+
+    /**
+     * Gets the matcher of the URLs excluded from the context.
+     *
+     * @return the matcher, never {@code null}.
+     * @since 2.17.0
+     * @see #getExcludeFromContextRegexs()
+     */
+    public UrlRegexMatcher getExcludeFromContextMatcher() {
+        return excludeFromMatcher;
     }
 
     public void save() {
@@ -844,10 +863,8 @@ public class Context {
     }
 
     private boolean isCustomPage(HttpMessage msg, CustomPage.Type cpType, boolean fallback) {
-        for (CustomPage customPage : customPages) {
-            if (customPage.isCustomPage(msg, cpType)) {
-                return true;
-            }
+        if (!customPages.isEmpty() && getCustomPagesMatcher().isCustomPage(msg, cpType)) {
+            return true;
         }
 
         if (fallback) {
@@ -856,6 +873,15 @@ public class Context {
         return false;
     }
 
+    private CustomPagesMatcher getCustomPagesMatcher() {
+        CustomPagesMatcher matcher = customPagesMatcher;
+        if (matcher == null || !matcher.isUpToDate(customPages)) {
+            matcher = new CustomPagesMatcher(new ArrayList<>(customPages));
+            customPagesMatcher = matcher;
+        }
+        return matcher;
+    }
+
     private boolean statusCodeFallback(HttpMessage msg, CustomPage.Type cpType) {
         switch (cpType) {
             case ERROR_500:
@@ -886,6 +912,8 @@ public class Context {
         newContext.includeInPatterns = new ArrayList<>(this.includeInPatterns);
         newContext.excludeFromRegexs = new ArrayList<>(this.excludeFromRegexs);
         newContext.excludeFromPatterns = new ArrayList<>(this.excludeFromPatterns);
+        newContext.includeInMatcher = this.includeInMatcher;
+        newContext.excludeFromMatcher = this.excludeFromMatcher;
         newContext.inScope = this.inScope;
         newContext.techSet = new TechSet(this.techSet);
         newContext.authenticationMethod = this.authenticationMethod.clone();
@@ -0,0 +1,446 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.custompages.CustomPage;
+import org.zaproxy.zap.extension.custompages.CustomPageMatcherLocation;
+import org.zaproxy.zap.extension.custompages.DefaultCustomPage;
+
+/**
+ * The custom pages of a context compiled into a matcher, to check the messages against all the
+ * custom pages at once instead of one at a time.
+ *
+ * <p>The literals matched against the response content are searched with an Aho-Corasick automaton
+ * and the regular expressions of each type combined into a single pattern (when possible), in a
+ * single pass over the content for all the types. The verdict is cached per response, as the scan
+ * rules usually check the same response for several types.
+ *
+ * <p>The matcher is created from a snapshot of the custom pages, {@link #isUpToDate(List)} should
+ * be used to know if it needs to be recreated. Custom pages other than {@link DefaultCustomPage}
+ * are checked with {@link CustomPage#isCustomPage(HttpMessage, CustomPage.Type)}, as usual.
+ */
+class CustomPagesMatcher {
+
+    static final int MAX_CACHED_VERDICTS = 1000;
+
+    private static final Logger LOGGER = LogManager.getLogger(CustomPagesMatcher.class);
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private final List<PageState> states;
+    private final List<CustomPage> otherPages;
+    private final Map<CustomPage.Type, Set<String>> urlLiterals;
+    private final Map<CustomPage.Type, List<Pattern>> urlPatterns;
+    private final LiteralsMatcher contentLiterals;
+    private final Map<CustomPage.Type, List<Pattern>> contentPatterns;
+    private final int contentTypes;
+
+    private final ReentrantLock verdictsLock;
+    private final Map<String, Integer> contentVerdicts;
+
+    /**
+     * Constructs a {@code CustomPagesMatcher} with the given custom pages.
+     *
+     * @param pages the custom pages.
+     */
+    CustomPagesMatcher(List<CustomPage> pages) {
+        states = new ArrayList<>(pages.size());
+        otherPages = new ArrayList<>();
+        urlLiterals = new EnumMap<>(CustomPage.Type.class);
+
+        Map<CustomPage.Type, List<String>> urlRegexes = new EnumMap<>(CustomPage.Type.class);
+        Map<CustomPage.Type, List<String>> contentRegexes = new EnumMap<>(CustomPage.Type.class);
+        LiteralsMatcher.Builder literalsBuilder = new LiteralsMatcher.Builder();
+        int types = 0;
+
+        for (CustomPage page : pages) {
+            PageState state = new PageState(page);
+            states.add(state);
+
+            if (!(page instanceof DefaultCustomPage)
+                    || state.location == null
+                    || state.type == null
+                    || state.matcher == null) {
+                otherPages.add(page);
+                continue;
+            }
+            if (!state.enabled) {
+                continue;
+            }
+
+            if (CustomPageMatcherLocation.URL.equals(state.location)) {
+                if (state.regex) {
+                    urlRegexes
+                            .computeIfAbsent(state.type, k -> new ArrayList<>())
+                            .add(state.matcher);
+                } else {
+                    urlLiterals
+                            .computeIfAbsent(state.type, k -> new HashSet<>())
+                            .add(state.matcher);
+                }
+            } else if (CustomPageMatcherLocation.RESPONSE_CONTENT.equals(state.location)) {
+                if (state.regex) {
+                    contentRegexes
+                            .computeIfAbsent(state.type, k -> new ArrayList<>())
+                            .add(state.matcher);
+                } else {
+                    literalsBuilder.add(state.matcher, state.type);
+                }
+                types |= mask(state.type);
+            } else {
+                otherPages.add(page);
+            }
+        }
+
+        urlPatterns = compile(urlRegexes);
+        contentPatterns = compile(contentRegexes);
+        contentLiterals = literalsBuilder.build();
+        contentTypes = types;
+
+        verdictsLock = new ReentrantLock();
+        contentVerdicts = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Tells whether or not this matcher is up to date with the given custom pages, that is, they
+     * are the same custom pages, with the same state, used to create the matcher.
+     *
+     * @param pages the custom pages.
+     * @return {@code true} if up to date, {@code false} otherwise.
+     */
+    boolean isUpToDate(List<CustomPage> pages) {
+        if (pages.size() != states.size()) {
+            return false;
+        }
+        for (int i = 0; i < states.size(); i++) {
+            if (!states.get(i).isSame(pages.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tells whether or not the given message is a custom page of the given type.
+     *
+     * @param msg the message to check.
+     * @param type the type of the custom page.
+     * @return {@code true} if the message is a custom page of the given type, {@code false}
+     *     otherwise.
+     */
+    boolean isCustomPage(HttpMessage msg, CustomPage.Type type) {
+        if (!urlLiterals.isEmpty() || !urlPatterns.isEmpty()) {
+            String uri = msg.getRequestHeader().getURI().toString();
+            Set<String> literals = urlLiterals.get(type);
+            if (literals != null && literals.contains(uri)) {
+                return true;
+            }
+            if (find(urlPatterns.get(type), uri)) {
+                return true;
+            }
+        }
+
+        if ((contentTypes & mask(type)) != 0 && (getContentVerdict(msg) & mask(type)) != 0) {
+            return true;
+        }
+
+        for (CustomPage page : otherPages) {
+            if (page.isCustomPage(msg, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of verdicts cached.
+     *
+     * @return the number of verdicts.
+     */
+    int getCachedVerdictsCount() {
+        verdictsLock.lock();
+        try {
+            return contentVerdicts.size();
+        } finally {
+            verdictsLock.unlock();
+        }
+    }
+
+    private int getContentVerdict(HttpMessage msg) {
+        String key = createKey(msg);
+        verdictsLock.lock();
+        try {
+            Integer verdict = contentVerdicts.get(key);
+            if (verdict != null) {
+                return verdict;
+            }
+        } finally {
+            verdictsLock.unlock();
+        }
+
+        String content = msg.getResponseHeader().toString() + msg.getResponseBody().toString();
+        int verdict = contentLiterals != null ? contentLiterals.match(content) : 0;
+        for (Map.Entry<CustomPage.Type, List<Pattern>> entry : contentPatterns.entrySet()) {
+            int typeMask = mask(entry.getKey());
+            if ((verdict & typeMask) == 0 && find(entry.getValue(), content)) {
+                verdict |= typeMask;
+            }
+        }
+
+        verdictsLock.lock();
+        try {
+            contentVerdicts.put(key, verdict);
+            if (contentVerdicts.size() > MAX_CACHED_VERDICTS) {
+                contentVerdicts.remove(contentVerdicts.keySet().iterator().next());
+            }
+        } finally {
+            verdictsLock.unlock();
+        }
+        return verdict;
+    }
+
+    private static String createKey(HttpMessage msg) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update(msg.getResponseHeader().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(msg.getResponseBody().getBytes());
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static boolean find(List<Pattern> patterns, String value) {
+        if (patterns == null) {
+            return false;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(value).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int mask(CustomPage.Type type) {
+        return 1 << type.ordinal();
+    }
+
+    /**
+     * Compiles the regular expressions of each type, combining them into a single pattern if
+     * possible, that is, none uses back references (the groups are renumbered when combined).
+     *
+     * <p>The invalid regular expressions are ignored.
+     */
+    private static Map<CustomPage.Type, List<Pattern>> compile(
+            Map<CustomPage.Type, List<String>> regexes) {
+        Map<CustomPage.Type, List<Pattern>> patterns = new EnumMap<>(CustomPage.Type.class);
+        for (Map.Entry<CustomPage.Type, List<String>> entry : regexes.entrySet()) {
+            List<Pattern> compiled = new ArrayList<>();
+            List<String> valid = new ArrayList<>();
+            boolean combinable = true;
+            for (String regex : entry.getValue()) {
+                try {
+                    compiled.add(Pattern.compile(regex));
+                    valid.add(regex);
+                    combinable &= !BACK_REFERENCE.matcher(regex).find();
+                } catch (PatternSyntaxException e) {
+                    LOGGER.warn("Ignoring invalid custom page regex: {}", regex);
+                }
+            }
+            if (compiled.isEmpty()) {
+                continue;
+            }
+            if (combinable && compiled.size() > 1) {
+                StringBuilder combined = new StringBuilder();
+                for (String regex : valid) {
+                    if (combined.length() > 0) {
+                        combined.append('|');
+                    }
+                    combined.append("(?:").append(regex).append(')');
+                }
+                try {
+                    compiled = List.of(Pattern.compile(combined.toString()));
+                } catch (PatternSyntaxException e) {
+                    LOGGER.debug("Failed to combine the custom page regexes: {}", e.getMessage());
+                }
+            }
+            patterns.put(entry.getKey(), compiled);
+        }
+        return patterns;
+    }
+
+    /** The state of a custom page, when the matcher was created. */
+    private static class PageState {
+
+        private final CustomPage page;
+        private final boolean enabled;
+        private final CustomPage.Type type;
+        private final CustomPageMatcherLocation location;
+        private final boolean regex;
+        private final String matcher;
+
+        PageState(CustomPage page) {
+            this.page = page;
+            this.enabled = page.isEnabled();
+            this.type = page.getType();
+            this.location = page.getPageMatcherLocation();
+            this.regex = page.isRegex();
+            this.matcher = page.getPageMatcher();
+        }
+
+        boolean isSame(CustomPage other) {
+            return page == other
+                    && enabled == other.isEnabled()
+                    && type == other.getType()
+                    && location == other.getPageMatcherLocation()
+                    && regex == other.isRegex()
+                    && Objects.equals(matcher, other.getPageMatcher());
+        }
+    }
+
+    /**
+     * An Aho-Corasick automaton, to find several literals in a single pass over the content.
+     *
+     * <p>Each literal has the mask of the types of the custom pages that contain it.
+     */
+    private static class LiteralsMatcher {
+
+        private final Node root;
+        private final int allTypes;
+
+        private LiteralsMatcher(Node root, int allTypes) {
+            this.root = root;
+            this.allTypes = allTypes;
+        }
+
+        /**
+         * Gets the types of the literals contained in the given content.
+         *
+         * @param content the content.
+         * @return the mask of the types.
+         */
+        int match(String content) {
+            int types = root.types;
+            Node state = root;
+            for (int i = 0; i < content.length() && types != allTypes; i++) {
+                char c = content.charAt(i);
+                Node next;
+                while ((next = state.next(c)) == null && state != root) {
+                    state = state.fail;
+                }
+                state = next != null ? next : root;
+                types |= state.types;
+            }
+            return types;
+        }
+
+        private static class Node {
+
+            private Map<Character, Node> children = new TreeMap<>();
+            private char[] keys;
+            private Node[] nodes;
+            private Node fail;
+            private int types;
+
+            Node next(char c) {
+                int idx = Arrays.binarySearch(keys, c);
+                return idx >= 0 ? nodes[idx] : null;
+            }
+
+            void freeze() {
+                keys = new char[children.size()];
+                nodes = new Node[children.size()];
+                int i = 0;
+                for (Map.Entry<Character, Node> entry : children.entrySet()) {
+                    keys[i] = entry.getKey();
+                    nodes[i] = entry.getValue();
+                    i++;
+                }
+            }
+        }
+
+        private static class Builder {
+
+            private final Node root = new Node();
+            private int allTypes;
+
+            void add(String literal, CustomPage.Type type) {
+                Node node = root;
+                for (int i = 0; i < literal.length(); i++) {
+                    node = node.children.computeIfAbsent(literal.charAt(i), k -> new Node());
+                }
+                node.types |= mask(type);
+                allTypes |= mask(type);
+            }
+
+            LiteralsMatcher build() {
+                if (allTypes == 0) {
+                    return null;
+                }
+
+                Deque<Node> queue = new ArrayDeque<>();
+                root.freeze();
+                for (Node child : root.nodes) {
+                    child.fail = root;
+                    child.types |= root.types;
+                    queue.add(child);
+                }
+                while (!queue.isEmpty()) {
+                    Node node = queue.poll();
+                    node.freeze();
+                    for (int i = 0; i < node.keys.length; i++) {
+                        char c = node.keys[i];
+                        Node child = node.nodes[i];
+                        Node fail = node.fail;
+                        Node target;
+                        while ((target = fail.next(c)) == null && fail != root) {
+                            fail = fail.fail;
+                        }
+                        child.fail = target != null ? target : root;
+                        child.types |= child.fail.types;
+                        queue.add(child);
+                    }
+                    node.children = null;
+                }
+                root.children = null;
+                return new LiteralsMatcher(root, allTypes);
+            }
+        }
+    }
+}
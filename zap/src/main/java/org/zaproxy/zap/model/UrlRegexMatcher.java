@@ -0,0 +1,181 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Matches URLs against a set of regular expressions, telling whether or not the URL fully matches
+ * any of them.
+ *
+ * <p>The regular expressions are indexed by their literal prefix (for example, {@code
+ * https://example.com/} for {@code https://example\.com/.*}) in a trie, so a URL is only tested
+ * against the regular expressions whose prefix it starts with, and those without a literal prefix.
+ * The results are also cached per URL.
+ *
+ * <p>Instances are immutable and thread-safe, a new instance should be created when the regular
+ * expressions change.
+ *
+ * @since 2.17.0
+ */
+public final class UrlRegexMatcher {
+
+    /** A matcher without regular expressions, it does not match any URL. */
+    public static final UrlRegexMatcher EMPTY = new UrlRegexMatcher(Collections.emptyList());
+
+    private static final int MAX_CACHED_RESULTS = 10_000;
+
+    private static final String META_CHARS = "[](){}.*+?^$|";
+    private static final String QUANTIFIERS = "*?{";
+
+    private final List<Pattern> patterns;
+    private final Node root;
+    private final Map<String, Boolean> results;
+
+    /**
+     * Constructs an {@code UrlRegexMatcher} with the given patterns.
+     *
+     * @param patterns the patterns to match the URLs against.
+     */
+    public UrlRegexMatcher(Collection<Pattern> patterns) {
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+        this.root = new Node();
+        this.results = new ConcurrentHashMap<>();
+
+        for (Pattern pattern : this.patterns) {
+            Node node = root;
+            for (char c : getLiteralPrefix(pattern).toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+            }
+            node.patterns.add(pattern);
+        }
+    }
+
+    /**
+     * Gets the patterns of the matcher.
+     *
+     * @return an unmodifiable list with the patterns, never {@code null}.
+     */
+    public List<Pattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Tells whether or not the given URL fully matches any of the patterns.
+     *
+     * @param url the URL to match.
+     * @return {@code true} if the URL matches any of the patterns, {@code false} otherwise.
+     */
+    public boolean matches(String url) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+
+        Boolean result = results.get(url);
+        if (result == null) {
+            result = matchesImpl(url);
+            if (results.size() >= MAX_CACHED_RESULTS) {
+                results.clear();
+            }
+            results.put(url, result);
+        }
+        return result;
+    }
+
+    private boolean matchesImpl(String url) {
+        Node node = root;
+        int i = 0;
+        while (node != null) {
+            for (Pattern pattern : node.patterns) {
+                if (pattern.matcher(url).matches()) {
+                    return true;
+                }
+            }
+            if (i >= url.length()) {
+                break;
+            }
+            node = node.children.get(Character.toLowerCase(url.charAt(i++)));
+        }
+        return false;
+    }
+
+    /**
+     * Gets the literal prefix, in lower case, that all the inputs fully matched by the given
+     * pattern start with.
+     *
+     * <p>The prefix is computed conservatively, an empty prefix is returned when it's not possible
+     * to know it, for example, if the pattern has alternations.
+     *
+     * @param pattern the pattern.
+     * @return the literal prefix, might be empty.
+     */
+    static String getLiteralPrefix(Pattern pattern) {
+        if ((pattern.flags() & (Pattern.COMMENTS | Pattern.LITERAL)) != 0) {
+            return "";
+        }
+
+        String regex = pattern.pattern();
+        if (regex.indexOf('|') != -1) {
+            return "";
+        }
+
+        StringBuilder prefix = new StringBuilder();
+        int length = regex.length();
+        int i = regex.startsWith("^") ? 1 : 0;
+        while (i < length) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= length || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    break;
+                }
+                literal = regex.charAt(i + 1);
+                next = i + 2;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            if (META_CHARS.indexOf(literal) != -1 && c != '\\'
+                    || Character.isSurrogate(literal)
+                    || (next < length && QUANTIFIERS.indexOf(regex.charAt(next)) != -1)) {
+                break;
+            }
+
+            prefix.append(Character.toLowerCase(literal));
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Pattern> patterns = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.spider;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link VisitedResources} backed by a Bloom filter, which uses a fixed amount of memory
+ * regardless of the number of resources visited.
+ *
+ * <p>The filter is sized for the expected number of resources with a false positive probability of
+ * {@value #FALSE_POSITIVE_PROBABILITY}, the probability increases once more resources are visited.
+ * A false positive leads the spider to not fetch a resource not yet visited.
+ *
+ * @deprecated (2.17.0) See the spider add-on in zap-extensions instead.
+ */
+@Deprecated
+class BloomFilterVisitedResources implements VisitedResources {
+
+    static final double FALSE_POSITIVE_PROBABILITY = 0.001;
+
+    private static final int MIN_EXPECTED_RESOURCES = 1024;
+
+    private final long numberOfBits;
+    private final int numberOfHashes;
+    private final AtomicLongArray bits;
+    private final AtomicLong size;
+
+    BloomFilterVisitedResources(int expectedResources) {
+        long expected = Math.max(MIN_EXPECTED_RESOURCES, expectedResources);
+        long optimalBits =
+                (long)
+                        Math.ceil(
+                                -expected
+                                        * Math.log(FALSE_POSITIVE_PROBABILITY)
+                                        / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        numberOfBits = words * 64L;
+        numberOfHashes =
+                Math.max(1, (int) Math.round((double) numberOfBits / expected * Math.log(2)));
+        bits = new AtomicLongArray(words);
+        size = new AtomicLong();
+    }
+
+    @Override
+    public boolean add(String resourceIdentifier) {
+        long[] fingerprint = VisitedResources.fingerprint(resourceIdentifier);
+        long hash1 = fingerprint[0];
+        long hash2 = fingerprint[1];
+
+        boolean added = false;
+        for (int i = 0; i < numberOfHashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, numberOfBits);
+            if (setBit(bit)) {
+                added = true;
+            }
+        }
+        if (added) {
+            size.incrementAndGet();
+        }
+        return added;
+    }
+
+    private boolean setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        while (true) {
+            long value = bits.get(word);
+            if ((value & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, value, value | mask)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return bits.length() * (long) Long.BYTES;
+    }
+
+    @Override
+    public double getFalsePositiveProbability() {
+        return Math.pow(
+                1 - Math.exp(-numberOfHashes * (double) size.get() / numberOfBits), numberOfHashes);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+        size.set(0);
+    }
+}
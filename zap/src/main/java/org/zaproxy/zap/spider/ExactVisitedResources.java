@@ -0,0 +1,75 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.spider;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link VisitedResources} that keeps the full resource identifiers, no false positives but
+ * memory grows with the length of the identifiers.
+ *
+ * @deprecated (2.17.0) See the spider add-on in zap-extensions instead.
+ */
+@Deprecated
+class ExactVisitedResources implements VisitedResources {
+
+    /** Approximate overhead of each entry, the map node plus the {@code String} object. */
+    private static final int ENTRY_OVERHEAD_BYTES = 80;
+
+    private final Set<String> resources;
+    private final AtomicLong memoryUsage;
+
+    ExactVisitedResources() {
+        resources = ConcurrentHashMap.newKeySet();
+        memoryUsage = new AtomicLong();
+    }
+
+    @Override
+    public boolean add(String resourceIdentifier) {
+        if (resources.add(resourceIdentifier)) {
+            memoryUsage.addAndGet(ENTRY_OVERHEAD_BYTES + resourceIdentifier.length());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long size() {
+        return resources.size();
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return memoryUsage.get();
+    }
+
+    @Override
+    public double getFalsePositiveProbability() {
+        return 0;
+    }
+
+    @Override
+    public void clear() {
+        resources.clear();
+        memoryUsage.set(0);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.spider;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link VisitedResources} that keeps 128-bit fingerprints of the resource identifiers, in
+ * primitive open addressing hash tables.
+ *
+ * <p>Each resource uses 16 bytes (plus the free slots of the tables) regardless of the length of
+ * its identifier. The resources are spread through several segments, each with its own lock, to
+ * reduce the contention between the spider tasks.
+ *
+ * @deprecated (2.17.0) See the spider add-on in zap-extensions instead.
+ */
+@Deprecated
+class FingerprintVisitedResources implements VisitedResources {
+
+    private static final int SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final int initialSegmentCapacity;
+    private final Segment[] segments;
+
+    FingerprintVisitedResources(int expectedResources) {
+        initialSegmentCapacity =
+                Math.max(
+                        MIN_SEGMENT_CAPACITY,
+                        Integer.highestOneBit(Math.max(1, expectedResources / SEGMENTS) * 2));
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(initialSegmentCapacity);
+        }
+    }
+
+    @Override
+    public boolean add(String resourceIdentifier) {
+        long[] fingerprint = VisitedResources.fingerprint(resourceIdentifier);
+        long high = fingerprint[0];
+        long low = fingerprint[1];
+        if (high == 0 && low == 0) {
+            // Zero marks the free slots.
+            low = 1;
+        }
+        return segments[(int) (high >>> 58)].add(high, low);
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        long memory = 0;
+        for (Segment segment : segments) {
+            memory += segment.getMemoryUsage();
+        }
+        return memory;
+    }
+
+    @Override
+    public double getFalsePositiveProbability() {
+        // Birthday bound of a collision between any two 128-bit fingerprints.
+        double size = size();
+        return Math.min(1, size * size / Math.pow(2, 129));
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear(initialSegmentCapacity);
+        }
+    }
+
+    private static class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** The fingerprints, two {@code long}s per slot. */
+        private long[] table;
+
+        private int size;
+
+        Segment(int capacity) {
+            table = new long[capacity * 2];
+        }
+
+        boolean add(long high, long low) {
+            lock.lock();
+            try {
+                if (!insert(table, high, low)) {
+                    return false;
+                }
+                size++;
+                if (size * 2 > table.length / 2) {
+                    resize();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static boolean insert(long[] table, long high, long low) {
+            int mask = table.length / 2 - 1;
+            int slot = (int) (low ^ (low >>> 32)) & mask;
+            while (true) {
+                int idx = slot * 2;
+                if (table[idx] == 0 && table[idx + 1] == 0) {
+                    table[idx] = high;
+                    table[idx + 1] = low;
+                    return true;
+                }
+                if (table[idx] == high && table[idx + 1] == low) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void resize() {
+            long[] newTable = new long[table.length * 2];
+            for (int i = 0; i < table.length; i += 2) {
+                if (table[i] != 0 || table[i + 1] != 0) {
+                    insert(newTable, table[i], table[i + 1]);
+                }
+            }
+            table = newTable;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getMemoryUsage() {
+            lock.lock();
+            try {
+                return table.length * (long) Long.BYTES;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear(int capacity) {
+            lock.lock();
+            try {
+                table = new long[capacity * 2];
+                size = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
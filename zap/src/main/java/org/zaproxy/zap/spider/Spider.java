@@ -42,6 +42,7 @@ import org.parosproxy.paros.network.HttpRequestHeader;
 import org.parosproxy.paros.network.HttpSender;
 import org.zaproxy.zap.model.Context;
 import org.zaproxy.zap.users.User;
+import org.zaproxy.zap.utils.VirtualThreads;
 
 /**
  * The Class Spider.
@@ -519,10 +520,17 @@ public class Spider {
         this.initialized = false;
 
         // Initialize the thread pool
-        this.threadPool =
-                Executors.newFixedThreadPool(
-                        spiderParam.getThreadCount(),
-                        new SpiderThreadFactory("ZAP-SpiderThreadPool-" + id + "-thread-"));
+        String threadsNamePrefix = "ZAP-SpiderThreadPool-" + id + "-thread-";
+        if (spiderParam.isUseVirtualThreads() && VirtualThreads.isSupported()) {
+            this.threadPool =
+                    VirtualThreads.newBoundedExecutor(
+                            threadsNamePrefix, spiderParam.getThreadCount());
+        } else {
+            this.threadPool =
+                    Executors.newFixedThreadPool(
+                            spiderParam.getThreadCount(),
+                            new SpiderThreadFactory(threadsNamePrefix));
+        }
 
         // Initialize the HTTP sender
         httpSender = new HttpSender(HttpSender.SPIDER_INITIATOR);
@@ -590,7 +598,9 @@ public class Spider {
                 log.warn(
                         "Failed to await for all spider threads to stop in the given time (2s)...");
                 for (Runnable task : this.threadPool.shutdownNow()) {
-                    ((SpiderTask) task).cleanup();
+                    if (task instanceof SpiderTask) {
+                        ((SpiderTask) task).cleanup();
+                    }
                 }
             }
         } catch (InterruptedException ignore) {
@@ -20,10 +20,8 @@
 package org.zaproxy.zap.spider;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 import net.htmlparser.jericho.Config;
 import org.apache.commons.httpclient.URI;
@@ -31,6 +29,7 @@ import org.apache.commons.httpclient.URIException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.network.HttpHeaderField;
+import org.zaproxy.zap.utils.Stats;
 
 /**
  * The SpiderController is used to manage the crawling process and interacts directly with the
@@ -60,8 +59,8 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
     /** The spider. */
     private Spider spider;
 
-    /** The resources visited as a set. */
-    private Set<String> visitedResources;
+    /** The resources visited. */
+    private VisitedResources visitedResources;
 
     /** The Constant log. */
     private static final Logger log = LogManager.getLogger(SpiderController.class);
@@ -78,7 +77,10 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
         this.spider = spider;
         this.fetchFilters = new LinkedList<>();
         this.parseFilters = new LinkedList<>();
-        this.visitedResources = new HashSet<>();
+        this.visitedResources =
+                VisitedResources.create(
+                        spider.getSpiderParam().getVisitedResources(),
+                        spider.getSpiderParam().getExpectedResources());
 
         prepareDefaultParsers();
         for (org.zaproxy.zap.spider.parser.SpiderParser parser : customParsers) {
@@ -172,13 +174,9 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
         } catch (URIException e) {
             return;
         }
-        synchronized (visitedResources) {
-            if (visitedResources.contains(resourceIdentifier)) {
-                log.debug("URI already visited: {}", uri);
-                return;
-            } else {
-                visitedResources.add(resourceIdentifier);
-            }
+        if (!visitedResources.add(resourceIdentifier)) {
+            log.debug("URI already visited: {}", uri);
+            return;
         }
         // Create and submit the new task
         SpiderTask task = new SpiderTask(spider, resourceFound, uri);
@@ -247,6 +245,7 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
 
     /** Clears the previous process. */
     public void reset() {
+        updateVisitedResourcesStats();
         visitedResources.clear();
 
         for (org.zaproxy.zap.spider.parser.SpiderParser parser : parsers) {
@@ -254,6 +253,18 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
         }
     }
 
+    private void updateVisitedResourcesStats() {
+        long size = visitedResources.size();
+        if (size == 0) {
+            return;
+        }
+        Stats.setHighwaterMark("stats.spider.visited.resources", size);
+        Stats.setHighwaterMark("stats.spider.visited.memory", visitedResources.getMemoryUsage());
+        Stats.setHighwaterMark(
+                "stats.spider.visited.fpp.ppm",
+                Math.round(visitedResources.getFalsePositiveProbability() * 1_000_000));
+    }
+
     /**
      * Builds a canonical identifier for found resources considering the method, URI, headers, and
      * body.
@@ -299,13 +310,9 @@ public class SpiderController implements org.zaproxy.zap.spider.parser.SpiderPar
         } catch (URIException e) {
             return;
         }
-        synchronized (visitedResources) {
-            if (visitedResources.contains(resourceIdentifier)) {
-                log.debug("Resource already visited: {}", resourceIdentifier.trim());
-                return;
-            } else {
-                visitedResources.add(resourceIdentifier);
-            }
+        if (!visitedResources.add(resourceIdentifier)) {
+            log.debug("Resource already visited: {}", resourceIdentifier.trim());
+            return;
         }
 
         // Check if any of the filters disallows this uri
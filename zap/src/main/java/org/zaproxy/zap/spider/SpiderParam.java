@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -130,6 +131,22 @@ public class SpiderParam extends AbstractParam {
      */
     private static final int DEFAULT_MAX_PARSE_SIZE_BYTES = 2621440; // 2.5 MiB
 
+    /** Configuration key to write/read the {@link #visitedResources} option. */
+    private static final String SPIDER_VISITED_RESOURCES = "spider.visitedResources";
+
+    /** Configuration key to write/read the {@link #expectedResources} property. */
+    private static final String SPIDER_EXPECTED_RESOURCES = "spider.expectedResources";
+
+    /**
+     * Default expected number of resources visited.
+     *
+     * @see #expectedResources
+     */
+    private static final int DEFAULT_EXPECTED_RESOURCES = 100_000;
+
+    /** Configuration key to write/read the {@link #useVirtualThreads} flag. */
+    private static final String SPIDER_USE_VIRTUAL_THREADS = "spider.useVirtualThreads";
+
     /** Configuration key to write/read the {@link #irrelevantUrlParameters} property. */
     private static final String SPIDER_IRRELEVANT_URL_PARAMETERS = "spider.irrelevantUrlParameters";
 
@@ -164,6 +181,28 @@ public class SpiderParam extends AbstractParam {
         }
     }
 
+    /**
+     * This option is used to define how the resources visited are kept, to not fetch the same
+     * resource more than once.
+     *
+     * @since 2.17.0
+     */
+    public enum VisitedResourcesOption {
+        /** The full identifiers of the resources are kept, no false positives. */
+        EXACT,
+        /**
+         * 128-bit fingerprints of the identifiers are kept, with a fixed size per resource and a
+         * negligible chance of false positives.
+         */
+        FINGERPRINT,
+        /**
+         * The resources are kept in a Bloom filter, with a fixed size for the expected number of
+         * resources and a low chance of false positives, which increases once more resources are
+         * visited.
+         */
+        BLOOM_FILTER
+    }
+
     /** The max depth of the crawling. */
     private int maxDepth = 5;
 
@@ -253,6 +292,36 @@ public class SpiderParam extends AbstractParam {
      */
     private boolean acceptCookies = true;
 
+    /**
+     * Flag that indicates if the spider tasks should run in virtual threads, if supported by the
+     * Java runtime.
+     *
+     * <p>Default value is {@code false}.
+     *
+     * @see #SPIDER_USE_VIRTUAL_THREADS
+     * @see #isUseVirtualThreads()
+     * @see #setUseVirtualThreads(boolean)
+     */
+    private boolean useVirtualThreads;
+
+    /**
+     * How the resources visited are kept.
+     *
+     * <p>Default value is {@link VisitedResourcesOption#EXACT}.
+     *
+     * @see #SPIDER_VISITED_RESOURCES
+     */
+    private VisitedResourcesOption visitedResources = VisitedResourcesOption.EXACT;
+
+    /**
+     * The expected number of resources visited, used to size the structures that keep them.
+     *
+     * <p>Default value is {@value #DEFAULT_EXPECTED_RESOURCES}.
+     *
+     * @see #SPIDER_EXPECTED_RESOURCES
+     */
+    private int expectedResources = DEFAULT_EXPECTED_RESOURCES;
+
     /**
      * The maximum size, in bytes, that a response might have to be parsed.
      *
@@ -340,6 +409,22 @@ public class SpiderParam extends AbstractParam {
 
         this.acceptCookies = getBoolean(SPIDER_ACCEPT_COOKIES, true);
 
+        this.useVirtualThreads = getBoolean(SPIDER_USE_VIRTUAL_THREADS, false);
+
+        try {
+            this.visitedResources =
+                    VisitedResourcesOption.valueOf(
+                            getString(
+                                    SPIDER_VISITED_RESOURCES,
+                                    VisitedResourcesOption.EXACT.toString()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown visited resources option, using the default.");
+            this.visitedResources = VisitedResourcesOption.EXACT;
+        }
+
+        this.expectedResources =
+                Math.max(1, getInt(SPIDER_EXPECTED_RESOURCES, DEFAULT_EXPECTED_RESOURCES));
+
         this.maxParseSizeBytes = getInt(SPIDER_MAX_PARSE_SIZE_BYTES, DEFAULT_MAX_PARSE_SIZE_BYTES);
 
         this.irrelevantUrlParameters =
@@ -909,6 +994,92 @@ public class SpiderParam extends AbstractParam {
         getConfig().setProperty(SPIDER_SENDER_REFERER_HEADER, this.sendRefererHeader);
     }
 
+    /**
+     * Tells whether or not the spider tasks should run in virtual threads.
+     *
+     * <p>The virtual threads are used only if supported by the Java runtime, the number of tasks
+     * running concurrently is still limited by the {@link #getThreadCount() thread count}.
+     *
+     * @return {@code true} if the spider tasks should run in virtual threads, {@code false}
+     *     otherwise.
+     * @since 2.17.0
+     */
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * Sets whether or not the spider tasks should run in virtual threads.
+     *
+     * @param useVirtualThreads {@code true} if the spider tasks should run in virtual threads,
+     *     {@code false} otherwise.
+     * @since 2.17.0
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+        getConfig().setProperty(SPIDER_USE_VIRTUAL_THREADS, useVirtualThreads);
+    }
+
+    /**
+     * Gets how the resources visited are kept.
+     *
+     * @return how the resources visited are kept.
+     * @since 2.17.0
+     */
+    public VisitedResourcesOption getVisitedResources() {
+        return visitedResources;
+    }
+
+    /**
+     * Sets how the resources visited are kept.
+     *
+     * @param visitedResources how the resources visited are kept.
+     * @throws NullPointerException if the given option is {@code null}.
+     * @since 2.17.0
+     */
+    public void setVisitedResources(VisitedResourcesOption visitedResources) {
+        this.visitedResources = Objects.requireNonNull(visitedResources);
+        getConfig().setProperty(SPIDER_VISITED_RESOURCES, visitedResources.toString());
+    }
+
+    /**
+     * Sets how the resources visited are kept.
+     *
+     * <p>The provided parameter is, in this case, a String which is cast to the proper value.
+     * Possible values are: {@code "EXACT"}, {@code "FINGERPRINT"}, {@code "BLOOM_FILTER"}.
+     *
+     * @param visitedResources how the resources visited are kept.
+     * @throws IllegalArgumentException if the given parameter is not a value of {@code
+     *     VisitedResourcesOption}.
+     * @throws NullPointerException if the given parameter is {@code null}.
+     * @since 2.17.0
+     */
+    public void setVisitedResources(String visitedResources) {
+        setVisitedResources(VisitedResourcesOption.valueOf(visitedResources));
+    }
+
+    /**
+     * Gets the expected number of resources visited, used to size the structures that keep them.
+     *
+     * @return the expected number of resources.
+     * @since 2.17.0
+     * @see #getVisitedResources()
+     */
+    public int getExpectedResources() {
+        return expectedResources;
+    }
+
+    /**
+     * Sets the expected number of resources visited, used to size the structures that keep them.
+     *
+     * @param expectedResources the expected number of resources, at least one.
+     * @since 2.17.0
+     */
+    public void setExpectedResources(int expectedResources) {
+        this.expectedResources = Math.max(1, expectedResources);
+        getConfig().setProperty(SPIDER_EXPECTED_RESOURCES, this.expectedResources);
+    }
+
     /**
      * Returns the maximum duration in minutes that the spider should run for. Zero means no limit.
      *
@@ -0,0 +1,96 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.spider;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.digest.MurmurHash3;
+
+/**
+ * The resources visited by the spider, used to not fetch the same resource more than once.
+ *
+ * <p>Implementations must be thread-safe, the resources are added concurrently by the spider tasks.
+ *
+ * @deprecated (2.17.0) See the spider add-on in zap-extensions instead.
+ */
+@Deprecated
+interface VisitedResources {
+
+    /**
+     * Adds the given resource, if not already visited.
+     *
+     * @param resourceIdentifier the canonical identifier of the resource.
+     * @return {@code true} if the resource was not visited, {@code false} otherwise.
+     */
+    boolean add(String resourceIdentifier);
+
+    /**
+     * Gets the number of resources visited.
+     *
+     * @return the number of resources.
+     */
+    long size();
+
+    /**
+     * Gets the (estimated) memory used to keep the visited resources, in bytes.
+     *
+     * @return the number of bytes used.
+     */
+    long getMemoryUsage();
+
+    /**
+     * Gets the (estimated) probability of a resource not visited being reported as visited.
+     *
+     * @return the probability, between {@code 0} and {@code 1}.
+     */
+    double getFalsePositiveProbability();
+
+    /** Removes all the visited resources. */
+    void clear();
+
+    /**
+     * Creates the visited resources for the given option.
+     *
+     * @param option the option that indicates how the resources are kept.
+     * @param expectedResources the expected number of resources, used to size the structures.
+     * @return the visited resources.
+     */
+    static VisitedResources create(
+            SpiderParam.VisitedResourcesOption option, int expectedResources) {
+        switch (option) {
+            case FINGERPRINT:
+                return new FingerprintVisitedResources(expectedResources);
+            case BLOOM_FILTER:
+                return new BloomFilterVisitedResources(expectedResources);
+            case EXACT:
+            default:
+                return new ExactVisitedResources();
+        }
+    }
+
+    /**
+     * Creates a 128-bit fingerprint of the given resource identifier.
+     *
+     * @param resourceIdentifier the resource identifier.
+     * @return the fingerprint, two {@code long}s.
+     */
+    static long[] fingerprint(String resourceIdentifier) {
+        return MurmurHash3.hash128x64(resourceIdentifier.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -39,7 +39,9 @@ import edu.umass.cs.benchlab.har.HarRequest;
 import edu.umass.cs.benchlab.har.HarResponse;
 import edu.umass.cs.benchlab.har.tools.HarFileWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.HttpCookie;
 import java.util.Base64;
 import java.util.Date;
@@ -48,7 +50,9 @@ import java.util.Locale;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.codehaus.jackson.JsonEncoding;
 import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.JsonParser;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.network.HtmlParameter;
@@ -117,6 +121,82 @@ public final class HarUtils {
         return baos.toByteArray();
     }
 
+    /**
+     * Creates a writer that writes the given HAR log to the given output stream, with the entries
+     * written as they are added instead of kept in memory.
+     *
+     * <p>The entries already in the HAR log are ignored. The output stream is not closed when the
+     * writer is closed.
+     *
+     * @param harLog the HAR log, to obtain the version, creator and custom fields.
+     * @param os the output stream where to write the HAR log.
+     * @return the writer, that should be closed to complete the HAR log.
+     * @throws IOException if an error occurred while writing the start of the HAR log.
+     * @since 2.17.0
+     */
+    public static HarLogWriter createHarLogWriter(HarLog harLog, OutputStream os)
+            throws IOException {
+        return new HarLogWriter(harLog, os);
+    }
+
+    /**
+     * A writer of a HAR log that writes the entries as they are added.
+     *
+     * @since 2.17.0
+     * @see #createHarLogWriter(HarLog, OutputStream)
+     */
+    public static final class HarLogWriter implements Closeable {
+
+        private final HarLog harLog;
+        private final JsonGenerator generator;
+
+        private HarLogWriter(HarLog harLog, OutputStream os) throws IOException {
+            this.harLog = harLog;
+            this.generator = new JsonFactory().createJsonGenerator(os, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("log");
+            generator.writeStringField("version", harLog.getVersion());
+            harLog.getCreator().writeHar(generator);
+            if (harLog.getBrowser() != null) {
+                harLog.getBrowser().writeHar(generator);
+            }
+            if (harLog.getPages() != null) {
+                harLog.getPages().writeHar(generator);
+            }
+            generator.writeArrayFieldStart("entries");
+        }
+
+        /**
+         * Writes the given entry.
+         *
+         * @param entry the entry to write.
+         * @throws IOException if an error occurred while writing the entry.
+         */
+        public void writeEntry(HarEntry entry) throws IOException {
+            entry.writeHar(generator);
+        }
+
+        /**
+         * Writes the end of the HAR log and flushes the output stream.
+         *
+         * @throws IOException if an error occurred while writing the end of the HAR log.
+         */
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            if (harLog.getComment() != null) {
+                generator.writeStringField("comment", harLog.getComment());
+            }
+            harLog.getCustomFields().writeHar(generator);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
     public static HttpMessage createHttpMessage(String jsonHarRequest) throws IOException {
         return createHttpMessage(createHarRequest(jsonHarRequest));
     }
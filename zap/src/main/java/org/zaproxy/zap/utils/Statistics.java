@@ -20,54 +20,88 @@
 package org.zaproxy.zap.utils;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * A set of statistics, counters and water marks, identified by a key.
+ *
+ * <p>The counters are backed by {@link LongAdder}s, the increments and decrements of existing
+ * counters do not lock nor allocate, which keeps them cheap even when done concurrently by many
+ * threads. The water marks are kept apart, in {@link AtomicLong}s updated atomically, so that they
+ * do not interfere with the counters.
+ */
 public class Statistics {
 
-    private Map<String, Long> stats = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stats = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> waterMarks = new ConcurrentHashMap<>();
+
+    private LongAdder getCounter(String key) {
+        LongAdder counter = stats.get(key);
+        if (counter == null) {
+            counter = stats.computeIfAbsent(key, k -> new LongAdder());
+        }
+        return counter;
+    }
 
     public void incCounter(String key) {
-        incCounter(key, 1);
+        getCounter(key).increment();
     }
 
     public void incCounter(String key, long inc) {
-        stats.compute(key, (k, v) -> (v != null ? v : 0) + inc);
+        getCounter(key).add(inc);
     }
 
     public void decCounter(String key) {
-        decCounter(key, 1);
+        getCounter(key).decrement();
     }
 
     public void decCounter(String key, long dec) {
-        stats.compute(key, (k, v) -> (v != null ? v : 0) - dec);
+        getCounter(key).add(-dec);
     }
 
     public void setHighwaterMark(String key, long value) {
-        Long curValue = stats.get(key);
-        if (curValue == null || value > curValue) {
-            stats.put(key, value + 1);
-        }
+        getWaterMark(key, value).accumulateAndGet(value, (cur, v) -> v > cur ? v + 1 : cur);
     }
 
     public void setLowwaterMark(String key, long value) {
-        Long curValue = stats.get(key);
-        if (curValue == null || value < curValue) {
-            stats.put(key, value + 1);
+        getWaterMark(key, value).accumulateAndGet(value, (cur, v) -> v < cur ? v + 1 : cur);
+    }
+
+    private AtomicLong getWaterMark(String key, long initialValue) {
+        AtomicLong waterMark = waterMarks.get(key);
+        if (waterMark == null) {
+            waterMark = waterMarks.computeIfAbsent(key, k -> new AtomicLong(initialValue + 1));
         }
+        return waterMark;
     }
 
     public Long getStat(String key) {
-        return stats.get(key);
+        LongAdder counter = stats.get(key);
+        if (counter != null) {
+            return counter.sum();
+        }
+        AtomicLong waterMark = waterMarks.get(key);
+        if (waterMark != null) {
+            return waterMark.get();
+        }
+        return null;
     }
 
     public Map<String, Long> getStats(String keyPrefix) {
         Map<String, Long> map = new HashMap<>();
-        for (Entry<String, Long> stat : stats.entrySet()) {
+        for (Entry<String, AtomicLong> waterMark : waterMarks.entrySet()) {
+            if (waterMark.getKey().startsWith(keyPrefix)) {
+                map.put(waterMark.getKey(), waterMark.getValue().get());
+            }
+        }
+        for (Entry<String, LongAdder> stat : stats.entrySet()) {
             if (stat.getKey().startsWith(keyPrefix)) {
-                map.put(stat.getKey(), stat.getValue());
+                map.put(stat.getKey(), stat.getValue().sum());
             }
         }
         return map;
@@ -75,15 +109,11 @@ public class Statistics {
 
     public void clearAll() {
         stats.clear();
+        waterMarks.clear();
     }
 
     public void clear(String keyPrefix) {
-        Iterator<Entry<String, Long>> iter = stats.entrySet().iterator();
-        while (iter.hasNext()) {
-            Entry<String, Long> entry = iter.next();
-            if (entry.getKey().startsWith(keyPrefix)) {
-                iter.remove();
-            }
-        }
+        stats.keySet().removeIf(key -> key.startsWith(keyPrefix));
+        waterMarks.keySet().removeIf(key -> key.startsWith(keyPrefix));
     }
 }
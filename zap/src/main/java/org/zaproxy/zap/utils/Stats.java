@@ -19,14 +19,14 @@
  */
 package org.zaproxy.zap.utils;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public final class Stats {
 
-    private static final List<StatsListener> listeners = new ArrayList<>();
+    private static final List<StatsListener> listeners = new CopyOnWriteArrayList<>();
 
     private static final Logger LOGGER = LogManager.getLogger(Stats.class);
 
@@ -0,0 +1,233 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Utility class to create executors that run each task in a virtual thread.
+ *
+ * <p>Virtual threads are available only when running in Java 21 or later, callers should check
+ * {@link #isSupported()} and fallback to platform threads if not supported.
+ *
+ * @since 2.17.0
+ */
+public final class VirtualThreads {
+
+    private static final Logger LOGGER = LogManager.getLogger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.debug("Virtual threads not supported: {}", e.getMessage());
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreads() {}
+
+    /**
+     * Tells whether or not the virtual threads are supported by the Java runtime.
+     *
+     * @return {@code true} if the virtual threads are supported, {@code false} otherwise.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an executor that runs each task in a new virtual thread, with at most the given
+     * number of tasks running concurrently.
+     *
+     * <p>The tasks that can't run yet wait in a queue, not yet started, a virtual thread is created
+     * only when the task starts. The tasks not yet started are returned by {@link
+     * ExecutorService#shutdownNow()}, the tasks already submitted are still run after {@link
+     * ExecutorService#shutdown()}.
+     *
+     * @param namePrefix the prefix of the name of the threads.
+     * @param maxConcurrentTasks the maximum number of tasks running concurrently, at least one is
+     *     used.
+     * @return the executor.
+     * @throws UnsupportedOperationException if the virtual threads are not supported.
+     * @see #isSupported()
+     */
+    public static ExecutorService newBoundedExecutor(String namePrefix, int maxConcurrentTasks) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads not supported.");
+        }
+
+        ExecutorService executor;
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            executor = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Failed to create virtual threads.", e);
+        }
+        return newBoundedExecutor(executor, maxConcurrentTasks);
+    }
+
+    static ExecutorService newBoundedExecutor(ExecutorService executor, int maxConcurrentTasks) {
+        return new BoundedExecutorService(executor, Math.max(1, maxConcurrentTasks));
+    }
+
+    /**
+     * An executor that starts at most a given number of tasks concurrently, the other tasks wait in
+     * a queue, not yet started, so that they are returned by {@link #shutdownNow()}.
+     */
+    private static class BoundedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService executor;
+        private final int maxConcurrentTasks;
+        private final Object lock;
+        private final Deque<Runnable> pending;
+        private int runningTasks;
+        private boolean shutdown;
+
+        BoundedExecutorService(ExecutorService executor, int maxConcurrentTasks) {
+            this.executor = executor;
+            this.maxConcurrentTasks = maxConcurrentTasks;
+            this.lock = new Object();
+            this.pending = new ArrayDeque<>();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            Objects.requireNonNull(command);
+            synchronized (lock) {
+                if (shutdown) {
+                    throw new RejectedExecutionException("Executor shut down.");
+                }
+                pending.add(command);
+                startPendingTasks();
+            }
+        }
+
+        /**
+         * Starts the pending tasks while below the maximum number of concurrent tasks, and shuts
+         * down the underlying executor once shut down and no longer with pending tasks.
+         *
+         * <p>Must be called while holding the lock.
+         */
+        private void startPendingTasks() {
+            while (runningTasks < maxConcurrentTasks && !pending.isEmpty()) {
+                Runnable command = pending.poll();
+                runningTasks++;
+                try {
+                    executor.execute(() -> run(command));
+                } catch (RejectedExecutionException e) {
+                    runningTasks--;
+                    pending.addFirst(command);
+                    LOGGER.warn("Failed to start the task: {}", e.getMessage());
+                    break;
+                }
+            }
+            if (shutdown && pending.isEmpty()) {
+                executor.shutdown();
+            }
+        }
+
+        private void run(Runnable command) {
+            try {
+                command.run();
+            } finally {
+                synchronized (lock) {
+                    runningTasks--;
+                    startPendingTasks();
+                }
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            synchronized (lock) {
+                shutdown = true;
+                if (pending.isEmpty()) {
+                    executor.shutdown();
+                }
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            List<Runnable> notStarted;
+            synchronized (lock) {
+                shutdown = true;
+                notStarted = new ArrayList<>(pending);
+                pending.clear();
+            }
+            notStarted.addAll(executor.shutdownNow());
+            return notStarted;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            synchronized (lock) {
+                return shutdown;
+            }
+        }
+
+        @Override
+        public boolean isTerminated() {
+            synchronized (lock) {
+                if (!shutdown || !pending.isEmpty()) {
+                    return false;
+                }
+            }
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+}
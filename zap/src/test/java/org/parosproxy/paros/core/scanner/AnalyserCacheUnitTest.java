@@ -0,0 +1,135 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.core.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.model.Session;
+
+/** Unit test for {@link AnalyserCache}. */
+class AnalyserCacheUnitTest {
+
+    private static final String URI = "http://example.com/path/";
+    private static final long TTL = 1000;
+
+    private AtomicLong time;
+    private AnalyserCache cache;
+    private Session session;
+    private SampleResponse response;
+
+    @BeforeEach
+    void setUp() {
+        time = new AtomicLong();
+        cache = new AnalyserCache(time::get);
+        session = mock(Session.class);
+        response = mock(SampleResponse.class);
+    }
+
+    @Test
+    void shouldGetResponsePut() {
+        // Given
+        cache.put(session, URI, response);
+        // When
+        SampleResponse cached = cache.get(session, URI, TTL);
+        // Then
+        assertThat(cached, is(sameInstance(response)));
+    }
+
+    @Test
+    void shouldNotGetResponseOfOtherUri() {
+        // Given
+        cache.put(session, URI, response);
+        // When
+        SampleResponse cached = cache.get(session, "http://example.org/path/", TTL);
+        // Then
+        assertThat(cached, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetResponseIfNotShared() {
+        // Given
+        cache.put(session, URI, response);
+        // When
+        SampleResponse cached = cache.get(session, URI, 0);
+        // Then
+        assertThat(cached, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetExpiredResponse() {
+        // Given
+        cache.put(session, URI, response);
+        time.addAndGet(TTL);
+        // When
+        SampleResponse cached = cache.get(session, URI, TTL);
+        // Then
+        assertThat(cached, is(nullValue()));
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldGetResponseNotYetExpired() {
+        // Given
+        cache.put(session, URI, response);
+        time.addAndGet(TTL - 1);
+        // When
+        SampleResponse cached = cache.get(session, URI, TTL);
+        // Then
+        assertThat(cached, is(sameInstance(response)));
+    }
+
+    @Test
+    void shouldClearResponsesOnSessionChange() {
+        // Given
+        cache.put(session, URI, response);
+        Session otherSession = mock(Session.class);
+        // When
+        SampleResponse cached = cache.get(otherSession, URI, TTL);
+        // Then
+        assertThat(cached, is(nullValue()));
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldNotPutResponseWithoutSession() {
+        // Given / When
+        cache.put(null, URI, response);
+        // Then
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldClearResponses() {
+        // Given
+        cache.put(session, URI, response);
+        // When
+        cache.clear();
+        // Then
+        assertThat(cache.get(session, URI, TTL), is(nullValue()));
+    }
+}
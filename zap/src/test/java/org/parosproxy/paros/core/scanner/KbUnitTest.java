@@ -25,11 +25,18 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
-import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.httpclient.URI;
+import org.apache.commons.httpclient.URIException;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 class KbUnitTest {
@@ -40,6 +47,7 @@ class KbUnitTest {
     private static final Object TEST_OBJECT_2 = new Object();
     private static final Boolean TEST_BOOLEAN = Boolean.TRUE;
     private static final String TEST_STRING = "Test";
+    private static final URI TEST_URI = createUri("https://example.com/path");
 
     Kb knowledgeBase;
 
@@ -57,9 +65,12 @@ class KbUnitTest {
     }
 
     @Test
-    @Disabled
-    void shouldStoreValueForGivenUriAndKey() {
-        fail("Not yet implemented");
+    void shouldStoreValueForGivenUriAndKey() throws Exception {
+        // Given/When
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_OBJECT_1);
+        // Then
+        assertThat(knowledgeBase.get(TEST_URI, TEST_KEY), is(equalTo(TEST_OBJECT_1)));
+        assertThat(knowledgeBase.get(TEST_KEY), is(nullValue()));
     }
 
     @Test
@@ -74,9 +85,44 @@ class KbUnitTest {
     }
 
     @Test
-    @Disabled
-    void shouldRetrieveStoredObjectsForGivenUriAndKey() {
-        fail("Not yet implemented");
+    void shouldRetrieveStoredObjectsForGivenUriAndKey() throws Exception {
+        // Given/When
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_OBJECT_1);
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_OBJECT_2);
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_OBJECT_1);
+        // Then
+        Vector<Object> result = knowledgeBase.getList(TEST_URI, TEST_KEY);
+        assertThat(result, hasSize(2));
+        assertThat(result, contains(TEST_OBJECT_1, TEST_OBJECT_2));
+    }
+
+    @Test
+    void shouldIgnoreQueryOfUri() throws Exception {
+        // Given
+        URI uriWithQuery = new URI("https://example.com/path?a=b", true);
+        // When
+        knowledgeBase.add(uriWithQuery, TEST_KEY, TEST_OBJECT_1);
+        // Then
+        assertThat(knowledgeBase.get(TEST_URI, TEST_KEY), is(equalTo(TEST_OBJECT_1)));
+        assertThat(
+                knowledgeBase.get(new URI("https://example.com/path?c=d", true), TEST_KEY),
+                is(equalTo(TEST_OBJECT_1)));
+        assertThat(
+                knowledgeBase.get(new URI("https://example.com/other?a=b", true), TEST_KEY),
+                is(nullValue()));
+    }
+
+    @Test
+    void shouldCreateUriKeyWithoutQueryNorFragment() throws Exception {
+        assertThat(
+                Kb.createUriKey(new URI("https://example.com/path?a=b", true)),
+                is(equalTo("https://example.com/path")));
+        assertThat(
+                Kb.createUriKey(new URI("https://example.com/path?a=b#f", true)),
+                is(equalTo("https://example.com/path")));
+        assertThat(
+                Kb.createUriKey(new URI("https://example.com/path", true)),
+                is(equalTo("https://example.com/path")));
     }
 
     @Test
@@ -88,9 +134,11 @@ class KbUnitTest {
     }
 
     @Test
-    @Disabled
-    void shouldRetrieveStoredBooleanForGivenUriAndKey() {
-        fail("Not yet implemented");
+    void shouldRetrieveStoredBooleanForGivenUriAndKey() throws Exception {
+        // Given/When
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_BOOLEAN);
+        // Then
+        assertThat(knowledgeBase.getBoolean(TEST_URI, TEST_KEY), is(equalTo(TEST_BOOLEAN)));
     }
 
     @Test
@@ -102,9 +150,72 @@ class KbUnitTest {
     }
 
     @Test
-    @Disabled
-    void shouldRetrieveStoredStringForGivenUriAndKey() {
-        fail("Not yet implemented");
+    void shouldRetrieveStoredStringForGivenUriAndKey() throws Exception {
+        // Given/When
+        knowledgeBase.add(TEST_URI, TEST_KEY, TEST_STRING);
+        // Then
+        assertThat(knowledgeBase.getString(TEST_URI, TEST_KEY), is(equalTo(TEST_STRING)));
+    }
+
+    @Test
+    void shouldRetrieveStoredValueWithGivenType() {
+        // Given/When
+        knowledgeBase.add(TEST_KEY, 1);
+        // Then
+        assertThat(knowledgeBase.get(TEST_KEY, Integer.class), is(equalTo(1)));
+        assertThat(knowledgeBase.get(TEST_KEY, String.class), is(nullValue()));
+    }
+
+    @Test
+    void shouldRemoveFirstUrisAddedWhenLimitReached() throws Exception {
+        // Given
+        knowledgeBase = new Kb(2);
+        URI uri1 = new URI("https://example.com/1", true);
+        URI uri2 = new URI("https://example.com/2", true);
+        URI uri3 = new URI("https://example.com/3", true);
+        // When
+        knowledgeBase.add(uri1, TEST_KEY, TEST_OBJECT_1);
+        knowledgeBase.add(uri2, TEST_KEY, TEST_OBJECT_1);
+        knowledgeBase.add(uri2, ANOTHER_KEY, TEST_OBJECT_1);
+        knowledgeBase.add(uri3, TEST_KEY, TEST_OBJECT_1);
+        // Then
+        assertThat(knowledgeBase.get(uri1, TEST_KEY), is(nullValue()));
+        assertThat(knowledgeBase.get(uri2, TEST_KEY), is(equalTo(TEST_OBJECT_1)));
+        assertThat(knowledgeBase.get(uri2, ANOTHER_KEY), is(equalTo(TEST_OBJECT_1)));
+        assertThat(knowledgeBase.get(uri3, TEST_KEY), is(equalTo(TEST_OBJECT_1)));
+    }
+
+    @Test
+    void shouldAddUniqueValuesConcurrently() throws Exception {
+        // Given
+        int threads = 8;
+        int values = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                for (int i = 0; i < values; i++) {
+                                    knowledgeBase.add(TEST_KEY, i);
+                                    knowledgeBase.add(TEST_URI, TEST_KEY, i);
+                                    knowledgeBase.get(TEST_URI, TEST_KEY);
+                                }
+                                return null;
+                            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        // Then
+        assertThat(knowledgeBase.getList(TEST_KEY), hasSize(values));
+        assertThat(knowledgeBase.getList(TEST_URI, TEST_KEY), hasSize(values));
+        assertThat(knowledgeBase.get(TEST_URI, TEST_KEY), is(equalTo(0)));
     }
 
     @Test
@@ -130,4 +241,12 @@ class KbUnitTest {
         // Then
         assertThat(knowledgeBase.getString(TEST_KEY), is(nullValue()));
     }
+
+    private static URI createUri(String uri) {
+        try {
+            return new URI(uri, true);
+        } catch (URIException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
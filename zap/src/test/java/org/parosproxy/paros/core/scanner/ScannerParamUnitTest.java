@@ -239,6 +239,48 @@ class ScannerParamUnitTest {
         assertThat(configuration.getProperty("scanner.maxAlertsPerRule"), is(equalTo(0)));
     }
 
+    @Test
+    void shouldPersistMessagesByDefault() {
+        // Given / When
+        boolean persistMessages = param.isPersistMessages();
+        // Then
+        assertThat(persistMessages, is(equalTo(true)));
+        assertThat(param.getMaxMessagesInMemory(), is(equalTo(500)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldSetPersistMessages(boolean value) {
+        // Given / When
+        param.setPersistMessages(value);
+        // Then
+        assertThat(param.isPersistMessages(), is(equalTo(value)));
+        assertThat(configuration.getBoolean("scanner.persistMessages"), is(equalTo(value)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-2, -1})
+    void shouldUseZeroIfLoadingInvalidMaxMessagesInMemoryFromConfig(int maxMessagesInMemory) {
+        // Given
+        configuration.setProperty("scanner.maxMessagesInMemory", maxMessagesInMemory);
+        // When
+        param.load(configuration);
+        // Then
+        assertThat(param.getMaxMessagesInMemory(), is(equalTo(0)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 1000})
+    void shouldSetMaxMessagesInMemory(int maxMessagesInMemory) {
+        // Given / When
+        param.setMaxMessagesInMemory(maxMessagesInMemory);
+        // Then
+        assertThat(param.getMaxMessagesInMemory(), is(equalTo(maxMessagesInMemory)));
+        assertThat(
+                configuration.getProperty("scanner.maxMessagesInMemory"),
+                is(equalTo(maxMessagesInMemory)));
+    }
+
     @Test
     void shouldMigrateOldOptions() {
         // Given
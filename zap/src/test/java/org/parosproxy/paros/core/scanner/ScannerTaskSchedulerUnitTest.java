@@ -0,0 +1,233 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.core.scanner;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/** Unit test for {@link ScannerTaskScheduler}. */
+class ScannerTaskSchedulerUnitTest {
+
+    private ScannerTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ScannerTaskScheduler(4, "ZAP-Test-", false, true);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldLimitConcurrentTasksPerHost() throws Exception {
+        // Given
+        ScannerTaskScheduler.HostTasks hostTasks = scheduler.createHostTasks(2);
+        // Reserves the other threads of the scheduler
+        scheduler.createHostTasks(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task =
+                () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    await(release);
+                    running.decrementAndGet();
+                };
+        hostTasks.submit(task, () -> false);
+        hostTasks.submit(task, () -> false);
+        // When
+        boolean submitted = hostTasks.submit(task, () -> true);
+        // Then
+        assertThat(submitted, is(equalTo(false)));
+        release.countDown();
+        assertThat(hostTasks.waitAllTasksComplete(5000), is(equalTo(true)));
+        assertThat(maxRunning.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldShareThreadsWithOtherHosts() throws Exception {
+        // Given
+        ScannerTaskScheduler.HostTasks slowHost = scheduler.createHostTasks(1);
+        ScannerTaskScheduler.HostTasks fastHost = scheduler.createHostTasks(3);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch allRunning = new CountDownLatch(4);
+        Runnable task =
+                () -> {
+                    allRunning.countDown();
+                    await(release);
+                };
+        // When
+        slowHost.submit(task, () -> false);
+        fastHost.submit(task, () -> false);
+        fastHost.submit(task, () -> false);
+        fastHost.submit(task, () -> false);
+        // Then
+        assertThat(allRunning.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        release.countDown();
+        assertThat(slowHost.waitAllTasksComplete(5000), is(equalTo(true)));
+        assertThat(fastHost.waitAllTasksComplete(5000), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldUseThreadsNotReservedByOtherHosts() throws Exception {
+        // Given
+        ScannerTaskScheduler.HostTasks slowHost = scheduler.createHostTasks(1);
+        ScannerTaskScheduler.HostTasks finishedHost = scheduler.createHostTasks(3);
+        finishedHost.close();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch allRunning = new CountDownLatch(4);
+        Runnable task =
+                () -> {
+                    allRunning.countDown();
+                    await(release);
+                };
+        // When
+        boolean[] submitted = new boolean[5];
+        for (int i = 0; i < 4; i++) {
+            submitted[i] = slowHost.submit(task, () -> false);
+        }
+        submitted[4] = slowHost.submit(task, () -> true);
+        // Then
+        assertThat(allRunning.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(submitted, is(equalTo(new boolean[] {true, true, true, true, false})));
+        release.countDown();
+        assertThat(slowHost.waitAllTasksComplete(5000), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotUseThreadsReservedByOtherHosts() throws Exception {
+        // Given
+        ScannerTaskScheduler.HostTasks slowHost = scheduler.createHostTasks(1);
+        ScannerTaskScheduler.HostTasks otherHost = scheduler.createHostTasks(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> await(release);
+        slowHost.submit(task, () -> false);
+        slowHost.submit(task, () -> false);
+        // When
+        boolean submitted = slowHost.submit(task, () -> true);
+        // Then
+        assertThat(submitted, is(equalTo(false)));
+        assertThat(otherHost.submit(task, () -> true), is(equalTo(true)));
+        assertThat(otherHost.submit(task, () -> true), is(equalTo(true)));
+        release.countDown();
+        assertThat(slowHost.waitAllTasksComplete(5000), is(equalTo(true)));
+        assertThat(otherHost.waitAllTasksComplete(5000), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldNotUseIdleThreadsIfNotLending() throws Exception {
+        // Given
+        ScannerTaskScheduler notLendingScheduler = new ScannerTaskScheduler(4, "ZAP-Test-");
+        ScannerTaskScheduler.HostTasks hostTasks = notLendingScheduler.createHostTasks(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> await(release);
+        hostTasks.submit(task, () -> false);
+        // When
+        boolean submitted = hostTasks.submit(task, () -> true);
+        // Then
+        assertThat(submitted, is(equalTo(false)));
+        release.countDown();
+        assertThat(hostTasks.waitAllTasksComplete(5000), is(equalTo(true)));
+        notLendingScheduler.shutdown();
+    }
+
+    @Test
+    void shouldNotExceedThreadsPerHostInDefaultSingleHostScan() throws Exception {
+        // Given
+        ScannerParam scannerParam = new ScannerParam();
+        scannerParam.load(new ZapXmlConfiguration());
+        int threadPerHost = scannerParam.getThreadPerHost();
+        ScannerTaskScheduler defaultScheduler = Scanner.createTaskScheduler(scannerParam);
+        ScannerTaskScheduler.HostTasks hostTasks = defaultScheduler.createHostTasks(threadPerHost);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task =
+                () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    await(release);
+                    running.decrementAndGet();
+                };
+        for (int i = 0; i < threadPerHost; i++) {
+            hostTasks.submit(task, () -> false);
+        }
+        // When
+        boolean submitted = hostTasks.submit(task, () -> true);
+        // Then
+        assertThat(submitted, is(equalTo(false)));
+        release.countDown();
+        assertThat(hostTasks.waitAllTasksComplete(5000), is(equalTo(true)));
+        assertThat(maxRunning.get(), is(equalTo(threadPerHost)));
+        defaultScheduler.shutdown();
+    }
+
+    @Test
+    void shouldLendIdleThreadsIfMaxScanThreadsAboveThreadsOfHosts() throws Exception {
+        // Given
+        ScannerParam scannerParam = new ScannerParam();
+        scannerParam.load(new ZapXmlConfiguration());
+        scannerParam.setThreadPerHost(1);
+        scannerParam.setHostPerScan(1);
+        scannerParam.setMaxScanThreads(2);
+        ScannerTaskScheduler lendingScheduler = Scanner.createTaskScheduler(scannerParam);
+        ScannerTaskScheduler.HostTasks hostTasks = lendingScheduler.createHostTasks(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable task = () -> await(release);
+        hostTasks.submit(task, () -> false);
+        // When
+        boolean submitted = hostTasks.submit(task, () -> true);
+        // Then
+        assertThat(submitted, is(equalTo(true)));
+        release.countDown();
+        assertThat(hostTasks.waitAllTasksComplete(5000), is(equalTo(true)));
+        lendingScheduler.shutdown();
+    }
+
+    @Test
+    void shouldNotSubmitTasksAfterShutdown() {
+        // Given
+        ScannerTaskScheduler.HostTasks hostTasks = scheduler.createHostTasks(1);
+        scheduler.shutdown();
+        // When
+        boolean submitted = hostTasks.submit(() -> {}, () -> false);
+        // Then
+        assertThat(submitted, is(equalTo(false)));
+        assertThat(hostTasks.waitAllTasksComplete(0), is(equalTo(true)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db.paros;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link ParosHistoryBodyStore}. */
+class ParosHistoryBodyStoreUnitTest {
+
+    @Test
+    void shouldHashSameContentEqually() {
+        // Given
+        byte[] body = bytes("body");
+        // When
+        String hash = ParosHistoryBodyStore.hash(body);
+        // Then
+        assertThat(hash, is(equalTo(ParosHistoryBodyStore.hash(bytes("body")))));
+        assertThat(hash.length(), is(equalTo(64)));
+    }
+
+    @Test
+    void shouldHashDifferentContentDifferently() {
+        // Given
+        byte[] body = bytes("body");
+        // When
+        String hash = ParosHistoryBodyStore.hash(body);
+        // Then
+        assertThat(hash, is(not(equalTo(ParosHistoryBodyStore.hash(bytes("other body"))))));
+    }
+
+    @Test
+    void shouldCompressAndDecompress() throws Exception {
+        // Given
+        byte[] body = bytes("body ".repeat(1000));
+        // When
+        byte[] compressed = ParosHistoryBodyStore.compress(body);
+        // Then
+        assertThat(compressed.length, is(lessThan(body.length)));
+        assertThat(ParosHistoryBodyStore.decompress(compressed, body.length), is(equalTo(body)));
+    }
+
+    @Test
+    void shouldFailToDecompressWithWrongSize() {
+        // Given
+        byte[] body = bytes("body ".repeat(1000));
+        byte[] compressed = ParosHistoryBodyStore.compress(body);
+        // When / Then
+        assertThrows(
+                SQLException.class,
+                () -> ParosHistoryBodyStore.decompress(compressed, body.length + 1));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
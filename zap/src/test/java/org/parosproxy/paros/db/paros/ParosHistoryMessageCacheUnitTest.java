@@ -0,0 +1,129 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.db.paros;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link ParosHistoryMessageCache}. */
+class ParosHistoryMessageCacheUnitTest {
+
+    @Test
+    void shouldNotCacheIfNoMaxSize() throws Exception {
+        // Given
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(0);
+        // When
+        cache.put(createRecord(1, "body"));
+        // Then
+        assertThat(cache.isEnabled(), is(equalTo(false)));
+        assertThat(cache.get(1), is(nullValue()));
+        assertThat(cache.getCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldCountHitsAndMisses() throws Exception {
+        // Given
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(1024 * 1024);
+        cache.put(createRecord(1, "body"));
+        // When
+        RecordHistory hit = cache.get(1);
+        RecordHistory miss = cache.get(2);
+        // Then
+        assertThat(hit, is(notNullValue()));
+        assertThat(miss, is(nullValue()));
+        assertThat(cache.getHits(), is(equalTo(1L)));
+        assertThat(cache.getMisses(), is(equalTo(1L)));
+    }
+
+    @Test
+    void shouldRemoveLeastRecentlyUsedWhenMaxSizeExceeded() throws Exception {
+        // Given
+        RecordHistory record1 = createRecord(1, "a".repeat(1000));
+        long size = ParosHistoryMessageCache.estimateSize(record1.getHttpMessage());
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(size * 2);
+        cache.put(record1);
+        cache.put(createRecord(2, "b".repeat(1000)));
+        cache.get(1);
+        // When
+        cache.put(createRecord(3, "c".repeat(1000)));
+        // Then
+        assertThat(cache.getCount(), is(equalTo(2)));
+        assertThat(cache.get(1), is(notNullValue()));
+        assertThat(cache.get(2), is(nullValue()));
+        assertThat(cache.get(3), is(notNullValue()));
+        assertThat(cache.getSize(), is(equalTo(size * 2)));
+    }
+
+    @Test
+    void shouldNotCacheRecordsBiggerThanMaxSize() throws Exception {
+        // Given
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(1024);
+        // When
+        cache.put(createRecord(1, "a".repeat(2048)));
+        // Then
+        assertThat(cache.get(1), is(nullValue()));
+        assertThat(cache.getSize(), is(equalTo(0L)));
+    }
+
+    @Test
+    void shouldRemoveAndClearRecords() throws Exception {
+        // Given
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(1024 * 1024);
+        cache.put(createRecord(1, "body"));
+        cache.put(createRecord(2, "body"));
+        // When
+        cache.remove(1);
+        // Then
+        assertThat(cache.get(1), is(nullValue()));
+        assertThat(cache.getCount(), is(equalTo(1)));
+        cache.clear();
+        assertThat(cache.getCount(), is(equalTo(0)));
+        assertThat(cache.getSize(), is(equalTo(0L)));
+    }
+
+    @Test
+    void shouldEvictWhenMaxSizeReduced() throws Exception {
+        // Given
+        ParosHistoryMessageCache cache = new ParosHistoryMessageCache(1024 * 1024);
+        cache.put(createRecord(1, "body"));
+        cache.put(createRecord(2, "body"));
+        // When
+        cache.setMaxSize(0);
+        // Then
+        assertThat(cache.getCount(), is(equalTo(0)));
+        assertThat(cache.isEnabled(), is(equalTo(false)));
+    }
+
+    private static RecordHistory createRecord(int historyId, String responseBody) throws Exception {
+        HttpMessage msg = new HttpMessage(new URI("https://example.com/" + historyId, true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody(responseBody);
+        return new RecordHistory(historyId, HistoryReference.TYPE_PROXIED, 1, msg);
+    }
+}
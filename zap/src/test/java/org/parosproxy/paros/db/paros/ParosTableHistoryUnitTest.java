@@ -19,19 +19,43 @@
  */
 package org.parosproxy.paros.db.paros;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import org.apache.commons.httpclient.URI;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.parosproxy.paros.db.HistoryQuery;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.RecordHistorySummary;
 import org.parosproxy.paros.extension.option.DatabaseParam;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
 
 /** Unit test for {@link ParosTableHistory}. */
 class ParosTableHistoryUnitTest {
 
+    private static final long SESSION_ID = 1;
+
     private ParosTableHistory table;
 
     @BeforeEach
@@ -67,4 +91,481 @@ class ParosTableHistoryUnitTest {
         verify(options).getRequestBodySize();
         verify(options).getResponseBodySize();
     }
+
+    @Test
+    void shouldWriteHistoryRecordsSynchronouslyByDefault(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        try {
+            // When
+            RecordHistory first = write(1);
+            RecordHistory second = write(2);
+            // Then
+            assertThat(second.getHistoryId(), is(equalTo(first.getHistoryId() + 1)));
+            assertThat(
+                    table.getHistoryIds(SESSION_ID),
+                    contains(first.getHistoryId(), second.getHistoryId()));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldWriteHistoryRecordsAsynchronously(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, true);
+        try {
+            // When
+            RecordHistory first = write(1);
+            RecordHistory second = write(2);
+            RecordHistory third = write(3);
+            // Then
+            assertThat(second.getHistoryId(), is(equalTo(first.getHistoryId() + 1)));
+            assertThat(third.getHistoryId(), is(equalTo(second.getHistoryId() + 1)));
+            assertThat(table.lastIndex(), is(equalTo(third.getHistoryId())));
+            RecordHistory read = table.read(second.getHistoryId());
+            assertThat(read, is(notNullValue()));
+            assertThat(
+                    read.getHttpMessage().getRequestHeader().getURI().toString(),
+                    is(equalTo("https://example.com/2")));
+            table.flush();
+            assertThat(
+                    table.getHistoryIds(SESSION_ID),
+                    contains(first.getHistoryId(), second.getHistoryId(), third.getHistoryId()));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldKeepReadableHistoryRecordsFailedToBeWrittenAsynchronously(@TempDir Path dir)
+            throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, true);
+        HttpMessage msg = new HttpMessage(new URI("https://example.com/failed", true));
+        // Longer than the column, the insert fails.
+        msg.setNote("a".repeat(1048577));
+        try {
+            // When
+            RecordHistory failed = table.write(SESSION_ID, HistoryReference.TYPE_PROXIED, msg);
+            RecordHistory written = write(2);
+            table.flush();
+            // Then
+            assertThat(table.getHistoryIds(SESSION_ID), contains(written.getHistoryId()));
+            RecordHistory read = table.read(failed.getHistoryId());
+            assertThat(read, is(notNullValue()));
+            assertThat(
+                    read.getHttpMessage().getRequestHeader().getURI().toString(),
+                    is(equalTo("https://example.com/failed")));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldDeleteHistoryRecordsFailedToBeWrittenAsynchronously(@TempDir Path dir)
+            throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, true);
+        HttpMessage msg = new HttpMessage(new URI("https://example.com/failed", true));
+        msg.setNote("a".repeat(1048577));
+        try {
+            RecordHistory failed = table.write(SESSION_ID, HistoryReference.TYPE_PROXIED, msg);
+            table.flush();
+            // When
+            table.delete(failed.getHistoryId());
+            // Then
+            assertThat(table.read(failed.getHistoryId()), is(nullValue()));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldWriteHistoryRecordsAsynchronouslyAfterSynchronousWrites(@TempDir Path dir)
+            throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        write(1);
+        table.setDatabaseOptions(createOptions(true));
+        table.databaseOpen(server);
+        try {
+            // When
+            RecordHistory record = write(2);
+            table.flush();
+            // Then
+            assertThat(record.getHistoryId(), is(equalTo(2)));
+            assertThat(table.read(2), is(notNullValue()));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldGetHistorySummariesWithUriPrefixAndPagination(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        try {
+            write("https://example.com/a/1");
+            write("https://example.com/b/1");
+            write("https://example.com/a/2");
+            write("https://example.com/a/3");
+            write("https://example.com/a_/4");
+            HistoryQuery query =
+                    HistoryQuery.builder(SESSION_ID)
+                            .setUriPrefix("https://example.com/a/")
+                            .setOffset(1)
+                            .setLimit(1)
+                            .build();
+            // When
+            List<RecordHistorySummary> summaries = table.getHistorySummaries(query);
+            // Then
+            assertThat(summaries, hasSize(1));
+            RecordHistorySummary summary = summaries.get(0);
+            assertThat(summary.getHistoryId(), is(equalTo(3)));
+            assertThat(summary.getHistoryType(), is(equalTo(HistoryReference.TYPE_PROXIED)));
+            assertThat(summary.getMethod(), is(equalTo("GET")));
+            assertThat(summary.getUri(), is(equalTo("https://example.com/a/2")));
+            assertThat(summary.getRequestHeader(), startsWith("GET https://example.com/a/2"));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldGetHistorySummariesWithLikeCharactersInUriPrefix(@TempDir Path dir)
+            throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        try {
+            write("https://example.com/a_/1");
+            write("https://example.com/ab/2");
+            write("https://example.com/a%/3");
+            HistoryQuery query =
+                    HistoryQuery.builder(SESSION_ID).setUriPrefix("https://example.com/a_").build();
+            // When
+            List<RecordHistorySummary> summaries = table.getHistorySummaries(query);
+            // Then
+            assertThat(summaries, hasSize(1));
+            assertThat(summaries.get(0).getUri(), is(equalTo("https://example.com/a_/1")));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldGetHistorySummariesWithHistoryTypesAndIdRange(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        try {
+            write("https://example.com/1");
+            table.write(
+                    SESSION_ID,
+                    HistoryReference.TYPE_ZAP_USER,
+                    new HttpMessage(new URI("https://example.com/2", true)));
+            write("https://example.com/3");
+            write("https://example.com/4");
+            HistoryQuery query =
+                    HistoryQuery.builder(SESSION_ID)
+                            .setHistoryTypes(HistoryReference.TYPE_PROXIED)
+                            .setStartAtHistoryId(2)
+                            .setEndAtHistoryId(3)
+                            .build();
+            // When
+            List<RecordHistorySummary> summaries = table.getHistorySummaries(query);
+            // Then
+            assertThat(summaries, hasSize(1));
+            assertThat(summaries.get(0).getHistoryId(), is(equalTo(3)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldStoreIdenticalResponseBodiesOnce(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory first = write("https://example.com/1", body);
+            RecordHistory second = write("https://example.com/2", body);
+            RecordHistory third = write("https://example.com/3", createBody("b"));
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(2)));
+            assertThat(readResponseBody(first), is(equalTo(body)));
+            assertThat(readResponseBody(second), is(equalTo(body)));
+            assertThat(readResponseBody(third), is(equalTo(createBody("b"))));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldStoreIdenticalResponseBodiesOnceAsynchronously(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(true);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory first = write("https://example.com/1", body);
+            RecordHistory second = write("https://example.com/2", body);
+            table.flush();
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(1)));
+            assertThat(readResponseBody(first), is(equalTo(body)));
+            assertThat(readResponseBody(second), is(equalTo(body)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldNotDeduplicateResponseBodiesByDefault(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory record = write("https://example.com/1", body);
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(0)));
+            assertThat(readResponseBody(record), is(equalTo(body)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldNotDeduplicateSmallResponseBodies(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        try {
+            // When
+            RecordHistory record = write("https://example.com/1", "Small body");
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(0)));
+            assertThat(readResponseBody(record), is(equalTo("Small body")));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldWriteSpilledBodies(@TempDir Path dir) throws Exception {
+        // Given
+        ParosDatabaseServer server = createDatabaseServer(dir, false);
+        setBodySpillThreshold(5);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory record = write("https://example.com/1", body);
+            // Then
+            assertThat(readResponseBody(record), is(equalTo(body)));
+        } finally {
+            setBodySpillThreshold(0);
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldStoreSpilledResponseBodiesOnce(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        setBodySpillThreshold(5);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory first = write("https://example.com/1", body);
+            RecordHistory second = write("https://example.com/2", body);
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(1)));
+            assertThat(readResponseBody(first), is(equalTo(body)));
+            assertThat(readResponseBody(second), is(equalTo(body)));
+        } finally {
+            setBodySpillThreshold(0);
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldReadUncompressedResponseBodies(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        options.setCompressResponseBodies(false);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        String body = createBody("a");
+        try {
+            // When
+            RecordHistory record = write("https://example.com/1", body);
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(1)));
+            assertThat(readResponseBody(record), is(equalTo(body)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldDeleteResponseBodiesNoLongerReferenced(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        String body = createBody("a");
+        try {
+            RecordHistory first = write("https://example.com/1", body);
+            RecordHistory second = write("https://example.com/2", body);
+            RecordHistory third = write("https://example.com/3", createBody("b"));
+            // When
+            table.delete(first.getHistoryId());
+            table.delete(List.of(third.getHistoryId()));
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(1)));
+            assertThat(readResponseBody(second), is(equalTo(body)));
+            table.delete(second.getHistoryId());
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(0)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldDeleteResponseBodiesOfSession(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setDeduplicateResponseBodies(true);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        try {
+            write("https://example.com/1", createBody("a"));
+            write("https://example.com/2", createBody("b"));
+            // When
+            table.deleteHistorySession(SESSION_ID);
+            // Then
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(0)));
+            RecordHistory record = write("https://example.com/3", createBody("a"));
+            assertThat(countRows(server, "HISTORY_BODY"), is(equalTo(1)));
+            assertThat(readResponseBody(record), is(equalTo(createBody("a"))));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldReadCopiesOfCachedHistoryRecords(@TempDir Path dir) throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setMessageCacheSize(1024 * 1024);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        try {
+            RecordHistory record = write("https://example.com/1", "body");
+            RecordHistory first = table.read(record.getHistoryId());
+            first.getHttpMessage().setResponseBody("changed");
+            // When
+            RecordHistory second = table.read(record.getHistoryId());
+            // Then
+            assertThat(second.getHttpMessage(), is(not(sameInstance(first.getHttpMessage()))));
+            assertThat(second.getHttpMessage().getResponseBody().toString(), is(equalTo("body")));
+            assertThat(second.getHistoryId(), is(equalTo(record.getHistoryId())));
+            assertThat(second.getSessionId(), is(equalTo(SESSION_ID)));
+            assertThat(second.getHistoryType(), is(equalTo(HistoryReference.TYPE_PROXIED)));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    @Test
+    void shouldNotReadCachedHistoryRecordsAfterNoteUpdateOrDelete(@TempDir Path dir)
+            throws Exception {
+        // Given
+        DatabaseParam options = createOptions(false);
+        options.setMessageCacheSize(1024 * 1024);
+        ParosDatabaseServer server = createDatabaseServer(dir, options);
+        try {
+            RecordHistory record = write("https://example.com/1", "body");
+            table.read(record.getHistoryId());
+            // When
+            table.updateNote(record.getHistoryId(), "note");
+            // Then
+            assertThat(
+                    table.read(record.getHistoryId()).getHttpMessage().getNote(),
+                    is(equalTo("note")));
+            table.delete(record.getHistoryId());
+            assertThat(table.read(record.getHistoryId()), is(nullValue()));
+        } finally {
+            server.shutdown(false);
+        }
+    }
+
+    private ParosDatabaseServer createDatabaseServer(Path dir, boolean asyncHistoryWrites)
+            throws Exception {
+        return createDatabaseServer(dir, createOptions(asyncHistoryWrites));
+    }
+
+    private ParosDatabaseServer createDatabaseServer(Path dir, DatabaseParam options)
+            throws Exception {
+        ParosDatabaseServer server =
+                new ParosDatabaseServer(dir.resolve("session").toString(), options);
+        try (Statement stmt = server.getSingletonConnection().createStatement()) {
+            stmt.execute(
+                    "CREATE CACHED TABLE HISTORY(HISTORYID INTEGER GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL PRIMARY KEY,SESSIONID BIGINT NOT NULL,HISTTYPE INTEGER DEFAULT 1,STATUSCODE INTEGER DEFAULT 0,TIMESENTMILLIS BIGINT DEFAULT 0,TIMEELAPSEDMILLIS INTEGER DEFAULT 0,METHOD VARCHAR(1024) DEFAULT '',URI VARCHAR(1048576) DEFAULT '',REQHEADER VARCHAR(4194304) DEFAULT '',REQBODY VARBINARY(16777216) DEFAULT X'',RESHEADER VARCHAR(4194304) DEFAULT '',RESBODY VARBINARY(16777216) DEFAULT X'',TAG VARCHAR(32768) DEFAULT '',NOTE VARCHAR(1048576) DEFAULT '', RESPONSEFROMTARGETHOST BOOLEAN DEFAULT FALSE)");
+        }
+        table.setDatabaseOptions(options);
+        table.databaseOpen(server);
+        return server;
+    }
+
+    private static DatabaseParam createOptions(boolean asyncHistoryWrites) {
+        DatabaseParam options = new DatabaseParam();
+        options.load(new ZapXmlConfiguration());
+        options.setAsyncHistoryWrites(asyncHistoryWrites);
+        return options;
+    }
+
+    private RecordHistory write(int n) throws Exception {
+        return write("https://example.com/" + n);
+    }
+
+    private RecordHistory write(String uri) throws Exception {
+        HttpMessage msg = new HttpMessage(new URI(uri, true));
+        return table.write(SESSION_ID, HistoryReference.TYPE_PROXIED, msg);
+    }
+
+    private RecordHistory write(String uri, String responseBody) throws Exception {
+        HttpMessage msg = new HttpMessage(new URI(uri, true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody(responseBody);
+        return table.write(SESSION_ID, HistoryReference.TYPE_PROXIED, msg);
+    }
+
+    private String readResponseBody(RecordHistory record) throws Exception {
+        return table.read(record.getHistoryId()).getHttpMessage().getResponseBody().toString();
+    }
+
+    private static String createBody(String content) {
+        return content.repeat(ParosHistoryBodyStore.MIN_BODY_SIZE);
+    }
+
+    private static void setBodySpillThreshold(int threshold) {
+        DatabaseParam param = new DatabaseParam();
+        param.load(new ZapXmlConfiguration());
+        param.setBodySpillThreshold(threshold);
+    }
+
+    private static int countRows(ParosDatabaseServer server, String tableName) throws Exception {
+        try (Statement stmt = server.getSingletonConnection().createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tableName)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.extension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.quality.Strictness;
+import org.zaproxy.zap.control.AddOn;
+
+/** Unit test for {@link ExtensionInitScheduler}. */
+class ExtensionInitSchedulerUnitTest {
+
+    private final List<Extension> ran = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void shouldRunCoreExtensionsBeforeAddOnExtensions() {
+        // Given
+        AddOn addOn = addOn("addOn");
+        Extension addOnExtension = extension(addOn);
+        Extension coreExtension = extension(null);
+        ExtensionInitScheduler scheduler = scheduler(addOnExtension, coreExtension);
+        // When
+        scheduler.run(slowRecord(coreExtension), 4);
+        // Then
+        assertThat(ran, contains(coreExtension, addOnExtension));
+    }
+
+    @Test
+    void shouldRunExtensionsOfSameAddOnInOrder() {
+        // Given
+        AddOn addOn = addOn("addOn");
+        Extension extension1 = extension(addOn);
+        Extension extension2 = extension(addOn);
+        Extension extension3 = extension(addOn);
+        ExtensionInitScheduler scheduler = scheduler(extension1, extension2, extension3);
+        // When
+        scheduler.run(slowRecord(extension1), 4);
+        // Then
+        assertThat(ran, contains(extension1, extension2, extension3));
+    }
+
+    @Test
+    void shouldRunExtensionsAfterAddOnDependencies() {
+        // Given
+        AddOn addOnA = addOn("addOnA");
+        AddOn addOnB = addOn("addOnB", "addOnA");
+        Extension extensionB = extension(addOnB);
+        Extension extensionA = extension(addOnA);
+        ExtensionInitScheduler scheduler = scheduler(extensionB, extensionA);
+        // When
+        scheduler.run(slowRecord(extensionA), 4);
+        // Then
+        assertThat(ran, contains(extensionA, extensionB));
+    }
+
+    @Test
+    void shouldRunExtensionsAfterExtensionDependencies() {
+        // Given
+        AddOn addOnA = addOn("addOnA");
+        AddOn addOnB = addOn("addOnB");
+        Extension extensionA = extension(addOnA);
+        Extension extensionB = extension(addOnB, ExtensionA.class);
+        ExtensionInitScheduler scheduler =
+                new ExtensionInitScheduler(
+                        Arrays.asList(extensionB, extensionA),
+                        c -> c == ExtensionA.class ? extensionA : null);
+        // When
+        scheduler.run(slowRecord(extensionA), 4);
+        // Then
+        assertThat(ran, contains(extensionA, extensionB));
+    }
+
+    @Test
+    void shouldRunIndependentAddOnsConcurrently() {
+        // Given
+        Extension extensionA = extension(addOn("addOnA"));
+        Extension extensionB = extension(addOn("addOnB"));
+        ExtensionInitScheduler scheduler = scheduler(extensionA, extensionB);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        // When
+        scheduler.run(
+                e -> {
+                    try {
+                        barrier.await(5, TimeUnit.SECONDS);
+                        ran.add(e);
+                    } catch (Exception ex) {
+                        // Not run concurrently.
+                    }
+                },
+                2);
+        // Then
+        assertThat(ran, containsInAnyOrder(extensionA, extensionB));
+    }
+
+    @Test
+    void shouldRunAllExtensionsEvenIfTaskFails() {
+        // Given
+        AddOn addOn = addOn("addOn");
+        Extension extension1 = extension(addOn);
+        Extension extension2 = extension(addOn);
+        Extension dependent = extension(addOn("dependent", "addOn"));
+        ExtensionInitScheduler scheduler = scheduler(extension1, extension2, dependent);
+        // When
+        scheduler.run(
+                e -> {
+                    if (e == extension1) {
+                        throw new RuntimeException();
+                    }
+                    ran.add(e);
+                },
+                4);
+        // Then
+        assertThat(ran, contains(extension2, dependent));
+        assertThat(ran.size(), is(equalTo(2)));
+    }
+
+    private Consumer<Extension> slowRecord(Extension slowExtension) {
+        return e -> {
+            if (e == slowExtension) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            ran.add(e);
+        };
+    }
+
+    private static ExtensionInitScheduler scheduler(Extension... extensions) {
+        return new ExtensionInitScheduler(Arrays.asList(extensions), c -> null);
+    }
+
+    private static AddOn addOn(String id, String... dependencies) {
+        AddOn addOn = mock(AddOn.class, withSettings().strictness(Strictness.LENIENT));
+        given(addOn.getId()).willReturn(id);
+        given(addOn.getIdsAddOnDependencies()).willReturn(Arrays.asList(dependencies));
+        return addOn;
+    }
+
+    @SafeVarargs
+    private static Extension extension(AddOn addOn, Class<? extends Extension>... dependencies) {
+        Extension extension = mock(Extension.class, withSettings().strictness(Strictness.LENIENT));
+        given(extension.getAddOn()).willReturn(addOn);
+        List<Class<? extends Extension>> dependenciesList = new ArrayList<>();
+        for (Class<? extends Extension> dependency : dependencies) {
+            dependenciesList.add(dependency);
+        }
+        given(extension.getDependencies()).willReturn(dependenciesList);
+        return extension;
+    }
+
+    private interface ExtensionA extends Extension {}
+}
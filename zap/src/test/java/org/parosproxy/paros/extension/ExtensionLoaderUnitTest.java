@@ -35,7 +35,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.parosproxy.paros.control.Control;
 import org.parosproxy.paros.model.Model;
+import org.parosproxy.paros.model.OptionsParam;
 import org.parosproxy.paros.view.View;
+import org.zaproxy.zap.extension.ext.ExtensionParam;
 
 /** Unit test for {@link ExtensionLoader}. */
 class ExtensionLoaderUnitTest {
@@ -75,6 +77,27 @@ class ExtensionLoaderUnitTest {
         verify(extension).setView(view);
     }
 
+    @Test
+    void shouldInitExtensionsInParallelWhenEnabled() throws Exception {
+        // Given
+        OptionsParam options = mock(OptionsParam.class);
+        ExtensionParam extensionParam = mock(ExtensionParam.class);
+        given(extensionParam.isParallelInit()).willReturn(true);
+        given(options.getExtensionParam()).willReturn(extensionParam);
+        given(model.getOptionsParam()).willReturn(options);
+        Extension extension1 = mock(Extension.class);
+        extensionLoader.addExtension(extension1);
+        Extension extension2 = mock(Extension.class);
+        extensionLoader.addExtension(extension2);
+        // When
+        extensionLoader.startLifeCycle();
+        // Then
+        verify(extension1).init();
+        verify(extension2).init();
+        verify(extension1).hook(any());
+        verify(extension2).hook(any());
+    }
+
     @Test
     void shouldNotInitViewWhenStartingExtensionWithoutView() throws Exception {
         // Given
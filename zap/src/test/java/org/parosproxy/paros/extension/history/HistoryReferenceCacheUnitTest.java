@@ -0,0 +1,117 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.extension.history;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.model.HistoryReference;
+
+/** Unit test for {@link HistoryReferenceCache}. */
+class HistoryReferenceCacheUnitTest {
+
+    @Test
+    void shouldNotCacheIfNoMaxSize() throws Exception {
+        // Given
+        HistoryReferenceCache cache = new HistoryReferenceCache(0);
+        // When
+        cache.put(createReference(1));
+        // Then
+        assertThat(cache.get(1), is(nullValue()));
+        assertThat(cache.getCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldReturnSameReferenceCached() throws Exception {
+        // Given
+        HistoryReferenceCache cache = new HistoryReferenceCache(1024 * 1024);
+        HistoryReference reference = createReference(1);
+        // When
+        cache.put(reference);
+        // Then
+        assertThat(cache.get(1), is(sameInstance(reference)));
+        assertThat(cache.getSize(), is(equalTo(HistoryReferenceCache.estimateSize(reference))));
+    }
+
+    @Test
+    void shouldRemoveNotRecentlyUsedWhenMaxSizeExceeded() throws Exception {
+        // Given
+        HistoryReference reference1 = createReference(1);
+        long size = HistoryReferenceCache.estimateSize(reference1);
+        HistoryReferenceCache cache = new HistoryReferenceCache(size * 2);
+        cache.put(reference1);
+        cache.put(createReference(2));
+        cache.get(1);
+        // When
+        cache.put(createReference(3));
+        // Then
+        assertThat(cache.getCount(), is(equalTo(2)));
+        assertThat(cache.get(1), is(sameInstance(reference1)));
+        assertThat(cache.get(2), is(nullValue()));
+        assertThat(cache.getSize(), is(equalTo(size * 2)));
+    }
+
+    @Test
+    void shouldRemoveReferencesThatExceedNewMaxSize() throws Exception {
+        // Given
+        HistoryReference reference1 = createReference(1);
+        long size = HistoryReferenceCache.estimateSize(reference1);
+        HistoryReferenceCache cache = new HistoryReferenceCache(size * 2);
+        cache.put(reference1);
+        cache.put(createReference(2));
+        // When
+        cache.setMaxSize(size);
+        // Then
+        assertThat(cache.getCount(), is(equalTo(1)));
+        assertThat(cache.get(1), is(nullValue()));
+        assertThat(cache.getSize(), is(equalTo(size)));
+    }
+
+    @Test
+    void shouldRemoveAndClearReferences() throws Exception {
+        // Given
+        HistoryReferenceCache cache = new HistoryReferenceCache(1024 * 1024);
+        cache.put(createReference(1));
+        cache.put(createReference(2));
+        cache.put(createReference(3));
+        // When
+        cache.remove(1);
+        int countAfterRemove = cache.getCount();
+        cache.clear();
+        // Then
+        assertThat(countAfterRemove, is(equalTo(2)));
+        assertThat(cache.getCount(), is(equalTo(0)));
+        assertThat(cache.getSize(), is(equalTo(0L)));
+    }
+
+    private static HistoryReference createReference(int historyId) throws Exception {
+        HistoryReference reference = mock(HistoryReference.class);
+        given(reference.getHistoryId()).willReturn(historyId);
+        given(reference.getURI()).willReturn(new URI("https://example.com/" + historyId, true));
+        return reference;
+    }
+}
@@ -223,4 +223,27 @@ class SessionUnitTest {
         // When / Then
         assertThat(session.getContextsForNode(endNode), is(List.of(context)));
     }
+
+    @Test
+    void shouldUpdateScopeWhenContextsChange() {
+        // Given
+        var context = new Context(session, 1);
+        session.addContext(context);
+        context.setIncludeInContextRegexs(List.of("https://example.com/.*"));
+        String url = "https://example.com/path";
+        boolean inScopeBefore = session.isInScope(url);
+        // When
+        context.setExcludeFromContextRegexs(List.of("https://example.com/pa.*"));
+        boolean inScopeExcluded = session.isInScope(url);
+        context.setExcludeFromContextRegexs(List.of());
+        context.setInScope(false);
+        boolean inScopeContextOutOfScope = session.isInScope(url);
+        context.setInScope(true);
+        boolean inScopeAfter = session.isInScope(url);
+        // Then
+        assertThat(inScopeBefore, is(true));
+        assertThat(inScopeExcluded, is(false));
+        assertThat(inScopeContextOutOfScope, is(false));
+        assertThat(inScopeAfter, is(true));
+    }
 }
@@ -36,6 +36,9 @@ import static org.mockito.Mockito.verify;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.commons.httpclient.URI;
 import org.apache.commons.httpclient.URIException;
 import org.junit.jupiter.api.AfterEach;
@@ -313,6 +316,61 @@ class SiteMapUnitTest {
         assertThat(leaf.getCleanNodeName(), is(equalTo("cat")));
     }
 
+    @Test
+    void shouldNotFindNodeAfterRemoved() {
+        // Given
+        String uri = "http://example.com/path/file.ext";
+        siteMapWithNodes(uri, "http://example.com/path/other.ext");
+        SiteNode node = siteMap.findNode(createUri(uri));
+        // When
+        siteMap.removeNodeFromParent(node);
+        // Then
+        assertThat(siteMap.findNode(createUri(uri)), is(nullValue()));
+        assertThat(
+                siteMap.findNode(createUri("http://example.com/path/other.ext")),
+                is(notNullValue()));
+    }
+
+    @Test
+    void shouldAddPathLaterImmediatelyIfViewNotInitialised() throws Exception {
+        // Given
+        String uri = "http://example.com/path/file.ext";
+        HistoryReference href = createHistoryReference(uri);
+        // When
+        CompletableFuture<SiteNode> node = siteMap.addPathLater(href, href.getHttpMessage());
+        // Then
+        assertThat(node.isDone(), is(equalTo(true)));
+        assertThat(node.get(), is(equalTo(siteMap.findNode(createUri(uri)))));
+    }
+
+    @Test
+    void shouldFindNodesWhileAddingPaths() throws Exception {
+        // Given
+        String uri = "http://example.com/path/file.ext";
+        siteMapWithNodes(uri);
+        AtomicBoolean adding = new AtomicBoolean(true);
+        AtomicBoolean allFound = new AtomicBoolean(true);
+        Thread finder =
+                new Thread(
+                        () -> {
+                            while (adding.get()) {
+                                if (siteMap.findNode(createUri(uri)) == null) {
+                                    allFound.set(false);
+                                }
+                            }
+                        });
+        finder.start();
+        // When
+        for (int i = 0; i < 500; i++) {
+            siteMapWithNodes("http://example.com/path/file" + i + ".ext");
+        }
+        adding.set(false);
+        finder.join(TimeUnit.SECONDS.toMillis(5));
+        // Then
+        assertThat(allFound.get(), is(equalTo(true)));
+        assertThat(siteMap.findNode(createUri(uri)).getParent().getChildCount(), is(equalTo(501)));
+    }
+
     private void siteMapWithNodes(String... uris) {
         Arrays.stream(uris).forEach(uri -> siteMap.addPath(createHistoryReference(uri)));
     }
@@ -22,6 +22,7 @@ package org.parosproxy.paros.model;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -86,4 +87,44 @@ class SiteNodeUnitTest {
         // Then
         assertThat(name, is(equalTo("branch")));
     }
+
+    @Test
+    void shouldFindChildByNodeName() {
+        // Given
+        SiteNode siteNode = new SiteNode(siteMap, 0, "http://example.com");
+        SiteNode childNode = new SiteNode(siteMap, 0, "GET:leaf");
+        siteNode.add(new SiteNode(siteMap, 0, "branch"));
+        siteNode.add(childNode);
+        // When
+        SiteNode foundNode = siteNode.findChild("GET:leaf");
+        // Then
+        assertThat(foundNode, is(equalTo(childNode)));
+    }
+
+    @Test
+    void shouldNotFindChildRemoved() {
+        // Given
+        SiteNode siteNode = new SiteNode(siteMap, 0, "http://example.com");
+        SiteNode childNode = new SiteNode(siteMap, 0, "GET:leaf");
+        siteNode.add(childNode);
+        siteNode.remove(childNode);
+        // When
+        SiteNode foundNode = siteNode.findChild("GET:leaf");
+        // Then
+        assertThat(foundNode, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotFindChildMovedToOtherParent() {
+        // Given
+        SiteNode siteNode = new SiteNode(siteMap, 0, "http://example.com");
+        SiteNode otherNode = new SiteNode(siteMap, 0, "http://example.org");
+        SiteNode childNode = new SiteNode(siteMap, 0, "GET:leaf");
+        siteNode.add(childNode);
+        // When
+        otherNode.add(childNode);
+        // Then
+        assertThat(siteNode.findChild("GET:leaf"), is(nullValue()));
+        assertThat(otherNode.findChild("GET:leaf"), is(equalTo(childNode)));
+    }
 }
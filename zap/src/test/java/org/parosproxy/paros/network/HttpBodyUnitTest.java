@@ -35,12 +35,15 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.zaproxy.zap.network.HttpBodyTestUtils;
 import org.zaproxy.zap.network.HttpEncoding;
@@ -48,6 +51,11 @@ import org.zaproxy.zap.network.HttpEncoding;
 /** Unit test for {@link HttpBody}. */
 class HttpBodyUnitTest extends HttpBodyTestUtils {
 
+    @AfterEach
+    void cleanUp() {
+        HttpBody.setSpillThreshold(0);
+    }
+
     @Test
     void shouldHaveZeroLengthByDefault() {
         // Given
@@ -1205,6 +1213,178 @@ class HttpBodyUnitTest extends HttpBodyTestUtils {
         assertThat(httpBody.hashCode(), is(not(equalTo(otherHttpBody.hashCode()))));
     }
 
+    @Test
+    void shouldAppendManyChunksKeepingLengthOfContents() {
+        // Given
+        HttpBody httpBody = new HttpBodyImpl();
+        byte[] chunk = bytes("0123456789");
+        // When
+        for (int i = 0; i < 1000; i++) {
+            httpBody.append(chunk);
+        }
+        // Then
+        assertThat(httpBody.length(), is(equalTo(10_000)));
+        assertThat(httpBody.getBytes().length, is(equalTo(10_000)));
+        assertThat(httpBody.toString().substring(9_990), is(equalTo("0123456789")));
+    }
+
+    @Test
+    void shouldNotSpillBodyByDefault() {
+        // Given
+        HttpBody httpBody = new HttpBodyImpl();
+        // When
+        httpBody.append(new byte[1024 * 1024]);
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldSpillBodyAppendedAboveThreshold() throws IOException {
+        // Given
+        HttpBody.setSpillThreshold(15);
+        HttpBody httpBody = new HttpBodyImpl();
+        // When
+        httpBody.append(bytes("0123456789"));
+        httpBody.append(bytes("ABCDEFGHIJ"));
+        httpBody.append(bytes("abcdefghij"));
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        assertThat(httpBody.length(), is(equalTo(30)));
+        try (InputStream is = httpBody.getInputStream()) {
+            assertThat(is.readAllBytes(), is(equalTo(bytes("0123456789ABCDEFGHIJabcdefghij"))));
+        }
+        ByteBuffer buffer = httpBody.getByteBuffer();
+        assertThat(buffer.remaining(), is(equalTo(30)));
+        assertThat(buffer.get(29), is(equalTo((byte) 'j')));
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldKeepBodySpilledWhenBytesRequested() throws IOException {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        // When
+        byte[] content = httpBody.getBytes();
+        // Then
+        assertThat(content, is(equalTo(bytes("0123456789"))));
+        assertThat(httpBody.toString(), is(equalTo("0123456789")));
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        try (InputStream is = httpBody.getInputStream()) {
+            assertThat(is.readAllBytes(), is(equalTo(bytes("0123456789"))));
+        }
+    }
+
+    @Test
+    void shouldNotReadSpilledBodyAgainWhenBytesRequestedAgain() {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        byte[] content = httpBody.getBytes();
+        // When
+        byte[] contentAgain = httpBody.getBytes();
+        int hashCode = httpBody.hashCode();
+        // Then
+        assertThat(contentAgain, is(sameInstance(content)));
+        assertThat(hashCode, is(equalTo(new HttpBodyImpl("0123456789").hashCode())));
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldReadSpilledBodyAgainAfterChange() {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        httpBody.getBytes();
+        // When
+        httpBody.append(bytes("abc"));
+        // Then
+        assertThat(httpBody.getBytes(), is(equalTo(bytes("0123456789abc"))));
+    }
+
+    @Test
+    void shouldSpillBodySetAboveThreshold() throws IOException {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        // When
+        httpBody.setBody(bytes("0123456789"));
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        assertThat(httpBody.length(), is(equalTo(10)));
+        assertThat(httpBody.getBytes(), is(equalTo(bytes("0123456789"))));
+    }
+
+    @Test
+    void shouldSpillBodyCreatedAboveThreshold() {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        // When
+        HttpBody httpBody = new HttpBodyImpl("0123456789");
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        assertThat(httpBody.toString(), is(equalTo("0123456789")));
+    }
+
+    @Test
+    void shouldTruncateSpilledBody() throws IOException {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        // When
+        httpBody.setLength(7);
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        assertThat(httpBody.getBytes(), is(equalTo(bytes("0123456"))));
+        try (InputStream is = httpBody.getInputStream()) {
+            assertThat(is.readAllBytes(), is(equalTo(bytes("0123456"))));
+        }
+    }
+
+    @Test
+    void shouldAppendToTruncatedSpilledBody() {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        httpBody.setLength(7);
+        // When
+        httpBody.append(bytes("abc"));
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(true)));
+        assertThat(httpBody.getBytes(), is(equalTo(bytes("0123456abc"))));
+    }
+
+    @Test
+    void shouldNotBeSpilledAfterSettingNewBody() {
+        // Given
+        HttpBody.setSpillThreshold(5);
+        HttpBody httpBody = new HttpBodyImpl();
+        httpBody.append(bytes("0123456789"));
+        // When
+        httpBody.setBody("ABC");
+        // Then
+        assertThat(httpBody.isSpilled(), is(equalTo(false)));
+        assertThat(httpBody.getBytes(), is(equalTo(bytes("ABC"))));
+    }
+
+    @Test
+    void shouldGetStreamingViewsOfBodyInMemory() throws IOException {
+        // Given
+        HttpBody httpBody = new HttpBodyImpl("0123456789");
+        // When
+        InputStream is = httpBody.getInputStream();
+        ByteBuffer buffer = httpBody.getByteBuffer();
+        // Then
+        assertThat(is.readAllBytes(), is(equalTo(bytes("0123456789"))));
+        assertThat(buffer.remaining(), is(equalTo(10)));
+        assertThat(buffer.isReadOnly(), is(equalTo(true)));
+    }
+
     private static byte[] bytes(String data) {
         return data.getBytes(StandardCharsets.US_ASCII);
     }
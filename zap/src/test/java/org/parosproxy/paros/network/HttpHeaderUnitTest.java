@@ -20,9 +20,13 @@
 package org.parosproxy.paros.network;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -51,4 +55,97 @@ class HttpHeaderUnitTest {
         // Then
         assertThat(hasType, is(equalTo(true)));
     }
+
+    @Test
+    void shouldParseHeaderFieldsInOrder() throws Exception {
+        // Given
+        String data = "HTTP/1.1 200 OK\r\nB:  1 \r\nA: 2\r\nb: 3\r\n\r\n";
+        // When
+        HttpResponseHeader header = new HttpResponseHeader(data);
+        // Then
+        assertThat(
+                header.getHeaders(),
+                contains(
+                        new HttpHeaderField("B", "1"),
+                        new HttpHeaderField("A", "2"),
+                        new HttpHeaderField("b", "3")));
+        assertThat(header.getHeaderValues("b"), contains("1", "3"));
+        assertThat(header.getHeadersAsString(), is(equalTo("B: 1\r\nA: 2\r\nb: 3\r\n")));
+    }
+
+    @Test
+    void shouldReplaceHeaderInPlace() throws Exception {
+        // Given
+        HttpResponseHeader header =
+                new HttpResponseHeader("HTTP/1.1 200 OK\r\nA: 1\r\nB: 2\r\nC: 3\r\n\r\n");
+        // When
+        header.setHeader("b", "new");
+        // Then
+        assertThat(header.getHeader("B"), is(equalTo("new")));
+        assertThat(header.getHeadersAsString(), is(equalTo("A: 1\r\nb: new\r\nC: 3\r\n")));
+        assertThat(
+                header.toString(),
+                is(equalTo("HTTP/1.1 200 OK\r\nA: 1\r\nb: new\r\nC: 3\r\n\r\n")));
+    }
+
+    @Test
+    void shouldReplaceAllOccurrencesOfHeader() throws Exception {
+        // Given
+        HttpResponseHeader header =
+                new HttpResponseHeader("HTTP/1.1 200 OK\r\nA: 1\r\nB: 2\r\nA: 3\r\n\r\n");
+        // When
+        header.setHeader("A", "new");
+        // Then
+        assertThat(header.getHeaderValues("A"), contains("new"));
+        assertThat(header.getHeadersAsString(), is(equalTo("A: new\r\nB: 2\r\nA: new\r\n")));
+    }
+
+    @Test
+    void shouldRemoveHeaderWithNullValue() throws Exception {
+        // Given
+        HttpResponseHeader header =
+                new HttpResponseHeader("HTTP/1.1 200 OK\r\nA: 1\r\nB: 2\r\nA: 3\r\n\r\n");
+        // When
+        header.setHeader("a", null);
+        // Then
+        assertThat(header.getHeader("A"), is(nullValue()));
+        assertThat(header.getHeaders(), contains(new HttpHeaderField("B", "2")));
+        assertThat(header.getHeadersAsString(), is(equalTo("B: 2\r\n")));
+    }
+
+    @Test
+    void shouldAppendHeaderNotYetPresent() throws Exception {
+        // Given
+        HttpResponseHeader header = new HttpResponseHeader("HTTP/1.1 200 OK\r\nA: 1\r\n\r\n");
+        // When
+        header.setHeader("B", "2");
+        header.addHeader("A", "3");
+        // Then
+        assertThat(header.getHeaderValues("A"), contains("1", "3"));
+        assertThat(header.getHeadersAsString(), is(equalTo("A: 1\r\nB: 2\r\nA: 3\r\n")));
+    }
+
+    @Test
+    void shouldGetHeadersOfHeaderAddedWithLineBreaks() {
+        // Given
+        HttpResponseHeader header = new HttpResponseHeader();
+        // When
+        header.addHeader("A", "1\r\nB: 2");
+        // Then
+        assertThat(
+                header.getHeaders(),
+                contains(new HttpHeaderField("A", "1"), new HttpHeaderField("B", "2")));
+        assertThat(header.getHeadersAsString(), is(equalTo("A: 1\r\nB: 2\r\n")));
+    }
+
+    @Test
+    void shouldHaveNoHeadersAfterClear() throws Exception {
+        // Given
+        HttpResponseHeader header = new HttpResponseHeader("HTTP/1.1 200 OK\r\nA: 1\r\n\r\n");
+        // When
+        header.clear();
+        // Then
+        assertThat(header.getHeaders(), is(empty()));
+        assertThat(header.getHeadersAsString(), is(equalTo("")));
+    }
 }
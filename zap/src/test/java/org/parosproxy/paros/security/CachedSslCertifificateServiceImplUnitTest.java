@@ -0,0 +1,148 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parosproxy.paros.security;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link CachedSslCertifificateServiceImpl}. */
+@SuppressWarnings("deprecation")
+class CachedSslCertifificateServiceImplUnitTest {
+
+    private SslCertificateService delegate;
+    private CachedSslCertifificateServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(SslCertificateService.class);
+        service = new CachedSslCertifificateServiceImpl(delegate, 2);
+    }
+
+    @Test
+    void shouldCreateCertificateOnceForSameHost() throws Exception {
+        // Given
+        KeyStore ks = mock(KeyStore.class);
+        given(delegate.createCertForHost(any(CertData.class))).willReturn(ks);
+        // When
+        KeyStore first = service.createCertForHost("example.com");
+        KeyStore second = service.createCertForHost("example.com");
+        // Then
+        assertThat(first, is(sameInstance(ks)));
+        assertThat(second, is(sameInstance(ks)));
+        verify(delegate, times(1)).createCertForHost(new CertData("example.com"));
+    }
+
+    @Test
+    void shouldNotCacheNullCertificates() throws Exception {
+        // Given
+        given(delegate.createCertForHost(any(CertData.class))).willReturn(null);
+        // When
+        KeyStore ks = service.createCertForHost("example.com");
+        // Then
+        assertThat(ks, is(nullValue()));
+        assertThat(service.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldNotCacheCertificatesThatFailed() throws Exception {
+        // Given
+        given(delegate.createCertForHost(any(CertData.class))).willThrow(new KeyStoreException());
+        // When / Then
+        assertThrows(KeyStoreException.class, () -> service.createCertForHost("example.com"));
+        assertThat(service.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldEvictOldestCertificates() throws Exception {
+        // Given
+        given(delegate.createCertForHost(any(CertData.class)))
+                .willAnswer(invocation -> mock(KeyStore.class));
+        // When
+        service.createCertForHost("a.example.com");
+        service.createCertForHost("b.example.com");
+        service.createCertForHost("c.example.com");
+        // Then
+        assertThat(service.size(), is(equalTo(2)));
+        service.createCertForHost("a.example.com");
+        verify(delegate, times(2)).createCertForHost(new CertData("a.example.com"));
+    }
+
+    @Test
+    void shouldClearCertificatesWhenInitialisingRootCa() throws Exception {
+        // Given
+        given(delegate.createCertForHost(any(CertData.class)))
+                .willAnswer(invocation -> mock(KeyStore.class));
+        service.createCertForHost("example.com");
+        KeyStore rootCa = mock(KeyStore.class);
+        // When
+        service.initializeRootCA(rootCa);
+        // Then
+        assertThat(service.size(), is(equalTo(0)));
+        verify(delegate).initializeRootCA(rootCa);
+    }
+
+    @Test
+    void shouldCreateCertificatesOfDifferentHostsConcurrently() throws Exception {
+        // Given
+        CountDownLatch bothCreating = new CountDownLatch(2);
+        given(delegate.createCertForHost(any(CertData.class)))
+                .willAnswer(
+                        invocation -> {
+                            bothCreating.countDown();
+                            bothCreating.await(5, TimeUnit.SECONDS);
+                            return mock(KeyStore.class);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            List<Future<KeyStore>> results = new ArrayList<>();
+            results.add(executor.submit(() -> service.createCertForHost("a.example.com")));
+            results.add(executor.submit(() -> service.createCertForHost("b.example.com")));
+            for (Future<KeyStore> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+            // Then
+            assertThat(bothCreating.getCount(), is(equalTo(0L)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
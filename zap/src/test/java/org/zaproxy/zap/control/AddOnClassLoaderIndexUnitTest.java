@@ -0,0 +1,159 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.control;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link AddOnClassLoaderIndex}. */
+class AddOnClassLoaderIndexUnitTest extends AddOnTestUtils {
+
+    private AddOnLoader parent;
+    private AddOnClassLoader classLoader;
+
+    private AddOnClassLoaderIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        parent = mock(AddOnLoader.class);
+        classLoader = createClassLoader("addon.zap", "org/example/Class.class", "res/file.txt");
+
+        index = new AddOnClassLoaderIndex();
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        classLoader.close();
+    }
+
+    @Test
+    void shouldGetClassLoaderOfClassInIndexedPackage() {
+        // Given
+        index.add(classLoader);
+        // When
+        List<AddOnClassLoader> loaders = index.getClassLoadersForClass("org.example.Other");
+        // Then
+        assertThat(loaders, contains(classLoader));
+    }
+
+    @Test
+    void shouldNotGetClassLoaderOfClassInOtherPackage() {
+        // Given
+        index.add(classLoader);
+        // When
+        List<AddOnClassLoader> loaders = index.getClassLoadersForClass("org.other.Class");
+        // Then
+        assertThat(loaders, is(empty()));
+    }
+
+    @Test
+    void shouldGetClassLoaderOfResourceInIndexedDirectory() {
+        // Given
+        index.add(classLoader);
+        // When
+        List<AddOnClassLoader> loaders = index.getClassLoadersForResource("res/other.txt");
+        // Then
+        assertThat(loaders, contains(classLoader));
+    }
+
+    @Test
+    void shouldGetClassLoaderOfIndexedDirectory() {
+        // Given
+        index.add(classLoader);
+        // When
+        List<AddOnClassLoader> loaders = index.getClassLoadersForResource("org/example/");
+        // Then
+        assertThat(loaders, contains(classLoader));
+    }
+
+    @Test
+    void shouldGetClassLoaderOfMultiReleaseEntries() throws Exception {
+        // Given
+        try (AddOnClassLoader mrClassLoader =
+                createClassLoader("mr.zap", "META-INF/versions/11/org/mr/Class.class")) {
+            index.add(mrClassLoader);
+            // When
+            List<AddOnClassLoader> loaders = index.getClassLoadersForClass("org.mr.Class");
+            // Then
+            assertThat(loaders, contains(mrClassLoader));
+        }
+    }
+
+    @Test
+    void shouldAlwaysGetClassLoaderNotIndexed() throws Exception {
+        // Given
+        Path dir = newTempDir();
+        try (AddOnClassLoader dirClassLoader =
+                new AddOnClassLoader(dir.toUri().toURL(), parent, AddOnClassnames.ALL_ALLOWED)) {
+            index.add(classLoader);
+            index.add(dirClassLoader);
+            // When
+            List<AddOnClassLoader> loaders = index.getClassLoadersForClass("org.other.Class");
+            // Then
+            assertThat(loaders, contains(dirClassLoader));
+        }
+    }
+
+    @Test
+    void shouldNotGetClassLoaderRemoved() {
+        // Given
+        index.add(classLoader);
+        // When
+        index.remove(classLoader);
+        // Then
+        assertThat(index.getClassLoadersForClass("org.example.Class"), is(empty()));
+        assertThat(index.getClassLoadersForResource("res/file.txt"), is(empty()));
+    }
+
+    private AddOnClassLoader createClassLoader(String fileName, String... entries)
+            throws Exception {
+        Path file =
+                createAddOnFile(
+                        fileName,
+                        "release",
+                        "1.0.0",
+                        null,
+                        zos -> {
+                            try {
+                                for (String entry : entries) {
+                                    zos.putNextEntry(new ZipEntry(entry));
+                                    zos.closeEntry();
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        URL url = file.toUri().toURL();
+        return new AddOnClassLoader(url, parent, AddOnClassnames.ALL_ALLOWED);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.db.sql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link SqlConnectionPool}. */
+class SqlConnectionPoolUnitTest {
+
+    @Test
+    void shouldCreateConnectionIfNoneIdle() throws Exception {
+        // Given
+        Connection conn = connection();
+        SqlConnectionPool pool = new SqlConnectionPool(() -> conn, 2);
+        // When
+        Connection acquired = pool.acquire();
+        // Then
+        assertThat(acquired, is(sameInstance(conn)));
+    }
+
+    @Test
+    void shouldReuseReleasedConnection() throws Exception {
+        // Given
+        SqlConnectionPool pool = new SqlConnectionPool(SqlConnectionPoolUnitTest::connection, 2);
+        Connection conn = pool.acquire();
+        pool.release(conn);
+        // When
+        Connection acquired = pool.acquire();
+        // Then
+        assertThat(acquired, is(sameInstance(conn)));
+        assertThat(pool.getIdleCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldNotReuseClosedConnection() throws Exception {
+        // Given
+        SqlConnectionPool pool = new SqlConnectionPool(SqlConnectionPoolUnitTest::connection, 2);
+        Connection conn = pool.acquire();
+        pool.release(conn);
+        given(conn.isClosed()).willReturn(true);
+        // When
+        Connection acquired = pool.acquire();
+        // Then
+        assertThat(acquired, is(not(sameInstance(conn))));
+    }
+
+    @Test
+    void shouldCloseConnectionReleasedWithoutAutoCommit() throws Exception {
+        // Given
+        SqlConnectionPool pool = new SqlConnectionPool(SqlConnectionPoolUnitTest::connection, 2);
+        Connection conn = pool.acquire();
+        given(conn.getAutoCommit()).willReturn(false);
+        // When
+        pool.release(conn);
+        // Then
+        verify(conn).close();
+        assertThat(pool.getIdleCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldCloseConnectionsReleasedOverMaxIdle() throws Exception {
+        // Given
+        SqlConnectionPool pool = new SqlConnectionPool(SqlConnectionPoolUnitTest::connection, 1);
+        Connection conn1 = pool.acquire();
+        Connection conn2 = pool.acquire();
+        // When
+        pool.release(conn1);
+        pool.release(conn2);
+        // Then
+        verify(conn1, never()).close();
+        verify(conn2).close();
+        assertThat(pool.getIdleCount(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldCloseIdleConnectionsOnClear() throws Exception {
+        // Given
+        SqlConnectionPool pool = new SqlConnectionPool(SqlConnectionPoolUnitTest::connection, 2);
+        Connection conn = pool.acquire();
+        pool.release(conn);
+        // When
+        pool.clear();
+        // Then
+        verify(conn).close();
+        assertThat(pool.getIdleCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldAcquireAndReleaseConcurrently() throws Exception {
+        // Given
+        int threads = 8;
+        int maxIdle = 4;
+        AtomicInteger created = new AtomicInteger();
+        SqlConnectionPool pool =
+                new SqlConnectionPool(
+                        () -> {
+                            created.incrementAndGet();
+                            return connection();
+                        },
+                        maxIdle);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int j = 0; j < 1000; j++) {
+                                        pool.release(pool.acquire());
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Then
+        assertThat(created.get(), is(lessThan(threads * 1000)));
+        assertThat(pool.getIdleCount(), is(lessThanOrEqualTo(maxIdle)));
+    }
+
+    private static Connection connection() throws SQLException {
+        Connection conn = mock(Connection.class);
+        given(conn.getAutoCommit()).willReturn(true);
+        return conn;
+    }
+}
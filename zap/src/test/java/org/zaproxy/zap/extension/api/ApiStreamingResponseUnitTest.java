@@ -0,0 +1,118 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpHeader;
+import org.parosproxy.paros.network.HttpMessage;
+import org.parosproxy.paros.network.HttpOutputStream;
+
+/** Unit test for {@link ApiStreamingResponse}. */
+class ApiStreamingResponseUnitTest {
+
+    private HttpMessage msg;
+    private ByteArrayOutputStream output;
+    private ApiStreamingResponse response;
+
+    @BeforeEach
+    void setUp() {
+        msg = new HttpMessage();
+        output = new ByteArrayOutputStream();
+        response =
+                new ApiStreamingResponse(
+                        msg,
+                        new HttpOutputStream(output),
+                        m -> m.getResponseHeader().setHeader("X-Custom", "value"));
+    }
+
+    @Test
+    void shouldNotBeStartedByDefault() {
+        assertThat(response.isStarted(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldWriteChunkedResponseHeaderWhenStarted() throws Exception {
+        // Given
+        String contentType = "application/json; charset=UTF-8";
+        // When
+        response.start(contentType);
+        // Then
+        assertThat(response.isStarted(), is(equalTo(true)));
+        assertThat(msg.getResponseHeader().getHeader(HttpHeader.CONTENT_LENGTH), is(nullValue()));
+        assertThat(
+                msg.getResponseHeader().getHeader(HttpHeader.TRANSFER_ENCODING),
+                is(equalTo("chunked")));
+        assertThat(msg.getResponseHeader().getHeader("X-Custom"), is(equalTo("value")));
+        String written = written();
+        assertThat(written, containsString("HTTP/1.1 200 OK"));
+        assertThat(written, containsString("Content-Type: " + contentType));
+        assertThat(written, endsWith("\r\n\r\n"));
+    }
+
+    @Test
+    void shouldThrowIfStartedTwice() throws Exception {
+        // Given
+        response.start("text/plain");
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> response.start("text/plain"));
+    }
+
+    @Test
+    void shouldWriteBodyChunkedAndNotFinishWhenBodyClosed() throws Exception {
+        // Given
+        OutputStream body = response.start("text/plain");
+        int headerLength = written().length();
+        // When
+        body.write("Hello".getBytes(StandardCharsets.UTF_8));
+        body.close();
+        body.write(" World".getBytes(StandardCharsets.UTF_8));
+        response.finish();
+        // Then
+        assertThat(written().substring(headerLength), is(equalTo("b\r\nHello World\r\n0\r\n\r\n")));
+    }
+
+    @Test
+    void shouldNotWriteLastChunkIfNotFinished() throws Exception {
+        // Given
+        OutputStream body = response.start("text/plain");
+        // When
+        body.write("Hello".getBytes(StandardCharsets.UTF_8));
+        body.flush();
+        // Then
+        assertThat(written(), not(endsWith("0\r\n\r\n")));
+    }
+
+    private String written() {
+        return new String(output.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+}
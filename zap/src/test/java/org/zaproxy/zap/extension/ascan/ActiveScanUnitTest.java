@@ -0,0 +1,95 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.scanner.ScannerParam;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.testutils.TestUtils;
+import org.zaproxy.zap.utils.I18N;
+import org.zaproxy.zap.utils.ZapXmlConfiguration;
+
+/** Unit test for {@link ActiveScan}. */
+class ActiveScanUnitTest extends TestUtils {
+
+    private ScannerParam scannerParam;
+    private ScanPolicy scanPolicy;
+
+    @BeforeEach
+    void setUp() {
+        Constant.messages = mock(I18N.class);
+        Control.initSingletonForTesting();
+
+        scannerParam = new ScannerParam();
+        scannerParam.load(new ZapXmlConfiguration());
+        scannerParam.setPersistMessages(false);
+        scanPolicy = mock(ScanPolicy.class);
+    }
+
+    @Test
+    void shouldKeepRecentMessagesInMemory() {
+        // Given
+        scannerParam.setMaxMessagesInMemory(1);
+        ActiveScan ascan = new ActiveScan("Scan", scannerParam, scanPolicy, null);
+        HttpMessage msg = spy(new HttpMessage());
+        // When
+        ascan.notifyNewMessage(msg);
+        // Then
+        verify(msg, times(1)).cloneAll();
+        assertThat(ascan.getRecentMessages(), hasSize(1));
+    }
+
+    @Test
+    void shouldNotCloneMessagesIfNoneKeptInMemory() {
+        // Given
+        scannerParam.setMaxMessagesInMemory(0);
+        ActiveScan ascan = new ActiveScan("Scan", scannerParam, scanPolicy, null);
+        HttpMessage msg = spy(new HttpMessage());
+        // When
+        ascan.notifyNewMessage(msg);
+        // Then
+        verify(msg, never()).cloneAll();
+        assertThat(ascan.getRecentMessages(), is(empty()));
+    }
+
+    @Test
+    void shouldClearRecentMessagesOnReset() {
+        // Given
+        ActiveScan ascan = new ActiveScan("Scan", scannerParam, scanPolicy, null);
+        ascan.notifyNewMessage(new HttpMessage());
+        // When
+        ascan.reset();
+        // Then
+        assertThat(ascan.getRecentMessages(), is(empty()));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.ascan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link ScanMessagesBuffer}. */
+class ScanMessagesBufferUnitTest {
+
+    @Test
+    void shouldKeepMessagesAdded() {
+        // Given
+        ScanMessagesBuffer buffer = new ScanMessagesBuffer(3);
+        HttpMessage msg1 = new HttpMessage();
+        HttpMessage msg2 = new HttpMessage();
+        // When
+        buffer.add(msg1);
+        buffer.add(msg2);
+        // Then
+        assertThat(buffer.getMessages(), contains(msg1, msg2));
+        assertThat(buffer.getCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    void shouldKeepOnlyMostRecentMessagesWhenFull() {
+        // Given
+        ScanMessagesBuffer buffer = new ScanMessagesBuffer(2);
+        HttpMessage msg1 = new HttpMessage();
+        HttpMessage msg2 = new HttpMessage();
+        HttpMessage msg3 = new HttpMessage();
+        // When
+        buffer.add(msg1);
+        buffer.add(msg2);
+        buffer.add(msg3);
+        // Then
+        assertThat(buffer.getMessages(), contains(msg2, msg3));
+        assertThat(buffer.getCount(), is(equalTo(3L)));
+    }
+
+    @Test
+    void shouldNotKeepMessagesWithZeroCapacity() {
+        // Given
+        ScanMessagesBuffer buffer = new ScanMessagesBuffer(0);
+        // When
+        buffer.add(new HttpMessage());
+        // Then
+        assertThat(buffer.getMessages(), is(empty()));
+        assertThat(buffer.getCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    void shouldKeepMessagesOnlyIfCapacityAboveZero() {
+        // Given
+        ScanMessagesBuffer buffer = new ScanMessagesBuffer(1);
+        ScanMessagesBuffer zeroCapacityBuffer = new ScanMessagesBuffer(0);
+        // When / Then
+        assertThat(buffer.isKeepingMessages(), is(equalTo(true)));
+        assertThat(zeroCapacityBuffer.isKeepingMessages(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldClearMessages() {
+        // Given
+        ScanMessagesBuffer buffer = new ScanMessagesBuffer(2);
+        buffer.add(new HttpMessage());
+        // When
+        buffer.clear();
+        // Then
+        List<HttpMessage> messages = buffer.getMessages();
+        assertThat(messages, is(empty()));
+    }
+}
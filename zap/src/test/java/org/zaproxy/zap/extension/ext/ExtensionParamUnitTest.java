@@ -163,6 +163,41 @@ class ExtensionParamUnitTest {
         assertThat(param.getConfig().getKeys().hasNext(), is(equalTo(false)));
     }
 
+    @Test
+    void shouldNotInitInParallelByDefault() {
+        // Given
+        ExtensionParam param = new ExtensionParam();
+        // When
+        param.load(createTestConfig());
+        // Then
+        assertThat(param.isParallelInit(), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldLoadParallelInit() {
+        // Given
+        ExtensionParam param = new ExtensionParam();
+        FileConfiguration config = createTestConfig();
+        config.setProperty("extensions.parallelInit", true);
+        // When
+        param.load(config);
+        // Then
+        assertThat(param.isParallelInit(), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldPersistParallelInit() {
+        // Given
+        ExtensionParam param = new ExtensionParam();
+        FileConfiguration config = createTestConfig();
+        param.load(config);
+        // When
+        param.setParallelInit(true);
+        // Then
+        assertThat(param.isParallelInit(), is(equalTo(true)));
+        assertThat(config.getBoolean("extensions.parallelInit"), is(equalTo(true)));
+    }
+
     private static Map<String, Boolean> extensionsState(boolean... states) {
         Map<String, Boolean> extensionsState = new HashMap<>();
         if (states == null || states.length == 0) {
@@ -0,0 +1,58 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.params;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HtmlParameter;
+
+/** Unit test for {@link HtmlParameterStats}. */
+class HtmlParameterStatsUnitTest {
+
+    @Test
+    void shouldAddNullValueAsEmpty() {
+        // Given
+        HtmlParameterStats param = createParam(null);
+        // When / Then
+        assertThat(param.getValues(), contains(""));
+    }
+
+    @Test
+    void shouldBoundNumberOfDistinctValues() {
+        // Given
+        HtmlParameterStats param = createParam("value0");
+        // When
+        for (int i = 1; i < HtmlParameterStats.MAX_VALUES * 2; i++) {
+            param.addValue("value" + i);
+        }
+        // Then
+        assertThat(param.getValues().size(), is(equalTo(HtmlParameterStats.MAX_VALUES)));
+    }
+
+    private static HtmlParameterStats createParam(String value) {
+        return new HtmlParameterStats(
+                "example.com:443", "name", HtmlParameter.Type.url, value, new HashSet<>());
+    }
+}
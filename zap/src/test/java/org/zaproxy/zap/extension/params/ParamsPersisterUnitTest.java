@@ -0,0 +1,179 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.params;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.network.HtmlParameter;
+
+/** Unit test for {@link ParamsPersister}. */
+class ParamsPersisterUnitTest {
+
+    private List<HtmlParameterStats> written;
+    private ParamsPersister persister;
+
+    @BeforeEach
+    void setUp() {
+        written = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (persister != null) {
+            persister.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotWriteParamsInline() {
+        // Given
+        persister = new ParamsPersister(written::add, 60_000);
+        HtmlParameterStats param = createParam("a");
+        // When
+        persister.persist(param);
+        // Then
+        assertThat(written, is(empty()));
+        assertThat(persister.getPendingCount(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldWriteParamChangedSeveralTimesOnce() {
+        // Given
+        persister = new ParamsPersister(written::add, 60_000);
+        HtmlParameterStats param = createParam("a");
+        persister.persist(param);
+        persister.persist(param);
+        persister.persist(param);
+        // When
+        persister.flush();
+        // Then
+        assertThat(written, contains(param));
+        assertThat(persister.getPendingCount(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldWriteParamsInBackgroundAfterDelay() throws Exception {
+        // Given
+        CountDownLatch latch = new CountDownLatch(2);
+        persister =
+                new ParamsPersister(
+                        p -> {
+                            written.add(p);
+                            latch.countDown();
+                        },
+                        10);
+        HtmlParameterStats param1 = createParam("a");
+        HtmlParameterStats param2 = createParam("b");
+        // When
+        persister.persist(param1);
+        persister.persist(param2);
+        // Then
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(new HashSet<>(written), is(equalTo(new HashSet<>(List.of(param1, param2)))));
+    }
+
+    @Test
+    void shouldNotWriteDiscardedParams() {
+        // Given
+        persister = new ParamsPersister(written::add, 60_000);
+        persister.persist(createParam("a"));
+        // When
+        persister.discard();
+        persister.flush();
+        // Then
+        assertThat(written, is(empty()));
+    }
+
+    @Test
+    void shouldWritePendingParamsOnShutdown() {
+        // Given
+        persister = new ParamsPersister(written::add, 60_000);
+        HtmlParameterStats param = createParam("a");
+        persister.persist(param);
+        // When
+        persister.shutdown();
+        // Then
+        assertThat(written, contains(param));
+    }
+
+    @Test
+    void shouldContinueWritingIfWriterFails() {
+        // Given
+        persister =
+                new ParamsPersister(
+                        p -> {
+                            if ("a".equals(p.getName())) {
+                                throw new RuntimeException();
+                            }
+                            written.add(p);
+                        },
+                        60_000);
+        HtmlParameterStats param = createParam("b");
+        persister.persist(createParam("a"));
+        persister.persist(param);
+        // When
+        persister.flush();
+        // Then
+        assertThat(written, contains(param));
+    }
+
+    @Test
+    void shouldKeepParamPendingIfWriterFails() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        persister =
+                new ParamsPersister(
+                        p -> {
+                            if (attempts.incrementAndGet() == 1) {
+                                throw new RuntimeException();
+                            }
+                            written.add(p);
+                        },
+                        60_000);
+        HtmlParameterStats param = createParam("a");
+        persister.persist(param);
+        persister.flush();
+        int pendingAfterFailure = persister.getPendingCount();
+        // When
+        persister.flush();
+        // Then
+        assertThat(pendingAfterFailure, is(equalTo(1)));
+        assertThat(persister.getPendingCount(), is(equalTo(0)));
+        assertThat(written, contains(param));
+    }
+
+    private static HtmlParameterStats createParam(String name) {
+        return new HtmlParameterStats(
+                "example.com:443", name, HtmlParameter.Type.url, "value", new HashSet<>());
+    }
+}
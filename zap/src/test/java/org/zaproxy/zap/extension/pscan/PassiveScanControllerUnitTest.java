@@ -23,10 +23,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -42,6 +46,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.parosproxy.paros.Constant;
 import org.parosproxy.paros.control.Control;
+import org.parosproxy.paros.core.proxy.ProxyListener;
+import org.parosproxy.paros.extension.ExtensionHook;
 import org.parosproxy.paros.extension.history.ExtensionHistory;
 import org.parosproxy.paros.model.HistoryReference;
 import org.parosproxy.paros.model.Model;
@@ -224,6 +230,106 @@ class PassiveScanControllerUnitTest extends TestUtils {
         assertThat(scanState.isScannedResponse(), is(equalTo(false)));
     }
 
+    @Test
+    void shouldScanQueuedMessageWithoutReadingFromDatabase() throws Exception {
+        // Given
+        HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
+        msg.setResponseFromTargetHost(true);
+
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(1);
+        msg.setHistoryRef(href);
+        given(extHistory.getLastHistoryId()).willReturn(1);
+
+        ScanState scanState = new ScanState(1);
+        TestPassiveScanner scanner = new TestPassiveScanner(true, scanState);
+        given(scanRuleManager.getScanRules()).willReturn(Collections.singletonList(scanner));
+
+        // When
+        psc.start();
+        psc.onHttpResponseReceive(msg);
+        scanState.waitScanFinished();
+        sleep(500);
+
+        // Then
+        assertThat(psc.getRecordsToScan(), is(equalTo(0)));
+        assertThat(psc.getQueueSize(), is(equalTo(0)));
+        assertThat(scanState.isScannedRequest(), is(equalTo(true)));
+        assertThat(scanState.isScannedResponse(), is(equalTo(true)));
+        verify(href, never()).getHttpMessage();
+        verify(extHistory, never()).getHistoryReference(1);
+    }
+
+    @Test
+    void shouldQueueMessagesNotifiedThroughExtensionProxyListener() throws Exception {
+        // Given
+        ExtensionPassiveScan extension = new ExtensionPassiveScan();
+        ExtensionHook extensionHook = new ExtensionHook(Model.getSingleton(), null);
+        extension.hook(extensionHook);
+        extension.setPassiveController(psc);
+        extension.setPassiveControllerProxyListener(psc);
+        HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(1);
+        msg.setHistoryRef(href);
+        // When
+        List<ProxyListener> proxyListeners = extensionHook.getProxyListenerList();
+        proxyListeners.forEach(listener -> listener.onHttpResponseReceive(msg));
+        // Then
+        assertThat(proxyListeners, hasSize(1));
+        assertThat(
+                proxyListeners.get(0).getArrangeableListenerOrder(),
+                is(equalTo(ExtensionPassiveScan.PROXY_LISTENER_ORDER)));
+        assertThat(psc.getQueueSize(), is(equalTo(1)));
+    }
+
+    @Test
+    void shouldNotQueueMessagesThroughExtensionProxyListenerIfNotSet() throws Exception {
+        // Given
+        ExtensionPassiveScan extension = new ExtensionPassiveScan();
+        ExtensionHook extensionHook = new ExtensionHook(Model.getSingleton(), null);
+        extension.hook(extensionHook);
+        extension.setPassiveController(psc);
+        HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(1);
+        msg.setHistoryRef(href);
+        // When
+        extensionHook.getProxyListenerList().forEach(l -> l.onHttpResponseReceive(msg));
+        // Then
+        assertThat(psc.getQueueSize(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldReadFromDatabaseMessagesNotQueuedIfQueueFull() throws Exception {
+        // Given
+        psc.setQueueCapacity(0);
+        HttpMessage msg = new HttpMessage(new URI(EXAMPLE_URL, true));
+        msg.setResponseFromTargetHost(true);
+
+        HistoryReference href = mock(HistoryReference.class);
+        given(href.getHistoryId()).willReturn(1);
+        given(href.getHttpMessage()).willReturn(msg);
+        msg.setHistoryRef(href);
+        given(extHistory.getLastHistoryId()).willReturn(1);
+        given(extHistory.getHistoryReference(1)).willReturn(href);
+
+        ScanState scanState = new ScanState(1);
+        TestPassiveScanner scanner = new TestPassiveScanner(true, scanState);
+        given(scanRuleManager.getScanRules()).willReturn(Collections.singletonList(scanner));
+
+        // When
+        psc.start();
+        psc.onHttpResponseReceive(msg);
+        scanState.waitScanFinished();
+        sleep(500);
+
+        // Then
+        assertThat(psc.getQueueSize(), is(equalTo(0)));
+        assertThat(scanState.isScannedResponse(), is(equalTo(true)));
+        verify(href, times(1)).getHttpMessage();
+    }
+
     @Test
     void shouldReturnRunningTasks() throws Exception {
         // Given
@@ -0,0 +1,141 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.script;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.zap.extension.script.ScriptInterfaceCache.CachedInterface;
+
+/** Unit test for {@link ScriptInterfaceCache}. */
+class ScriptInterfaceCacheUnitTest {
+
+    private ScriptEngineWrapper engine;
+    private ScriptWrapper script;
+    private Script iface;
+
+    private ScriptInterfaceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        engine = mock(ScriptEngineWrapper.class);
+        script = new ScriptWrapper();
+        script.setEngine(engine);
+        iface = mock(Script.class);
+
+        cache = new ScriptInterfaceCache();
+    }
+
+    @Test
+    void shouldNotHaveInterfaceIfNotCached() {
+        // Given / When
+        CachedInterface<Script> cachedInterface = cache.get(script, Script.class);
+        // Then
+        assertThat(cachedInterface, is(nullValue()));
+    }
+
+    @Test
+    void shouldGetCachedInterfaceWhileScriptNotChanged() {
+        // Given
+        cache.put(script, script.getModCount(), Script.class, iface);
+        // When
+        CachedInterface<Script> cachedInterface = cache.get(script, Script.class);
+        // Then
+        assertThat(cachedInterface.getInterface(), is(sameInstance(iface)));
+    }
+
+    @Test
+    void shouldNotGetCachedInterfaceIfScriptContentsChanged() {
+        // Given
+        cache.put(script, script.getModCount(), Script.class, iface);
+        script.setContents("New Contents");
+        // When
+        CachedInterface<Script> cachedInterface = cache.get(script, Script.class);
+        // Then
+        assertThat(cachedInterface, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetCachedInterfaceIfScriptEngineChanged() {
+        // Given
+        cache.put(script, script.getModCount(), Script.class, iface);
+        script.setEngine(mock(ScriptEngineWrapper.class));
+        // When
+        CachedInterface<Script> cachedInterface = cache.get(script, Script.class);
+        // Then
+        assertThat(cachedInterface, is(nullValue()));
+    }
+
+    @Test
+    void shouldNotGetCachedInterfaceOfOtherClass() {
+        // Given
+        cache.put(script, script.getModCount(), Script.class, iface);
+        // When
+        CachedInterface<Runnable> cachedInterface = cache.get(script, Runnable.class);
+        // Then
+        assertThat(cachedInterface, is(nullValue()));
+    }
+
+    @Test
+    void shouldRemoveCachedInterfacesOfEngine() {
+        // Given
+        ScriptWrapper otherScript = new ScriptWrapper();
+        otherScript.setEngine(mock(ScriptEngineWrapper.class));
+        cache.put(script, script.getModCount(), Script.class, iface);
+        cache.put(otherScript, otherScript.getModCount(), Script.class, iface);
+        // When
+        cache.removeEngine(engine);
+        // Then
+        assertThat(cache.size(), is(equalTo(1)));
+        assertThat(cache.get(script, Script.class), is(nullValue()));
+        assertThat(cache.get(otherScript, Script.class).getInterface(), is(sameInstance(iface)));
+    }
+
+    @Test
+    void shouldRemoveCachedInterfaceOfScript() {
+        // Given
+        cache.put(script, script.getModCount(), Script.class, iface);
+        // When
+        cache.remove(script);
+        // Then
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldExecuteActionWithInterface() throws Exception {
+        // Given
+        given(engine.isSingleThreaded()).willReturn(true);
+        CachedInterface<Script> cachedInterface =
+                cache.put(script, script.getModCount(), Script.class, iface);
+        // When
+        String result = cachedInterface.execute(() -> "Result");
+        // Then
+        assertThat(result, is(equalTo("Result")));
+    }
+
+    interface Script {}
+}
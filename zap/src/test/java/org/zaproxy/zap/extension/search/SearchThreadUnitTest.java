@@ -0,0 +1,223 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.extension.search;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.quality.Strictness;
+import org.parosproxy.paros.db.Database;
+import org.parosproxy.paros.db.RecordHistory;
+import org.parosproxy.paros.db.TableHistory;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.model.Session;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.WithConfigsTest;
+import org.zaproxy.zap.extension.search.ExtensionSearch.Type;
+
+/** Unit test for {@link SearchThread}. */
+class SearchThreadUnitTest extends WithConfigsTest {
+
+    private static final String URL_PREFIX = "https://example.com/";
+
+    private TableHistory tableHistory;
+    private List<SearchResult> results;
+    private boolean searchCompleted;
+    private AtomicInteger messagesRead;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Session session = mock(Session.class);
+        given(model.getSession()).willReturn(session);
+        Database database = mock(Database.class);
+        given(model.getDb()).willReturn(database);
+        tableHistory = mock(TableHistory.class, withSettings().strictness(Strictness.LENIENT));
+        given(database.getTableHistory()).willReturn(tableHistory);
+        HistoryReference.setTableHistory(tableHistory);
+
+        results = new ArrayList<>();
+        messagesRead = new AtomicInteger();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        HistoryReference.setTableHistory(null);
+    }
+
+    @Test
+    void shouldNotifyResultsInOrderOfMessages() throws Exception {
+        // Given
+        List<Integer> historyIds = createMessages(350);
+        SearchThread searchThread = createSearchThread(0, 0, -1, results::add);
+        // When
+        searchThread.run();
+        // Then
+        assertThat(searchCompleted, is(equalTo(true)));
+        assertThat(urlsOf(results), is(equalTo(urlsOfMessages(historyIds))));
+    }
+
+    @Test
+    void shouldNotifyResultsOfRequestedPage() throws Exception {
+        // Given
+        createMessages(350);
+        SearchThread searchThread = createSearchThread(150, 3, -1, results::add);
+        // When
+        searchThread.run();
+        // Then
+        assertThat(searchCompleted, is(equalTo(true)));
+        assertThat(urlsOf(results), contains(URL_PREFIX + 150, URL_PREFIX + 151, URL_PREFIX + 152));
+    }
+
+    @Test
+    void shouldNotifyUpToMaximumMatches() throws Exception {
+        // Given
+        createMessages(350);
+        SearchThread searchThread = createSearchThread(0, 0, 2, results::add);
+        // When
+        searchThread.run();
+        // Then
+        assertThat(searchCompleted, is(equalTo(true)));
+        assertThat(urlsOf(results), contains(URL_PREFIX + 1, URL_PREFIX + 2));
+    }
+
+    @Test
+    void shouldStopSearchWhenRequested() throws Exception {
+        // Given
+        createMessages(350);
+        SearchThread[] searchThread = new SearchThread[1];
+        searchThread[0] =
+                createSearchThread(
+                        0,
+                        0,
+                        -1,
+                        result -> {
+                            results.add(result);
+                            searchThread[0].stopSearch();
+                        });
+        // When
+        searchThread[0].run();
+        // Then
+        assertThat(searchCompleted, is(equalTo(true)));
+        assertThat(urlsOf(results), contains(URL_PREFIX + 1));
+    }
+
+    @Test
+    void shouldStopSearchWhenInterrupted() throws Exception {
+        // Given
+        List<Integer> historyIds = createMessages(10_000);
+        SearchThread searchThread =
+                createSearchThread(
+                        0,
+                        0,
+                        -1,
+                        result -> {
+                            results.add(result);
+                            Thread.currentThread().interrupt();
+                        });
+        // When
+        try {
+            searchThread.run();
+        } finally {
+            Thread.interrupted();
+        }
+        // Then
+        assertThat(searchCompleted, is(equalTo(true)));
+        assertThat(results, hasSize(lessThan(historyIds.size())));
+        assertThat(messagesRead.get(), is(lessThan(historyIds.size())));
+    }
+
+    private List<Integer> createMessages(int count) throws Exception {
+        List<Integer> historyIds =
+                IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+        given(
+                        tableHistory.getHistoryIdsOfHistType(
+                                anyLong(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(),
+                                anyInt()))
+                .willReturn(historyIds);
+        given(tableHistory.read(anyInt()))
+                .willAnswer(
+                        invocation -> {
+                            int historyId = invocation.getArgument(0);
+                            messagesRead.incrementAndGet();
+                            HttpMessage message = new HttpMessage();
+                            message.getRequestHeader()
+                                    .setMessage("GET " + URL_PREFIX + historyId + " HTTP/1.1");
+                            return new RecordHistory(
+                                    historyId, HistoryReference.TYPE_PROXIED, 1, message);
+                        });
+        return historyIds;
+    }
+
+    private SearchThread createSearchThread(
+            int start, int count, int maxOccurrences, Consumer<SearchResult> consumer) {
+        return new SearchThread(
+                "example",
+                Type.URL,
+                new SearchListenner() {
+
+                    @Override
+                    public void addSearchResult(SearchResult result) {
+                        consumer.accept(result);
+                    }
+
+                    @Override
+                    public void searchComplete() {
+                        searchCompleted = true;
+                    }
+                },
+                false,
+                false,
+                null,
+                start,
+                count,
+                false,
+                maxOccurrences);
+    }
+
+    private static List<String> urlsOf(List<SearchResult> results) {
+        return results.stream()
+                .map(result -> result.getMessage().getRequestHeader().getURI().toString())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> urlsOfMessages(List<Integer> historyIds) {
+        return historyIds.stream()
+                .map(historyId -> URL_PREFIX + historyId)
+                .collect(Collectors.toList());
+    }
+}
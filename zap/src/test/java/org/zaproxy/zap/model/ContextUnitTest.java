@@ -27,6 +27,7 @@ import static org.mockito.Mockito.mock;
 
 import java.util.List;
 import java.util.Locale;
+import org.apache.commons.httpclient.URI;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +39,10 @@ import org.parosproxy.paros.model.Model;
 import org.parosproxy.paros.model.Session;
 import org.parosproxy.paros.model.SiteMap;
 import org.parosproxy.paros.model.SiteNode;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.custompages.CustomPage;
+import org.zaproxy.zap.extension.custompages.CustomPageMatcherLocation;
+import org.zaproxy.zap.extension.custompages.DefaultCustomPage;
 import org.zaproxy.zap.utils.I18N;
 
 /** Unit test for {@link Context}. */
@@ -95,6 +100,31 @@ class ContextUnitTest {
         assertThat(context.getName(), is(equalTo(name)));
     }
 
+    @Test
+    void shouldUseCurrentStateOfCustomPages() throws Exception {
+        // Given
+        DefaultCustomPage customPage =
+                new DefaultCustomPage(
+                        1,
+                        "Oops",
+                        CustomPageMatcherLocation.RESPONSE_CONTENT,
+                        false,
+                        CustomPage.Type.ERROR_500,
+                        true);
+        context.addCustomPage(customPage);
+        HttpMessage msg = new HttpMessage(new URI("https://example.com/", true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody("Oops, something went wrong.");
+        boolean customPageBefore = context.isCustomPage(msg, CustomPage.Type.ERROR_500);
+        // When
+        customPage.setPageMatcher("Error");
+        // Then
+        assertThat(customPageBefore, is(equalTo(true)));
+        assertThat(context.isCustomPage(msg, CustomPage.Type.ERROR_500), is(equalTo(false)));
+        context.removeAllCustomPages();
+        assertThat(context.isCustomPage(msg, CustomPage.Type.ERROR_500), is(equalTo(false)));
+    }
+
     @Test
     void shouldIncludeDataDrivenNodesInContext() {
         // Given
@@ -0,0 +1,287 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.zaproxy.zap.extension.custompages.CustomPageMatcherLocation.RESPONSE_CONTENT;
+import static org.zaproxy.zap.extension.custompages.CustomPageMatcherLocation.URL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.apache.commons.httpclient.URI;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.Constant;
+import org.parosproxy.paros.network.HttpMessage;
+import org.zaproxy.zap.extension.custompages.CustomPage;
+import org.zaproxy.zap.extension.custompages.CustomPageMatcherLocation;
+import org.zaproxy.zap.extension.custompages.DefaultCustomPage;
+import org.zaproxy.zap.utils.I18N;
+
+/** Unit test for {@link CustomPagesMatcher}. */
+class CustomPagesMatcherUnitTest {
+
+    @BeforeAll
+    static void setUpAll() {
+        Constant.messages = new I18N(Locale.ENGLISH);
+    }
+
+    @Test
+    void shouldMatchLiteralsInContent() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(
+                        page("hers", RESPONSE_CONTENT, false, CustomPage.Type.NOTFOUND_404),
+                        page("she", RESPONSE_CONTENT, false, CustomPage.Type.ERROR_500),
+                        page("his", RESPONSE_CONTENT, false, CustomPage.Type.OK_200));
+        HttpMessage msg = createMessage("https://example.com/", "ushers");
+        // When / Then
+        assertThat(matcher.isCustomPage(msg, CustomPage.Type.NOTFOUND_404), is(equalTo(true)));
+        assertThat(matcher.isCustomPage(msg, CustomPage.Type.ERROR_500), is(equalTo(true)));
+        assertThat(matcher.isCustomPage(msg, CustomPage.Type.OK_200), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldMatchEmptyLiteralInContent() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(page("", RESPONSE_CONTENT, false, CustomPage.Type.OTHER));
+        HttpMessage msg = createMessage("https://example.com/", "");
+        // When / Then
+        assertThat(matcher.isCustomPage(msg, CustomPage.Type.OTHER), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldMatchWholeUrlWithLiteral() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(
+                        page("https://example.com/404", URL, false, CustomPage.Type.NOTFOUND_404));
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/404", ""), CustomPage.Type.NOTFOUND_404),
+                is(equalTo(true)));
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/404/x", ""),
+                        CustomPage.Type.NOTFOUND_404),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void shouldMatchRegexesInUrlAndContent() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(
+                        page("/err[0-9]+", URL, true, CustomPage.Type.ERROR_500),
+                        page(
+                                "(?i)not\\s+found",
+                                RESPONSE_CONTENT,
+                                true,
+                                CustomPage.Type.NOTFOUND_404),
+                        page("missing", RESPONSE_CONTENT, true, CustomPage.Type.NOTFOUND_404));
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/err42", ""), CustomPage.Type.ERROR_500),
+                is(equalTo(true)));
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "Page NOT  Found"),
+                        CustomPage.Type.NOTFOUND_404),
+                is(equalTo(true)));
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "Page missing"),
+                        CustomPage.Type.NOTFOUND_404),
+                is(equalTo(true)));
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "Page found"),
+                        CustomPage.Type.NOTFOUND_404),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void shouldMatchRegexesWithBackReferences() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(
+                        page("(a)\\1", RESPONSE_CONTENT, true, CustomPage.Type.OTHER),
+                        page("(b)\\1", RESPONSE_CONTENT, true, CustomPage.Type.OTHER));
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "xbbx"), CustomPage.Type.OTHER),
+                is(equalTo(true)));
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "xbax"), CustomPage.Type.OTHER),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void shouldIgnoreInvalidRegexes() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(
+                        page("(", RESPONSE_CONTENT, true, CustomPage.Type.OTHER),
+                        page("valid", RESPONSE_CONTENT, true, CustomPage.Type.OTHER));
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "valid"), CustomPage.Type.OTHER),
+                is(equalTo(true)));
+    }
+
+    @Test
+    void shouldIgnoreDisabledPages() throws Exception {
+        // Given
+        DefaultCustomPage page = page("a", RESPONSE_CONTENT, false, CustomPage.Type.OTHER);
+        page.setEnabled(false);
+        CustomPagesMatcher matcher = createMatcher(page);
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", "a"), CustomPage.Type.OTHER),
+                is(equalTo(false)));
+    }
+
+    @Test
+    void shouldCheckOtherCustomPagesDirectly() throws Exception {
+        // Given
+        CustomPage page = mock(CustomPage.class);
+        given(page.isCustomPage(any(), any())).willReturn(true);
+        CustomPagesMatcher matcher = createMatcher(page);
+        // When / Then
+        assertThat(
+                matcher.isCustomPage(
+                        createMessage("https://example.com/", ""), CustomPage.Type.OTHER),
+                is(equalTo(true)));
+    }
+
+    @Test
+    void shouldCacheVerdictPerResponse() throws Exception {
+        // Given
+        CustomPagesMatcher matcher =
+                createMatcher(page("a", RESPONSE_CONTENT, false, CustomPage.Type.OTHER));
+        // When
+        matcher.isCustomPage(createMessage("https://example.com/1", "a"), CustomPage.Type.OTHER);
+        matcher.isCustomPage(createMessage("https://example.com/2", "a"), CustomPage.Type.OK_200);
+        matcher.isCustomPage(createMessage("https://example.com/3", "b"), CustomPage.Type.OTHER);
+        // Then
+        assertThat(matcher.getCachedVerdictsCount(), is(equalTo(2)));
+    }
+
+    @Test
+    void shouldNotBeUpToDateIfPagesChanged() throws Exception {
+        // Given
+        DefaultCustomPage page = page("a", RESPONSE_CONTENT, false, CustomPage.Type.OTHER);
+        List<CustomPage> pages = new ArrayList<>(List.of(page));
+        CustomPagesMatcher matcher = new CustomPagesMatcher(pages);
+        boolean upToDate = matcher.isUpToDate(pages);
+        // When
+        page.setPageMatcher("b");
+        // Then
+        assertThat(upToDate, is(equalTo(true)));
+        assertThat(matcher.isUpToDate(pages), is(equalTo(false)));
+        assertThat(matcher.isUpToDate(List.of()), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldHaveSameVerdictsAsCheckingEachPage() throws Exception {
+        // Given
+        Random random = new Random(1234);
+        String[] words = {"error", "not found", "missing", "ok", "denied", "e", "rror"};
+        String[] regexes = {"err.r", "(?i)NOT\\s+found", "[0-9]{3}", "^HTTP/1\\.1 200", "(o)\\1"};
+        CustomPage.Type[] types = CustomPage.Type.values();
+        List<CustomPage> pages = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            boolean regex = random.nextBoolean();
+            String matcher =
+                    regex
+                            ? regexes[random.nextInt(regexes.length)]
+                            : words[random.nextInt(words.length)];
+            CustomPageMatcherLocation location = random.nextInt(4) == 0 ? URL : RESPONSE_CONTENT;
+            if (location == URL && !regex) {
+                matcher = "https://example.com/" + matcher;
+            }
+            DefaultCustomPage page =
+                    page(matcher, location, regex, types[random.nextInt(types.length)]);
+            page.setEnabled(random.nextInt(5) != 0);
+            pages.add(page);
+        }
+        CustomPagesMatcher matcher = new CustomPagesMatcher(pages);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder body = new StringBuilder();
+            for (int j = random.nextInt(5); j > 0; j--) {
+                body.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            HttpMessage msg =
+                    createMessage(
+                            "https://example.com/"
+                                    + words[random.nextInt(words.length)].replace(' ', '-'),
+                            body.toString());
+            for (CustomPage.Type type : types) {
+                // When
+                boolean result = matcher.isCustomPage(msg, type);
+                // Then
+                assertThat(result, is(equalTo(isCustomPageEach(pages, msg, type))));
+            }
+        }
+    }
+
+    private static boolean isCustomPageEach(
+            List<CustomPage> pages, HttpMessage msg, CustomPage.Type type) {
+        for (CustomPage page : pages) {
+            if (page.isCustomPage(msg, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CustomPagesMatcher createMatcher(CustomPage... pages) {
+        return new CustomPagesMatcher(List.of(pages));
+    }
+
+    private static DefaultCustomPage page(
+            String matcher,
+            CustomPageMatcherLocation location,
+            boolean regex,
+            CustomPage.Type type) {
+        return new DefaultCustomPage(1, matcher, location, regex, type, true);
+    }
+
+    private static HttpMessage createMessage(String uri, String responseBody) throws Exception {
+        HttpMessage msg = new HttpMessage(new URI(uri, true));
+        msg.setResponseHeader("HTTP/1.1 200 OK\r\n");
+        msg.setResponseBody(responseBody);
+        return msg;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** Unit test for {@link UrlRegexMatcher}. */
+class UrlRegexMatcherUnitTest {
+
+    @Test
+    void shouldNotMatchAnyUrlIfEmpty() {
+        // Given
+        UrlRegexMatcher matcher = UrlRegexMatcher.EMPTY;
+        // When
+        boolean matches = matcher.matches("https://example.com/");
+        // Then
+        assertThat(matches, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldMatchUrlsMatchedByAnyPattern() {
+        // Given
+        UrlRegexMatcher matcher =
+                new UrlRegexMatcher(
+                        List.of(
+                                pattern("https://example\\.com/.*"),
+                                pattern("https://example\\.org/app/.*"),
+                                pattern(".*\\.internal/.*")));
+        // When / Then
+        assertThat(matcher.matches("https://example.com/path"), is(equalTo(true)));
+        assertThat(matcher.matches("HTTPS://EXAMPLE.COM/path"), is(equalTo(true)));
+        assertThat(matcher.matches("https://example.org/app/x"), is(equalTo(true)));
+        assertThat(matcher.matches("http://host.internal/x"), is(equalTo(true)));
+        assertThat(matcher.matches("https://example.org/other"), is(equalTo(false)));
+        assertThat(matcher.matches("https://example.net/"), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldRequireFullMatch() {
+        // Given
+        UrlRegexMatcher matcher = new UrlRegexMatcher(List.of(pattern("https://example\\.com")));
+        // When / Then
+        assertThat(matcher.matches("https://example.com"), is(equalTo(true)));
+        assertThat(matcher.matches("https://example.com/"), is(equalTo(false)));
+        assertThat(matcher.matches("https://example.co"), is(equalTo(false)));
+    }
+
+    @Test
+    void shouldReturnSameResultWhenCached() {
+        // Given
+        UrlRegexMatcher matcher = new UrlRegexMatcher(List.of(pattern("https://a/.*")));
+        // When
+        boolean first = matcher.matches("https://a/b");
+        boolean second = matcher.matches("https://a/b");
+        // Then
+        assertThat(first, is(equalTo(true)));
+        assertThat(second, is(equalTo(true)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "https://example\\.com/.*, https://example.com/",
+        "^https://a\\.b/c, https://a.b/c",
+        "HTTPS://A.*, https://a",
+        "https?://a/.*, http",
+        "https://a{2}/, https://",
+        "https://a/b*, https://a/",
+        "https://a/(b|c), ''",
+        "(?i)https://a/.*, ''",
+        "\\Qhttps://a\\E.*, ''",
+        "\\d+, ''",
+        ".*, ''"
+    })
+    void shouldGetLiteralPrefix(String regex, String prefix) {
+        // Given
+        Pattern pattern = pattern(regex);
+        // When
+        String literalPrefix = UrlRegexMatcher.getLiteralPrefix(pattern);
+        // Then
+        assertThat(literalPrefix, is(equalTo(prefix)));
+    }
+
+    private static Pattern pattern(String regex) {
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+    }
+}
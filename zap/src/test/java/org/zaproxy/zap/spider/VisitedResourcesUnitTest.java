@@ -0,0 +1,114 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.spider;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/** Unit test for {@link VisitedResources}. */
+@SuppressWarnings("deprecation")
+class VisitedResourcesUnitTest {
+
+    @ParameterizedTest
+    @EnumSource(SpiderParam.VisitedResourcesOption.class)
+    void shouldAddResourcesNotVisited(SpiderParam.VisitedResourcesOption option) {
+        // Given
+        VisitedResources visitedResources = VisitedResources.create(option, 10);
+        // When
+        boolean added1 = visitedResources.add("GET https://example.com/\n\n");
+        boolean added2 = visitedResources.add("POST https://example.com/\n\nA=1");
+        // Then
+        assertThat(added1, is(equalTo(true)));
+        assertThat(added2, is(equalTo(true)));
+        assertThat(visitedResources.size(), is(equalTo(2L)));
+        assertThat(visitedResources.getMemoryUsage(), is(greaterThan(0L)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpiderParam.VisitedResourcesOption.class)
+    void shouldNotAddResourcesAlreadyVisited(SpiderParam.VisitedResourcesOption option) {
+        // Given
+        VisitedResources visitedResources = VisitedResources.create(option, 10);
+        visitedResources.add("GET https://example.com/\n\n");
+        // When
+        boolean added = visitedResources.add("GET https://example.com/\n\n");
+        // Then
+        assertThat(added, is(equalTo(false)));
+        assertThat(visitedResources.size(), is(equalTo(1L)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SpiderParam.VisitedResourcesOption.class)
+    void shouldAddResourcesAgainAfterClear(SpiderParam.VisitedResourcesOption option) {
+        // Given
+        VisitedResources visitedResources = VisitedResources.create(option, 10);
+        visitedResources.add("GET https://example.com/\n\n");
+        // When
+        visitedResources.clear();
+        // Then
+        assertThat(visitedResources.size(), is(equalTo(0L)));
+        assertThat(visitedResources.add("GET https://example.com/\n\n"), is(equalTo(true)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(
+            value = SpiderParam.VisitedResourcesOption.class,
+            names = {"EXACT", "FINGERPRINT"})
+    void shouldKeepAllResourcesBeyondExpected(SpiderParam.VisitedResourcesOption option) {
+        // Given
+        VisitedResources visitedResources = VisitedResources.create(option, 10);
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            visitedResources.add("GET https://example.com/" + i + "\n\n");
+        }
+        // Then
+        assertThat(visitedResources.size(), is(equalTo(10_000L)));
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(
+                    visitedResources.add("GET https://example.com/" + i + "\n\n"),
+                    is(equalTo(false)));
+        }
+    }
+
+    @Test
+    void shouldUseFixedMemoryWithBloomFilter() {
+        // Given
+        VisitedResources visitedResources =
+                VisitedResources.create(SpiderParam.VisitedResourcesOption.BLOOM_FILTER, 10_000);
+        long memory = visitedResources.getMemoryUsage();
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            visitedResources.add("GET https://example.com/" + i + "\n\n");
+        }
+        // Then
+        assertThat(visitedResources.getMemoryUsage(), is(equalTo(memory)));
+        assertThat(visitedResources.size(), is(greaterThan(9_950L)));
+        assertThat(
+                visitedResources.getFalsePositiveProbability(),
+                is(lessThan(BloomFilterVisitedResources.FALSE_POSITIVE_PROBABILITY * 2)));
+    }
+}
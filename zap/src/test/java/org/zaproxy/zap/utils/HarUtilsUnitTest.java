@@ -0,0 +1,94 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import edu.umass.cs.benchlab.har.HarEntries;
+import edu.umass.cs.benchlab.har.HarEntry;
+import edu.umass.cs.benchlab.har.HarLog;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.parosproxy.paros.model.HistoryReference;
+import org.parosproxy.paros.network.HttpMessage;
+
+/** Unit test for {@link HarUtils}. */
+@SuppressWarnings("removal")
+class HarUtilsUnitTest {
+
+    @Test
+    void shouldWriteHarLogWithoutEntriesSameAsInMemory() throws Exception {
+        // Given
+        List<HarEntry> entries = List.of();
+        // When
+        String streamed = writeHarLog(entries);
+        // Then
+        assertThat(streamed, is(equalTo(harLogToString(entries))));
+    }
+
+    @Test
+    void shouldWriteHarLogWithEntriesSameAsInMemory() throws Exception {
+        // Given
+        HttpMessage message1 =
+                new HttpMessage(
+                        "GET https://example.com/1 HTTP/1.1\r\nHost: example.com\r\n\r\n",
+                        new byte[0],
+                        "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n\r\n",
+                        "Body 1".getBytes(StandardCharsets.UTF_8));
+        message1.setNote("Note");
+        HttpMessage message2 =
+                new HttpMessage(
+                        "POST https://example.com/2?a=b HTTP/1.1\r\nContent-Type: application/x-www-form-urlencoded\r\n\r\n",
+                        "c=d".getBytes(StandardCharsets.UTF_8),
+                        "HTTP/1.1 404 Not Found\r\n\r\n",
+                        new byte[0]);
+        List<HarEntry> entries =
+                List.of(
+                        HarUtils.createHarEntry(1, HistoryReference.TYPE_PROXIED, message1),
+                        HarUtils.createHarEntry(2, HistoryReference.TYPE_ZAP_USER, message2));
+        // When
+        String streamed = writeHarLog(entries);
+        // Then
+        assertThat(streamed, is(equalTo(harLogToString(entries))));
+    }
+
+    private static String writeHarLog(List<HarEntry> entries) throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (HarUtils.HarLogWriter writer =
+                HarUtils.createHarLogWriter(HarUtils.createZapHarLog(), os)) {
+            for (HarEntry entry : entries) {
+                writer.writeEntry(entry);
+            }
+        }
+        return os.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String harLogToString(List<HarEntry> entries) throws Exception {
+        HarLog harLog = HarUtils.createZapHarLog();
+        HarEntries harEntries = new HarEntries();
+        entries.forEach(harEntries::addEntry);
+        harLog.setEntries(harEntries);
+        return new String(HarUtils.harLogToByteArray(harLog), StandardCharsets.UTF_8);
+    }
+}
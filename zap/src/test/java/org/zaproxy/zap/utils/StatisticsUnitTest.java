@@ -27,7 +27,12 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 /** Unit test for {@link Statistics}. */
@@ -213,4 +218,103 @@ class StatisticsUnitTest {
         assertThat(statistics.getStat("other.stats.a"), is(not(nullValue())));
         assertThat(statistics.getStat("other.stats.b"), is(not(nullValue())));
     }
+
+    @Test
+    void shouldIncreaseCounterConcurrently() throws Exception {
+        // Given
+        Statistics statistics = new Statistics();
+        int threads = 8;
+        int increments = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<>();
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                tasks.add(
+                        executor.submit(
+                                () -> {
+                                    for (int j = 0; j < increments; j++) {
+                                        statistics.incCounter(STAT_KEY);
+                                    }
+                                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Then
+        assertThat(statistics.getStat(STAT_KEY), is(equalTo((long) threads * increments)));
+    }
+
+    @Test
+    void shouldKeepHighestHighwaterMark() throws Exception {
+        // Given
+        Statistics statistics = new Statistics();
+        statistics.setHighwaterMark(STAT_KEY, 10);
+        // When
+        statistics.setHighwaterMark(STAT_KEY, 5);
+        // Then
+        assertThat(statistics.getStat(STAT_KEY), is(equalTo(11L)));
+    }
+
+    @Test
+    void shouldKeepLowestLowwaterMark() throws Exception {
+        // Given
+        Statistics statistics = new Statistics();
+        statistics.setLowwaterMark(STAT_KEY, 5);
+        // When
+        statistics.setLowwaterMark(STAT_KEY, 10);
+        // Then
+        assertThat(statistics.getStat(STAT_KEY), is(equalTo(6L)));
+    }
+
+    @Test
+    void shouldKeepHighestHighwaterMarkSetConcurrently() throws Exception {
+        // Given
+        Statistics statistics = new Statistics();
+        int threads = 8;
+        int marks = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<>();
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                tasks.add(
+                        executor.submit(
+                                () -> {
+                                    for (int j = 0; j < marks; j++) {
+                                        statistics.setHighwaterMark(STAT_KEY, 2L * j);
+                                        statistics.incCounter("other.key");
+                                    }
+                                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // Then
+        assertThat(statistics.getStat(STAT_KEY), is(equalTo(2L * (marks - 1) + 1)));
+        assertThat(statistics.getStat("other.key"), is(equalTo((long) threads * marks)));
+    }
+
+    @Test
+    void shouldReturnAndClearWaterMarksWithCounters() throws Exception {
+        // Given
+        Statistics statistics = new Statistics();
+        statistics.setHighwaterMark("stats.a.high", 10);
+        statistics.setLowwaterMark("stats.a.low", 5);
+        statistics.incCounter("stats.a.counter");
+        // When
+        Map<String, Long> stats = statistics.getStats("stats.a");
+        statistics.clear("stats.a");
+        // Then
+        assertThat(stats.get("stats.a.high"), is(equalTo(11L)));
+        assertThat(stats.get("stats.a.low"), is(equalTo(6L)));
+        assertThat(stats.get("stats.a.counter"), is(equalTo(1L)));
+        assertThat(statistics.getStats("stats.a").isEmpty(), is(equalTo(true)));
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.zap.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit test for {@link VirtualThreads}. */
+class VirtualThreadsUnitTest {
+
+    @Test
+    void shouldBeSupportedOnlyInJava21OrLater() {
+        // Given
+        boolean java21OrLater = Runtime.version().feature() >= 21;
+        // When
+        boolean supported = VirtualThreads.isSupported();
+        // Then
+        assertThat(supported, is(equalTo(java21OrLater)));
+    }
+
+    @Test
+    void shouldThrowIfCreatingExecutorWhenNotSupported() {
+        // Given
+        if (VirtualThreads.isSupported()) {
+            return;
+        }
+        // When / Then
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> VirtualThreads.newBoundedExecutor("ZAP-Test-", 1));
+    }
+
+    @Test
+    void shouldLimitConcurrentTasks() throws Exception {
+        // Given
+        ExecutorService executor =
+                VirtualThreads.newBoundedExecutor(Executors.newCachedThreadPool(), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        // When
+        for (int i = 0; i < 5; i++) {
+            executor.execute(
+                    () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+        }
+        Thread.sleep(200);
+        release.countDown();
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(maxRunning.get(), is(equalTo(2)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(equalTo(true)));
+    }
+
+    @Test
+    void shouldUseAtLeastOneConcurrentTask() throws Exception {
+        // Given
+        ExecutorService executor =
+                VirtualThreads.newBoundedExecutor(Executors.newCachedThreadPool(), 0);
+        CountDownLatch done = new CountDownLatch(1);
+        // When
+        executor.execute(done::countDown);
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS), is(equalTo(true)));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnTasksNotStartedOnShutdownNow() throws Exception {
+        // Given
+        ExecutorService executor =
+                VirtualThreads.newBoundedExecutor(Executors.newCachedThreadPool(), 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        started.await(5, TimeUnit.SECONDS);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable pendingTask = runs::incrementAndGet;
+        executor.execute(pendingTask);
+        // When
+        List<Runnable> notStarted = executor.shutdownNow();
+        // Then
+        assertThat(notStarted, contains(pendingTask));
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(runs.get(), is(equalTo(0)));
+    }
+
+    @Test
+    void shouldRunPendingTasksAfterShutdown() throws Exception {
+        // Given
+        ExecutorService executor =
+                VirtualThreads.newBoundedExecutor(Executors.newCachedThreadPool(), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(
+                    () -> {
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        done.countDown();
+                    });
+        }
+        // When
+        executor.shutdown();
+        release.countDown();
+        // Then
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS), is(equalTo(true)));
+        assertThat(done.getCount(), is(equalTo(0L)));
+        assertThat(executor.isTerminated(), is(equalTo(true)));
+    }
+}